@@ -36,11 +36,16 @@ synchronized protected void callEvaluateFunction(Runnable evaluateFunction)
             Thread thread = new EvaluateThread(evaluateFunction);
 
             thread.start();
-            thread.join(timeoutMillis);
-            thread.interrupt();
-            // thread.interrupt() doesn't seem to stop it, so add this for
-            // good measure:
-            stopThread(thread);
+            try {
+                thread.join(timeoutMillis);
+            } finally {
+                // also when the caller is interrupted while waiting, don't
+                // leave the computation running
+                thread.interrupt();
+                // thread.interrupt() doesn't seem to stop it, so add this for
+                // good measure:
+                stopThread(thread);
+            }
             // in fact, stop will do nothing (never implemented)
             // Log.debug("giac: after interrupt/stop");
 
@@ -0,0 +1,200 @@
+package org.geogebra.common.jre.cas.giac;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.geogebra.common.cas.giac.CasResultStore;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Append-only file with Giac results, allows headless workers to start with a
+ * warm CAS cache. When opened, existing records are indexed through a read-only
+ * memory mapping; results are read from the file on demand.
+ * <p>
+ * The file may be shared by several processes: appends take an exclusive file
+ * lock and first index records appended by others. Within one process, use
+ * one instance per file. The file never grows beyond {@link #MAX_SIZE}, so
+ * that it can always be mapped completely; further results are not stored.
+ * <p>
+ * Record format: key length (int), UTF-8 key, result length (int), UTF-8
+ * result.
+ */
+public class FileCasResultStore implements CasResultStore, Closeable {
+
+	/** maximal file size */
+	public static final long MAX_SIZE = Integer.MAX_VALUE;
+	private static final int LENGTH_BYTES = 4;
+
+	private final FileChannel channel;
+	private final ConcurrentHashMap<String, Long> index = new ConcurrentHashMap<>();
+	private final long maxSize;
+	private long end;
+	private boolean full;
+
+	/**
+	 * @param file
+	 *            store file, created if it does not exist
+	 * @throws IOException
+	 *             if file cannot be opened
+	 */
+	public FileCasResultStore(File file) throws IOException {
+		this(file, MAX_SIZE);
+	}
+
+	/**
+	 * @param file
+	 *            store file, created if it does not exist
+	 * @param maxSize
+	 *            maximal file size, at most {@link #MAX_SIZE}
+	 * @throws IOException
+	 *             if file cannot be opened
+	 */
+	FileCasResultStore(File file, long maxSize) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.maxSize = Math.min(maxSize, MAX_SIZE);
+		try (FileLock lock = channel.lock()) {
+			indexNewRecords();
+			truncateIncompleteRecord();
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Indexes records between the known end and the end of the file.
+	 */
+	private void indexNewRecords() throws IOException {
+		long size = channel.size();
+		if (size > maxSize) {
+			// written with a bigger limit, keep it as it is
+			full = true;
+			size = maxSize;
+		}
+		if (size <= end) {
+			return;
+		}
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+				end, size - end);
+		int valid = 0;
+		while (buffer.remaining() >= LENGTH_BYTES) {
+			int keyLength = buffer.getInt();
+			if (keyLength < 0 || buffer.remaining() < keyLength + LENGTH_BYTES) {
+				break;
+			}
+			byte[] key = new byte[keyLength];
+			buffer.get(key);
+			int resultOffset = buffer.position();
+			int resultLength = buffer.getInt();
+			if (resultLength < 0 || buffer.remaining() < resultLength) {
+				break;
+			}
+			buffer.position(buffer.position() + resultLength);
+			index.put(new String(key, StandardCharsets.UTF_8),
+					end + resultOffset);
+			valid = buffer.position();
+		}
+		end += valid;
+	}
+
+	/**
+	 * Removes an incomplete record at the end, left by an interrupted write,
+	 * so that the next record is appended right after the valid ones.
+	 */
+	private void truncateIncompleteRecord() throws IOException {
+		if (!full && end < channel.size()) {
+			channel.truncate(end);
+		}
+	}
+
+	@Override
+	public String load(String key) {
+		Long offset = index.get(key);
+		if (offset == null) {
+			return null;
+		}
+		try {
+			ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+			readFully(length, offset);
+			ByteBuffer result = ByteBuffer.allocate(length.getInt(0));
+			readFully(result, offset + LENGTH_BYTES);
+			return new String(result.array(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			Log.debug(e);
+			return null;
+		}
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of CAS store");
+			}
+		}
+	}
+
+	@Override
+	public synchronized void store(String key, String result) {
+		if (full || index.containsKey(key)) {
+			return;
+		}
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		byte[] resultBytes = result.getBytes(StandardCharsets.UTF_8);
+		long recordLength = 2L * LENGTH_BYTES + keyBytes.length
+				+ resultBytes.length;
+		if (recordLength > maxSize) {
+			return;
+		}
+		try (FileLock lock = channel.lock()) {
+			indexNewRecords();
+			if (full || index.containsKey(key)) {
+				return;
+			}
+			if (end + recordLength > maxSize) {
+				full = true;
+				Log.warn("CAS store is full, results are no longer stored");
+				return;
+			}
+			truncateIncompleteRecord();
+			ByteBuffer record = ByteBuffer.allocate((int) recordLength);
+			record.putInt(keyBytes.length).put(keyBytes)
+					.putInt(resultBytes.length).put(resultBytes);
+			record.flip();
+			while (record.hasRemaining()) {
+				channel.write(record, end + record.position());
+			}
+			index.put(key, end + LENGTH_BYTES + keyBytes.length);
+			end += recordLength;
+		} catch (IOException e) {
+			Log.debug(e);
+		}
+	}
+
+	/**
+	 * @return whether the file reached its maximal size
+	 */
+	public synchronized boolean isFull() {
+		return full;
+	}
+
+	/**
+	 * @return number of stored results
+	 */
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -1,8 +1,8 @@
 package org.geogebra.common.jre.io;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.ZipInputStream;
 
 import org.geogebra.common.jre.gui.MyImageJre;
 import org.geogebra.common.kernel.Construction;
@@ -19,7 +19,13 @@ protected void loadSVG(String svg, String name) {
 	}
 
 	@Override
-	protected void loadBitmap(ZipInputStream zip, String name) {
+	protected MyImageJre readBitmap(InputStream in, String name) {
+		// not supported yet
+		return null;
+	}
+
+	@Override
+	protected void addExternalImage(String name, MyImageJre image) {
 		// not supported yet
 	}
 
@@ -32,8 +32,11 @@
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -53,7 +56,9 @@
 import org.geogebra.common.kernel.geos.ChartStyleGeo;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 /**
  * 
@@ -135,8 +140,6 @@ protected void readZip(ZipInputStream zip, boolean isGGTfile)
 		byte[] macroXmlFileBuffer = null;
 		byte[] defaults2dXmlFileBuffer = null;
 		byte[] defaults3dXmlFileBuffer = null;
-		boolean xmlFound = false;
-		boolean macroXMLfound = false;
 		boolean javaScriptFound = false;
 		boolean structureFound = false;
 
@@ -158,21 +161,15 @@ protected void readZip(ZipInputStream zip, boolean isGGTfile)
 			} else if (name.equals(XML_FILE)) {
 				// load xml file into memory first
 				xmlFileBuffer = StreamUtil.loadIntoMemory(zip);
-				xmlFound = true;
-				handler = getGGBHandler();
 			} else if (name.equals(XML_FILE_DEFAULTS_2D)) {
 				// load defaults xml file into memory first
 				defaults2dXmlFileBuffer = StreamUtil.loadIntoMemory(zip);
-				handler = getGGBHandler();
 			} else if (app.is3D() && name.equals(XML_FILE_DEFAULTS_3D)) {
 				// load defaults xml file into memory first
 				defaults3dXmlFileBuffer = StreamUtil.loadIntoMemory(zip);
-				handler = getGGBHandler();
 			} else if (name.equals(XML_FILE_MACRO)) {
 				// load macro xml file into memory first
 				macroXmlFileBuffer = StreamUtil.loadIntoMemory(zip);
-				macroXMLfound = true;
-				handler = getGGBHandler();
 			} else if (name.equals(JAVASCRIPT_FILE)) {
 				// load JavaScript
 				kernel.setLibraryJavaScript(StreamUtil.loadIntoString(zip));
@@ -193,56 +190,214 @@ protected void readZip(ZipInputStream zip, boolean isGGTfile)
 		}
 		zip.close();
 
+		processZipContent(toStream(macroXmlFileBuffer), toStream(xmlFileBuffer),
+				toStream(defaults2dXmlFileBuffer),
+				toStream(defaults3dXmlFileBuffer), isGGTfile, javaScriptFound,
+				structureFound);
+	}
+
+	private static XMLStreamInputStream toStream(byte[] buffer) {
+		return buffer == null ? null
+				: new XMLStreamInputStream(new ByteArrayInputStream(buffer));
+	}
+
+	/**
+	 * Reads a .ggb or .ggt file. Unlike
+	 * {@link #readZipFromInputStream(InputStream, boolean)} this does not need
+	 * to load the XML files into memory because entries can be read in any
+	 * order: the XML is parsed straight from the zip entries and images are
+	 * decoded in parallel.
+	 *
+	 * @param file
+	 *            zip file
+	 * @param isGGTfile
+	 *            true for ggt files
+	 * @throws XMLParseException
+	 *             if XML is not valid
+	 * @throws IOException
+	 *             if file cannot be read or is not a zip file
+	 */
+	public final void readZipFromFile(File file, boolean isGGTfile)
+			throws IOException, XMLParseException {
+		try (java.util.zip.ZipFile zip = new java.util.zip.ZipFile(file)) {
+			ZipEntry xmlEntry = null;
+			ZipEntry macroXmlEntry = null;
+			ZipEntry defaults2dXmlEntry = null;
+			ZipEntry defaults3dXmlEntry = null;
+			boolean javaScriptFound = false;
+			boolean structureFound = false;
+			ArrayList<ZipEntry> bitmaps = new ArrayList<>();
+
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (name.equals("structure.json")) {
+					structureFound = true;
+				} else if (name.equals(XML_FILE)) {
+					xmlEntry = entry;
+				} else if (name.equals(XML_FILE_DEFAULTS_2D)) {
+					defaults2dXmlEntry = entry;
+				} else if (app.is3D() && name.equals(XML_FILE_DEFAULTS_3D)) {
+					defaults3dXmlEntry = entry;
+				} else if (name.equals(XML_FILE_MACRO)) {
+					macroXmlEntry = entry;
+				} else if (name.equals(JAVASCRIPT_FILE)) {
+					kernel.setLibraryJavaScript(
+							StreamUtil.loadIntoString(zip.getInputStream(entry)));
+					javaScriptFound = true;
+				} else if (StringUtil.toLowerCaseUS(name).endsWith("svg")) {
+					loadSVG(StreamUtil.loadIntoString(zip.getInputStream(entry)),
+							name);
+				} else if (!entry.isDirectory()) {
+					bitmaps.add(entry);
+				}
+			}
+			loadBitmaps(zip, bitmaps);
+
+			processZipContent(toStream(zip, macroXmlEntry),
+					toStream(zip, xmlEntry), toStream(zip, defaults2dXmlEntry),
+					toStream(zip, defaults3dXmlEntry), isGGTfile,
+					javaScriptFound, structureFound);
+		}
+	}
+
+	private static XMLStreamInputStream toStream(java.util.zip.ZipFile zip,
+			ZipEntry entry) throws IOException {
+		return entry == null ? null
+				: new XMLStreamInputStream(zip.getInputStream(entry));
+	}
+
+	/**
+	 * Decodes the bitmaps in parallel, then adds them to the app in the order
+	 * of the zip file.
+	 */
+	private void loadBitmaps(java.util.zip.ZipFile zip,
+			List<ZipEntry> bitmaps) {
+		long start = System.nanoTime();
+		MyImageJre[] images = new MyImageJre[bitmaps.size()];
+		IntStream.range(0, images.length).parallel().forEach(i -> {
+			String name = bitmaps.get(i).getName();
+			try (InputStream in = zip.getInputStream(bitmaps.get(i))) {
+				images[i] = readBitmap(in, name);
+			} catch (IOException | RuntimeException e) {
+				logBitmapError(name, e);
+			}
+		});
+		for (int i = 0; i < images.length; i++) {
+			addBitmap(bitmaps.get(i).getName(), images[i]);
+		}
+		GeoGebraProfiler.record(Metric.XML_LOAD, "images", start);
+	}
+
+	private void loadBitmap(ZipInputStream zip, String name) {
+		try {
+			addBitmap(name, readBitmap(zip, name));
+		} catch (IOException | RuntimeException e) {
+			logBitmapError(name, e);
+		}
+	}
+
+	private void addBitmap(String name, MyImageJre image) {
+		if (image == null) {
+			return;
+		}
+		if ("".equals(name)) {
+			Log.warn("image in zip file with empty name");
+		} else {
+			addExternalImage(name, image);
+		}
+	}
+
+	private static void logBitmapError(String name, Exception e) {
+		Log.debug("readZip: image could not be loaded: " + name);
+		Log.debug(e);
+	}
+
+	/**
+	 * Processes the XML files of a .ggb or .ggt archive in the right order.
+	 */
+	private void processZipContent(XMLStreamInputStream macroXml,
+			XMLStreamInputStream constructionXml,
+			XMLStreamInputStream defaults2dXml,
+			XMLStreamInputStream defaults3dXml, boolean isGGTfile,
+			boolean javaScriptFound, boolean structureFound)
+			throws IOException, XMLParseException {
+		if (macroXml != null || constructionXml != null
+				|| defaults2dXml != null || defaults3dXml != null) {
+			handler = getGGBHandler();
+		}
+
 		if (!isGGTfile) {
 			// ggb file: remove all macros from kernel before processing
 			kernel.removeAllMacros();
 		}
 
 		// process macros
-		if (macroXmlFileBuffer != null) {
+		if (macroXml != null) {
 			// don't clear kernel for macro files
 			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(macroXmlFileBuffer, !isGGTfile, isGGTfile);
+			processXMLStream(macroXml, !isGGTfile, isGGTfile);
 			kernel.getConstruction().setFileLoading(false);
 		}
 
 		// process construction
-		if (!isGGTfile && xmlFileBuffer != null) {
+		if (!isGGTfile && constructionXml != null) {
 			kernel.getConstruction().setFileLoading(true);
 			app.getCompanion().resetEuclidianViewForPlaneIds();
-			processXMLBuffer(xmlFileBuffer, !macroXMLfound, isGGTfile);
+			processXMLStream(constructionXml, macroXml == null, isGGTfile);
 			kernel.getConstruction().setFileLoading(false);
 		}
 
 		// process defaults (after construction for labeling styles)
-		if (defaults2dXmlFileBuffer != null) {
+		if (defaults2dXml != null) {
 			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(defaults2dXmlFileBuffer, false, true);
+			processXMLStream(defaults2dXml, false, true);
 			kernel.getConstruction().setFileLoading(false);
 		}
-		if (defaults3dXmlFileBuffer != null) {
+		if (defaults3dXml != null) {
 			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(defaults3dXmlFileBuffer, false, true);
+			processXMLStream(defaults3dXml, false, true);
 			kernel.getConstruction().setFileLoading(false);
 		}
 
 		if (!javaScriptFound && !isGGTfile) {
 			kernel.resetLibraryJavaScript();
 		}
-		if (!(macroXMLfound || xmlFound || structureFound)) {
+		if (!(macroXml != null || constructionXml != null || structureFound)) {
 			throw new IOException("No XML data found in file.");
 		}
 	}
 
 	protected abstract void loadSVG(String svg, String name);
 
-	protected abstract void loadBitmap(ZipInputStream zip, String name);
+	/**
+	 * Decodes a bitmap; may be called from several threads at once.
+	 *
+	 * @param in
+	 *            image data
+	 * @param name
+	 *            file name
+	 * @return image or null if not supported
+	 * @throws IOException
+	 *             if image cannot be decoded
+	 */
+	protected abstract MyImageJre readBitmap(InputStream in, String name)
+			throws IOException;
 
 	/**
-	 * Handles the XML file stored in buffer.
+	 * @param name
+	 *            file name
+	 * @param image
+	 *            image from {@link #readBitmap(InputStream, String)}
+	 */
+	protected abstract void addExternalImage(String name, MyImageJre image);
+
+	/**
+	 * Handles the XML file from given stream.
 	 * 
-	 * @param buffer
-	 *            input buffer
+	 * @param stream
+	 *            XML stream
 	 * @param clearConstruction
 	 *            whether to clear construction
 	 * @param isGGTOrDefaults
@@ -250,14 +405,11 @@ protected void readZip(ZipInputStream zip, boolean isGGTfile)
 	 * @throws XMLParseException if XML is not valid
 	 * @throws IOException if stream cannot be read
 	 */
-	protected void processXMLBuffer(byte[] buffer, boolean clearConstruction,
-			boolean isGGTOrDefaults) throws XMLParseException, IOException {
-		// handle the data in the memory buffer
-		try (ByteArrayInputStream bs = new ByteArrayInputStream(buffer)) {
-			XMLStreamInputStream ir = new XMLStreamInputStream(bs);
-			// process xml file
-			doParseXML(ir, clearConstruction, isGGTOrDefaults, true, true, true);
-		}
+	protected void processXMLStream(XMLStreamInputStream stream,
+			boolean clearConstruction, boolean isGGTOrDefaults)
+			throws XMLParseException, IOException {
+		doParseXML(stream, clearConstruction, isGGTOrDefaults, true, true,
+				true);
 	}
 
 	/**
@@ -0,0 +1,102 @@
+package org.geogebra.common.jre.io.printer3D;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes binary STL triangle by triangle. The header needs the triangle
+ * count, so the export has to be started with the exact count (done by
+ * EuclidianView3DForExport for streaming getters).
+ * 
+ * Usage, also headless: create the writer, pass it to
+ * {@code GgbAPI.exportGeometry3D(...)}, then call {@link #finish()}.
+ */
+public class BinarySTLWriter extends MeshWriter {
+
+	/** header length in bytes */
+	public static final int HEADER_LENGTH = 80;
+	/** length of one triangle record in bytes */
+	public static final int TRIANGLE_LENGTH = 50;
+	private static final int BUFFER_TRIANGLES = 1024;
+	private static final long MAX_TRIANGLES = 0xFFFFFFFFL;
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer = ByteBuffer
+			.allocate(TRIANGLE_LENGTH * BUFFER_TRIANGLES)
+			.order(ByteOrder.LITTLE_ENDIAN);
+	private final float[] normal = new float[3];
+	private long expectedTriangles;
+	private long writtenTriangles;
+
+	/**
+	 * @param channel
+	 *            output, not closed by this writer
+	 * @param scale
+	 *            length of one unit in millimeters
+	 */
+	public BinarySTLWriter(WritableByteChannel channel, double scale) {
+		super(scale);
+		this.channel = channel;
+	}
+
+	@Override
+	protected void writeStart(long triangleCount) throws IOException {
+		if (triangleCount > MAX_TRIANGLES) {
+			throw new IOException("too many triangles: " + triangleCount);
+		}
+		expectedTriangles = triangleCount;
+		byte[] title = "GeoGebra binary STL".getBytes(StandardCharsets.US_ASCII);
+		buffer.put(title);
+		for (int i = title.length; i < HEADER_LENGTH; i++) {
+			buffer.put((byte) ' ');
+		}
+		buffer.putInt((int) triangleCount);
+	}
+
+	@Override
+	protected void writeGeometryStart() {
+		// vertices are collected by MeshWriter
+	}
+
+	@Override
+	protected void writeTriangle(int i1, int i2, int i3) throws IOException {
+		if (writtenTriangles == expectedTriangles) {
+			throw new IOException("more triangles than announced");
+		}
+		computeFaceNormal(i1, i2, i3, normal);
+		if (buffer.remaining() < TRIANGLE_LENGTH) {
+			flush();
+		}
+		buffer.putFloat(normal[0]).putFloat(normal[1]).putFloat(normal[2]);
+		putVertex(i1);
+		putVertex(i2);
+		putVertex(i3);
+		buffer.putShort((short) 0);
+		writtenTriangles++;
+	}
+
+	private void putVertex(int i) {
+		buffer.putFloat(getVertex(i, 0)).putFloat(getVertex(i, 1))
+				.putFloat(getVertex(i, 2));
+	}
+
+	@Override
+	protected void writeEnd() throws IOException {
+		flush();
+		if (writtenTriangles != expectedTriangles) {
+			throw new IOException("announced " + expectedTriangles
+					+ " triangles, wrote " + writtenTriangles);
+		}
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,216 @@
+package org.geogebra.common.jre.io.printer3D;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.plugin.StreamingGeometry3DGetter;
+
+/**
+ * Geometry getter that writes triangles to a stream as they come. Only the
+ * vertices of the current geometry are kept in memory.
+ * 
+ * Getter methods can't throw, so the first I/O error stops the export and is
+ * rethrown by {@link #finish()}.
+ */
+public abstract class MeshWriter implements StreamingGeometry3DGetter {
+
+	private final double scale;
+	private float[] vertices = new float[3 * 256];
+	private float[] normals = new float[3 * 256];
+	private int vertexCount;
+	private final float[] faceNormal = new float[3];
+	private IOException error;
+	private boolean started;
+
+	/**
+	 * @param scale
+	 *            length of one unit in millimeters
+	 */
+	protected MeshWriter(double scale) {
+		this.scale = scale;
+	}
+
+	/**
+	 * Axes are not part of the printed model.
+	 */
+	@Override
+	public boolean handles(GeoElement geo, GeometryType type) {
+		return type != GeometryType.AXIS;
+	}
+
+	@Override
+	public final void startExport(long triangleCount) {
+		started = true;
+		try {
+			writeStart(triangleCount);
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+
+	@Override
+	public final void startGeometry(GeometryType type) {
+		vertexCount = 0;
+		if (error == null) {
+			try {
+				writeGeometryStart();
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+	}
+
+	@Override
+	public final void addVertexNormalColor(double x, double y, double z,
+			double nx, double ny, double nz, double r, double g, double b,
+			double a) {
+		if (3 * vertexCount == vertices.length) {
+			vertices = Arrays.copyOf(vertices, 2 * vertices.length);
+			normals = Arrays.copyOf(normals, 2 * normals.length);
+		}
+		int i = 3 * vertexCount;
+		vertices[i] = (float) (x * scale);
+		vertices[i + 1] = (float) (y * scale);
+		vertices[i + 2] = (float) (z * scale);
+		normals[i] = (float) nx;
+		normals[i + 1] = (float) ny;
+		normals[i + 2] = (float) nz;
+		vertexCount++;
+	}
+
+	@Override
+	public final void addTriangle(int i1, int i2, int i3) {
+		if (error == null) {
+			try {
+				// printers want counter-clockwise vertices seen from outside:
+				// follow the vertex normals
+				computeFaceNormal(i1, i2, i3, faceNormal);
+				float dot = 0;
+				for (int c = 0; c < 3; c++) {
+					dot += faceNormal[c] * (getNormal(i1, c) + getNormal(i2, c)
+							+ getNormal(i3, c));
+				}
+				if (dot < 0) {
+					writeTriangle(i1, i3, i2);
+				} else {
+					writeTriangle(i1, i2, i3);
+				}
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+	}
+
+	/**
+	 * Writes the end of the file, call after the export.
+	 * 
+	 * @throws IOException
+	 *             if writing failed or the export was not started
+	 */
+	public final void finish() throws IOException {
+		if (error != null) {
+			throw error;
+		}
+		if (!started) {
+			throw new IOException("export not started");
+		}
+		writeEnd();
+	}
+
+	/**
+	 * @param triangleCount
+	 *            number of triangles
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	protected abstract void writeStart(long triangleCount) throws IOException;
+
+	/**
+	 * Called when a new geometry starts, vertices are not known yet.
+	 * 
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	protected abstract void writeGeometryStart() throws IOException;
+
+	/**
+	 * @param i1
+	 *            first vertex index in current geometry
+	 * @param i2
+	 *            second vertex index
+	 * @param i3
+	 *            third vertex index, counter-clockwise
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	protected abstract void writeTriangle(int i1, int i2, int i3)
+			throws IOException;
+
+	/**
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	protected abstract void writeEnd() throws IOException;
+
+	/**
+	 * @return number of vertices in current geometry
+	 */
+	protected int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @param i
+	 *            vertex index
+	 * @param coord
+	 *            0, 1 or 2 for x, y, z
+	 * @return scaled vertex coordinate
+	 */
+	protected float getVertex(int i, int coord) {
+		return vertices[3 * i + coord];
+	}
+
+	/**
+	 * @param i
+	 *            vertex index
+	 * @param coord
+	 *            0, 1 or 2 for x, y, z
+	 * @return vertex normal coordinate
+	 */
+	protected float getNormal(int i, int coord) {
+		return normals[3 * i + coord];
+	}
+
+	/**
+	 * @param i1
+	 *            first vertex index
+	 * @param i2
+	 *            second vertex index
+	 * @param i3
+	 *            third vertex index
+	 * @param normal
+	 *            output: unit normal (i2 - i1) x (i3 - i1), zero if the
+	 *            triangle is degenerate
+	 */
+	protected void computeFaceNormal(int i1, int i2, int i3, float[] normal) {
+		float ux = getVertex(i2, 0) - getVertex(i1, 0);
+		float uy = getVertex(i2, 1) - getVertex(i1, 1);
+		float uz = getVertex(i2, 2) - getVertex(i1, 2);
+		float vx = getVertex(i3, 0) - getVertex(i1, 0);
+		float vy = getVertex(i3, 1) - getVertex(i1, 1);
+		float vz = getVertex(i3, 2) - getVertex(i1, 2);
+		float nx = uy * vz - uz * vy;
+		float ny = uz * vx - ux * vz;
+		float nz = ux * vy - uy * vx;
+		float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+		if (length > 0) {
+			nx /= length;
+			ny /= length;
+			nz /= length;
+		}
+		normal[0] = nx;
+		normal[1] = ny;
+		normal[2] = nz;
+	}
+}
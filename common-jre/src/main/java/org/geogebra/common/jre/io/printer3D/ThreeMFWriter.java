@@ -0,0 +1,132 @@
+package org.geogebra.common.jre.io.printer3D;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a 3MF package (zipped XML) with one mesh object per geometry.
+ * Vertices of a geometry are written before its first triangle, triangles
+ * are streamed.
+ * 
+ * Usage, also headless: create the writer, pass it to
+ * {@code GgbAPI.exportGeometry3D(...)}, then call {@link #finish()}.
+ */
+public class ThreeMFWriter extends MeshWriter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final String MODEL_PATH = "3D/3dmodel.model";
+
+	private final ZipOutputStream zip;
+	private final Writer out;
+	private int objectCount;
+	private boolean inObject;
+
+	/**
+	 * @param channel
+	 *            output, not closed by this writer
+	 * @param scale
+	 *            length of one unit in millimeters
+	 */
+	public ThreeMFWriter(WritableByteChannel channel, double scale) {
+		super(scale);
+		zip = new ZipOutputStream(Channels.newOutputStream(channel));
+		out = new BufferedWriter(
+				new OutputStreamWriter(zip, StandardCharsets.UTF_8),
+				BUFFER_SIZE);
+	}
+
+	@Override
+	protected void writeStart(long triangleCount) throws IOException {
+		zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<Types xmlns=\"http://schemas.openxmlformats.org/"
+				+ "package/2006/content-types\">"
+				+ "<Default Extension=\"rels\" ContentType=\"application/"
+				+ "vnd.openxmlformats-package.relationships+xml\"/>"
+				+ "<Default Extension=\"model\" ContentType=\"application/"
+				+ "vnd.ms-package.3dmanufacturing-3dmodel+xml\"/>"
+				+ "</Types>\n");
+		out.flush();
+		zip.putNextEntry(new ZipEntry("_rels/.rels"));
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<Relationships xmlns=\"http://schemas.openxmlformats.org/"
+				+ "package/2006/relationships\">"
+				+ "<Relationship Target=\"/" + MODEL_PATH + "\" Id=\"rel0\""
+				+ " Type=\"http://schemas.microsoft.com/3dmanufacturing/"
+				+ "2013/01/3dmodel\"/>"
+				+ "</Relationships>\n");
+		out.flush();
+		zip.putNextEntry(new ZipEntry(MODEL_PATH));
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<model unit=\"millimeter\" xml:lang=\"en-US\""
+				+ " xmlns=\"http://schemas.microsoft.com/3dmanufacturing/"
+				+ "core/2015/02\">\n<resources>\n");
+	}
+
+	@Override
+	protected void writeGeometryStart() throws IOException {
+		endObject();
+	}
+
+	@Override
+	protected void writeTriangle(int i1, int i2, int i3) throws IOException {
+		if (!inObject) {
+			startObject();
+		}
+		out.write("<triangle v1=\"");
+		out.write(Integer.toString(i1));
+		out.write("\" v2=\"");
+		out.write(Integer.toString(i2));
+		out.write("\" v3=\"");
+		out.write(Integer.toString(i3));
+		out.write("\"/>\n");
+	}
+
+	private void startObject() throws IOException {
+		inObject = true;
+		objectCount++;
+		out.write("<object id=\"");
+		out.write(Integer.toString(objectCount));
+		out.write("\" type=\"model\">\n<mesh>\n<vertices>\n");
+		for (int i = 0; i < getVertexCount(); i++) {
+			out.write("<vertex x=\"");
+			out.write(Float.toString(getVertex(i, 0)));
+			out.write("\" y=\"");
+			out.write(Float.toString(getVertex(i, 1)));
+			out.write("\" z=\"");
+			out.write(Float.toString(getVertex(i, 2)));
+			out.write("\"/>\n");
+		}
+		out.write("</vertices>\n<triangles>\n");
+	}
+
+	private void endObject() throws IOException {
+		if (inObject) {
+			out.write("</triangles>\n</mesh>\n</object>\n");
+			inObject = false;
+		}
+	}
+
+	@Override
+	protected void writeEnd() throws IOException {
+		endObject();
+		out.write("</resources>\n<build>\n");
+		for (int id = 1; id <= objectCount; id++) {
+			out.write("<item objectid=\"");
+			out.write(Integer.toString(id));
+			out.write("\"/>\n");
+		}
+		out.write("</build>\n</model>\n");
+		out.flush();
+		zip.closeEntry();
+		zip.finish();
+		zip.flush();
+	}
+}
@@ -0,0 +1,73 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.kernel.algos.ParallelUpdateExecutor;
+
+/**
+ * Runs independent algorithm computations on a fork-join pool. Tasks are split
+ * recursively so that small computations are batched per worker.
+ */
+public class ForkJoinUpdateExecutor implements ParallelUpdateExecutor {
+
+	private static final int BATCH_SIZE = 16;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Executor using the common pool.
+	 */
+	public ForkJoinUpdateExecutor() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool for computations
+	 */
+	public ForkJoinUpdateExecutor(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void runAll(List<Runnable> tasks) {
+		pool.invoke(new RangeAction(tasks, 0, tasks.size(), BATCH_SIZE));
+	}
+
+	@Override
+	public void runEach(List<Runnable> tasks) {
+		pool.invoke(new RangeAction(tasks, 0, tasks.size(), 1));
+	}
+
+	private static class RangeAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<Runnable> tasks;
+		private final int from;
+		private final int to;
+		private final int batchSize;
+
+		RangeAction(List<Runnable> tasks, int from, int to, int batchSize) {
+			this.tasks = tasks;
+			this.from = from;
+			this.to = to;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= batchSize) {
+				for (int i = from; i < to; i++) {
+					tasks.get(i).run();
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RangeAction(tasks, from, mid, batchSize),
+					new RangeAction(tasks, mid, to, batchSize));
+		}
+	}
+}
@@ -3,8 +3,10 @@
 import java.io.UnsupportedEncodingException;
 
 import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.jre.util.metrics.ConcurrentMetricsRegistry;
 import org.geogebra.common.util.Reflection;
 import org.geogebra.common.util.URLEncoder;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
 import org.geogebra.regexp.server.JavaRegExpFactory;
 import org.geogebra.regexp.shared.RegExpFactory;
 
@@ -18,6 +20,11 @@ public static void setupRegexFactory() {
 		RegExpFactory.setPrototypeIfNull(new JavaRegExpFactory());
 	}
 
+	@Override
+	public MetricsRegistry newMetricsRegistry() {
+		return new ConcurrentMetricsRegistry();
+	}
+
 	@Override
 	public Reflection newReflection(Class clazz) {
 		return new ReflectionJre(clazz);
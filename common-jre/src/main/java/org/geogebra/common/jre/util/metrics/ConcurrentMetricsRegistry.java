@@ -0,0 +1,79 @@
+package org.geogebra.common.jre.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.geogebra.common.util.debug.metrics.CounterValue;
+import org.geogebra.common.util.debug.metrics.Histogram;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+
+/**
+ * Metrics registry that may be updated from several threads without locking.
+ */
+public class ConcurrentMetricsRegistry extends MetricsRegistry {
+
+	@Override
+	protected <V> Map<String, V> newLabelMap() {
+		return new ConcurrentHashMap<>();
+	}
+
+	@Override
+	protected Histogram newHistogram() {
+		return new ConcurrentHistogram();
+	}
+
+	@Override
+	protected CounterValue newCounter() {
+		return new ConcurrentCounter();
+	}
+
+	private static class ConcurrentCounter implements CounterValue {
+		private final LongAdder count = new LongAdder();
+
+		@Override
+		public void increment() {
+			count.increment();
+		}
+
+		@Override
+		public long get() {
+			return count.sum();
+		}
+	}
+
+	private static class ConcurrentHistogram implements Histogram {
+		private final LongAdder[] buckets = new LongAdder[BUCKETS.length + 1];
+		private final LongAdder count = new LongAdder();
+		private final DoubleAdder sum = new DoubleAdder();
+
+		ConcurrentHistogram() {
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		@Override
+		public void record(double millis) {
+			buckets[getBucket(millis)].increment();
+			count.increment();
+			sum.add(millis);
+		}
+
+		@Override
+		public long getCount() {
+			return count.sum();
+		}
+
+		@Override
+		public double getSum() {
+			return sum.sum();
+		}
+
+		@Override
+		public long getBucketCount(int bucket) {
+			return buckets[bucket].sum();
+		}
+	}
+}
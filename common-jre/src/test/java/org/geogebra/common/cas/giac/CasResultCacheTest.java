@@ -0,0 +1,102 @@
+package org.geogebra.common.cas.giac;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.metrics.Counter;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+import org.junit.Test;
+
+public class CasResultCacheTest {
+
+	@Test
+	public void shouldEvictLeastRecentlyUsed() {
+		CasResultCache cache = new CasResultCache(2, 1000);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		assertNull(cache.get("b"));
+		assertEquals("1", cache.get("a"));
+		assertEquals("3", cache.get("c"));
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(3, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void shouldEvictByWeight() {
+		CasResultCache cache = new CasResultCache(100, 10);
+		cache.put("a", "1234");
+		cache.put("b", "5678");
+		assertEquals(10, cache.getWeight());
+		cache.put("c", "9");
+		assertEquals(2, cache.size());
+		assertNull(cache.get("a"));
+		cache.put("d", "too long to be cached");
+		assertNull(cache.get("d"));
+		assertEquals(7, cache.getWeight());
+	}
+
+	@Test
+	public void tooLongResultShouldReplaceOldEntry() {
+		CasResultCache cache = new CasResultCache(100, 10);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("a", "too long to be cached");
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getWeight());
+	}
+
+	@Test
+	public void shouldReadThroughStore() {
+		CasResultCache cache = new CasResultCache(10, 1000);
+		MapStore store = new MapStore();
+		cache.setStore(store);
+		cache.put("Solve(x^2=1)", "{x=-1,x=1}");
+		cache.clear();
+		assertEquals("{x=-1,x=1}", cache.get("Solve(x^2=1)"));
+		assertEquals(1, cache.getStoreHitCount());
+		assertEquals("{x=-1,x=1}", cache.get("Solve(x^2=1)"));
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void shouldCountLookupsInMetrics() {
+		MetricsRegistry registry = new MetricsRegistry();
+		GeoGebraProfiler.setRegistry(registry);
+		try {
+			CasResultCache cache = new CasResultCache(10, 1000);
+			cache.setStore(new MapStore());
+			cache.put("a", "1");
+			cache.get("a");
+			cache.clear();
+			cache.get("a");
+			cache.get("b");
+		} finally {
+			GeoGebraProfiler.setRegistry(null);
+		}
+		for (String result : new String[] {"hit", "store_hit", "miss"}) {
+			assertEquals(1,
+					registry.getCounter(Counter.CAS_CACHE, result).get());
+		}
+	}
+
+	private static class MapStore implements CasResultStore {
+		private final HashMap<String, String> map = new HashMap<>();
+
+		@Override
+		public String load(String key) {
+			return map.get(key);
+		}
+
+		@Override
+		public void store(String key, String result) {
+			map.put(key, result);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package org.geogebra.common.euclidian;
+
+import java.util.Random;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.jre.headless.AppCommon;
+
+/**
+ * Measures hover hit testing time for growing number of points and segments,
+ * compared to testing every drawable.
+ */
+public class HitDetectorBenchmark {
+
+	private static final int HOVERS = 5000;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int size = 250; size <= 16000; size *= 4) {
+			measure(size);
+		}
+	}
+
+	private static void measure(int size) {
+		AppCommon app = AppCommonFactory.create3D();
+		EuclidianView view = app.getActiveEuclidianView();
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			sb.setLength(0);
+			sb.append("P_{").append(i).append("}=(")
+					.append(view.toRealWorldCoordX(random.nextInt(view.getWidth())))
+					.append(',')
+					.append(view.toRealWorldCoordY(random.nextInt(view.getHeight())))
+					.append(')');
+			app.getKernel().getAlgebraProcessor().processAlgebraCommand(
+					sb.toString(), false);
+			if (i % 2 == 1) {
+				app.getKernel().getAlgebraProcessor().processAlgebraCommand(
+						"Segment(P_{" + (i - 1) + "},P_{" + i + "})", false);
+			}
+		}
+		for (Drawable drawable : view.getAllDrawableList()) {
+			drawable.updateIfNeeded();
+		}
+		HitDetector detector = view.getHitDetector();
+		GPoint[] pointer = new GPoint[HOVERS];
+		for (int i = 0; i < HOVERS; i++) {
+			pointer[i] = new GPoint(random.nextInt(view.getWidth()),
+					random.nextInt(view.getHeight()));
+		}
+		long hits = 0;
+		long start = System.nanoTime();
+		for (GPoint p : pointer) {
+			detector.setHits(p, PointerEventType.MOUSE);
+			hits += detector.getHits().size();
+		}
+		double indexed = (System.nanoTime() - start) / 1E3 / HOVERS;
+		start = System.nanoTime();
+		for (GPoint p : pointer) {
+			for (Drawable d : view.getAllDrawableList()) {
+				if (d.isEuclidianVisible() && (d.hit(p.x, p.y, 3)
+						|| d.hitLabel(p.x, p.y))) {
+					hits++;
+				}
+			}
+		}
+		double scan = (System.nanoTime() - start) / 1E3 / HOVERS;
+		System.out.printf("%6d drawables: hover %.1f us, full scan %.1f us (%d)%n",
+				view.getAllDrawableList().size(), indexed, scan, hits);
+	}
+}
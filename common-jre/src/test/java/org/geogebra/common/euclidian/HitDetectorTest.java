@@ -0,0 +1,97 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.junit.Test;
+
+public class HitDetectorTest extends BaseEuclidianControllerTest {
+
+	private static final int COLUMNS = 18;
+	private static final int ROWS = 12;
+
+	@Test
+	public void shouldFindPointsInLargeConstruction() {
+		EuclidianView view = getApp().getActiveEuclidianView();
+		createPoints(view);
+		add("s=Segment(A_{0,0},A_{17,11})");
+		assertTrue(view.getAllDrawableList().size() >= DrawableGrid.MIN_SIZE);
+		repaint(view);
+		for (int i = 0; i < COLUMNS; i += 3) {
+			for (int j = 0; j < ROWS; j += 2) {
+				Hits hits = hitsAt(view, 20 + 40 * i, 20 + 40 * j);
+				assertTrue(hits.contains(lookup("A_{" + i + "," + j + "}")));
+			}
+		}
+		assertEquals(0, hitsAt(view, 40, 20).size());
+		assertTrue(hitsAt(view, 330, 221).contains(lookup("s")));
+	}
+
+	@Test
+	public void shouldFindMovedPoint() {
+		EuclidianView view = getApp().getActiveEuclidianView();
+		createPoints(view);
+		repaint(view);
+		GeoElement point = lookup("A_{0,0}");
+		assertTrue(hitsAt(view, 20, 20).contains(point));
+		add("SetCoords(A_{0,0}," + view.toRealWorldCoordX(700) + ","
+				+ view.toRealWorldCoordY(560) + ")");
+		// drawable not updated before repaint
+		assertTrue(hitsAt(view, 20, 20).contains(point));
+		repaint(view);
+		assertTrue(hitsAt(view, 700, 560).contains(point));
+		assertFalse(hitsAt(view, 20, 20).contains(point));
+	}
+
+	@Test
+	public void everyMutatorShouldChangeVersion() {
+		EuclidianView view = getApp().getActiveEuclidianView();
+		add("A=(1,1)");
+		add("B=(2,2)");
+		DrawableList list = view.getAllDrawableList();
+		int version = list.getVersion();
+		Drawable first = list.remove(0);
+		assertVersionChanged(list, version);
+		version = list.getVersion();
+		list.add(0, first);
+		assertVersionChanged(list, version);
+		version = list.getVersion();
+		list.set(1, list.get(1));
+		assertVersionChanged(list, version);
+		version = list.getVersion();
+		list.subList(0, 1).clear();
+		assertVersionChanged(list, version);
+		version = list.getVersion();
+		list.removeIf(drawable -> true);
+		assertVersionChanged(list, version);
+	}
+
+	private static void assertVersionChanged(DrawableList list, int version) {
+		assertNotEquals(version, list.getVersion());
+	}
+
+	private void createPoints(EuclidianView view) {
+		for (int i = 0; i < COLUMNS; i++) {
+			for (int j = 0; j < ROWS; j++) {
+				add("A_{" + i + "," + j + "}=(" + view.toRealWorldCoordX(20 + 40 * i)
+						+ "," + view.toRealWorldCoordY(20 + 40 * j) + ")");
+			}
+		}
+	}
+
+	private static void repaint(EuclidianView view) {
+		for (Drawable drawable : view.getAllDrawableList()) {
+			drawable.updateIfNeeded();
+		}
+	}
+
+	private static Hits hitsAt(EuclidianView view, int x, int y) {
+		view.getHitDetector().setHits(new GPoint(x, y), PointerEventType.MOUSE);
+		return view.getHitDetector().getHits();
+	}
+}
@@ -0,0 +1,92 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.kernel.matrix.CoordsDouble3;
+import org.junit.Test;
+
+public class ParallelSurfaceEvaluatorTest extends BaseUnitTest {
+
+	private static final double[] BOX = { -10, 10, -10, 10, -10, 10 };
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	@Test
+	public void pointsShouldMatchSequentialEvaluation() {
+		GeoFunctionNVar f = add("f(x,y)=x*y+cos(x)");
+		ParallelSurfaceEvaluator evaluator = createEvaluator(f);
+		assertNotNull(evaluator);
+		for (int i = 0; i < 1000; i++) {
+			evaluator.add(i / 100.0 - 5, 3 - i / 200.0);
+		}
+		// duplicates are evaluated once
+		evaluator.add(-5, 3);
+		assertTrue(evaluator.evaluate());
+		CoordsDouble3 expected = new CoordsDouble3();
+		CoordsDouble3 actual = new CoordsDouble3();
+		CoordsDouble3 expectedNormal = new CoordsDouble3();
+		CoordsDouble3 actualNormal = new CoordsDouble3();
+		for (int i = 0; i < 1000; i++) {
+			double u = i / 100.0 - 5;
+			double v = 3 - i / 200.0;
+			int index = evaluator.indexOf(u, v);
+			assertEquals(i, index);
+			f.evaluatePoint(u, v, expected);
+			evaluator.getPoint(index, actual);
+			assertEquals(expected.z, actual.z, 0);
+			assertEquals(DrawSurface3D.inCullingBox(expected, BOX),
+					evaluator.hasNormal(index));
+			if (evaluator.hasNormal(index)) {
+				getView3D().scaleXYZ(expected);
+				f.evaluateNormal(expected, u, v, expectedNormal);
+				evaluator.getNormal(index, actualNormal);
+				assertEquals(expectedNormal.x, actualNormal.x, 0);
+				assertEquals(expectedNormal.z, actualNormal.z, 0);
+			}
+		}
+		assertEquals(-1, evaluator.indexOf(0.123, 0));
+		evaluator.clear();
+		assertEquals(-1, evaluator.indexOf(-5, 3));
+	}
+
+	@Test
+	public void cancelledEvaluatorShouldNotFindPoints() {
+		ParallelSurfaceEvaluator evaluator = createEvaluator(
+				add("f(x,y)=x+y"));
+		evaluator.add(1, 2);
+		assertTrue(evaluator.evaluate());
+		evaluator.cancel();
+		assertEquals(-1, evaluator.indexOf(1, 2));
+		assertFalse(evaluator.evaluate());
+	}
+
+	@Test
+	public void evaluatorNeedsExecutor() {
+		GeoFunctionNVar f = add("f(x,y)=x+y");
+		f.setDerivatives();
+		assertNull(ParallelSurfaceEvaluator.create(f, getView3D(), BOX));
+	}
+
+	private ParallelSurfaceEvaluator createEvaluator(GeoFunctionNVar f) {
+		getKernel().setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		f.setDerivatives();
+		return ParallelSurfaceEvaluator.create(f, getView3D(), BOX);
+	}
+
+	private EuclidianView3D getView3D() {
+		return (EuclidianView3D) getApp().getEuclidianView3D();
+	}
+}
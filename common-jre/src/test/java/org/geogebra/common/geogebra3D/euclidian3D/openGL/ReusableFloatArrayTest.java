@@ -0,0 +1,58 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.jre.openGL.GLBufferJre;
+import org.junit.Test;
+
+public class ReusableFloatArrayTest {
+
+	@Test
+	public void valuesShouldSurviveGrowing() {
+		ReusableFloatArray array = new ReusableFloatArray(2);
+		for (int i = 0; i < 100; i++) {
+			array.addValues(i, -i, 0.5);
+		}
+		assertEquals(300, array.getLength());
+		assertEquals(99, array.get(297), 0);
+		assertEquals(-99, array.get(298), 0);
+		assertEquals(0.5, array.get(299), 0);
+	}
+
+	@Test
+	public void resetShouldOverwriteValues() {
+		ReusableFloatArray array = new ReusableFloatArray();
+		array.addValues(1, 2, 3, 4);
+		array.setLength(0);
+		array.addValues(5, 6);
+		assertEquals(2, array.getLength());
+		assertEquals(5, array.get(0), 0);
+		assertEquals(6, array.get(1), 0);
+	}
+
+	@Test
+	public void copyShouldBeIndependent() {
+		ReusableFloatArray array = new ReusableFloatArray();
+		array.addValues(1, 2, 3);
+		ReusableFloatArray copy = array.copy(2);
+		array.setLength(0);
+		array.addValue(7);
+		assertEquals(2, copy.getLength());
+		assertEquals(1, copy.get(0), 0);
+	}
+
+	@Test
+	public void bufferShouldReceiveValues() {
+		ReusableFloatArray array = new ReusableFloatArray();
+		array.addValues(1, 2, 3);
+		GLBuffer buffer = new GLBufferJre();
+		buffer.allocate(6);
+		buffer.set(array, 0, 3);
+		buffer.set(array, new float[] { 1, 1, 1 }, 2, 3, 3);
+		float[] values = new float[6];
+		buffer.array(values);
+		assertEquals(3, values[2], 0);
+		assertEquals(3, values[3], 0);
+		assertEquals(7, values[5], 0);
+	}
+}
@@ -0,0 +1,114 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+import java.lang.management.ManagementFactory;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianController3DForExport;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3DForExport;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.main.settings.EuclidianSettings3D;
+import org.geogebra.common.plugin.Geometry3DGetter;
+
+/**
+ * Measures time and allocation per re-tessellation of a surface in a 3D
+ * view. Every refresh changes the slider the surface depends on, so
+ * DrawSurface3D computes the mesh again and ManagerShaders stages it and
+ * copies it to its buffers. The view is the background view used for 3D
+ * export, which has the real geometry manager but no GL context.
+ * <p>
+ * Run it on the revisions before and after a change of the drawing pipeline
+ * to compare them.
+ */
+public class VertexStagingBenchmark {
+
+	private static final int WARMUP = 20;
+	private static final int REFRESHES = 50;
+	private static final String[] SURFACES = { "f(x, y) = sin(a x) cos(y)",
+			"g(x, y) = a (x^2 - y^2) / 10 + sin(x y)",
+			"s = Surface((2 + a cos(v)) cos(u), (2 + a cos(v)) sin(u),"
+					+ " a sin(v), u, 0, 2pi, v, 0, 2pi)" };
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (String definition : SURFACES) {
+			measure(definition);
+		}
+	}
+
+	private static void measure(String definition) {
+		AppCommon app = AppCommonFactory.create3D();
+		Kernel kernel = app.getKernel();
+		GeoNumeric slider = (GeoNumeric) kernel.getAlgebraProcessor()
+				.processAlgebraCommand("a = 1", false)[0];
+		kernel.getAlgebraProcessor().processAlgebraCommand(definition, false);
+		EuclidianView3DForExport view = new EuclidianView3DForExport(
+				new EuclidianController3DForExport(app),
+				new EuclidianSettings3D(app));
+		view.updateSettings(-5, 5, -5, 5, -5, 5, 1, 1, 1, 1, 1);
+		TriangleCounter counter = new TriangleCounter();
+		for (int r = 0; r < WARMUP; r++) {
+			refresh(view, slider, r, counter);
+		}
+		counter.triangles = 0;
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int r = 0; r < REFRESHES; r++) {
+			refresh(view, slider, r, counter);
+		}
+		double millis = (System.nanoTime() - start) / 1E6 / REFRESHES;
+		double kiloBytes = (allocatedBytes() - bytes) / 1024.0 / REFRESHES;
+		kernel.detach(view);
+		System.out.printf("%-45.45s %7d triangles, %9.1f kB %7.2f ms"
+				+ " per refresh%n", definition, counter.triangles / REFRESHES,
+				kiloBytes, millis);
+	}
+
+	private static void refresh(EuclidianView3DForExport view,
+			GeoNumeric slider, int run, TriangleCounter counter) {
+		slider.setValue(1 + (run % 10) / 10.0);
+		slider.updateRepaint();
+		view.export3D(counter);
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Only counts the exported surface triangles, so that the export itself
+	 * adds little to the measured time.
+	 */
+	private static class TriangleCounter implements Geometry3DGetter {
+		private long triangles;
+
+		@Override
+		public boolean handles(GeoElement geo, GeometryType type) {
+			return type == GeometryType.SURFACE;
+		}
+
+		@Override
+		public void startGeometry(GeometryType type) {
+			// nothing to do
+		}
+
+		@Override
+		public void addVertexNormalColor(double x, double y, double z,
+				double nx, double ny, double nz, double r, double g, double b,
+				double a) {
+			// only triangles are counted
+		}
+
+		@Override
+		public void addTriangle(int i1, int i2, int i3) {
+			triangles++;
+		}
+	}
+}
@@ -6,6 +6,7 @@
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -58,6 +59,18 @@ public void loadCompleteZip() throws IOException, XMLParseException {
 		MyXMLioJre xmlIO = new MyXMLioCommon(getKernel(), getConstruction());
 		xmlIO.readZipFromInputStream(Files.newInputStream(
 				Paths.get("src/test/resources/org/geogebra/common/io/ziptest.ggb")), false);
+		checkCompleteZip();
+	}
+
+	@Test
+	public void loadCompleteZipFile() throws IOException, XMLParseException {
+		MyXMLioJre xmlIO = new MyXMLioCommon(getKernel(), getConstruction());
+		xmlIO.readZipFromFile(
+				new File("src/test/resources/org/geogebra/common/io/ziptest.ggb"), false);
+		checkCompleteZip();
+	}
+
+	private void checkCompleteZip() {
 		assertThat(lookup("A"), notNullValue());
 		assertThat(getKernel().getLibraryJavaScript(), containsString("console.log"));
 		// verify 2d defaults
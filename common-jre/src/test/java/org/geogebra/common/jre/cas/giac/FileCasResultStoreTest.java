@@ -0,0 +1,95 @@
+package org.geogebra.common.jre.cas.giac;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileCasResultStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void shouldKeepResultsAfterReopening() throws IOException {
+		File file = folder.newFile("cas.store");
+		try (FileCasResultStore store = new FileCasResultStore(file)) {
+			store.store("integrate(x^2,x)", "x^3/3");
+			store.store("simplify(π)", "π");
+			assertEquals("x^3/3", store.load("integrate(x^2,x)"));
+		}
+		try (FileCasResultStore store = new FileCasResultStore(file)) {
+			assertEquals(2, store.size());
+			assertEquals("x^3/3", store.load("integrate(x^2,x)"));
+			assertEquals("π", store.load("simplify(π)"));
+			assertNull(store.load("factor(x^2-1)"));
+		}
+	}
+
+	@Test
+	public void shouldIgnoreIncompleteRecord() throws IOException {
+		File file = folder.newFile("cas.store");
+		try (FileCasResultStore store = new FileCasResultStore(file)) {
+			store.store("a", "1");
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(raf.length());
+			raf.writeInt(100);
+		}
+		long valid = file.length() - 4;
+		try (FileCasResultStore store = new FileCasResultStore(file)) {
+			assertEquals(1, store.size());
+			assertEquals(valid, file.length());
+			store.store("b", "2");
+		}
+		try (FileCasResultStore store = new FileCasResultStore(file)) {
+			assertEquals("1", store.load("a"));
+			assertEquals("2", store.load("b"));
+		}
+	}
+
+	@Test
+	public void shouldStopStoringWhenFull() throws IOException {
+		File file = folder.newFile("cas.store");
+		try (FileCasResultStore store = new FileCasResultStore(file, 25)) {
+			store.store("a", "1");
+			store.store("b", "2");
+			assertFalse(store.isFull());
+			store.store("c", "3");
+			assertTrue(store.isFull());
+			assertNull(store.load("c"));
+			assertEquals(20, file.length());
+		}
+		try (FileCasResultStore store = new FileCasResultStore(file, 25)) {
+			assertEquals("1", store.load("a"));
+			assertEquals("2", store.load("b"));
+		}
+	}
+
+	@Test
+	public void shouldIndexRecordsAppendedByOthers() throws IOException {
+		File file = folder.newFile("cas.store");
+		try (FileCasResultStore first = new FileCasResultStore(file);
+				FileCasResultStore second = new FileCasResultStore(file)) {
+			first.store("a", "1");
+			second.store("b", "2");
+			second.store("a", "1");
+			assertEquals(2, second.size());
+			assertEquals("1", second.load("a"));
+			first.store("c", "3");
+		}
+		try (FileCasResultStore store = new FileCasResultStore(file)) {
+			assertEquals(3, store.size());
+			assertEquals("2", store.load("b"));
+			assertEquals("3", store.load("c"));
+		}
+	}
+}
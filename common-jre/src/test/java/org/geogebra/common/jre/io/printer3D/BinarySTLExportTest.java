@@ -0,0 +1,48 @@
+package org.geogebra.common.jre.io.printer3D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.junit.Test;
+
+public class BinarySTLExportTest extends BaseUnitTest {
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	private ByteBuffer export() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinarySTLWriter writer = new BinarySTLWriter(
+				Channels.newChannel(bytes), 1);
+		getApp().getGgbApi().exportGeometry3D(writer, -5, 5, -5, 5, -5, 5, 1,
+				1, 1, 1, 1);
+		writer.finish();
+		return ByteBuffer.wrap(bytes.toByteArray())
+				.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	@Test
+	public void headerShouldMatchExportedTriangles() throws IOException {
+		add("f(x, y) = x^2 - y^2");
+		add("Cube((0, 0, 0), (1, 0, 0))");
+		ByteBuffer stl = export();
+		int records = (stl.limit() - BinarySTLWriter.HEADER_LENGTH - 4)
+				/ BinarySTLWriter.TRIANGLE_LENGTH;
+		assertEquals(BinarySTLWriter.HEADER_LENGTH + 4
+				+ records * BinarySTLWriter.TRIANGLE_LENGTH, stl.limit());
+		assertEquals(records, stl.getInt(BinarySTLWriter.HEADER_LENGTH));
+		// cube faces alone have 12 triangles
+		assertTrue(records > 12);
+	}
+}
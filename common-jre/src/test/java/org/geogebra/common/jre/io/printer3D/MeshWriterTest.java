@@ -0,0 +1,101 @@
+package org.geogebra.common.jre.io.printer3D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.geogebra.common.plugin.Geometry3DGetter.GeometryType;
+import org.junit.Test;
+
+public class MeshWriterTest {
+
+	private static void exportSquare(MeshWriter writer, int squares) {
+		writer.startExport(2L * squares);
+		for (int i = 0; i < squares; i++) {
+			writer.startGeometry(GeometryType.SURFACE);
+			writer.addVertexNormalColor(0, 0, i, 0, 0, 1, 1, 0, 0, 1);
+			writer.addVertexNormalColor(1, 0, i, 0, 0, 1, 1, 0, 0, 1);
+			writer.addVertexNormalColor(1, 1, i, 0, 0, 1, 1, 0, 0, 1);
+			writer.addVertexNormalColor(0, 1, i, 0, 0, 1, 1, 0, 0, 1);
+			writer.addTriangle(0, 1, 2);
+			// clockwise, should be flipped
+			writer.addTriangle(0, 3, 2);
+		}
+	}
+
+	@Test
+	public void binarySTLShouldStreamTriangles() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinarySTLWriter writer = new BinarySTLWriter(
+				Channels.newChannel(bytes), 10);
+		exportSquare(writer, 1000);
+		writer.finish();
+		ByteBuffer stl = ByteBuffer.wrap(bytes.toByteArray())
+				.order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(BinarySTLWriter.HEADER_LENGTH + 4
+				+ 2000 * BinarySTLWriter.TRIANGLE_LENGTH, stl.limit());
+		assertEquals(2000, stl.getInt(BinarySTLWriter.HEADER_LENGTH));
+		int second = BinarySTLWriter.HEADER_LENGTH + 4
+				+ BinarySTLWriter.TRIANGLE_LENGTH;
+		// normal
+		assertEquals(0, stl.getFloat(second), 0);
+		assertEquals(0, stl.getFloat(second + 4), 0);
+		assertEquals(1, stl.getFloat(second + 8), 0);
+		// second vertex is (1, 1, 0) scaled
+		assertEquals(10, stl.getFloat(second + 24), 0);
+		assertEquals(10, stl.getFloat(second + 28), 0);
+	}
+
+	@Test(expected = IOException.class)
+	public void binarySTLShouldCheckTriangleCount() throws IOException {
+		BinarySTLWriter writer = new BinarySTLWriter(
+				Channels.newChannel(new ByteArrayOutputStream()), 1);
+		writer.startExport(3);
+		writer.startGeometry(GeometryType.SURFACE);
+		writer.addVertexNormalColor(0, 0, 0, 0, 0, 1, 1, 0, 0, 1);
+		writer.addVertexNormalColor(1, 0, 0, 0, 0, 1, 1, 0, 0, 1);
+		writer.addVertexNormalColor(1, 1, 0, 0, 0, 1, 1, 0, 0, 1);
+		writer.addTriangle(0, 1, 2);
+		writer.finish();
+	}
+
+	@Test
+	public void threeMFShouldContainModel() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ThreeMFWriter writer = new ThreeMFWriter(Channels.newChannel(bytes),
+				10);
+		exportSquare(writer, 2);
+		writer.finish();
+		Map<String, String> entries = new HashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(
+				new ByteArrayInputStream(bytes.toByteArray()))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				ByteArrayOutputStream content = new ByteArrayOutputStream();
+				byte[] buf = new byte[4096];
+				int len;
+				while ((len = zip.read(buf)) > 0) {
+					content.write(buf, 0, len);
+				}
+				entries.put(entry.getName(),
+						new String(content.toByteArray(), StandardCharsets.UTF_8));
+			}
+		}
+		assertEquals(3, entries.size());
+		String model = entries.get("3D/3dmodel.model");
+		assertTrue(model.contains("<vertex x=\"10.0\" y=\"10.0\" z=\"10.0\"/>"));
+		assertTrue(model.contains("<triangle v1=\"0\" v2=\"2\" v3=\"3\"/>"));
+		assertTrue(model.contains("<item objectid=\"2\"/>"));
+	}
+}
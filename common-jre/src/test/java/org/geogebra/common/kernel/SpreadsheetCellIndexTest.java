@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.junit.Test;
+
+public class SpreadsheetCellIndexTest extends BaseUnitTest {
+
+	private SpreadsheetCellIndex getIndex() {
+		return getConstruction().getSpreadsheetCellIndex();
+	}
+
+	@Test
+	public void indexShouldFollowLabels() {
+		add("A1=1");
+		add("B3=2");
+		add("a=3");
+		assertEquals(2, getIndex().size());
+		assertSame(lookup("B3"), getIndex().get(1, 2));
+		lookup("B3").rename("D1");
+		assertNull(getIndex().get(1, 2));
+		assertSame(lookup("D1"), getIndex().get(3, 0));
+		lookup("A1").remove();
+		assertNull(getIndex().get(0, 0));
+		assertEquals(1, getIndex().size());
+	}
+
+	@Test
+	public void rangeShouldBeVisitedByColumnOrRow() {
+		add("A2=1");
+		add("B1=2");
+		add("A1=3");
+		add("C5=4");
+		ArrayList<String> labels = new ArrayList<>();
+		getIndex().forEachInRange(0, 0, 1, 1, false,
+				(col, row, geo) -> labels.add(geo.getLabelSimple()));
+		getIndex().forEachInRange(0, 0, 1, 1, true,
+				(col, row, geo) -> labels.add(geo.getLabelSimple()));
+		assertEquals("[A1, B1, A2, A1, A2, B1]", labels.toString());
+		assertArrayEquals(new GPoint[] { new GPoint(0, 0), new GPoint(2, 4) },
+				getIndex().getBounds(0, 0, 5, 100));
+		assertNull(getIndex().getBounds(3, 0, 5, 100));
+	}
+
+	@Test
+	public void cellRangeShouldTrackAddedAndRemovedCells() {
+		GeoList range = (GeoList) add("range=A1:B5000");
+		add("B4000=2");
+		add("A3=1");
+		assertEquals(2, range.size());
+		assertSame(lookup("A3"), range.get(0));
+		lookup("B4000").remove();
+		assertEquals(1, range.size());
+		lookup("A3").rename("C3");
+		assertEquals(0, range.size());
+	}
+
+	@Test
+	public void clearShouldRemoveCells() {
+		GeoElement cell = add("A1=1");
+		assertSame(cell, getIndex().get(0, 0));
+		getKernel().clearConstruction(true);
+		assertEquals(0, getIndex().size());
+	}
+}
@@ -0,0 +1,132 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.junit.Test;
+
+public class AlgoLocusTest extends BaseUnitTest {
+
+	@Test
+	public void parallelLocusShouldMatchSequential() {
+		add("c = Circle((0, 0), 4)");
+		add("P = Point(c)");
+		add("A = (6, 0)");
+		add("M = Midpoint(A, P)");
+		GeoLocus locus = add("loc = Locus(M, P)");
+		ArrayList<MyPoint> sequential = new ArrayList<>(locus.getPoints());
+
+		ArrayList<MyPoint> parallel = traceInParallel(locus);
+
+		assertOnCircle(sequential, 3, 0, 2);
+		assertOnCircle(parallel, 3, 0, 2);
+		assertTrue(locus.isDefined());
+		assertEquals(SegmentType.MOVE_TO, parallel.get(0).getSegmentType());
+		assertEquals(sequential.get(0).getX(), parallel.get(0).getX(), 1E-8);
+		assertEquals(sequential.get(0).getY(), parallel.get(0).getY(), 1E-8);
+		for (int i = 1; i < parallel.size(); i++) {
+			assertEquals(SegmentType.LINE_TO,
+					parallel.get(i).getSegmentType());
+		}
+		assertCloseToPolyline(parallel, sequential, 1E-3);
+		assertCloseToPolyline(sequential, parallel, 1E-3);
+	}
+
+	@Test
+	public void parallelProjectionShouldMatchSequential() {
+		add("c = Circle((0, 0), 4)");
+		add("P = Point(c)");
+		add("B = (0, 6)");
+		add("g = Line(B, P)");
+		add("h = Line((-1, -5), (1, -5))");
+		add("Q = Intersect(g, h)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+		ArrayList<MyPoint> sequential = new ArrayList<>(locus.getPoints());
+
+		ArrayList<MyPoint> parallel = traceInParallel(locus);
+
+		assertTrue(locus.isDefined());
+		assertCloseToPolyline(parallel, sequential, 1E-2);
+		assertCloseToPolyline(sequential, parallel, 1E-2);
+	}
+
+	@Test
+	public void parallelLocusShouldBeDeterministic() {
+		add("s = Segment((-4, -3), (4, 5))");
+		add("P = Point(s)");
+		add("M = Midpoint((0, 7), P)");
+		GeoLocus locus = add("loc = Locus(M, P)");
+
+		ArrayList<MyPoint> first = traceInParallel(locus);
+		ArrayList<MyPoint> second = traceInParallel(locus);
+
+		assertEquals(first.size(), second.size());
+		for (int i = 0; i < first.size(); i++) {
+			assertEquals(first.get(i).getX(), second.get(i).getX(), 0);
+			assertEquals(first.get(i).getY(), second.get(i).getY(), 0);
+		}
+		assertEquals(-2, first.get(0).getX(), 1E-8);
+		assertEquals(2, first.get(0).getY(), 1E-8);
+		MyPoint end = first.get(first.size() - 1);
+		assertEquals(2, end.getX(), 1E-8);
+		assertEquals(6, end.getY(), 1E-8);
+	}
+
+	private ArrayList<MyPoint> traceInParallel(GeoLocus locus) {
+		getKernel().setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		locus.getParentAlgorithm().update();
+		getKernel().setParallelUpdateExecutor(null);
+		return new ArrayList<>(locus.getPoints());
+	}
+
+	/**
+	 * Checks that all visible points lie on the polyline drawn through the
+	 * other points.
+	 */
+	private static void assertCloseToPolyline(ArrayList<MyPoint> points,
+			ArrayList<MyPoint> polyline, double tolerance) {
+		for (MyPoint point : points) {
+			if (Math.abs(point.getX()) > 10 || Math.abs(point.getY()) > 10) {
+				continue;
+			}
+			double dist = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < polyline.size(); i++) {
+				MyPoint end = polyline.get(i);
+				MyPoint start = i > 0
+						&& end.getSegmentType() == SegmentType.LINE_TO
+								? polyline.get(i - 1) : end;
+				dist = Math.min(dist, distanceToSegment(point, start, end));
+			}
+			assertEquals("distance of " + point, 0, dist, tolerance);
+		}
+	}
+
+	private static double distanceToSegment(MyPoint point, MyPoint start,
+			MyPoint end) {
+		double dx = end.getX() - start.getX();
+		double dy = end.getY() - start.getY();
+		double lengthSquared = dx * dx + dy * dy;
+		double t = lengthSquared == 0 ? 0
+				: ((point.getX() - start.getX()) * dx
+						+ (point.getY() - start.getY()) * dy) / lengthSquared;
+		t = Math.max(0, Math.min(1, t));
+		return Math.hypot(point.getX() - start.getX() - t * dx,
+				point.getY() - start.getY() - t * dy);
+	}
+
+	private static void assertOnCircle(ArrayList<MyPoint> points,
+			double x, double y, double r) {
+		assertTrue(points.size() > AlgoLocusND.PARALLEL_CHUNKS);
+		for (MyPoint point : points) {
+			assertEquals(r, Math.hypot(point.getX() - x, point.getY() - y),
+					1E-8);
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package org.geogebra.common.kernel.algos;
 
 import static org.geogebra.test.OrderingComparison.greaterThan;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
@@ -11,6 +13,7 @@
 import java.util.Objects;
 
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GColor;
 import org.geogebra.common.awt.GGraphicsCommon;
 import org.geogebra.common.euclidian.Drawable;
 import org.geogebra.common.kernel.StringTemplate;
@@ -86,6 +89,50 @@ public void chartSequenceTest() {
 		verify(graphics, atLeast(5)).fill(any());
 	}
 
+	@Test
+	public void numericSequenceShouldCreateElementsOnDemand() {
+		add("a = 2");
+		GeoList list = add("l1 = Sequence(a k^2, k, 1, 4)");
+		assertThat(list.hasPackedNumbers(), is(true));
+		assertThat(list, hasValue("{2, 8, 18, 32}"));
+		assertThat(add("Median(l1)"), hasValue("13"));
+		assertThat(add("Sum(l1)"), hasValue("60"));
+		add("SetValue(a, 1)");
+		assertThat(list, hasValue("{1, 4, 9, 16}"));
+		assertThat(list.get(2).evaluateDouble(), is(9.0));
+		assertThat(list.get(2), sameInstance(list.get(2)));
+		assertThat(list.elements().count(), is(4L));
+		assertThat(list.hasPackedNumbers(), is(true));
+		list.remove(0);
+		assertThat(list.hasPackedNumbers(), is(false));
+		assertThat(list, hasValue("{4, 9, 16}"));
+		add("SetValue(a, 3)");
+		assertThat(list.hasPackedNumbers(), is(true));
+		assertThat(add("Element(l1, 3)"), hasValue("27"));
+	}
+
+	@Test
+	public void packedListShouldStayPackedWhenStyledAndSaved() {
+		GeoList list = add("l1 = Sequence(k, k, 1, 1000)");
+		list.setObjColor(GColor.RED);
+		list.setLineThickness(7);
+		list.setAlphaValue(0.5);
+		assertThat(list.getXML(), containsString("l1"));
+		assertThat(list.get(999).evaluateDouble(), is(1000.0));
+		assertThat(list.get(999).getObjectColor(), is(GColor.RED));
+		assertThat(list.get(999).getLineThickness(), is(7));
+		assertThat(list.hasPackedNumbers(), is(true));
+	}
+
+	@Test
+	public void setValueShouldChangePackedRandomList() {
+		GeoList list = add("l1 = RandomUniform(0, 10, 3)");
+		assertThat(list.hasPackedNumbers(), is(true));
+		add("SetValue(l1, {1, 2, 3})");
+		assertThat(list, hasValue("{1, 2, 3}"));
+		assertThat(list.getNumberAt(1), is(2.0));
+	}
+
 	private GGraphicsCommon createGraphicsWithDrawable(String def) {
 		GeoList charts = add(def);
 		Drawable drawCharts = getDrawable(charts);
@@ -0,0 +1,85 @@
+package org.geogebra.common.kernel.algos;
+
+import java.lang.management.ManagementFactory;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Measures slider updates of chains f_i(x) = f_{i-1}'(x) / i + f_{i-1}(x - a)
+ * of dependent functions, compared to expanding all of them from scratch (the
+ * previous behavior on every update).
+ */
+public class FunctionExpansionBenchmark {
+
+	private static final int TICKS = 50;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int depth = 2; depth <= 32; depth *= 2) {
+			measure(depth);
+		}
+	}
+
+	private static void measure(int depth) {
+		AppCommon app = AppCommonFactory.create3D();
+		Kernel kernel = app.getKernel();
+		eval(kernel, "a = 1");
+		eval(kernel, "f_{0}(x) = sin(x) + x^2");
+		for (int i = 1; i <= depth; i++) {
+			eval(kernel, "f_{" + i + "}(x) = f_{" + (i - 1) + "}'(x) / " + i
+					+ " + f_{" + (i - 1) + "}(x - a)");
+		}
+		GeoNumeric a = (GeoNumeric) kernel.lookupLabel("a");
+		ThreadMXBean mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		// warm up
+		tick(a, 0);
+		long bytes = mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+		long start = System.nanoTime();
+		for (int t = 1; t <= TICKS; t++) {
+			tick(a, t);
+		}
+		double incremental = (System.nanoTime() - start) / 1E6 / TICKS;
+		long incrementalBytes = (mx.getThreadAllocatedBytes(
+				Thread.currentThread().getId()) - bytes) / TICKS;
+
+		bytes = mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+		start = System.nanoTime();
+		for (int t = 1; t <= TICKS; t++) {
+			for (int i = 1; i <= depth; i++) {
+				GeoElement fi = kernel.lookupLabel("f_{" + i + "}");
+				ExpressionNode expression = ((AlgoDependentFunction) fi
+						.getParentAlgorithm()).getExpression();
+				AlgoDependentFunction.expandFunctionDerivativeNodes(
+						expression.deepCopy(kernel), false,
+						((GeoFunction) fi).getFunctionVariables());
+			}
+		}
+		double full = (System.nanoTime() - start) / 1E6 / TICKS;
+		long fullBytes = (mx.getThreadAllocatedBytes(
+				Thread.currentThread().getId()) - bytes) / TICKS;
+		System.out.printf("depth %2d: update %.2f ms, %d kB;"
+				+ " full expansion %.2f ms, %d kB%n", depth, incremental,
+				incrementalBytes / 1024, full, fullBytes / 1024);
+	}
+
+	private static void tick(GeoNumeric a, int t) {
+		a.setValue(1 + t / 100.0);
+		a.updateCascade();
+	}
+
+	private static void eval(Kernel kernel, String command) {
+		kernel.getAlgebraProcessor().processAlgebraCommand(command, false);
+	}
+}
@@ -0,0 +1,66 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.junit.Test;
+
+public class FunctionExpansionTest extends BaseUnitTest {
+
+	private static FunctionExpansion getExpansion(GeoFunction fn) {
+		return ((AlgoDependentFunction) fn.getParentAlgorithm())
+				.getExpansion();
+	}
+
+	@Test
+	public void sliderShouldNotExpandAgain() {
+		add("a=1");
+		add("f(x)=x^3");
+		GeoFunction g = add("g(x)=f'(x)+f(x-a)");
+		GeoFunction h = add("h(x)=g(g(x))");
+		int expanded = getExpansion(g).getExpandedParts();
+		ExpressionNode hExpression = h.getFunctionExpression();
+		add("SetValue(a,2)");
+		assertEquals(expanded, getExpansion(g).getExpandedParts());
+		assertSame(hExpression, h.getFunctionExpression());
+		// g(1) = 3 + (-1)^3
+		assertEquals(2, g.value(1), DELTA);
+		// h(1) = g(2) = 12 + 0
+		assertEquals(12, h.value(1), DELTA);
+	}
+
+	@Test
+	public void changedFunctionShouldExpandAgain() {
+		add("f(x)=x^2");
+		GeoFunction g = add("g(x)=f(x)+1");
+		ExpressionNode gExpression = g.getFunctionExpression();
+		add("SetValue(f,x^3)");
+		assertNotSame(gExpression, g.getFunctionExpression());
+		assertEquals(9, g.value(2), DELTA);
+	}
+
+	@Test
+	public void derivativeShouldFollowParameters() {
+		add("a=1");
+		add("f(x)=a x^2");
+		GeoFunction g = add("g(x)=f'(x)");
+		GeoFunction k = add("k(x)=2f'(x)");
+		add("SetValue(a,3)");
+		assertEquals(6, g.value(1), DELTA);
+		assertEquals(12, k.value(1), DELTA);
+	}
+
+	@Test
+	public void listElementShouldAlwaysExpand() {
+		add("l={x^2,x^3}");
+		add("n=1");
+		GeoFunction g = add("g(x)=l(n,x)+1");
+		assertEquals(10, g.value(3), DELTA);
+		add("SetValue(n,2)");
+		assertEquals(28, g.value(3), DELTA);
+	}
+}
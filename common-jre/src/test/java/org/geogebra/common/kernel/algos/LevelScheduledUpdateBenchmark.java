@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel.algos;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+
+/**
+ * Measures slider-driven update cascades with growing numbers of midpoints,
+ * lines, intersections and distances hanging off one slider, serial and with
+ * level-scheduled parallel update.
+ */
+public class LevelScheduledUpdateBenchmark {
+
+	private static final int STEPS = 50;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int size = 250; size <= 4000; size *= 4) {
+			measure(size);
+		}
+	}
+
+	private static void measure(int size) {
+		AppCommon app = AppCommonFactory.create3D();
+		Kernel kernel = app.getKernel();
+		eval(kernel, "a = 1");
+		eval(kernel, "A = (a, 0)");
+		eval(kernel, "B = (0, a)");
+		for (int i = 0; i < size; i++) {
+			eval(kernel, "P_{" + i + "} = (" + (i % 50) + ", " + (i / 50)
+					+ ")");
+			eval(kernel, "M_{" + i + "} = Midpoint(A, P_{" + i + "})");
+			eval(kernel, "N_{" + i + "} = Midpoint(B, P_{" + i + "})");
+			eval(kernel, "f_{" + i + "} = Line(M_{" + i + "}, B)");
+			eval(kernel, "g_{" + i + "} = Line(N_{" + i + "}, A)");
+			eval(kernel, "S_{" + i + "} = Intersect(f_{" + i + "}, g_{" + i
+					+ "})");
+			eval(kernel, "d_{" + i + "} = Distance(S_{" + i + "}, P_{" + i
+					+ "})");
+		}
+		GeoNumeric slider = (GeoNumeric) kernel.lookupLabel("a");
+
+		double serial = time(slider);
+		kernel.setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		double parallel = time(slider);
+		kernel.setParallelUpdateExecutor(null);
+		System.out.printf("%5d points, %6d algos: serial %.2f ms,"
+				+ " parallel %.2f ms per step%n", size, 6 * size, serial,
+				parallel);
+	}
+
+	private static double time(GeoNumeric slider) {
+		// warm up
+		for (int step = 0; step < STEPS; step++) {
+			slider.setValue(1 + step / 10.0);
+			slider.updateCascade();
+		}
+		long start = System.nanoTime();
+		for (int step = 0; step < STEPS; step++) {
+			slider.setValue(1 + step / 10.0);
+			slider.updateCascade();
+		}
+		return (System.nanoTime() - start) / 1E6 / STEPS;
+	}
+
+	private static void eval(Kernel kernel, String command) {
+		kernel.getAlgebraProcessor().processAlgebraCommand(command, false);
+	}
+}
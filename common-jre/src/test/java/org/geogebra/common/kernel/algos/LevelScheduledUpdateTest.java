@@ -0,0 +1,67 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Test;
+
+public class LevelScheduledUpdateTest extends BaseUnitTest {
+
+	private static final int POINTS = 200;
+
+	@Test
+	public void sliderCascadeShouldMatchSerialUpdate() {
+		GeoNumeric slider = add("a = 1");
+		add("A = (a, 0)");
+		ArrayList<GeoNumeric> distances = new ArrayList<>();
+		for (int i = 0; i < POINTS; i++) {
+			add("P_{" + i + "} = (" + i + ", " + i + ")");
+			add("M_{" + i + "} = Midpoint(A, P_{" + i + "})");
+			add("l_{" + i + "} = Line(M_{" + i + "}, P_{" + i + "})");
+			distances.add(add("d_{" + i + "} = Distance(M_{" + i + "}, A)"));
+		}
+		// not thread safe, updated serially
+		GeoNumeric sum = add("s = d_{1} + d_{2}");
+		// first serial update clears the random ancestor flags
+		slider.updateCascade();
+		getKernel().setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		slider.setValue(5);
+		slider.updateCascade();
+		getKernel().setParallelUpdateExecutor(null);
+
+		for (int i = 0; i < POINTS; i++) {
+			GeoPoint midpoint = (GeoPoint) lookup("M_{" + i + "}");
+			assertEquals((5 + i) / 2.0, midpoint.getInhomX(), DELTA);
+			assertEquals(i / 2.0, midpoint.getInhomY(), DELTA);
+			assertEquals(Math.hypot((i - 5) / 2.0, i / 2.0),
+					distances.get(i).getValue(), 1E-12);
+		}
+		assertEquals(distances.get(1).getValue() + distances.get(2).getValue(),
+				sum.getValue(), 1E-12);
+	}
+
+	@Test
+	public void independentAlgosShouldShareLevel() {
+		add("A = (1, 0)");
+		ArrayList<AlgoElement> algos = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			add("P_{" + i + "} = (" + i + ", 1)");
+			GeoPoint midpoint = add("M_{" + i + "} = Midpoint(A, P_{" + i + "})");
+			algos.add(midpoint.getParentAlgorithm());
+			GeoNumeric dist = add("d_{" + i + "} = Distance(M_{" + i + "}, A)");
+			algos.add(dist.getParentAlgorithm());
+		}
+		for (AlgoElement algo : algos) {
+			algo.update();
+		}
+		LevelScheduledUpdate update = new LevelScheduledUpdate(
+				new ForkJoinUpdateExecutor());
+		update.buildLevels(algos);
+		assertEquals(2, update.getLevelCount());
+	}
+}
@@ -0,0 +1,65 @@
+package org.geogebra.common.kernel.algos;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoLocus;
+
+/**
+ * Measures locus tracing time for growing chains of midpoints between the
+ * moving point and the locus point, sequential and with parallel tracing.
+ */
+public class LocusBenchmark {
+
+	private static final int RUNS = 20;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int chain = 25; chain <= 1600; chain *= 4) {
+			measure(chain);
+		}
+	}
+
+	private static void measure(int chain) {
+		AppCommon app = AppCommonFactory.create3D();
+		Kernel kernel = app.getKernel();
+		eval(kernel, "c = Circle((0, 0), 4)");
+		eval(kernel, "P = Point(c)");
+		String previous = "P";
+		for (int i = 1; i <= chain; i++) {
+			eval(kernel, "A_{" + i + "} = (" + (i % 7) + ", " + (i % 5) + ")");
+			eval(kernel, "M_{" + i + "} = Midpoint(" + previous + ", A_{" + i
+					+ "})");
+			previous = "M_{" + i + "}";
+		}
+		eval(kernel, "loc = Locus(M_{" + chain + "}, P)");
+		GeoLocus locus = (GeoLocus) kernel.lookupLabel("loc");
+		AlgoElement algo = locus.getParentAlgorithm();
+
+		double sequential = time(algo);
+		kernel.setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		double parallel = time(algo);
+		kernel.setParallelUpdateExecutor(null);
+		System.out.printf("chain %5d: sequential %.1f ms, parallel %.1f ms,"
+				+ " %d points%n", chain, sequential, parallel,
+				locus.getPointLength());
+	}
+
+	private static double time(AlgoElement algo) {
+		// warm up
+		algo.compute();
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			algo.compute();
+		}
+		return (System.nanoTime() - start) / 1E6 / RUNS;
+	}
+
+	private static void eval(Kernel kernel, String command) {
+		kernel.getAlgebraProcessor().processAlgebraCommand(command, false);
+	}
+}
@@ -0,0 +1,73 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoFunction;
+
+/**
+ * Compares evaluating functions with the tree walker
+ * ({@link ExpressionNode#evaluateDouble()}), with {@link Function#value(double)}
+ * (compiled program, stack per call) and with the compiled program and one
+ * reused stack.
+ */
+public class CompiledFunctionBenchmark {
+
+	private static final int SAMPLES = 1_000_000;
+	private static final int RUNS = 5;
+	private static final String[] FUNCTIONS = {"f(x) = 3x^2 - 2x + 1",
+			"g(x) = sin(a x) / cos(x) + sqrt(abs(x))",
+			"h(x) = e^(-0.5x^2) * a + x^3 - x^a"};
+
+	private static double sink;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		AppCommon app = AppCommonFactory.create3D();
+		Kernel kernel = app.getKernel();
+		kernel.getAlgebraProcessor().processAlgebraCommand("a = 1.7", false);
+		for (String definition : FUNCTIONS) {
+			GeoFunction geo = (GeoFunction) kernel.getAlgebraProcessor()
+					.processAlgebraCommand(definition, false)[0];
+			measure(definition, geo.getFunction());
+		}
+	}
+
+	private static void measure(String definition, Function fun) {
+		FunctionVariable var = fun.getFunctionVariables()[0];
+		ExpressionNode expression = fun.getExpression();
+		CompiledFunction compiled = fun.getCompiledFunction();
+		double[] stack = compiled.createStack();
+		double tree = Double.MAX_VALUE;
+		double value = Double.MAX_VALUE;
+		double reused = Double.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < SAMPLES; i++) {
+				var.set(i * 1E-5);
+				sink += expression.evaluateDouble();
+			}
+			tree = Math.min(tree, elapsed(start));
+			start = System.nanoTime();
+			for (int i = 0; i < SAMPLES; i++) {
+				sink += fun.value(i * 1E-5);
+			}
+			value = Math.min(value, elapsed(start));
+			start = System.nanoTime();
+			for (int i = 0; i < SAMPLES; i++) {
+				sink += compiled.value(i * 1E-5, stack);
+			}
+			reused = Math.min(reused, elapsed(start));
+		}
+		System.out.printf("%-45s tree %7.1f ns, value() %7.1f ns,"
+				+ " reused stack %7.1f ns per sample%n", definition, tree,
+				value, reused);
+	}
+
+	private static double elapsed(long start) {
+		return (System.nanoTime() - start) / (double) SAMPLES;
+	}
+}
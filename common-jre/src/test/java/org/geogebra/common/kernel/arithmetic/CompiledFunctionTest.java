@@ -0,0 +1,135 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.junit.Test;
+
+public class CompiledFunctionTest extends BaseUnitTest {
+
+	@Test
+	public void shouldMatchTreeWalkerBitByBit() {
+		add("a = 1.7");
+		checkSameValues("f(x) = 3x^2 - 2x + 1");
+		checkSameValues("g(x) = sin(a x) / cos(x) + sqrt(x)");
+		checkSameValues("h(x) = e^(-0.5x^2) * a");
+		checkSameValues("k(x) = x^a + x^3");
+		checkSameValues("l(x) = exp(x) + ln(x) + abs(x)");
+	}
+
+	@Test
+	public void shouldMatchTreeWalkerForMultivariateFunctions() {
+		GeoFunctionNVar geo = add("f(x, y) = sin(x) * y^2 - 0.1 x / y");
+		FunctionNVar fun = geo.getFunction();
+		CompiledFunction compiled = fun.getCompiledFunction();
+		assertNotNull(compiled);
+		double[] stack = compiled.createStack();
+		for (double x = -3; x <= 3; x += 0.37) {
+			for (double y = -2; y <= 2; y += 0.29) {
+				double[] vals = {x, y};
+				fun.getFunctionVariables()[0].set(x);
+				fun.getFunctionVariables()[1].set(y);
+				double expected = fun.getExpression().evaluateDouble();
+				assertBitIdentical(expected, compiled.evaluate(vals, stack));
+				assertBitIdentical(expected, fun.evaluate(vals));
+			}
+		}
+	}
+
+	@Test
+	public void concurrentEvaluationShouldMatchSequential() throws Exception {
+		GeoFunction geo = add("f(x) = sin(x) * x^3 - sqrt(abs(x)) / (x^2 + 1)");
+		Function fun = geo.getFunction();
+		double[] expected = new double[2000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = fun.value(i / 100.0 - 10);
+		}
+		Thread[] threads = new Thread[4];
+		double[][] actual = new double[threads.length][expected.length];
+		for (int t = 0; t < threads.length; t++) {
+			final double[] result = actual[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < result.length; i++) {
+					result[i] = fun.value(i / 100.0 - 10);
+				}
+			});
+			threads[t].start();
+		}
+		for (int t = 0; t < threads.length; t++) {
+			threads[t].join();
+			for (int i = 0; i < expected.length; i++) {
+				assertBitIdentical(expected[i], actual[t][i]);
+			}
+		}
+	}
+
+	@Test
+	public void shouldNotCompileUnsupportedOperations() {
+		GeoFunction geo = add("f(x) = floor(x) + tan(x)");
+		assertNull(geo.getFunction().getCompiledFunction());
+		GeoFunction bool = add("b(x) = x > 1");
+		assertNull(bool.getFunction().getCompiledFunction());
+	}
+
+	@Test
+	public void shouldRecompileWhenExpressionChanges() {
+		GeoFunction geo = add("f(x) = x^2");
+		Function fun = geo.getFunction();
+		CompiledFunction compiled = fun.getCompiledFunction();
+		fun.translate(1, 2);
+		CompiledFunction translated = fun.getCompiledFunction();
+		assertNotSame(compiled, translated);
+		assertEquals(6, translated.value(2, translated.createStack()), DELTA);
+	}
+
+	@Test
+	public void valueShouldFollowInPlaceChanges() {
+		GeoFunction geo = add("f(x) = x^2 + x");
+		Function fun = geo.getFunction();
+		assertEquals(6, fun.value(2), DELTA);
+		fun.translateY(3);
+		assertEquals(9, fun.value(2), DELTA);
+		fun.dilateX(2);
+		assertEquals(5, fun.value(2), DELTA);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void singleValueShouldBeRejectedForMultivariateFunctions() {
+		GeoFunctionNVar geo = add("f(x, y) = x + y");
+		CompiledFunction compiled = geo.getFunction().getCompiledFunction();
+		compiled.value(1, compiled.createStack());
+	}
+
+	@Test
+	public void shouldReadCurrentSliderValues() {
+		add("a = 2");
+		GeoFunction geo = add("f(x) = a x");
+		CompiledFunction compiled = geo.getFunction().getCompiledFunction();
+		add("SetValue(a, 5)");
+		assertEquals(15, compiled.value(3, compiled.createStack()), DELTA);
+	}
+
+	private void checkSameValues(String definition) {
+		GeoFunction geo = add(definition);
+		Function fun = geo.getFunction();
+		CompiledFunction compiled = fun.getCompiledFunction();
+		assertNotNull(definition, compiled);
+		double[] stack = compiled.createStack();
+		for (double x = -5; x <= 5; x += 0.013) {
+			fun.getFunctionVariable().set(x);
+			double expected = fun.getExpression().evaluateDouble();
+			assertBitIdentical(expected, compiled.value(x, stack));
+			assertBitIdentical(expected, fun.value(x));
+		}
+	}
+
+	private static void assertBitIdentical(double expected, double actual) {
+		assertEquals(Double.doubleToLongBits(expected),
+				Double.doubleToLongBits(actual));
+	}
+}
@@ -0,0 +1,42 @@
+package org.geogebra.common.kernel.barycentric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AlgoKimberlingWeightsTest {
+
+	@Test
+	public void sharedInstanceShouldMatchFreshInstance() {
+		AlgoKimberlingWeights weights = new AlgoKimberlingWeights();
+		for (int k = 1; k <= AlgoKimberlingWeights.MAX_INDEX; k++) {
+			double fresh = new AlgoKimberlingWeights().weight(k, 1.5, 1, 1.2);
+			assertEquals("X(" + k + ")", fresh, weights.weight(k, 1.5, 1, 1.2),
+					0);
+		}
+	}
+
+	@Test
+	public void cacheShouldFollowTriangle() {
+		AlgoKimberlingWeights weights = new AlgoKimberlingWeights();
+		for (int k = 1; k <= AlgoKimberlingWeights.MAX_INDEX; k++) {
+			weights.weight(k, 1.5, 1, 1.2);
+		}
+		for (int k = 1; k <= AlgoKimberlingWeights.MAX_INDEX; k++) {
+			double fresh = new AlgoKimberlingWeights().weight(k, 1, 1.2, 1.5);
+			assertEquals("X(" + k + ")", fresh, weights.weight(k, 1, 1.2, 1.5),
+					0);
+		}
+	}
+
+	@Test
+	public void knownCentersShouldBeCorrect() {
+		AlgoKimberlingWeights weights = new AlgoKimberlingWeights();
+		// incenter a : b : c, centroid 1 : 1 : 1
+		assertEquals(3, weights.weight(1, 3, 4, 5), 0);
+		assertEquals(1, weights.weight(2, 3, 4, 5), 0);
+		assertTrue(Double.isNaN(weights.weight(0, 3, 4, 5)));
+		assertTrue(Double.isNaN(weights.weight(4000, 3, 4, 5)));
+	}
+}
@@ -0,0 +1,69 @@
+package org.geogebra.common.kernel.barycentric;
+
+import java.util.Random;
+
+/**
+ * Measures evaluation of all supported triangle centers for random triangles,
+ * one center at a time on a new instance (so triangle invariants are computed
+ * for every center) and on one reused instance, as AlgoKimberling does.
+ */
+public class KimberlingWeightsBenchmark {
+
+	private static final int TRIANGLES = 500;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		int[] centers = new int[AlgoKimberlingWeights.MAX_INDEX];
+		for (int k = 1; k <= centers.length; k++) {
+			centers[k - 1] = k;
+		}
+		double[][] sides = new double[TRIANGLES][];
+		Random random = new Random(42);
+		for (int i = 0; i < TRIANGLES; i++) {
+			double a = 1 + random.nextDouble();
+			double b = 1 + random.nextDouble();
+			sides[i] = new double[] { a, b,
+					Math.abs(a - b) + random.nextDouble() * 1.9 };
+		}
+		for (int run = 0; run < 3; run++) {
+			double checksum = 0;
+			long start = System.nanoTime();
+			for (double[] s : sides) {
+				for (int k : centers) {
+					checksum += weight(new AlgoKimberlingWeights().weight(k,
+							s[0], s[1], s[2]));
+				}
+			}
+			double single = (System.nanoTime() - start) / 1E6;
+
+			start = System.nanoTime();
+			AlgoKimberlingWeights weights = new AlgoKimberlingWeights();
+			for (double[] s : sides) {
+				for (int k : centers) {
+					checksum -= weight(weights.weight(k, s[0], s[1], s[2]));
+				}
+			}
+			double reused = (System.nanoTime() - start) / 1E6;
+
+			// same triangle again is answered from the cache
+			start = System.nanoTime();
+			for (int i = 0; i < TRIANGLES; i++) {
+				for (int k : centers) {
+					weights.weight(k, sides[0][0], sides[0][1], sides[0][2]);
+				}
+			}
+			double cached = (System.nanoTime() - start) / 1E6;
+			System.out.printf("%d triangles x %d centers: single %.0f ms,"
+					+ " reused %.0f ms, cached %.0f ms (checksum %.1f)%n",
+					TRIANGLES, centers.length, single, reused, cached,
+					checksum);
+		}
+	}
+
+	private static double weight(double w) {
+		return Double.isNaN(w) || Double.isInfinite(w) ? 0 : Math.signum(w);
+	}
+}
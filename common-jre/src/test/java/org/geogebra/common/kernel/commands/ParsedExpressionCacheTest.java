@@ -0,0 +1,92 @@
+package org.geogebra.common.kernel.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.metrics.Counter;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+import org.junit.Test;
+
+public class ParsedExpressionCacheTest extends BaseUnitTest {
+
+	private ParsedExpressionCache getCache() {
+		return getKernel().getAlgebraProcessor().getParsedExpressionCache();
+	}
+
+	@Test
+	public void repeatedInputShouldBeParsedOnce() {
+		add("a=1");
+		add("SetValue(a,a+1)");
+		long misses = getCache().getMisses();
+		long hits = getCache().getHits();
+		add("SetValue(a,a+1)");
+		add("SetValue(a,a+1)");
+		assertEquals(misses, getCache().getMisses());
+		assertEquals(hits + 2, getCache().getHits());
+		assertEquals(4, ((GeoNumeric) lookup("a")).getValue(), DELTA);
+	}
+
+	@Test
+	public void redefinitionShouldInvalidateCache() {
+		add("c=0");
+		add("h=3");
+		add("SetValue(c,h(2))");
+		assertEquals(6, ((GeoNumeric) lookup("c")).getValue(), DELTA);
+		add("h(x)=x^2");
+		add("SetValue(c,h(2))");
+		assertEquals(4, ((GeoNumeric) lookup("c")).getValue(), DELTA);
+	}
+
+	@Test
+	public void unrelatedLabelsShouldKeepCache() {
+		add("a=1");
+		add("SetValue(a,a+1)");
+		add("b=5");
+		add("c(x)=x");
+		long misses = getCache().getMisses();
+		add("SetValue(a,a+1)");
+		assertEquals(misses, getCache().getMisses());
+		assertEquals(3, ((GeoNumeric) lookup("a")).getValue(), DELTA);
+	}
+
+	@Test
+	public void cacheLookupsShouldBeCounted() {
+		MetricsRegistry registry = new MetricsRegistry();
+		long hits = getCache().getHits();
+		long misses = getCache().getMisses();
+		GeoGebraProfiler.setRegistry(registry);
+		try {
+			add("a=1");
+			add("SetValue(a,a+1)");
+			add("SetValue(a,a+1)");
+		} finally {
+			GeoGebraProfiler.setRegistry(null);
+		}
+		assertEquals(getCache().getHits() - hits,
+				registry.getCounter(Counter.PARSE_CACHE, "hit").get());
+		assertEquals(getCache().getMisses() - misses,
+				registry.getCounter(Counter.PARSE_CACHE, "miss").get());
+		assertTrue(registry.toPrometheus().contains(
+				"# TYPE ggb_parse_cache_total counter\n"));
+	}
+
+	@Test
+	public void randomNumbersShouldNotBeCached() {
+		add("b=0");
+		add("SetValue(b,random())");
+		long misses = getCache().getMisses();
+		add("SetValue(b,random())");
+		assertEquals(misses + 1, getCache().getMisses());
+	}
+
+	@Test
+	public void macrosShouldClearCache() {
+		add("a=0");
+		add("SetValue(a,1)");
+		getKernel().removeAllMacros();
+		assertEquals(0, getCache().size());
+	}
+}
@@ -0,0 +1,71 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.Random;
+
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
+
+/**
+ * Measures triangulation, minimum spanning tree and shortest path times for
+ * 10^3 to 10^6 random points. Triangulation with points inserted in the given
+ * (random) order is measured up to 10^5 points for comparison.
+ */
+public class DiscreteBenchmark {
+
+	private static final int MAX_UNSORTED = 100000;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int size = 1000; size <= 1000000; size *= 10) {
+			measure(size);
+		}
+	}
+
+	private static void measure(int size) {
+		Random random = new Random(42);
+		double[] x = new double[size];
+		double[] y = new double[size];
+		PointDt[] points = new PointDt[size];
+		for (int i = 0; i < size; i++) {
+			x[i] = random.nextDouble() * 100;
+			y[i] = random.nextDouble() * 100;
+			points[i] = new PointDt(x[i], y[i], i);
+		}
+
+		long start = System.nanoTime();
+		DelaunayTriangulation dt = new DelaunayTriangulation(points);
+		double sorted = (System.nanoTime() - start) / 1E6;
+
+		String unsorted = "-";
+		if (size <= MAX_UNSORTED) {
+			start = System.nanoTime();
+			DelaunayTriangulation insertion = new DelaunayTriangulation();
+			for (PointDt p : points) {
+				insertion.insertPoint(p);
+			}
+			unsorted = String.format("%.0f ms", (System.nanoTime() - start) / 1E6);
+		}
+
+		start = System.nanoTime();
+		int[] tree = EuclideanMinimumSpanningTree.compute(x, y);
+		double mst = (System.nanoTime() - start) / 1E6;
+
+		// shortest path through the tree between the first and last point
+		WeightedGraph graph = new WeightedGraph(size);
+		for (int k = 0; k < tree.length; k += 2) {
+			graph.addEdge(tree[k], tree[k + 1], Math.hypot(
+					x[tree[k]] - x[tree[k + 1]], y[tree[k]] - y[tree[k + 1]]));
+		}
+		start = System.nanoTime();
+		int[] path = graph.shortestPath(0, size - 1);
+		double dijkstra = (System.nanoTime() - start) / 1E6;
+
+		System.out.printf("%7d points: Delaunay %.0f ms (insertion order %s),"
+				+ " MST %.0f ms, shortest path %.1f ms (%d triangles, %d"
+				+ " path vertices)%n", size, sorted, unsorted, mst, dijkstra,
+				dt.trianglesSize(), path.length);
+	}
+}
@@ -0,0 +1,82 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class EuclideanMinimumSpanningTreeTest {
+
+	@Test
+	public void treeShouldHaveMinimalLength() {
+		Random random = new Random(42);
+		for (int n : new int[] {3, 10, 100, 500}) {
+			double[] x = new double[n];
+			double[] y = new double[n];
+			for (int i = 0; i < n; i++) {
+				x[i] = random.nextDouble() * 10;
+				y[i] = random.nextDouble() * 10;
+			}
+			int[] tree = EuclideanMinimumSpanningTree.compute(x, y);
+			assertEquals(2 * (n - 1), tree.length);
+			assertEquals(primLength(x, y), length(x, y, tree), 1E-9);
+		}
+	}
+
+	@Test
+	public void collinearPointsShouldBeChained() {
+		double[] x = {3, 1, 2, 0};
+		double[] y = {6, 2, 4, 0};
+		int[] tree = EuclideanMinimumSpanningTree.compute(x, y);
+		assertArrayEquals(new int[] {3, 1, 1, 2, 2, 0}, tree);
+	}
+
+	@Test
+	public void gridShouldHaveUnitEdges() {
+		int side = 20;
+		double[] x = new double[side * side];
+		double[] y = new double[side * side];
+		for (int i = 0; i < x.length; i++) {
+			x[i] = i % side;
+			y[i] = i / side;
+		}
+		int[] tree = EuclideanMinimumSpanningTree.compute(x, y);
+		assertEquals(x.length - 1, length(x, y, tree), 1E-9);
+	}
+
+	private static double length(double[] x, double[] y, int[] tree) {
+		double length = 0;
+		for (int k = 0; k < tree.length; k += 2) {
+			length += Math.hypot(x[tree[k]] - x[tree[k + 1]],
+					y[tree[k]] - y[tree[k + 1]]);
+		}
+		return length;
+	}
+
+	private static double primLength(double[] x, double[] y) {
+		int n = x.length;
+		double[] distance = new double[n];
+		boolean[] inTree = new boolean[n];
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		distance[0] = 0;
+		double length = 0;
+		for (int step = 0; step < n; step++) {
+			int next = -1;
+			for (int i = 0; i < n; i++) {
+				if (!inTree[i] && (next < 0 || distance[i] < distance[next])) {
+					next = i;
+				}
+			}
+			inTree[next] = true;
+			length += distance[next];
+			for (int i = 0; i < n; i++) {
+				distance[i] = Math.min(distance[i],
+						Math.hypot(x[i] - x[next], y[i] - y[next]));
+			}
+		}
+		return length;
+	}
+}
@@ -0,0 +1,70 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class WeightedGraphTest {
+
+	@Test
+	public void pathShouldHaveShortestLength() {
+		Random random = new Random(42);
+		int n = 60;
+		double[][] weights = new double[n][n];
+		double[][] distance = new double[n][n];
+		WeightedGraph graph = new WeightedGraph(n);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				distance[i][j] = i == j ? 0 : Double.POSITIVE_INFINITY;
+			}
+		}
+		for (int k = 0; k < 4 * n; k++) {
+			int from = random.nextInt(n);
+			int to = random.nextInt(n);
+			double weight = random.nextInt(10);
+			graph.addEdge(from, to, weight);
+			weights[from][to] = weight;
+			weights[to][from] = weight;
+			distance[from][to] = Math.min(distance[from][to], weight);
+			distance[to][from] = distance[from][to];
+		}
+		// Floyd-Warshall
+		for (int k = 0; k < n; k++) {
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					distance[i][j] = Math.min(distance[i][j],
+							distance[i][k] + distance[k][j]);
+				}
+			}
+		}
+		for (int end = 1; end < n; end++) {
+			int[] path = graph.shortestPath(0, end);
+			if (Double.isInfinite(distance[0][end])) {
+				assertNull(path);
+				continue;
+			}
+			assertEquals(0, path[0]);
+			assertEquals(end, path[path.length - 1]);
+			double length = 0;
+			for (int i = 1; i < path.length; i++) {
+				length += distance[path[i - 1]][path[i]];
+			}
+			assertEquals(distance[0][end], length, 0);
+		}
+	}
+
+	@Test
+	public void pathShouldFollowLighterEdges() {
+		WeightedGraph graph = new WeightedGraph(4);
+		graph.addEdge(0, 3, 5);
+		graph.addEdge(0, 1, 1);
+		graph.addEdge(1, 2, 1);
+		graph.addEdge(2, 3, 1);
+		assertArrayEquals(new int[] {0, 1, 2, 3}, graph.shortestPath(0, 3));
+		assertArrayEquals(new int[] {2}, graph.shortestPath(2, 2));
+	}
+}
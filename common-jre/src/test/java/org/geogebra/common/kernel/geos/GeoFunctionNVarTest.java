@@ -1,9 +1,13 @@
 package org.geogebra.common.kernel.geos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
+import org.geogebra.common.kernel.matrix.CoordsDouble3;
 import org.junit.Test;
 
 public class GeoFunctionNVarTest extends BaseUnitTest {
@@ -24,4 +28,34 @@ public void shouldShowAsUndefinedOnReload() {
 		getApp().setXML(getApp().getXML(), true);
 		assertEquals("def = false", lookup("def").toString(StringTemplate.defaultTemplate));
 	}
+
+	@Test
+	public void parallelCopyShouldEvaluateLikeOriginal() {
+		add("a=2");
+		GeoFunctionNVar f = add("f(x,y)=sin(x)*y^2+a");
+		f.setDerivatives();
+		SurfaceEvaluable copy = f.copyForParallelEvaluation();
+		assertNotNull(copy);
+		CoordsDouble3 expected = new CoordsDouble3();
+		CoordsDouble3 actual = new CoordsDouble3();
+		CoordsDouble3 expectedNormal = new CoordsDouble3();
+		CoordsDouble3 actualNormal = new CoordsDouble3();
+		for (double u = -2; u <= 2; u += 0.5) {
+			f.evaluatePoint(u, 1 - u, expected);
+			copy.evaluatePoint(u, 1 - u, actual);
+			assertEquals(expected.z, actual.z, 0);
+			f.evaluateNormal(expected, u, 1 - u, expectedNormal);
+			copy.evaluateNormal(actual, u, 1 - u, actualNormal);
+			assertEquals(expectedNormal.x, actualNormal.x, 0);
+			assertEquals(expectedNormal.y, actualNormal.y, 0);
+		}
+	}
+
+	@Test
+	public void parallelCopyShouldNeedPlainExpression() {
+		add("g(x)=x^2");
+		GeoFunctionNVar nested = add("f(x,y)=g(x)+y");
+		nested.setDerivatives();
+		assertNull(nested.copyForParallelEvaluation());
+	}
 }
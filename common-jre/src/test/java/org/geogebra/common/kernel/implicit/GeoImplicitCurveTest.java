@@ -3,15 +3,21 @@
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertEquals;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoLocus;
 import org.geogebra.test.OrderingComparison;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
@@ -80,4 +86,66 @@ public void shouldNotUseBigDecimal() {
 		}
 		assertThat(counter.get(), OrderingComparison.lessThan(100));
 	}
+
+	@Test
+	public void polynomialLocusShouldBeOnCurve() {
+		GeoImplicitCurve curve = add("x^4+y^4=16");
+		ArrayList<MyPoint> points = curve.getLocus().getPoints();
+		assertThat(points.size(), OrderingComparison.greaterThan(100));
+		for (MyPoint point : points) {
+			double radius = Math.pow(Math.pow(point.x, 4) + Math.pow(point.y, 4),
+					0.25);
+			assertEquals(2, radius, 0.01);
+		}
+	}
+
+	@Test
+	public void parallelTracingShouldMatchSequential() {
+		GeoImplicitCurve sequential = add("x^3-3x*y^2=1");
+		sequential.getLocus();
+		getKernel().setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		GeoImplicitCurve parallel = add("x^3-3x*y^2=1");
+		assertSamePoints(sequential.getLocus().getPoints(),
+				parallel.getLocus().getPoints());
+	}
+
+	@Test
+	public void pannedLocusShouldMatchFreshTrace() {
+		GeoImplicitCurve curve = add("x^4+y^4-5x*y=16");
+		curve.getLocus();
+		EuclidianView view = getApp().getEuclidianView1();
+		view.setCoordSystem(view.getXZero() + 100, view.getYZero() - 37,
+				view.getXscale(), view.getYscale());
+		GeoImplicitCurve fresh = add("x^4+y^4-5x*y=16");
+		assertSamePoints(fresh.getLocus().getPoints(),
+				curve.getLocus().getPoints());
+	}
+
+	@Test
+	public void viewOutsideTileGridShouldUseFallback() {
+		GeoImplicitCurve curve = add("x^2+y^2=1");
+		AtomicInteger fallbackCalls = new AtomicInteger();
+		QuadTree fallback = new QuadTree(curve) {
+			@Override
+			public void updatePath() {
+				fallbackCalls.incrementAndGet();
+			}
+		};
+		IntervalQuadTree tree = new IntervalQuadTree(curve, fallback);
+		GeoLocus locus = new GeoLocus(getConstruction());
+		tree.updatePath(-1, -1, 2, 2, 100, 100, locus);
+		assertThat(fallbackCalls.get(), is(0));
+		assertThat(locus.getPoints().size(), OrderingComparison.greaterThan(0));
+		tree.updatePath(1E300, 1E300, 2, 2, 100, 100, locus);
+		assertThat(fallbackCalls.get(), is(1));
+	}
+
+	private static void assertSamePoints(ArrayList<MyPoint> expected,
+			ArrayList<MyPoint> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).x, actual.get(i).x, 0);
+			assertEquals(expected.get(i).y, actual.get(i).y, 0);
+		}
+	}
 }
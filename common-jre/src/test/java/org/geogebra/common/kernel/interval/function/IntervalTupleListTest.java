@@ -0,0 +1,97 @@
+package org.geogebra.common.kernel.interval.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.kernel.interval.Interval;
+import org.junit.Test;
+
+public class IntervalTupleListTest {
+
+	@Test
+	public void prependAndRemoveShouldShiftWindow() {
+		IntervalTupleList tuples = new IntervalTupleList();
+		for (int i = 0; i < 10; i++) {
+			tuples.add(tuple(i));
+		}
+		for (int i = 1; i < 100; i++) {
+			tuples.prepend(tuple(-i));
+			tuples.removeLast();
+		}
+		assertEquals(10, tuples.count());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i - 99, tuples.xLowAt(i), 0);
+			assertEquals(2 * (i - 99), tuples.get(i).y().getLow(), 0);
+		}
+		for (int i = 0; i < 50; i++) {
+			tuples.add(tuple(i - 89));
+			tuples.removeFirst();
+		}
+		assertEquals(-49, tuples.first().x().getLow(), 0);
+		assertEquals(-40, tuples.last().x().getLow(), 0);
+	}
+
+	@Test
+	public void growingShouldKeepOrderOfWrappedTuples() {
+		IntervalTupleList tuples = new IntervalTupleList();
+		for (int i = 0; i < 100; i++) {
+			tuples.prepend(tuple(-i));
+			tuples.add(tuple(i + 1));
+		}
+		assertEquals(200, tuples.count());
+		for (int i = 0; i < 200; i++) {
+			assertEquals(i - 99, tuples.xLowAt(i), 0);
+		}
+	}
+
+	@Test
+	public void flagsAndPieceShouldBeStored() {
+		IntervalTupleList tuples = new IntervalTupleList();
+		Interval inverted = new Interval(1, 2);
+		inverted.setInverted(true);
+		tuples.add(new Interval(0, 1), inverted, 3);
+		tuples.add(new Interval(1, 2), new Interval(), 0);
+		tuples.add(new Interval(2, 3), new Interval(Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY), 0);
+		assertTrue(tuples.isInvertedAt(0));
+		assertTrue(tuples.get(0).isInverted());
+		assertEquals(3, tuples.get(0).piece());
+		assertTrue(tuples.isUndefinedAt(1));
+		assertTrue(tuples.get(1).isUndefined());
+		assertTrue(tuples.isWholeAt(2));
+		assertFalse(tuples.isInvertedAt(2));
+		tuples.setValueAt(0, new Interval(5, 6));
+		assertFalse(tuples.isInvertedAt(0));
+		assertEquals(6, tuples.yHighAt(0), 0);
+	}
+
+	@Test
+	public void getShouldReturnCopies() {
+		IntervalTupleList tuples = new IntervalTupleList();
+		IntervalTuple tuple = tuple(1);
+		tuples.add(tuple);
+		tuple.y().set(100);
+		tuples.get(0).y().set(200);
+		assertEquals(2, tuples.valueAt(0).getLow(), 0);
+		assertNull(tuples.get(1));
+		assertNull(tuples.get(-1));
+	}
+
+	@Test
+	public void validityShouldNeedTwoDefinedTuples() {
+		IntervalTupleList tuples = new IntervalTupleList();
+		tuples.add(new Interval(0, 1), new Interval(), 0);
+		tuples.add(tuple(1));
+		assertFalse(tuples.isValid());
+		tuples.add(tuple(2));
+		assertTrue(tuples.isValid());
+		tuples.clear();
+		assertTrue(tuples.isEmpty());
+	}
+
+	private static IntervalTuple tuple(int x) {
+		return new IntervalTuple(new Interval(x, x + 1), new Interval(2 * x));
+	}
+}
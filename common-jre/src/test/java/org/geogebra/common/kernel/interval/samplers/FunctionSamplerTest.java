@@ -9,6 +9,7 @@
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.euclidian.EuclidianViewBoundsImp;
 import org.geogebra.common.euclidian.plot.interval.PlotterUtils;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
 import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.interval.Interval;
 import org.geogebra.common.kernel.interval.function.IntervalTuple;
@@ -39,6 +40,33 @@ public void testExtend() {
 
 	}
 
+	@Test
+	public void parallelResampleShouldMatchSequential() {
+		assertParallelResampleMatchesSequential("tan(x)+sqrt(x^2-1)/x");
+	}
+
+	@Test
+	public void parallelResampleOfTrigShouldMatchSequential() {
+		assertParallelResampleMatchesSequential("sin(x)");
+		assertParallelResampleMatchesSequential("cos(3x)+sin(x)");
+	}
+
+	private void assertParallelResampleMatchesSequential(String definition) {
+		getKernel().setParallelUpdateExecutor(null);
+		GeoFunction function = add(definition);
+		IntervalTuple range = PlotterUtils.newRange(-10, 10, -10, 10);
+		EuclidianViewBoundsImp bounds =
+				new EuclidianViewBoundsImp(getApp().getActiveEuclidianView());
+		int samples = 2 * FunctionSampler.PARALLEL_MIN_SAMPLES;
+		FunctionSampler sequential = PlotterUtils.newSampler(function, range,
+				samples, bounds);
+		getKernel().setParallelUpdateExecutor(new ForkJoinUpdateExecutor());
+		FunctionSampler parallel = PlotterUtils.newSampler(function, range,
+				samples, bounds);
+		assertEquals(sequential.tuples(), parallel.tuples());
+		assertEquals(sequential.tuples().toString(), parallel.tuples().toString());
+	}
+
 	private List<Integer> getX(IntervalTupleList tuples) {
 		return tuples.stream().map(t -> (int) (t.x().getLow())).collect(Collectors.toList());
 	}
@@ -0,0 +1,86 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+
+import org.geogebra.common.BaseUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PPolynomialTest extends BaseUnitTest {
+
+	private PVariable[] vars;
+
+	@Before
+	public void createVariables() {
+		vars = new PVariable[6];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = new PVariable(getKernel());
+		}
+	}
+
+	private PPolynomial var(int i) {
+		return new PPolynomial(vars[i]);
+	}
+
+	private String name(int i) {
+		return vars[i].getName();
+	}
+
+	@Test
+	public void productShouldCombineTerms() {
+		PPolynomial sum = var(0).add(var(5));
+		PPolynomial diff = var(0).subtract(var(5));
+		assertEquals("-" + name(5) + "^2+" + name(0) + "^2",
+				sum.multiply(diff).toString());
+		assertEquals(2, sum.multiply(diff).getTerms().size());
+		assertTrue(sum.subtract(sum).isZero());
+		assertEquals(new PPolynomial(1).subtract(var(3)).multiply(var(4)),
+				var(4).subtract(var(3).multiply(var(4))));
+	}
+
+	@Test
+	public void termsShouldBeOrderedFromLowestToHighest() {
+		PPolynomial p = var(1).multiply(var(2)).add(var(1))
+				.add(var(4).multiply(var(4))).add(new PPolynomial(2));
+		assertEquals("2+" + name(4) + "^2+" + name(1) + "+" + name(2) + "*"
+				+ name(1), p.toString());
+		assertTrue(p.compareTo(p.subtract(var(1))) > 0);
+		assertTrue(p.compareTo(p.add(var(0))) < 0);
+	}
+
+	@Test
+	public void coefficientsShouldOverflowToBigInteger() {
+		PPolynomial max = new PPolynomial(Long.MAX_VALUE).multiply(var(0));
+		PPolynomial square = max.multiply(max);
+		BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).pow(2);
+		assertEquals(expected,
+				square.getTerms().get(new PTerm(vars[0], 2)));
+		assertEquals(new PPolynomial(expected, vars[0], 2), square);
+		assertEquals(new PPolynomial(expected, vars[0], 2).hashCode(),
+				square.hashCode());
+		assertTrue(square.subtract(square).isZero());
+		assertEquals(new PPolynomial(Long.MIN_VALUE).negate().getConstant(),
+				BigInteger.valueOf(Long.MIN_VALUE).negate());
+	}
+
+	@Test
+	public void substitutionShouldRemoveVariables() {
+		PPolynomial p = var(0).multiply(var(1)).add(var(1).multiply(var(2)));
+		HashMap<PVariable, BigInteger> values = new HashMap<>();
+		values.put(vars[0], BigInteger.valueOf(3));
+		values.put(vars[2], BigInteger.valueOf(-3));
+		assertTrue(p.substitute(values).isZero());
+		values.put(vars[2], BigInteger.valueOf(2));
+		assertEquals(new PPolynomial(BigInteger.valueOf(5), vars[1]),
+				p.substitute(values));
+		assertEquals(1, p.substitute(values).getVars().size());
+		assertEquals(var(1).multiply(var(1)).multiply(new PPolynomial(2)),
+				p.substitute(vars[0], vars[1]).substitute(vars[2], vars[1]));
+		assertNotEquals(p, p.substitute(vars[0], vars[3]));
+	}
+}
@@ -0,0 +1,73 @@
+package org.geogebra.common.main.undo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ConstructionXmlDiffTest {
+
+	private static final String SEGMENT = "<command name=\"Segment\">\n"
+			+ "\t<input a0=\"A\" a1=\"B\"/>\n\t<output a0=\"f\"/>\n</command>";
+
+	private static String construction(String... items) {
+		StringBuilder sb = new StringBuilder(
+				"<geogebra>\n<kernel/>\n<construction title=\"\">\n");
+		for (String item : items) {
+			sb.append(item).append('\n');
+		}
+		return sb.append("</construction>\n</geogebra>").toString();
+	}
+
+	private static String element(String type, String label, int x) {
+		return "<element type=\"" + type + "\" label=\"" + label + "\">\n"
+				+ "\t<coords x=\"" + x + "\" y=\"0\" z=\"1\"/>\n</element>";
+	}
+
+	@Test
+	public void shouldFindChangedIndependentElements() {
+		String current = construction(element("point", "A", 1),
+				element("point", "B", 2), SEGMENT, element("segment", "f", 0));
+		String target = construction(element("point", "A", 1),
+				element("point", "B", 3), SEGMENT, element("segment", "f", 0));
+		assertEquals(element("point", "B", 3) + "\n",
+				ConstructionXmlDiff.getChangedIndependentElements(current,
+						target));
+		assertEquals("", ConstructionXmlDiff
+				.getChangedIndependentElements(target, target));
+	}
+
+	@Test
+	public void shouldRejectChangedDependentElements() {
+		String current = construction(element("point", "A", 1),
+				element("point", "B", 2), SEGMENT, element("segment", "f", 0));
+		String target = construction(element("point", "A", 1),
+				element("point", "B", 2), SEGMENT, element("segment", "f", 1));
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(current,
+				target));
+	}
+
+	@Test
+	public void shouldRejectChangedTypeOrTags() {
+		String current = construction(element("numeric", "a", 1));
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(current,
+				construction(element("point", "a", 1))));
+		String captioned = current.replace("</element>",
+				"\t<caption val=\"foo\"/>\n</element>");
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(captioned,
+				current));
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(current,
+				current.replace("y=\"0\" ", "")));
+	}
+
+	@Test
+	public void shouldRejectStructuralChanges() {
+		String current = construction(element("point", "A", 1));
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(current,
+				construction(element("point", "A", 1), element("point", "B", 2))));
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(current,
+				construction(element("point", "C", 1))));
+		assertNull(ConstructionXmlDiff.getChangedIndependentElements(current,
+				current.replace("<kernel/>", "<kernel></kernel>")));
+	}
+}
@@ -0,0 +1,96 @@
+package org.geogebra.common.main.undo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DeltaAppStateTest {
+
+	private static String construction(String... elements) {
+		StringBuilder sb = new StringBuilder(
+				"<geogebra>\n<construction title=\"\">\n");
+		for (String element : elements) {
+			sb.append(element).append('\n');
+		}
+		return sb.append("</construction>\n</geogebra>").toString();
+	}
+
+	private static String point(String label, int x) {
+		return "<element type=\"point\" label=\"" + label + "\">\n"
+				+ "\t<coords x=\"" + x + "\" y=\"0\" z=\"1\"/>\n</element>";
+	}
+
+	@Test
+	public void shouldRestoreChangedLines() {
+		String first = construction(point("A", 1), point("B", 2), point("C", 3));
+		String second = construction(point("A", 5), point("B", 2), point("C", 7));
+		DeltaAppState base = DeltaAppState.create(first, null);
+		DeltaAppState delta = DeltaAppState.create(second, base);
+		assertTrue(base.isSnapshot());
+		assertFalse(delta.isSnapshot());
+		assertEquals(first, base.getXml());
+		assertEquals(second, delta.getXml());
+		assertTrue(delta.getStoredLength() < 100);
+	}
+
+	@Test
+	public void shouldRestoreInsertedLines() {
+		String first = construction(point("A", 1), point("B", 2), point("C", 3),
+				point("D", 4), point("E", 5));
+		String second = construction(point("A", 1), point("B", 2), point("F", 6),
+				point("C", 3), point("D", 4), point("E", 5));
+		DeltaAppState delta = DeltaAppState.create(second,
+				DeltaAppState.create(first, null));
+		assertFalse(delta.isSnapshot());
+		assertEquals(second, delta.getXml());
+	}
+
+	@Test
+	public void shouldTakeSnapshotForBigChanges() {
+		String first = construction(point("A", 1));
+		String second = construction(point("B", 2), point("C", 3));
+		DeltaAppState delta = DeltaAppState.create(second,
+				DeltaAppState.create(first, null));
+		assertTrue(delta.isSnapshot());
+		assertEquals(second, delta.getXml());
+	}
+
+	@Test
+	public void shouldLimitNumberOfDeltas() {
+		DeltaAppState state = DeltaAppState.create(
+				construction(point("A", 0), point("B", 0), point("C", 0)), null);
+		int snapshots = 0;
+		for (int i = 1; i <= 2 * DeltaAppState.MAX_DELTAS + 2; i++) {
+			String xml = construction(point("A", i), point("B", 0), point("C", 0));
+			state = DeltaAppState.create(xml, state);
+			assertEquals(xml, state.getXml());
+			if (state.isSnapshot()) {
+				snapshots++;
+			}
+		}
+		assertEquals(2, snapshots);
+	}
+
+	@Test
+	public void equalStatesShouldBeDetected() {
+		String xml = construction(point("A", 1), point("B", 2));
+		DeltaAppState base = DeltaAppState.create(xml, null);
+		DeltaAppState same = DeltaAppState.create(xml, base);
+		assertTrue(same.equalsTo(base));
+		assertTrue(base.equalsTo(new StringAppState(xml)));
+		assertFalse(base.equalsTo(DeltaAppState.create(
+				construction(point("A", 1), point("B", 3)), base)));
+	}
+
+	@Test
+	public void deletedStateShouldNotBeUsedAsBase() {
+		String xml = construction(point("A", 1), point("B", 2));
+		DeltaAppState base = DeltaAppState.create(xml, null);
+		base.delete();
+		assertNull(base.getXml());
+		assertTrue(DeltaAppState.create(xml, base).isSnapshot());
+	}
+}
@@ -0,0 +1,68 @@
+package org.geogebra.common.main.undo;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoPoint;
+
+/**
+ * Measures memory per undo step and undo/redo latency for constructions of
+ * growing size where each step moves one free point.
+ */
+public class UndoHistoryBenchmark {
+
+	private static final int STEPS = 50;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int size = 250; size <= 4000; size *= 4) {
+			measure(size);
+		}
+	}
+
+	private static void measure(int size) {
+		AppCommon app = AppCommonFactory.create3D();
+		app.setUndoActive(true);
+		Kernel kernel = app.getKernel();
+		for (int i = 0; i < size; i++) {
+			kernel.getAlgebraProcessor().processAlgebraCommand(
+					"P_{" + i + "}=(" + i + ",0)", false);
+			if (i > 0) {
+				kernel.getAlgebraProcessor().processAlgebraCommand(
+						"Segment(P_{" + (i - 1) + "},P_{" + i + "})", false);
+			}
+		}
+		app.getUndoManager().initUndoInfo();
+		int xmlLength = kernel.getConstruction().getCurrentUndoXML(true)
+				.length();
+		long stored = 0;
+		long start = System.nanoTime();
+		for (int step = 0; step < STEPS; step++) {
+			GeoPoint point = (GeoPoint) kernel.lookupLabel("P_{" + step + "}");
+			point.setCoords(step, 1, 1);
+			point.updateRepaint();
+			app.storeUndoInfo();
+			AppState state = app.getUndoManager().getCurrentUndoInfo();
+			stored += state instanceof DeltaAppState
+					? ((DeltaAppState) state).getStoredLength()
+					: state.getXml().length();
+		}
+		double storeMillis = (System.nanoTime() - start) / 1E6 / STEPS;
+		start = System.nanoTime();
+		for (int step = 0; step < STEPS; step++) {
+			app.getUndoManager().undo();
+		}
+		double undoMillis = (System.nanoTime() - start) / 1E6 / STEPS;
+		start = System.nanoTime();
+		for (int step = 0; step < STEPS; step++) {
+			app.getUndoManager().redo();
+		}
+		double redoMillis = (System.nanoTime() - start) / 1E6 / STEPS;
+		System.out.printf("%5d points, XML %7d chars: %7d chars/step,"
+				+ " store %.2f ms, undo %.2f ms, redo %.2f ms%n", size,
+				xmlLength, stored / STEPS, storeMillis, undoMillis, redoMillis);
+	}
+}
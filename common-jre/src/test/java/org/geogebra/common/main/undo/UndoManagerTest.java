@@ -4,6 +4,7 @@
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.util.List;
@@ -204,6 +205,87 @@ public void undoDraggingPointInRegion() {
 		assertThat(pt, hasValue("(3, 0)"));
 	}
 
+	@Test
+	public void undoMovingFreePointShouldKeepObjects() {
+		activateUndo();
+		GeoPoint pt = add("A=(1,1)");
+		add("B=(4,5)");
+		GeoElement segment = add("f=Segment(A,B)");
+		getApp().storeUndoInfo();
+		pt.setCoords(4, 1, 1);
+		pt.updateRepaint();
+		getApp().storeUndoInfo();
+		assertThat(segment, hasValue("4"));
+		getUndoManager().undo();
+		assertThat(lookup("A"), sameInstance(pt));
+		assertThat(pt, hasValue("(1, 1)"));
+		assertThat(segment, hasValue("5"));
+		getUndoManager().redo();
+		assertThat(pt, hasValue("(4, 1)"));
+		assertThat(segment, hasValue("4"));
+	}
+
+	@Test
+	public void restoreShouldRevertChangesThatWereNotStored() {
+		activateUndo();
+		GeoPoint pt = add("A=(1,1)");
+		add("B=(4,5)");
+		getApp().storeUndoInfo();
+		pt.setCoords(4, 1, 1);
+		pt.updateRepaint();
+		getUndoManager().restoreCurrentUndoInfo();
+		assertThat(lookup("A"), hasValue("(1, 1)"));
+		((GeoPoint) lookup("B")).setCoords(0, 0, 1);
+		lookup("B").updateRepaint();
+		getApp().storeUndoInfo();
+		getUndoManager().undo();
+		assertThat(lookup("A"), hasValue("(1, 1)"));
+		assertThat(lookup("B"), hasValue("(4, 5)"));
+	}
+
+	@Test
+	public void undoShouldRevertChangesThatWereNotStored() {
+		activateUndo();
+		GeoPoint pt = add("A=(1,1)");
+		GeoPoint pt2 = add("B=(4,5)");
+		getApp().storeUndoInfo();
+		pt.setCoords(2, 1, 1);
+		pt.updateRepaint();
+		getApp().storeUndoInfo();
+		pt2.setCoords(0, 0, 1);
+		pt2.updateRepaint();
+		getUndoManager().undo();
+		assertThat(lookup("A"), hasValue("(1, 1)"));
+		assertThat(lookup("B"), hasValue("(4, 5)"));
+	}
+
+	@Test
+	public void undoShouldResetCaption() {
+		activateUndo();
+		add("A=(1,1)");
+		getApp().storeUndoInfo();
+		lookup("A").setCaption("foo");
+		lookup("A").updateRepaint();
+		getApp().storeUndoInfo();
+		getUndoManager().undo();
+		assertThat(lookup("A").getRawCaption(), is(""));
+		getUndoManager().redo();
+		assertThat(lookup("A").getRawCaption(), is("foo"));
+	}
+
+	@Test
+	public void undoShouldRestoreTypeAfterRedefine() {
+		activateUndo();
+		add("a=1");
+		getApp().storeUndoInfo();
+		add("a=(1,2)");
+		getApp().storeUndoInfo();
+		assertThat(lookup("a").isGeoPoint(), is(true));
+		getUndoManager().undo();
+		assertThat(lookup("a").isGeoNumeric(), is(true));
+		assertThat(lookup("a"), hasValue("1"));
+	}
+
 	private UndoManager getUndoManager() {
 		return getConstruction().getUndoManager();
 	}
@@ -0,0 +1,86 @@
+package org.geogebra.common.util.clipper;
+
+import java.util.Random;
+
+import org.geogebra.common.util.clipper.Clipper.ClipType;
+import org.geogebra.common.util.clipper.Clipper.PolyFillType;
+import org.geogebra.common.util.clipper.Clipper.PolyType;
+import org.geogebra.common.util.clipper.Point.DoublePoint;
+
+/**
+ * Measures union of 10^2 to 10^4 overlapping squares in a grid, computed
+ * pairwise one polygon after another (as nested Union commands do) and by
+ * {@link PolygonListOperation}, and the update of the list operation after
+ * one square moved. The pairwise union is measured up to 10^3 squares.
+ */
+public class PolygonListOperationBenchmark {
+
+	private static final int MAX_SEQUENTIAL = 1000;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		for (int size = 100; size <= 10000; size *= 10) {
+			measure(size);
+		}
+	}
+
+	private static void measure(int size) {
+		Random random = new Random(42);
+		int columns = (int) Math.ceil(Math.sqrt(size));
+		Path[] squares = new Path[size];
+		for (int i = 0; i < size; i++) {
+			squares[i] = square(i % columns + random.nextDouble() * 0.2,
+					i / columns + random.nextDouble() * 0.2, 1.1);
+		}
+
+		String sequential = "-";
+		if (size <= MAX_SEQUENTIAL) {
+			long start = System.nanoTime();
+			Paths result = new Paths();
+			result.add(squares[0]);
+			for (int i = 1; i < size; i++) {
+				DefaultClipper clipper = new DefaultClipper(
+						Clipper.STRICTLY_SIMPLE);
+				clipper.addPaths(result, PolyType.SUBJECT, true);
+				clipper.addPath(squares[i], PolyType.CLIP, true);
+				Paths next = new Paths();
+				clipper.execute(ClipType.UNION, next, PolyFillType.EVEN_ODD,
+						PolyFillType.EVEN_ODD);
+				result = next;
+			}
+			sequential = String.format("%.0f ms",
+					(System.nanoTime() - start) / 1E6);
+		}
+
+		PolygonListOperation op = new PolygonListOperation(ClipType.UNION);
+		long start = System.nanoTime();
+		op.setSize(size);
+		for (int i = 0; i < size; i++) {
+			op.updatePolygon(i, squares[i], 0).addAll(squares[i]);
+		}
+		op.execute();
+		double tree = (System.nanoTime() - start) / 1E6;
+
+		start = System.nanoTime();
+		op.updatePolygon(size / 2, squares[size / 2], 1)
+				.addAll(square(0.5, 0.5, 1.1));
+		op.execute();
+		double update = (System.nanoTime() - start) / 1E6;
+
+		System.out.printf("%6d squares: pairwise %s, tree %.0f ms, update"
+				+ " after move %.1f ms (%d paths)%n", size, sequential, tree,
+				update, op.getSolution().size());
+	}
+
+	private static Path square(double x, double y, double size) {
+		Path path = new Path(4);
+		path.add(new DoublePoint(x, y));
+		path.add(new DoublePoint(x + size, y));
+		path.add(new DoublePoint(x + size, y + size));
+		path.add(new DoublePoint(x, y + size));
+		return path;
+	}
+}
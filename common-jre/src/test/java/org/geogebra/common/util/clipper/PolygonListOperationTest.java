@@ -0,0 +1,103 @@
+package org.geogebra.common.util.clipper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.util.clipper.Clipper.ClipType;
+import org.geogebra.common.util.clipper.Point.DoublePoint;
+import org.junit.Test;
+
+public class PolygonListOperationTest {
+
+	private static void square(Path path, double x, double y, double size) {
+		path.add(new DoublePoint(x, y));
+		path.add(new DoublePoint(x + size, y));
+		path.add(new DoublePoint(x + size, y + size));
+		path.add(new DoublePoint(x, y + size));
+	}
+
+	private static double area(Paths paths) {
+		double area = 0;
+		for (Path path : paths) {
+			area += path.area();
+		}
+		return Math.abs(area);
+	}
+
+	/**
+	 * @param op
+	 *            operation
+	 * @param size
+	 *            number of squares in a row
+	 * @param squareSize
+	 *            size of the squares, distance of their corners is 1
+	 */
+	private static void grid(PolygonListOperation op, int size,
+			double squareSize) {
+		op.setSize(size * size);
+		for (int i = 0; i < size * size; i++) {
+			Path path = op.updatePolygon(i, op, 0);
+			if (path != null) {
+				square(path, i % size, i / size, squareSize);
+			}
+		}
+	}
+
+	@Test
+	public void unionOfTilesShouldBeOnePolygon() {
+		PolygonListOperation op = new PolygonListOperation(ClipType.UNION);
+		grid(op, 8, 1);
+		assertTrue(op.execute());
+		assertEquals(1, op.getSolution().size());
+		assertEquals(64, area(op.getSolution()), 1E-8);
+	}
+
+	@Test
+	public void unionOfDisjointSquaresShouldNotBeClipped() {
+		PolygonListOperation op = new PolygonListOperation(ClipType.UNION);
+		grid(op, 8, 0.5);
+		assertTrue(op.execute());
+		assertEquals(64, op.getSolution().size());
+		assertEquals(16, area(op.getSolution()), 1E-8);
+		// one pass per square
+		assertEquals(64, op.getClipperRuns());
+	}
+
+	@Test
+	public void changedPolygonShouldOnlyUpdateItsPath() {
+		PolygonListOperation op = new PolygonListOperation(ClipType.UNION);
+		grid(op, 16, 1.5);
+		op.execute();
+		double area = area(op.getSolution());
+		int runs = op.getClipperRuns();
+		assertNull(op.updatePolygon(5, op, 0));
+		square(op.updatePolygon(0, op, 1), -10, -10, 1);
+		op.execute();
+		// the part covered only by the first square was 1x1 too
+		assertEquals(area, area(op.getSolution()), 1E-8);
+		assertEquals(2, op.getSolution().size());
+		// leaf and at most one pass per level of the tree
+		assertTrue(op.getClipperRuns() - runs <= 9);
+		runs = op.getClipperRuns();
+		square(op.updatePolygon(0, op,
+				PolygonListOperation.UNKNOWN_VERSION), -10, -10, 1);
+		op.execute();
+		assertEquals(runs, op.getClipperRuns());
+	}
+
+	@Test
+	public void intersectionShouldBeCommonPart() {
+		PolygonListOperation op = new PolygonListOperation(
+				ClipType.INTERSECTION);
+		op.setSize(3);
+		square(op.updatePolygon(0, op, 0), 0, 0, 4);
+		square(op.updatePolygon(1, op, 0), 1, 1, 4);
+		square(op.updatePolygon(2, op, 0), 2, 0, 4);
+		assertTrue(op.execute());
+		assertEquals(6, area(op.getSolution()), 1E-8);
+		square(op.updatePolygon(2, op, 1), 10, 0, 4);
+		assertTrue(op.execute());
+		assertTrue(op.getSolution().isEmpty());
+	}
+}
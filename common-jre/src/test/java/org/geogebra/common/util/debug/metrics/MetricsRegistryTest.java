@@ -0,0 +1,70 @@
+package org.geogebra.common.util.debug.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.geogebra.common.jre.util.metrics.ConcurrentMetricsRegistry;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+	@Test
+	public void bucketShouldContainTime() {
+		assertEquals(0, MetricsRegistry.getBucket(0));
+		assertEquals(0, MetricsRegistry.getBucket(0.01));
+		assertEquals(1, MetricsRegistry.getBucket(0.02));
+		assertEquals(4, MetricsRegistry.getBucket(1));
+		assertEquals(MetricsRegistry.BUCKETS.length,
+				MetricsRegistry.getBucket(1E6));
+	}
+
+	@Test
+	public void exportShouldUsePrometheusFormat() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.record(Metric.ALGO_COMPUTE, "Midpoint", 0.2);
+		registry.record(Metric.ALGO_COMPUTE, "Midpoint", 3);
+		registry.record(Metric.REPAINT, "ignored", 7);
+		String text = registry.toPrometheus();
+		assertTrue(text.contains("# TYPE ggb_algo_compute_ms histogram\n"));
+		assertTrue(text.contains(
+				"ggb_algo_compute_ms_bucket{command=\"Midpoint\",le=\"0.1\"} 0\n"));
+		assertTrue(text.contains(
+				"ggb_algo_compute_ms_bucket{command=\"Midpoint\",le=\"0.5\"} 1\n"));
+		assertTrue(text.contains(
+				"ggb_algo_compute_ms_bucket{command=\"Midpoint\",le=\"+Inf\"} 2\n"));
+		assertTrue(text.contains("ggb_algo_compute_ms_sum{command=\"Midpoint\"} 3.2\n"));
+		assertTrue(text.contains("ggb_algo_compute_ms_count{command=\"Midpoint\"} 2\n"));
+		assertTrue(text.contains("ggb_repaint_ms_bucket{le=\"10.0\"} 1\n"));
+		assertTrue(text.contains("ggb_repaint_ms_count 1\n"));
+	}
+
+	@Test
+	public void concurrentRegistryShouldNotLoseCounts() {
+		MetricsRegistry registry = new ConcurrentMetricsRegistry();
+		IntStream.range(0, 100000).parallel().forEach(i -> registry
+				.record(Metric.DRAW, "Draw" + (i % 4), 1));
+		long total = 0;
+		for (Histogram histogram : registry.getHistograms(Metric.DRAW)
+				.values()) {
+			total += histogram.getCount();
+			assertEquals(histogram.getCount(), histogram.getBucketCount(4));
+		}
+		assertEquals(100000, total);
+	}
+
+	@Test
+	public void countersShouldBeExported() {
+		MetricsRegistry registry = new ConcurrentMetricsRegistry();
+		IntStream.range(0, 100000).parallel().forEach(i -> registry
+				.increment(Counter.PARSE_CACHE, i % 4 == 0 ? "miss" : "hit"));
+		assertEquals(75000,
+				registry.getCounter(Counter.PARSE_CACHE, "hit").get());
+		String text = registry.toPrometheus();
+		assertTrue(text.contains("# TYPE ggb_parse_cache_total counter\n"));
+		assertTrue(text.contains("ggb_parse_cache_total{result=\"miss\"} 25000\n"));
+		registry.reset();
+		assertTrue(registry.getCounters(Counter.PARSE_CACHE).isEmpty());
+	}
+}
@@ -10,6 +10,7 @@
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
 import org.geogebra.common.euclidian.plot.CurvePlotterOriginal;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.Gap;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.jre.util.NumberFormat;
@@ -96,6 +97,71 @@ public void testSteepLinearFunction() {
 		assertThat(gp.getVerticals(), CoreMatchers.is("0.00049,0.00195"));
 	}
 
+	@Test
+	public void cachedPlotShouldBeTheSame() {
+		GeoFunction f = add("sin(x^2)");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = new CurveSampleCache(f);
+		PathPlotterMock gpExpected = new PathPlotterMock();
+		CurvePlotter.plotCurve(f, -5, 5, view, gpExpected, true, Gap.MOVE_TO);
+		for (int i = 0; i < 2; i++) {
+			PathPlotterMock gp = new PathPlotterMock();
+			CurvePlotter.plotCurve(cache, -5, 5, view, gp, true, Gap.MOVE_TO);
+			assertEquals(gpExpected, gp);
+		}
+	}
+
+	@Test
+	public void panShouldOnlyEvaluateNewSamples() {
+		GeoFunction f = add("sin(x^2)");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		// the inner cache stores each point the outer one had to evaluate
+		CurveSampleCache evaluated = new CurveSampleCache(f);
+		CurveSampleCache cache = new CurveSampleCache(evaluated);
+		plotAligned(cache, -5, 5, view);
+		int first = evaluated.size();
+		plotAligned(cache, -4.5, 5.5, view);
+		assertThat(evaluated.size() - first,
+				OrderingComparison.lessThan(first / 4));
+		plotAligned(cache, -4.4, 5.3, view);
+		assertThat(evaluated.size() - first,
+				OrderingComparison.lessThan(first / 4));
+	}
+
+	@Test
+	public void updateShouldClearCache() {
+		GeoFunction f = add("f(x)=sin(x)");
+		CurveSampleCache cache = new CurveSampleCache(f);
+		plotAligned(cache, -5, 5, getApp().getActiveEuclidianView());
+		int size = cache.size();
+		assertThat(size, OrderingComparison.greaterThan(0));
+		cache.validate();
+		assertEquals(size, cache.size());
+		f.updateRepaint();
+		cache.validate();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void alignedRangeShouldContainRange() {
+		double[][] ranges = {{-5, 5}, {-4.5, 5.5}, {0.1, 0.2}, {-1E6, 3}, {7, 7.001}};
+		for (double[] range : ranges) {
+			double min = CurveSampleCache.alignMin(range[0], range[1]);
+			double max = CurveSampleCache.alignMax(range[0], range[1]);
+			assertThat(min, OrderingComparison.lessThanOrEqualTo(range[0]));
+			assertThat(max, OrderingComparison.greaterThanOrEqualTo(range[1]));
+			assertThat(max - min,
+					OrderingComparison.lessThan(2.1 * (range[1] - range[0])));
+		}
+	}
+
+	private static void plotAligned(CurveEvaluable curve, double min, double max,
+			EuclidianView view) {
+		CurvePlotter.plotCurve(curve, CurveSampleCache.alignMin(min, max),
+				CurveSampleCache.alignMax(min, max), min, max, view,
+				new PathPlotterMock(), false, Gap.MOVE_TO);
+	}
+
 	protected void resultShouldBeTheSame(CurveEvaluable f, double tMin, double tMax) {
 		resultShouldBeTheSame(f, tMin, tMax, 1500);
 	}
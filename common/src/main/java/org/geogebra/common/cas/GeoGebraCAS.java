@@ -46,7 +46,9 @@
 import org.geogebra.common.main.MyError.Errors;
 import org.geogebra.common.main.error.ErrorHelper;
 import org.geogebra.common.util.MaxSizeHashMap;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -141,12 +143,19 @@ && getCurrentCAS() != null) {
 		}
 		String result = null;
 		CASException exception = null;
+		boolean profile = GeoGebraProfiler.isEnabled();
+		long start = profile ? System.nanoTime() : 0;
 		try {
 			result = getCurrentCAS().evaluateGeoGebraCAS(casInput, arbconst,
 					tpl, cell, kernel);
 		} catch (CASException ce) {
 			exception = ce;
 		}
+		if (profile) {
+			Command command = casInput.getTopLevelCommand();
+			GeoGebraProfiler.record(Metric.CAS_EVAL,
+					command == null ? "Expression" : command.getName(), start);
+		}
 
 		// check if keep input command was successful
 		// e.g. for KeepInput[Substitute[...]]
@@ -42,7 +42,6 @@
 import org.geogebra.common.main.settings.AbstractSettings;
 import org.geogebra.common.main.settings.CASSettings;
 import org.geogebra.common.plugin.Operation;
-import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.regexp.shared.MatchResult;
 import org.geogebra.regexp.shared.RegExp;
@@ -468,7 +467,9 @@ public static ArrayList<CustomFunctions> prereqs(
 	public long timeoutMillis = 5000;
 	final private static String EVALFA = "evalfa(";
 	private StringBuilder expSB = new StringBuilder(EVALFA);
-	private MaxSizeHashMap<String, String> casGiacCache = new MaxSizeHashMap<>(Kernel.GEOGEBRA_CAS_CACHE_SIZE);
+	private CasResultCache casGiacCache = new CasResultCache(
+			Kernel.GEOGEBRA_CAS_CACHE_SIZE, CasResultCache.DEFAULT_MAX_WEIGHT);
+	private boolean sharedResultCache = false;
 
 	// eg {(ggbtmpvarx>(-sqrt(110)/5)) && ((sqrt(110)/5)>ggbtmpvarx)}
 	// eg {(ggbtmpvarx>=(-sqrt(110)/5)) && ((sqrt(110)/5)>=ggbtmpvarx)}
@@ -560,12 +561,31 @@ protected void addResultToCache(String input, String result) {
 		boolean inputContainsExcludedString =
 				EXCLUDE_FROM_CACHE.stream().anyMatch(str -> input.contains(str));
 		if (!inputContainsExcludedString) {
-			casGiacCache.put(input, result);
+			casGiacCache.put(input.trim(), result);
 		}
 	}
 
 	protected String getResultFromCache(String input) {
-		return casGiacCache.get(input);
+		return casGiacCache.get(input.trim());
+	}
+
+	/**
+	 * @return cache of raw Giac results
+	 */
+	public CasResultCache getResultCache() {
+		return casGiacCache;
+	}
+
+	/**
+	 * Allows several CAS instances to share one cache. A shared cache is not
+	 * affected by {@link #clearCache()}, its owner has to clear it.
+	 * 
+	 * @param cache
+	 *            cache of raw Giac results
+	 */
+	public void setResultCache(CasResultCache cache) {
+		this.casGiacCache = cache;
+		this.sharedResultCache = true;
 	}
 
 	/**
@@ -1477,8 +1497,14 @@ public int getCasGiacCacheSize() {
 		return casGiacCache.size();
 	}
 
+	/**
+	 * Clears the result cache of this CAS; a shared cache (see
+	 * {@link #setResultCache(CasResultCache)}) is kept.
+	 */
 	public void clearCache() {
-		casGiacCache.clear();
+		if (!sharedResultCache) {
+			casGiacCache.clear();
+		}
 	}
 
 	/**
@@ -0,0 +1,181 @@
+package org.geogebra.common.cas.giac;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.metrics.Counter;
+
+/**
+ * Cache for raw Giac results. Entries are evicted in least recently used order
+ * once either the number of entries or their total weight (number of
+ * characters of input and result) exceeds the limit.
+ * <p>
+ * All methods are thread safe, so one cache may be shared by several CAS
+ * instances (e.g. multiple headless apps in one JVM). Optionally a
+ * {@link CasResultStore} can be attached as second tier; results missing in
+ * memory are looked up there and new results are written through. Lookups
+ * are counted in {@link Counter#CAS_CACHE} while metrics are collected.
+ */
+public class CasResultCache {
+
+	/** default limit for total length of cached inputs and results */
+	public static final long DEFAULT_MAX_WEIGHT = 1 << 22;
+
+	private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(
+			16, 0.75f, true);
+	private final int maxEntries;
+	private final long maxWeight;
+	private long weight;
+	private long hitCount;
+	private long storeHitCount;
+	private long missCount;
+	private long evictionCount;
+	private CasResultStore store;
+
+	/**
+	 * @param maxEntries
+	 *            maximal number of entries in memory
+	 * @param maxWeight
+	 *            maximal total length of inputs and results in memory
+	 */
+	public CasResultCache(int maxEntries, long maxWeight) {
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * @param key
+	 *            normalized Giac input
+	 * @return cached result or null
+	 */
+	public String get(String key) {
+		CasResultStore currentStore;
+		synchronized (this) {
+			String result = entries.get(key);
+			if (result != null) {
+				hitCount++;
+				GeoGebraProfiler.count(Counter.CAS_CACHE, "hit");
+				return result;
+			}
+			currentStore = store;
+		}
+		String stored = currentStore == null ? null : currentStore.load(key);
+		synchronized (this) {
+			if (stored == null) {
+				missCount++;
+			} else {
+				storeHitCount++;
+				insert(key, stored);
+			}
+		}
+		GeoGebraProfiler.count(Counter.CAS_CACHE,
+				stored == null ? "miss" : "store_hit");
+		return stored;
+	}
+
+	/**
+	 * @param key
+	 *            normalized Giac input
+	 * @param result
+	 *            Giac result
+	 */
+	public void put(String key, String result) {
+		CasResultStore currentStore;
+		synchronized (this) {
+			insert(key, result);
+			currentStore = store;
+		}
+		if (currentStore != null) {
+			currentStore.store(key, result);
+		}
+	}
+
+	private void insert(String key, String result) {
+		long entryWeight = weigh(key, result);
+		if (entryWeight > maxWeight) {
+			// never keep an outdated result for the key
+			String old = entries.remove(key);
+			if (old != null) {
+				weight -= weigh(key, old);
+			}
+			return;
+		}
+		String old = entries.put(key, result);
+		if (old != null) {
+			weight -= weigh(key, old);
+		}
+		weight += entryWeight;
+		Iterator<Map.Entry<String, String>> it = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || weight > maxWeight)
+				&& it.hasNext()) {
+			Map.Entry<String, String> eldest = it.next();
+			weight -= weigh(eldest.getKey(), eldest.getValue());
+			it.remove();
+			evictionCount++;
+		}
+	}
+
+	private static long weigh(String key, String result) {
+		return key.length() + result.length();
+	}
+
+	/**
+	 * Removes all entries from memory; the attached store is not affected.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+	}
+
+	/**
+	 * @param store
+	 *            second tier store, may be null
+	 */
+	public synchronized void setStore(CasResultStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * @return number of entries in memory
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return total length of inputs and results in memory
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * @return number of lookups answered from memory
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return number of lookups answered from the attached store
+	 */
+	public synchronized long getStoreHitCount() {
+		return storeHitCount;
+	}
+
+	/**
+	 * @return number of lookups without result
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return number of entries evicted from memory
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+}
@@ -0,0 +1,23 @@
+package org.geogebra.common.cas.giac;
+
+/**
+ * Persistent second tier for {@link CasResultCache}. Implementations must be
+ * thread safe.
+ */
+public interface CasResultStore {
+
+	/**
+	 * @param key
+	 *            normalized Giac input
+	 * @return stored result or null
+	 */
+	String load(String key);
+
+	/**
+	 * @param key
+	 *            normalized Giac input
+	 * @param result
+	 *            Giac result
+	 */
+	void store(String key, String result);
+}
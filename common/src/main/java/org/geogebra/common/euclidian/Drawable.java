@@ -243,6 +243,15 @@ public void updateFontSize() {
 		return null;
 	}
 
+	/**
+	 * @return whether {@link #hit(int, int, int)} can only succeed close to
+	 *         {@link #getBounds()} (within the hit threshold and stroke width),
+	 *         so that hit testing may skip this drawable for points far away
+	 */
+	public boolean isHitInsideBounds() {
+		return false;
+	}
+
 	/**
 	 * Draws label of referenced geo
 	 * 
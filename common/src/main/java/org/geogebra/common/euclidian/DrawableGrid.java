@@ -0,0 +1,246 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.geogebra.common.awt.GRectangle;
+
+/**
+ * Uniform grid of drawable bounds in screen coordinates. Used by
+ * {@link HitDetector} to find candidates near the pointer instead of testing
+ * all drawables.
+ * <p>
+ * The grid is rebuilt when the drawable list changes (see
+ * {@link DrawableList#getVersion()}) and single drawables are moved to other
+ * cells when marked as changed. Drawables that may be hit outside of their
+ * bounds, drawables without bounds and drawables waiting for an update are
+ * always returned as candidates. Candidates are returned in the order of the
+ * drawable list.
+ */
+final class DrawableGrid {
+
+	/** below this number of drawables a linear scan is fast enough */
+	static final int MIN_SIZE = 128;
+	private static final int CELL_SIZE = 64;
+	/** covers stroke width and decorations outside of the bounds */
+	private static final int MARGIN = 16;
+
+	private final HashMap<Drawable, Entry> entries = new HashMap<>();
+	private final ArrayList<ArrayList<Entry>> cells = new ArrayList<>();
+	private final ArrayList<Entry> unbounded = new ArrayList<>();
+	private final ArrayList<Entry> changed = new ArrayList<>();
+	private final ArrayList<Entry> found = new ArrayList<>();
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
+	private int columns;
+	private int rows;
+	private int builtVersion;
+	private int builtSize = -1;
+	private int builtWidth;
+	private int builtHeight;
+	private int queryStamp;
+
+	private static final class Entry implements Comparable<Entry> {
+		final Drawable drawable;
+		final int position;
+		int minColumn;
+		int minRow;
+		int maxColumn = -1;
+		int maxRow = -1;
+		boolean isUnbounded;
+		boolean inUnboundedList;
+		boolean isChanged;
+		int stamp;
+
+		Entry(Drawable drawable, int position) {
+			this.drawable = drawable;
+			this.position = position;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			return Integer.compare(position, other.position);
+		}
+	}
+
+	/**
+	 * @param drawable
+	 *            drawable whose geometry may have changed
+	 */
+	void markChanged(Drawable drawable) {
+		Entry entry = entries.get(drawable);
+		if (entry != null && !entry.isChanged) {
+			entry.isChanged = true;
+			changed.add(entry);
+		}
+	}
+
+	/**
+	 * @param view
+	 *            view
+	 * @param minX
+	 *            left border of the area
+	 * @param minY
+	 *            top border of the area
+	 * @param maxX
+	 *            right border of the area
+	 * @param maxY
+	 *            bottom border of the area
+	 * @return drawables that may intersect the area, null if all drawables
+	 *         need to be checked
+	 */
+	ArrayList<Drawable> getCandidates(EuclidianView view, int minX, int minY,
+			int maxX, int maxY) {
+		DrawableList list = view.getAllDrawableList();
+		if (list.size() < MIN_SIZE) {
+			return null;
+		}
+		ensureBuilt(list, view.getWidth(), view.getHeight());
+		if (minX < -MARGIN || minY < -MARGIN || maxX >= builtWidth + MARGIN
+				|| maxY >= builtHeight + MARGIN) {
+			// only drawables near the view are in the grid
+			return null;
+		}
+		updateChanged();
+		queryStamp++;
+		found.clear();
+		for (Entry entry : changed) {
+			addFound(entry);
+		}
+		for (Entry entry : unbounded) {
+			if (entry.isUnbounded) {
+				addFound(entry);
+			}
+		}
+		int maxColumn = column(maxX);
+		int maxRow = row(maxY);
+		for (int row = row(minY); row <= maxRow; row++) {
+			for (int col = column(minX); col <= maxColumn; col++) {
+				for (Entry entry : cells.get(row * columns + col)) {
+					addFound(entry);
+				}
+			}
+		}
+		Collections.sort(found);
+		candidates.clear();
+		for (Entry entry : found) {
+			candidates.add(entry.drawable);
+		}
+		return candidates;
+	}
+
+	private void addFound(Entry entry) {
+		if (entry.stamp != queryStamp) {
+			entry.stamp = queryStamp;
+			found.add(entry);
+		}
+	}
+
+	private void ensureBuilt(DrawableList list, int width, int height) {
+		if (builtSize == list.size() && builtVersion == list.getVersion()
+				&& builtWidth == width && builtHeight == height) {
+			return;
+		}
+		builtSize = list.size();
+		builtVersion = list.getVersion();
+		builtWidth = width;
+		builtHeight = height;
+		columns = (width + 2 * MARGIN) / CELL_SIZE + 1;
+		rows = (height + 2 * MARGIN) / CELL_SIZE + 1;
+		entries.clear();
+		unbounded.clear();
+		changed.clear();
+		cells.clear();
+		for (int i = 0; i < columns * rows; i++) {
+			cells.add(new ArrayList<>());
+		}
+		for (int i = 0; i < list.size(); i++) {
+			Entry entry = new Entry(list.get(i), i);
+			entries.put(entry.drawable, entry);
+			if (entry.drawable.needsUpdate()) {
+				entry.isChanged = true;
+				changed.add(entry);
+			} else {
+				insert(entry);
+			}
+		}
+	}
+
+	/**
+	 * Moves changed drawables to their new cells once they are up to date.
+	 */
+	private void updateChanged() {
+		for (int i = changed.size() - 1; i >= 0; i--) {
+			Entry entry = changed.get(i);
+			if (!entry.drawable.needsUpdate()) {
+				remove(entry);
+				insert(entry);
+				entry.isChanged = false;
+				changed.remove(i);
+			}
+		}
+	}
+
+	private void insert(Entry entry) {
+		Drawable drawable = entry.drawable;
+		GRectangle bounds = drawable.isHitInsideBounds()
+				? drawable.getBounds() : null;
+		if (bounds == null) {
+			entry.isUnbounded = true;
+			if (!entry.inUnboundedList) {
+				entry.inUnboundedList = true;
+				unbounded.add(entry);
+			}
+			return;
+		}
+		entry.isUnbounded = false;
+		double minX = bounds.getMinX();
+		double minY = bounds.getMinY();
+		double maxX = bounds.getMaxX();
+		double maxY = bounds.getMaxY();
+		GRectangle label = drawable.labelRectangle;
+		if (label.getWidth() > 0 && label.getHeight() > 0) {
+			minX = Math.min(minX, label.getMinX());
+			minY = Math.min(minY, label.getMinY());
+			maxX = Math.max(maxX, label.getMaxX());
+			maxY = Math.max(maxY, label.getMaxY());
+		}
+		if (maxX + MARGIN < -MARGIN || maxY + MARGIN < -MARGIN
+				|| minX - MARGIN >= builtWidth + MARGIN
+				|| minY - MARGIN >= builtHeight + MARGIN) {
+			// cannot be hit from inside the grid
+			entry.maxColumn = -1;
+			entry.maxRow = -1;
+			return;
+		}
+		entry.minColumn = column(minX - MARGIN);
+		entry.minRow = row(minY - MARGIN);
+		entry.maxColumn = column(maxX + MARGIN);
+		entry.maxRow = row(maxY + MARGIN);
+		for (int row = entry.minRow; row <= entry.maxRow; row++) {
+			for (int col = entry.minColumn; col <= entry.maxColumn; col++) {
+				cells.get(row * columns + col).add(entry);
+			}
+		}
+	}
+
+	private void remove(Entry entry) {
+		for (int row = entry.minRow; row <= entry.maxRow; row++) {
+			for (int col = entry.minColumn; col <= entry.maxColumn; col++) {
+				cells.get(row * columns + col).remove(entry);
+			}
+		}
+		entry.maxColumn = -1;
+		entry.maxRow = -1;
+	}
+
+	private int column(double x) {
+		int col = (int) Math.floor((x + MARGIN) / CELL_SIZE);
+		return Math.max(0, Math.min(columns - 1, col));
+	}
+
+	private int row(double y) {
+		int row = (int) Math.floor((y + MARGIN) / CELL_SIZE);
+		return Math.max(0, Math.min(rows - 1, row));
+	}
+}
@@ -13,13 +13,17 @@
 package org.geogebra.common.euclidian;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPriorityComparator;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 /**
  * List to store Drawable objects for fast drawing.
@@ -27,6 +31,7 @@
 public class DrawableList extends ArrayList<Drawable> {
 
 	private Comparator<Drawable> comparator;
+	private int version;
 
 	/**
 	 * Create a DrawableList with the given GeoPriorityComparator
@@ -56,6 +61,100 @@ public final boolean add(Drawable d) {
 		return true;
 	}
 
+	@Override
+	public void add(int index, Drawable d) {
+		markChanged();
+		super.add(index, d);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Drawable> drawables) {
+		markChanged();
+		return super.addAll(drawables);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Drawable> drawables) {
+		markChanged();
+		return super.addAll(index, drawables);
+	}
+
+	@Override
+	public Drawable set(int index, Drawable d) {
+		markChanged();
+		return super.set(index, d);
+	}
+
+	@Override
+	public boolean remove(Object d) {
+		markChanged();
+		return super.remove(d);
+	}
+
+	@Override
+	public Drawable remove(int index) {
+		markChanged();
+		return super.remove(index);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> drawables) {
+		markChanged();
+		return super.removeAll(drawables);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> drawables) {
+		markChanged();
+		return super.retainAll(drawables);
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super Drawable> filter) {
+		markChanged();
+		return super.removeIf(filter);
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		markChanged();
+		super.removeRange(fromIndex, toIndex);
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<Drawable> operator) {
+		markChanged();
+		super.replaceAll(operator);
+	}
+
+	@Override
+	public void sort(Comparator<? super Drawable> order) {
+		markChanged();
+		super.sort(order);
+	}
+
+	@Override
+	public void clear() {
+		markChanged();
+		super.clear();
+	}
+
+	/**
+	 * Called when drawables were added, removed, reordered or all of them
+	 * updated. All mutators of this list call it, callers only need it when
+	 * drawables changed in place.
+	 */
+	public void markChanged() {
+		version++;
+	}
+
+	/**
+	 * @return counter of changes, see {@link #markChanged()}
+	 */
+	public int getVersion() {
+		return version;
+	}
+
 	/**
 	 * Draws all drawables in the list.
 	 * 
@@ -72,7 +171,14 @@ public final void drawAll(GGraphics2D g2) {
 					&& !geo.isGeoInputBox() && !geo.isMask() && !geo.isMeasurementTool()
 					&& !geo.isSpotlight()) {
 				d.updateIfNeeded();
-				d.draw(g2);
+				if (GeoGebraProfiler.isEnabled()) {
+					long start = System.nanoTime();
+					d.draw(g2);
+					GeoGebraProfiler.record(Metric.DRAW,
+							d.getClass().getSimpleName(), start);
+				} else {
+					d.draw(g2);
+				}
 			}
 		}
 	}
@@ -84,10 +190,14 @@ public final void updateAll() {
 		for (Drawable d : this) {
 			d.update();
 		}
+		markChanged();
 	}
 
+	/**
+	 * Sorts the drawables by drawing priority.
+	 */
 	public void sort() {
-		Collections.sort(this, comparator);
+		sort(comparator);
 	}
 
 	@Override
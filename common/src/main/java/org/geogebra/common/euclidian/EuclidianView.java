@@ -1834,6 +1834,7 @@ final public void updateAllDrawablesForView(boolean repaint) {
 		for (Drawable d : allDrawableList) {
 			d.updateForView();
 		}
+		allDrawableList.markChanged();
 		for (Drawable d : bgImageList) {
 			d.updateForView();
 		}
@@ -1999,6 +2000,7 @@ public void rename(GeoElement geo) {
 		Object d = drawableMap.get(geo);
 		if (d != null) {
 			((Drawable) d).update();
+			hitDetector.markChanged((Drawable) d);
 			repaint();
 		}
 	}
@@ -2021,6 +2023,9 @@ public void update(GeoElement geo) {
 			} else {
 				d.update();
 			}
+			if (d instanceof Drawable) {
+				hitDetector.markChanged((Drawable) d);
+			}
 			if (geo == app.getSelectionManager().getFocusedGroupElement()
 					&& focusedGroupGeoBoundingBox != null) {
 				focusedGroupGeoBoundingBox.setRectangle(d.getBoundsForStylebarPosition());
@@ -21,11 +21,30 @@ public class HitDetector {
 	@Weak
 	private final EuclidianView ev;
 	private Hits hits;
+	private final DrawableGrid grid = new DrawableGrid();
 
 	public HitDetector(EuclidianView ev) {
 		this.ev = ev;
 	}
 
+	/**
+	 * @param drawable
+	 *            drawable that was updated
+	 */
+	public void markChanged(Drawable drawable) {
+		grid.markChanged(drawable);
+	}
+
+	/**
+	 * @return drawables close to the area, in drawing order
+	 */
+	private Iterable<Drawable> getCandidates(int minX, int minY, int maxX,
+			int maxY) {
+		ArrayList<Drawable> candidates = grid.getCandidates(ev, minX, minY,
+				maxX, maxY);
+		return candidates == null ? ev.getAllDrawableList() : candidates;
+	}
+
 	private void setHits(GPoint p, int hitThreshold) {
 		hits.init();
 		if (hitPointOrBoundary == null) {
@@ -41,8 +60,13 @@ private void setHits(GPoint p, int hitThreshold) {
 			return;
 		}
 		boolean hitMask = false;
+		// points use a bigger radius than the threshold, filled polygons the
+		// mouse threshold
+		int padding = 2 * hitThreshold + ev.getApplication()
+				.getCapturingThreshold(PointerEventType.MOUSE);
 
-		for (Drawable d : ev.getAllDrawableList()) {
+		for (Drawable d : getCandidates(p.x - padding, p.y - padding,
+				p.x + padding, p.y + padding)) {
 			if (d.isEuclidianVisible()) {
 				if (d.hit(p.x, p.y, hitThreshold)) {
 					GeoElement geo = d.getGeoElement();
@@ -172,7 +196,9 @@ public void addIntersectionHits(GRectangle rect, TestGeo filter) {
 			return;
 		}
 
-		for (Drawable d : ev.getAllDrawableList()) {
+		for (Drawable d : getCandidates((int) rect.getMinX() - 1,
+				(int) rect.getMinY() - 1, (int) rect.getMaxX() + 1,
+				(int) rect.getMaxY() + 1)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && geo.isSelectionAllowed(ev)
 					&& filter.check(geo) && !hits.contains(geo)
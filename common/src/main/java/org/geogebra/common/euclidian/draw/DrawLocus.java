@@ -307,6 +307,11 @@ final public GRectangle getBounds() {
 		return gp.getBounds();
 	}
 
+	@Override
+	public boolean isHitInsideBounds() {
+		return !geo.isInverseFill();
+	}
+
 	@Override
 	public GRectangle getBoundsClipped() {
 		if (this.partialHitClip != null) {
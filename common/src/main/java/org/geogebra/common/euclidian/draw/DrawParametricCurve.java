@@ -26,6 +26,7 @@
 import org.geogebra.common.euclidian.EuclidianViewBoundsImp;
 import org.geogebra.common.euclidian.RemoveNeeded;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.Gap;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.euclidian.plot.interval.IntervalPathPlotter;
@@ -74,6 +75,7 @@ public class DrawParametricCurve extends Drawable implements RemoveNeeded {
 	private ExpressionNode invert;
 
 	private final PlotConditionalFunction plotConditional;
+	private CurveSampleCache sampleCache;
 
 	/**
 	 * Creates graphical representation of the curve
@@ -200,6 +202,7 @@ private void updateParametric() {
 
 		double min = curve.getMinParameter();
 		double max = curve.getMaxParameter();
+		boolean clippedToView = false;
 
 		if (curve.toGeoElement().isGeoFunction()) {
 			GeoFunction function = (GeoFunction) curve.toGeoElement();
@@ -207,6 +210,8 @@ private void updateParametric() {
 
 			minView = view.getXmin();
 			maxView = view.getXmax();
+			clippedToView = (min < minView || Double.isInfinite(min))
+					&& (max > maxView || Double.isInfinite(max));
 
 			if (min < minView || Double.isInfinite(min)) {
 				min = minView;
@@ -227,9 +232,7 @@ private void updateParametric() {
 			view.toScreenCoords(eval);
 			labelPoint = new GPoint((int) eval[0], (int) eval[1]);
 		} else {
-			labelPoint = CurvePlotter.plotCurve(curve, min, max, view, gp,
-					labelVisible, fillCurve ? Gap.CORNER
-							: Gap.MOVE_TO);
+			labelPoint = plotCurve(min, max, clippedToView);
 		}
 
 		// gp on screen?
@@ -242,6 +245,30 @@ private void updateParametric() {
 		updateLabelAndTrace(labelPoint);
 	}
 
+	/**
+	 * Plots the curve, reusing the points evaluated for previous views if
+	 * possible. For functions plotted on the whole view, the range is aligned
+	 * so that the same parameters are evaluated after panning or zooming.
+	 */
+	private GPoint plotCurve(double min, double max, boolean clippedToView) {
+		if (fillCurve || curve != geo) {
+			return CurvePlotter.plotCurve(curve, min, max, view, gp,
+					labelVisible, fillCurve ? Gap.CORNER : Gap.MOVE_TO);
+		}
+		if (sampleCache == null) {
+			sampleCache = new CurveSampleCache(curve);
+		}
+		sampleCache.validate();
+		if (clippedToView) {
+			return CurvePlotter.plotCurve(sampleCache,
+					CurveSampleCache.alignMin(min, max),
+					CurveSampleCache.alignMax(min, max), min, max, view, gp,
+					labelVisible, Gap.MOVE_TO);
+		}
+		return CurvePlotter.plotCurve(sampleCache, min, max, view, gp,
+				labelVisible, Gap.MOVE_TO);
+	}
+
 	private void updateLabelAndTrace(GPoint labelPoint) {
 		if (labelPoint != null) {
 			updateLabel(labelPoint);
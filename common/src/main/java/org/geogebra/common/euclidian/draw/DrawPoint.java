@@ -498,6 +498,11 @@ public boolean isInside(GRectangle rect) {
 		return rect.contains(circle.getBounds());
 	}
 
+	@Override
+	public boolean isHitInsideBounds() {
+		return true;
+	}
+
 	@Override
 	public boolean intersectsRectangle(GRectangle rect) {
 		return circle.intersects(rect);
@@ -376,6 +376,11 @@ final public GRectangle getBounds() {
 		return gp.getBounds();
 	}
 
+	@Override
+	public boolean isHitInsideBounds() {
+		return !geo.isInverseFill();
+	}
+
 	@Override
 	public GArea getShape() {
 		if (super.getShape() != null) {
@@ -618,6 +618,11 @@ final public GRectangle getBounds() {
 		return AwtFactory.getPrototype().newRectangle(line.getBounds());
 	}
 
+	@Override
+	public boolean isHitInsideBounds() {
+		return true;
+	}
+
 	/**
 	 * set visible
 	 */
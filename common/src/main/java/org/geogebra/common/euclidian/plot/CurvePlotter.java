@@ -30,10 +30,13 @@ public class CurvePlotter {
 	public CurvePlotter(CurveEvaluable curve, double tMin,
 			double tMax, EuclidianView view, PathPlotter gp, boolean calcLabelPos,
 			Gap moveToAllowed) {
+		this(curve, tMin, tMax, getMaxParamStep(tMin, tMax, view), view, gp,
+				calcLabelPos, moveToAllowed);
+	}
 
-		// ensure MIN_PLOT_POINTS
-		double minSamplePoints = Math.max(MIN_SAMPLE_POINTS, view.getWidth() / 6);
-		double maxParamStep = Math.abs(tMax - tMin) / minSamplePoints;
+	private CurvePlotter(CurveEvaluable curve, double tMin, double tMax,
+			double maxParamStep, EuclidianView view, PathPlotter gp,
+			boolean calcLabelPos, Gap moveToAllowed) {
 		// plot Interval [tMin, tMax]
 		curveSegmentPlotter = new CurveSegmentPlotter(curve, tMin, tMax, 0,
 				maxParamStep, view, gp, calcLabelPos, moveToAllowed);
@@ -67,6 +70,35 @@ public static GPoint plotCurve(CurveEvaluable curve, double tMin,
 
 	}
 
+	/**
+	 * Draws a parametric curve (x(t), y(t)) for t in [tMin, tMax], using
+	 * the same maximal step as if [stepMin, stepMax] was plotted.
+	 * @param curve curve to be drawn
+	 * @param tMin min value of parameter
+	 * @param tMax max value of parameter
+	 * @param stepMin min value of the parameter range that defines the step
+	 * @param stepMax max value of the parameter range that defines the step
+	 * @param view Euclidian view to be used
+	 * @param gp generalpath that can be drawn afterwards
+	 * @param calcLabelPos whether label position should be calculated and returned
+	 * @param moveToAllowed whether moveTo() may be used for gp
+	 * @return point of the label.
+	 */
+	public static GPoint plotCurve(CurveEvaluable curve, double tMin,
+			double tMax, double stepMin, double stepMax, EuclidianView view,
+			PathPlotter gp, boolean calcLabelPos, Gap moveToAllowed) {
+		return new CurvePlotter(curve, tMin, tMax,
+				getMaxParamStep(stepMin, stepMax, view), view, gp,
+				calcLabelPos, moveToAllowed).getLabelPoint();
+	}
+
+	private static double getMaxParamStep(double tMin, double tMax,
+			EuclidianView view) {
+		// ensure MIN_PLOT_POINTS
+		double minSamplePoints = Math.max(MIN_SAMPLE_POINTS, view.getWidth() / 6);
+		return Math.abs(tMax - tMin) / minSamplePoints;
+	}
+
 	/**
 	 *
 	 * @return the point of the curve label
@@ -0,0 +1,211 @@
+package org.geogebra.common.euclidian.plot;
+
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+
+/**
+ * Keeps the points of a curve evaluated by {@link CurveSegmentPlotter} in world
+ * coordinates, so that after panning or zooming only parameters that were not
+ * evaluated before need evaluation. The plotter bisects on dyadic parameters,
+ * so for functions the plotted range is aligned to a grid
+ * (see {@link #alignMin(double, double)}): the same parameters are then hit
+ * after a pan, and after zooming the grids of the old and new range are
+ * nested.
+ *
+ * The cache is cleared when the update count of the curve changes.
+ */
+public class CurveSampleCache implements CurveEvaluable {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	/** when the table would grow beyond this, it's cleared */
+	private static final int MAX_CAPACITY = 1 << 14;
+	/** range is aligned to 1 / GRID_DIVISIONS of its length */
+	private static final int GRID_DIVISIONS = 64;
+
+	private final CurveEvaluable curve;
+	private final int dimension;
+	private double[] keys;
+	private double[] values;
+	private boolean[] used;
+	private int size;
+	private int updateCount;
+
+	/**
+	 * @param curve
+	 *            curve to evaluate, its evaluation must not depend on the view
+	 */
+	public CurveSampleCache(CurveEvaluable curve) {
+		this.curve = curve;
+		this.dimension = curve.newDoubleArray().length;
+		this.updateCount = curve.toGeoElement().getUpdateCount();
+		allocate(INITIAL_CAPACITY);
+	}
+
+	private void allocate(int capacity) {
+		keys = new double[capacity];
+		values = new double[capacity * dimension];
+		used = new boolean[capacity];
+		size = 0;
+	}
+
+	/**
+	 * Clears the cache if the curve has been updated since the last call.
+	 */
+	public void validate() {
+		int count = curve.toGeoElement().getUpdateCount();
+		if (count != updateCount) {
+			updateCount = count;
+			clear();
+		}
+	}
+
+	/**
+	 * Removes all cached points.
+	 */
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(used, false);
+			size = 0;
+		}
+	}
+
+	/**
+	 * @return number of cached points
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param min
+	 *            minimal parameter to plot
+	 * @param max
+	 *            maximal parameter to plot
+	 * @return start of the grid aligned range containing [min, max]
+	 */
+	public static double alignMin(double min, double max) {
+		double step = alignedLength(min, max) / GRID_DIVISIONS;
+		return Math.floor(min / step) * step;
+	}
+
+	/**
+	 * @param min
+	 *            minimal parameter to plot
+	 * @param max
+	 *            maximal parameter to plot
+	 * @return end of the grid aligned range containing [min, max]
+	 */
+	public static double alignMax(double min, double max) {
+		return alignMin(min, max) + alignedLength(min, max);
+	}
+
+	/**
+	 * Power of two, so that bisections are exact; the extra 1/32 makes sure
+	 * that the aligned range covers [min, max].
+	 */
+	private static double alignedLength(double min, double max) {
+		double length = (max - min) * (1 + 2.0 / GRID_DIVISIONS);
+		return Math.pow(2, Math.ceil(Math.log(length) / Math.log(2)));
+	}
+
+	@Override
+	public void evaluateCurve(double t, double[] out) {
+		int slot = findSlot(t);
+		if (!used[slot]) {
+			curve.evaluateCurve(t, out);
+			if (2 * (size + 1) > keys.length) {
+				if (keys.length >= MAX_CAPACITY) {
+					clear();
+				} else {
+					rehash(2 * keys.length);
+				}
+				slot = findSlot(t);
+			}
+			keys[slot] = t;
+			used[slot] = true;
+			System.arraycopy(out, 0, values, slot * dimension, dimension);
+			size++;
+			return;
+		}
+		System.arraycopy(values, slot * dimension, out, 0, dimension);
+	}
+
+	private int findSlot(double t) {
+		int mask = keys.length - 1;
+		long bits = Double.doubleToLongBits(t);
+		int slot = (int) (bits ^ (bits >>> 32)) * 0x9E3779B9 & mask;
+		while (used[slot] && keys[slot] != t) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void rehash(int capacity) {
+		double[] oldKeys = keys;
+		double[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int slot = findSlot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				used[slot] = true;
+				System.arraycopy(oldValues, i * dimension, values,
+						slot * dimension, dimension);
+				size++;
+			}
+		}
+	}
+
+	@Override
+	public double getMinParameter() {
+		return curve.getMinParameter();
+	}
+
+	@Override
+	public double getMaxParameter() {
+		return curve.getMaxParameter();
+	}
+
+	@Override
+	public double[] newDoubleArray() {
+		return curve.newDoubleArray();
+	}
+
+	@Override
+	public double distanceMax(double[] p1, double[] p2) {
+		return curve.distanceMax(p1, p2);
+	}
+
+	@Override
+	public double[] getDefinedInterval(double a, double b) {
+		return curve.getDefinedInterval(a, b);
+	}
+
+	@Override
+	public boolean getTrace() {
+		return curve.getTrace();
+	}
+
+	@Override
+	public boolean isClosedPath() {
+		return curve.isClosedPath();
+	}
+
+	@Override
+	public boolean isFunctionInX() {
+		return curve.isFunctionInX();
+	}
+
+	@Override
+	public GeoElement toGeoElement() {
+		return curve.toGeoElement();
+	}
+
+	@Override
+	public double getMinDistX() {
+		return curve.getMinDistX();
+	}
+}
@@ -4,7 +4,6 @@
 import org.geogebra.common.kernel.interval.Interval;
 import org.geogebra.common.kernel.interval.function.GeoFunctionConverter;
 import org.geogebra.common.kernel.interval.function.IntervalNodeFunction;
-import org.geogebra.common.kernel.interval.function.IntervalTuple;
 import org.geogebra.common.kernel.interval.function.IntervalTupleList;
 
 /**
@@ -55,7 +54,7 @@ public IntervalTupleList tuples() {
 	 * @param y {@link Interval}
 	 */
 	public void append(Interval x, Interval y) {
-		tuples.add(new IntervalTuple(x, y));
+		tuples.add(x, y, 0);
 	}
 
 	/**
@@ -64,7 +63,7 @@ public void append(Interval x, Interval y) {
 	 * @param y {@link Interval}
 	 */
 	public void prepend(Interval x, Interval y) {
-		tuples.prepend(new IntervalTuple(x, y));
+		tuples.prepend(x, y, 0);
 	}
 
 	/**
@@ -82,8 +81,7 @@ public void clear() {
 	 */
 	public void extendLeft(Interval x, Interval y) {
 		prepend(x, y);
-		double low = tuples.last().x().getLow();
-		if (low >= bounds.getXmax()) {
+		if (tuples.xLowAt(tuples.count() - 1) >= bounds.getXmax()) {
 			tuples.removeLast();
 		}
 	}
@@ -96,8 +94,7 @@ public void extendLeft(Interval x, Interval y) {
 	 */
 	public void extendRight(Interval x, Interval y) {
 		append(x, y);
-		IntervalTuple first = tuples.first();
-		if (first.x().getHigh() <= bounds.getXmin()) {
+		if (tuples.xHighAt(0) <= bounds.getXmin()) {
 			tuples.removeFirst();
 		}
 	}
@@ -121,4 +118,15 @@ public boolean isValid() {
 	public IntervalNodeFunction getFunction() {
 		return converter.convert(geoFunction);
 	}
+
+	/**
+	 * Converts the function with a new converter: operators of the shared
+	 * converter keep intermediate results, so evaluating copies from it in
+	 * different threads is not safe.
+	 *
+	 * @return function tree that shares no state with other trees
+	 */
+	public IntervalNodeFunction getIndependentFunction() {
+		return new GeoFunctionConverter().convert(geoFunction);
+	}
 }
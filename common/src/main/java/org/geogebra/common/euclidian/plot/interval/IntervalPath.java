@@ -49,7 +49,7 @@ private void drawAt(int index) {
 		if (tuple.isUndefined() || isPieceChanged(tuple)) {
 			noJoinForNextTuple();
 		} else {
-			drawTupleAt(index);
+			drawTupleAt(index, tuple);
 		}
 		drawInterval.setJoinToPrevious(!tuple.isUndefined()
 				&& !isPieceChanged(tuple));
@@ -59,11 +59,11 @@ private void noJoinForNextTuple() {
 		lastY.setUndefined();
 	}
 
-	private void drawTupleAt(int index) {
-		if (isJoinNeeded(index)) {
-			drawTupleJoined(index);
+	private void drawTupleAt(int index, IntervalTuple tuple) {
+		if (isJoinNeeded(tuple)) {
+			drawTupleJoined(index, tuple);
 		} else {
-			drawTupleIndependent(index);
+			drawTupleIndependent(index, tuple);
 		}
 	}
 
@@ -76,20 +76,19 @@ private boolean isPieceChanged(IntervalTuple tuple) {
 		return false;
 	}
 
-	private boolean isJoinNeeded(int index) {
-		return !(lastY.isUndefined() || isPieceChanged(data.at(index)));
+	private boolean isJoinNeeded(IntervalTuple tuple) {
+		return !(lastY.isUndefined() || isPieceChanged(tuple));
 	}
 
-	private void drawTupleJoined(int index) {
-		IntervalTuple tuple = data.at(index);
+	private void drawTupleJoined(int index, IntervalTuple tuple) {
 		if (tuple.isInverted()) {
-			drawInvertedJoined(index);
+			drawInvertedJoined(index, tuple);
 		} else if (tuple.y().isWhole()) {
 			drawWhole(tuple.x());
 		} else if (!lastY.isUndefined()) {
 			drawNonInverted(tuple);
 		}
-		calculateLabelPoint(data.at(index));
+		calculateLabelPoint(tuple);
 	}
 
 	private void drawNonInverted(IntervalTuple tuple) {
@@ -100,8 +99,8 @@ private void drawNonInverted(IntervalTuple tuple) {
 		}
 	}
 
-	private void drawInvertedJoined(int index) {
-		if (!isJoinNeeded(index) || data.isWholeAt(index)) {
+	private void drawInvertedJoined(int index, IntervalTuple tuple) {
+		if (!isJoinNeeded(tuple) || data.isWholeAt(index)) {
 			noJoinForNextTuple();
 		} else {
 			lastY = drawInvertedInterval.drawJoined(index, lastY);
@@ -136,11 +135,11 @@ private void drawWhole(Interval x) {
 		noJoinForNextTuple();
 	}
 
-	private void drawTupleIndependent(int index) {
+	private void drawTupleIndependent(int index, IntervalTuple tuple) {
 		if (data.isInvertedAt(index)) {
 			drawInvertedInterval.draw(index);
 		} else {
-			Interval lastValue = drawInterval.drawIndependent(data.at(index));
+			Interval lastValue = drawInterval.drawIndependent(tuple);
 			lastY.set(lastValue);
 		}
 	}
@@ -12,7 +12,8 @@ public interface QueryFunctionData {
 	/**
 	 *
 	 * @param index to retrieve
-	 * @return the (x, y) value of the function at the given index.
+	 * @return the (x, y) value of the function at the given index, only valid
+	 *         until the next call.
 	 */
 	IntervalTuple at(int index);
 
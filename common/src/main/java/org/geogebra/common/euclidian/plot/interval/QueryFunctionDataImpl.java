@@ -11,6 +11,10 @@
 public class QueryFunctionDataImpl implements QueryFunctionData {
 	private final IntervalTupleList tuples;
 	private final TupleNeighbours neighbours = new TupleNeighbours();
+	private final IntervalTuple left = new IntervalTuple();
+	private final IntervalTuple current = new IntervalTuple();
+	private final IntervalTuple right = new IntervalTuple();
+	private final IntervalTuple point = new IntervalTuple();
 
 	/**
 	 *
@@ -23,11 +27,12 @@ public QueryFunctionDataImpl(IntervalTupleList tuples) {
 	/**
 	 *
 	 * @param index to get point at
-	 * @return corresponding point if index is valid, null otherwise.
+	 * @return corresponding point if index is valid, null otherwise; the
+	 *         same instance is reused by the next call.
 	 */
 	@Override
 	public IntervalTuple at(int index) {
-		return tuples.get(index);
+		return tuples.get(index, point);
 	}
 
 	@Override
@@ -37,7 +42,7 @@ public boolean hasNext(int index) {
 
 	@Override
 	public boolean isInvertedAt(int index) {
-		return index >= tuples.count() || at(index).isInverted();
+		return index >= tuples.count() || tuples.isInvertedAt(index);
 	}
 
 	/**
@@ -56,7 +61,7 @@ public int getCount() {
 	 */
 	@Override
 	public boolean isWholeAt(int index) {
-		return index >= tuples.count() || at(index).y().isWhole();
+		return index >= tuples.count() || tuples.isWholeAt(index);
 	}
 
 	@Override
@@ -71,8 +76,9 @@ public boolean nonDegenerated(int index) {
 
 	private boolean isInvertedPositiveInfinity(int index) {
 		return isValidIndex(index)
-				&& at(index).y().isPositiveInfinity()
-				&& isInvertedAt(index);
+				&& tuples.yLowAt(index) == Double.POSITIVE_INFINITY
+				&& tuples.yHighAt(index) == Double.POSITIVE_INFINITY
+				&& tuples.isInvertedAt(index);
 	}
 
 	private boolean isValidIndex(int index) {
@@ -85,7 +91,8 @@ public void forEach(IntConsumer action) {
 		if (xRange.isUndefined()) {
 			allIndexes().forEach(action);
 		} else {
-			allIndexes().filter(index -> xRange.contains(at(index).x()))
+			allIndexes().filter(index -> tuples.xLowAt(index) > xRange.getLow()
+					&& tuples.xHighAt(index) < xRange.getHigh())
 					.forEach(action);
 		}
 	}
@@ -96,7 +103,8 @@ private IntStream allIndexes() {
 
 	@Override
 	public TupleNeighbours neighboursAt(int index) {
-		neighbours.set(at(index - 1), at(index), at(index + 1));
+		neighbours.set(tuples.get(index - 1, left), tuples.get(index, current),
+				tuples.get(index + 1, right));
 		return neighbours;
 	}
 }
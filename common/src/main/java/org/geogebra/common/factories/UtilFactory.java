@@ -6,6 +6,7 @@
 import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.Reflection;
 import org.geogebra.common.util.URLEncoder;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
 
 /**
  * Various util-like factories for common usage
@@ -70,4 +71,11 @@ public static void setPrototypeIfNull(UtilFactory p) {
 	 * @return new GTimer object
 	 */
 	public abstract GTimer newTimer(GTimerListener listener, int delay);
+
+	/**
+	 * @return registry for performance metrics
+	 */
+	public MetricsRegistry newMetricsRegistry() {
+		return new MetricsRegistry();
+	}
 }
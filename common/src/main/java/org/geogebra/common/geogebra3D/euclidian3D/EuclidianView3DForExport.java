@@ -19,6 +19,7 @@
 import org.geogebra.common.main.settings.EuclidianSettings;
 import org.geogebra.common.main.settings.EuclidianSettings3D;
 import org.geogebra.common.plugin.Geometry3DGetter;
+import org.geogebra.common.plugin.StreamingGeometry3DGetter;
 import org.geogebra.common.util.DoubleUtil;
 
 /**
@@ -279,6 +280,8 @@ protected double[][] updateClippingCubeMinMax() {
 	}
 
 	/**
+	 * For streaming getters, triangles are counted first (from index lengths
+	 * only) and passed to {@link StreamingGeometry3DGetter#startExport(long)}.
 	 * 
 	 * @param getter
 	 *            geometry getter
@@ -287,6 +290,17 @@ public void export3D(Geometry3DGetter getter) {
 		useSpecificThickness = false;
 		updateScene();
 		Geometry3DGetterManager m = new Geometry3DGetterManager(this, getter);
+		if (getter instanceof StreamingGeometry3DGetter) {
+			m.setCountOnly(true);
+			exportDrawables(m);
+			m.setCountOnly(false);
+			((StreamingGeometry3DGetter) getter)
+					.startExport(m.getTriangleCount());
+		}
+		exportDrawables(m);
+	}
+
+	private void exportDrawables(Geometry3DGetterManager m) {
 		for (int i = 0; i < 3; i++) {
 			getAxisDrawable(i).export(m, false);
 		}
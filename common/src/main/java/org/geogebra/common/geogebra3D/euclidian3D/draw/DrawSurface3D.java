@@ -148,6 +148,9 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	private SurfaceParameter uParam = new SurfaceParameter();
 	private SurfaceParameter vParam = new SurfaceParameter();
 
+	/** evaluates points for the next split on worker threads, may be null */
+	private ParallelSurfaceEvaluator parallelEvaluator;
+
 	private static class NotEnoughCornersException extends Exception {
 		private static final long serialVersionUID = 1L;
 		private DrawSurface3D surface;
@@ -361,6 +364,9 @@ protected boolean updateForItSelf() {
 
 			initBounds();
 
+			parallelEvaluator = ParallelSurfaceEvaluator.create(surfaceGeo,
+					getView3D(), cullingBox);
+
 			debug("\nmax distances = " + maxRWDistance + ", "
 					+ maxRWDistanceNoAngleCheck);
 
@@ -674,6 +680,10 @@ protected void updateForView() {
 
 	@Override
 	public void setWaitForUpdate() {
+		ParallelSurfaceEvaluator evaluator = parallelEvaluator;
+		if (evaluator != null) {
+			evaluator.cancel();
+		}
 		drawFromScratch = true;
 		super.setWaitForUpdate();
 	}
@@ -719,7 +729,17 @@ private boolean updateCullingBox() {
 	}
 
 	private boolean inCullingBox(Coords3 p) {
-		// check point is in culling box
+		return inCullingBox(p, cullingBox);
+	}
+
+	/**
+	 * @param p
+	 *            point
+	 * @param cullingBox
+	 *            culling box (x min, x max, y min, ..., z max)
+	 * @return whether the point is in the culling box
+	 */
+	static boolean inCullingBox(Coords3 p, double[] cullingBox) {
 		return (p.getXd() > cullingBox[0]) && (p.getXd() < cullingBox[1])
 				&& (p.getYd() > cullingBox[2]) && (p.getYd() < cullingBox[3])
 				&& (p.getZd() > cullingBox[4]) && (p.getZd() < cullingBox[5]);
@@ -916,8 +936,15 @@ private boolean split() throws NotEnoughCornersException {
 			currentSplitStoppedIndex = 0;
 		}
 
+		if (parallelEvaluator != null
+				&& !prefetchSplitPoints(currentSplitStoppedIndex)) {
+			// surface or view changed, update will start from scratch
+			return true;
+		}
+
+		int splitsInOneUpdate = getMaxSplitsInOneUpdate();
 		while (currentSplitStoppedIndex < currentSplitIndex
-				&& loopSplitIndex < maxSplitsInOneUpdate) {
+				&& loopSplitIndex < splitsInOneUpdate) {
 			currentSplit[currentSplitStoppedIndex].split(false);
 			currentSplitStoppedIndex++;
 
@@ -934,7 +961,7 @@ private boolean split() throws NotEnoughCornersException {
 		// debug("nextSplitIndex = " + nextSplitIndex + " , drawListIndex = " +
 		// drawListIndex);
 
-		if (loopSplitIndex < maxSplitsInOneUpdate && nextSplitIndex > 0) {
+		if (loopSplitIndex < splitsInOneUpdate && nextSplitIndex > 0) {
 			return split();
 		}
 
@@ -942,6 +969,29 @@ private boolean split() throws NotEnoughCornersException {
 
 	}
 
+	/**
+	 * With parallel evaluation, full quality is reached in one update.
+	 */
+	private int getMaxSplitsInOneUpdate() {
+		return parallelEvaluator == null ? maxSplitsInOneUpdate : maxSplit;
+	}
+
+	/**
+	 * Evaluates points that splitting the remaining corners of the current
+	 * split list will need, in parallel.
+	 * 
+	 * @param start
+	 *            first corner to split
+	 * @return false if cancelled
+	 */
+	private boolean prefetchSplitPoints(int start) {
+		parallelEvaluator.clear();
+		for (int i = start; i < currentSplitIndex; i++) {
+			currentSplit[i].addSplitPoints(parallelEvaluator);
+		}
+		return parallelEvaluator.evaluate();
+	}
+
 	/**
 	 * 
 	 * @return new coords 3
@@ -958,8 +1008,30 @@ final private void scaleAndNormalizeNormalXYZ(Coords3 n) {
 		getView3D().scaleAndNormalizeNormalXYZ(n);
 	}
 
+	private void evaluateSurfacePoint(double u, double v, Coords3 point) {
+		if (parallelEvaluator != null) {
+			int index = parallelEvaluator.indexOf(u, v);
+			if (index >= 0) {
+				parallelEvaluator.getPoint(index, point);
+				return;
+			}
+		}
+		surfaceGeo.evaluatePoint(u, v, point);
+	}
+
+	private boolean evaluateSurfaceNormal(Coords3 p, double u, double v,
+			Coords3 normal) {
+		if (parallelEvaluator != null) {
+			int index = parallelEvaluator.indexOf(u, v);
+			if (index >= 0 && parallelEvaluator.hasNormal(index)) {
+				return parallelEvaluator.getNormal(index, normal);
+			}
+		}
+		return surfaceGeo.evaluateNormal(p, u, v, normal);
+	}
+
 	protected Coords3 evaluatePoint(double u, double v) {
-		surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+		evaluateSurfacePoint(u, v, evaluatedPoint);
 
 		if (!evaluatedPoint.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -979,7 +1051,7 @@ protected Coords3 evaluatePoint(double u, double v, Coords3 p) {
 
 		// p is final value: use evaluatedPoint to compute
 		if (p == null || p.isFinalUndefined()) {
-			surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+			evaluateSurfacePoint(u, v, evaluatedPoint);
 
 			if (!evaluatedPoint.isDefined()) {
 				return Coords3.UNDEFINED;
@@ -996,7 +1068,7 @@ protected Coords3 evaluatePoint(double u, double v, Coords3 p) {
 		}
 
 		// p is not final value
-		surfaceGeo.evaluatePoint(u, v, p);
+		evaluateSurfacePoint(u, v, p);
 
 		if (!p.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -1018,7 +1090,7 @@ protected Coords3 evaluateNormal(Coords3 p, double u, double v,
 		boolean defined;
 		// normal is final value: use evaluatedNormal to compute
 		if (normal == null || normal.isFinalUndefined()) {
-			defined = surfaceGeo.evaluateNormal(p, u, v, evaluatedNormal);
+			defined = evaluateSurfaceNormal(p, u, v, evaluatedNormal);
 
 			if (!defined) {
 				return Coords3.UNDEFINED;
@@ -1029,7 +1101,7 @@ protected Coords3 evaluateNormal(Coords3 p, double u, double v,
 		}
 
 		// normal is not final value
-		defined = surfaceGeo.evaluateNormal(p, u, v, normal);
+		defined = evaluateSurfaceNormal(p, u, v, normal);
 
 		if (!defined) {
 			return Coords3.UNDEFINED;
@@ -1226,6 +1298,30 @@ public void drawAsStillToSplit(PlotterSurface surface) {
 
 		}
 
+		/**
+		 * Adds parameters of the corners that splitting this one would
+		 * create, if this and its neighbors are defined.
+		 * 
+		 * @param evaluator
+		 *            parallel evaluator
+		 */
+		void addSplitPoints(ParallelSurfaceEvaluator evaluator) {
+			Corner left = l.a == null ? l.l : l;
+			Corner above = a.l == null ? a.a : a;
+			if (p.isFinalUndefined() || left.p.isFinalUndefined()
+					|| above.p.isFinalUndefined()
+					|| left.a.p.isFinalUndefined()) {
+				return;
+			}
+			double um = (u + left.u) / 2;
+			double vm = (v + above.v) / 2;
+			evaluator.add(u, vm);
+			evaluator.add(um, v);
+			evaluator.add(um, vm);
+			evaluator.add(um, above.v);
+			evaluator.add(left.u, vm);
+		}
+
 		public void split(boolean draw) throws NotEnoughCornersException {
 
 			Corner left, above, subLeft, subAbove;
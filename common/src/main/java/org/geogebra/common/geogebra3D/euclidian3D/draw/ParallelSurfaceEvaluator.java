@@ -0,0 +1,241 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
+import org.geogebra.common.kernel.algos.ParallelUpdateExecutor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
+import org.geogebra.common.kernel.matrix.Coords3;
+import org.geogebra.common.kernel.matrix.CoordsDouble3;
+
+/**
+ * Evaluates the points and normals that the next refinement step of
+ * {@link DrawSurface3D} will need. The batch is cut into contiguous tiles that
+ * are evaluated on the kernel's parallel executor, each tile with its own copy
+ * of the surface functions. Results are looked up by parameters, so the mesh
+ * doesn't depend on the way the work was scheduled.
+ */
+class ParallelSurfaceEvaluator {
+
+	/** number of tiles, each with its own copy of the surface */
+	static final int TILES = 8;
+	private static final int MIN_TILE_SIZE = 32;
+	private static final int VALUES_PER_POINT = 6;
+
+	private final ParallelUpdateExecutor executor;
+	private final SurfaceEvaluable[] surfaces;
+	private final EuclidianView3D view;
+	private final double[] cullingBox;
+
+	private double[] params = new double[2 * MIN_TILE_SIZE];
+	private double[] values = new double[VALUES_PER_POINT * MIN_TILE_SIZE];
+	private boolean[] hasNormal = new boolean[MIN_TILE_SIZE];
+	private boolean[] normalDefined = new boolean[MIN_TILE_SIZE];
+	/** open addressing table of point index + 1, 0 for empty slots */
+	private int[] table = new int[4 * MIN_TILE_SIZE];
+	private int size;
+	private volatile boolean cancelled;
+
+	private ParallelSurfaceEvaluator(ParallelUpdateExecutor executor,
+			SurfaceEvaluable[] surfaces, EuclidianView3D view,
+			double[] cullingBox) {
+		this.executor = executor;
+		this.surfaces = surfaces;
+		this.view = view;
+		this.cullingBox = cullingBox;
+	}
+
+	/**
+	 * @param surface
+	 *            surface, derivatives must be set
+	 * @param view
+	 *            view for scaling
+	 * @param cullingBox
+	 *            culling box of the drawable (live array)
+	 * @return evaluator, null if there is no executor or the surface can't be
+	 *         evaluated on several threads
+	 */
+	static ParallelSurfaceEvaluator create(SurfaceEvaluable surface,
+			EuclidianView3D view, double[] cullingBox) {
+		ParallelUpdateExecutor executor = ((GeoElement) surface).getKernel()
+				.getParallelUpdateExecutor();
+		if (executor == null) {
+			return null;
+		}
+		SurfaceEvaluable[] surfaces = new SurfaceEvaluable[TILES];
+		for (int i = 0; i < TILES; i++) {
+			surfaces[i] = surface.copyForParallelEvaluation();
+			if (surfaces[i] == null) {
+				return null;
+			}
+		}
+		return new ParallelSurfaceEvaluator(executor, surfaces, view,
+				cullingBox);
+	}
+
+	/**
+	 * Removes all points.
+	 */
+	void clear() {
+		if (size > 0) {
+			Arrays.fill(table, 0);
+			size = 0;
+		}
+	}
+
+	/**
+	 * Adds parameters to the batch (once).
+	 *
+	 * @param u
+	 *            first parameter
+	 * @param v
+	 *            second parameter
+	 */
+	void add(double u, double v) {
+		int slot = findSlot(u, v);
+		if (table[slot] != 0) {
+			return;
+		}
+		if (size == hasNormal.length) {
+			int length = 2 * size;
+			params = Arrays.copyOf(params, 2 * length);
+			values = Arrays.copyOf(values, VALUES_PER_POINT * length);
+			hasNormal = new boolean[length];
+			normalDefined = new boolean[length];
+		}
+		params[2 * size] = u;
+		params[2 * size + 1] = v;
+		size++;
+		if (4 * size > 3 * table.length) {
+			rehash(2 * table.length);
+		} else {
+			table[slot] = size;
+		}
+	}
+
+	/**
+	 * Evaluates all points of the batch, returns when all tiles are done.
+	 *
+	 * @return false if cancelled
+	 */
+	boolean evaluate() {
+		if (cancelled) {
+			return false;
+		}
+		int tiles = Math.min(TILES, (size + MIN_TILE_SIZE - 1) / MIN_TILE_SIZE);
+		if (tiles == 0) {
+			return true;
+		}
+		ArrayList<Runnable> tasks = new ArrayList<>(tiles);
+		for (int i = 0; i < tiles; i++) {
+			SurfaceEvaluable surface = surfaces[i];
+			int from = (int) ((long) size * i / tiles);
+			int to = (int) ((long) size * (i + 1) / tiles);
+			tasks.add(() -> evaluate(surface, from, to));
+		}
+		executor.runEach(tasks);
+		return !cancelled;
+	}
+
+	private void evaluate(SurfaceEvaluable surface, int from, int to) {
+		CoordsDouble3 point = new CoordsDouble3();
+		CoordsDouble3 normal = new CoordsDouble3();
+		for (int i = from; i < to && !cancelled; i++) {
+			double u = params[2 * i];
+			double v = params[2 * i + 1];
+			int offset = VALUES_PER_POINT * i;
+			surface.evaluatePoint(u, v, point);
+			values[offset] = point.x;
+			values[offset + 1] = point.y;
+			values[offset + 2] = point.z;
+			// same conditions and scaling as DrawSurface3D.Corner.set()
+			hasNormal[i] = point.isDefined()
+					&& DrawSurface3D.inCullingBox(point, cullingBox);
+			if (hasNormal[i]) {
+				view.scaleXYZ(point);
+				normalDefined[i] = surface.evaluateNormal(point, u, v, normal);
+				values[offset + 3] = normal.x;
+				values[offset + 4] = normal.y;
+				values[offset + 5] = normal.z;
+			}
+		}
+	}
+
+	/**
+	 * Stops evaluation; lookups won't find any point from now on.
+	 */
+	void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * @param u
+	 *            first parameter
+	 * @param v
+	 *            second parameter
+	 * @return index of evaluated point, -1 if not found
+	 */
+	int indexOf(double u, double v) {
+		if (cancelled) {
+			return -1;
+		}
+		return table[findSlot(u, v)] - 1;
+	}
+
+	/**
+	 * @param index
+	 *            point index
+	 * @param point
+	 *            output: surface point (not scaled)
+	 */
+	void getPoint(int index, Coords3 point) {
+		int offset = VALUES_PER_POINT * index;
+		point.set(values[offset], values[offset + 1], values[offset + 2]);
+	}
+
+	/**
+	 * @param index
+	 *            point index
+	 * @return whether the normal was evaluated
+	 */
+	boolean hasNormal(int index) {
+		return hasNormal[index];
+	}
+
+	/**
+	 * @param index
+	 *            point index
+	 * @param normal
+	 *            output: normal (not scaled)
+	 * @return whether the normal is defined
+	 */
+	boolean getNormal(int index, Coords3 normal) {
+		int offset = VALUES_PER_POINT * index + 3;
+		normal.set(values[offset], values[offset + 1], values[offset + 2]);
+		return normalDefined[index];
+	}
+
+	private int findSlot(double u, double v) {
+		int mask = table.length - 1;
+		long bits = Double.doubleToLongBits(u) * 31
+				+ Double.doubleToLongBits(v);
+		int slot = (int) (bits ^ (bits >>> 32)) * 0x9E3779B9 & mask;
+		while (table[slot] != 0) {
+			int index = table[slot] - 1;
+			if (params[2 * index] == u && params[2 * index + 1] == v) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void rehash(int length) {
+		table = new int[length];
+		for (int i = 0; i < size; i++) {
+			table[findSlot(params[2 * i], params[2 * i + 1])] = i + 1;
+		}
+	}
+}
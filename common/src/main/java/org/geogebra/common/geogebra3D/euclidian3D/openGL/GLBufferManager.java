@@ -30,11 +30,11 @@ abstract class GLBufferManager {
 	/** list of buffer packs */
 	protected ArrayList<BufferPackAbstract> bufferPackList;
 	/** vertex array for current geometry */
-	ArrayList<Double> vertexArray;
+	ReusableFloatArray vertexArray;
 	/** normal array for current geometry */
-	ArrayList<Double> normalArray;
+	ReusableFloatArray normalArray;
 	/** texture array for current geometry */
-	ArrayList<Double> textureArray;
+	ReusableFloatArray textureArray;
 	/** flag for if current geometry uses one normal */
 	boolean oneNormal;
 	/** elements length */
@@ -105,7 +105,7 @@ public void setCurrentIndex(int index, int geometryIndex) {
 	 * @param length
 	 *            length to set
 	 */
-	public void setVertexBuffer(ArrayList<Double> array, int length) {
+	public void setVertexBuffer(ReusableFloatArray array, int length) {
 		vertexArray = array;
 		elementsLength = length / 3;
 	}
@@ -117,7 +117,7 @@ public void setVertexBuffer(ArrayList<Double> array, int length) {
 	 * @param length
 	 *            length to set
 	 */
-	public void setNormalBuffer(ArrayList<Double> array, int length) {
+	public void setNormalBuffer(ReusableFloatArray array, int length) {
 		normalArray = array;
 		oneNormal = length == 3;
 	}
@@ -127,7 +127,7 @@ public void setNormalBuffer(ArrayList<Double> array, int length) {
 	 * @param array
 	 *            array
 	 */
-	public void setTextureBuffer(ArrayList<Double> array) {
+	public void setTextureBuffer(ReusableFloatArray array) {
 		textureArray = array;
 	}
 
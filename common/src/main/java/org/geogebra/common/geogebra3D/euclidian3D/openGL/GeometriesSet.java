@@ -163,7 +163,7 @@ public void bindGeometry(int size, TypeElement type) {
 	 * @param length
 	 *            vertices length
 	 */
-	public void setVertices(ArrayList<Double> vertices, int length) {
+	public void setVertices(ReusableFloatArray vertices, int length) {
 		currentGeometry.setVertices(vertices, length);
 		currentGeometry.setLength(length / 3);
 	}
@@ -176,7 +176,7 @@ public void setVertices(ArrayList<Double> vertices, int length) {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setNormals(ArrayList<Double> normals, int length) {
+	public void setNormals(ReusableFloatArray normals, int length) {
 		if (length == 3) { // only one normal for all vertices
 			currentGeometry.setNormals(normals, length);
 		} else if (length == 3 * currentGeometry.getLength()) {
@@ -192,7 +192,7 @@ public void setNormals(ArrayList<Double> normals, int length) {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setTextures(ArrayList<Double> textures, int length) {
+	public void setTextures(ReusableFloatArray textures, int length) {
 		if (length == 2 * currentGeometry.getLength()) {
 			currentGeometry.setTextures(textures, length);
 		} else {
@@ -208,7 +208,7 @@ public void setTextures(ArrayList<Double> textures, int length) {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setColors(ArrayList<Double> colors, int length) {
+	public void setColors(ReusableFloatArray colors, int length) {
 		if (length == 4 * currentGeometry.getLength()) {
 			currentGeometry.setColors(colors, length);
 		} else {
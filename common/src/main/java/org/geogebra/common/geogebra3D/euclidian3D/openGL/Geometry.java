@@ -1,7 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager.Type;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.ManagerShaders.TypeElement;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.ExportToPrinter3D.GeometryForExport;
@@ -133,7 +131,7 @@ public Type getType() {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setVertices(ArrayList<Double> array, int length) {
+	public void setVertices(ReusableFloatArray array, int length) {
 		this.v.set(array, length);
 	}
 
@@ -153,7 +151,7 @@ public GLBuffer getVertices() {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setNormals(ArrayList<Double> array, int length) {
+	public void setNormals(ReusableFloatArray array, int length) {
 		this.n.set(array, length);
 	}
 
@@ -173,7 +171,7 @@ public GLBuffer getNormals() {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setTextures(ArrayList<Double> array, int length) {
+	public void setTextures(ReusableFloatArray array, int length) {
 		this.t.set(array, length);
 	}
 
@@ -207,7 +205,7 @@ public GLBuffer getTextures() {
 	 * @param length
 	 *            length to copy
 	 */
-	public void setColors(ArrayList<Double> array, int length) {
+	public void setColors(ReusableFloatArray array, int length) {
 		this.c.set(array, length);
 	}
 
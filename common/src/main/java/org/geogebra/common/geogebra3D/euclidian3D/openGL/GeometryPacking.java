@@ -1,7 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager.Type;
 
 /**
@@ -49,18 +47,18 @@ public Type getType() {
 	}
 
 	@Override
-	public void setVertices(ArrayList<Double> array, int length) {
+	public void setVertices(ReusableFloatArray array, int length) {
 		setBufferCurrentIndex();
 		geometrySet.getBufferManager().setVertexBuffer(array, length);
 	}
 
 	@Override
-	public void setNormals(ArrayList<Double> array, int length) {
+	public void setNormals(ReusableFloatArray array, int length) {
 		geometrySet.getBufferManager().setNormalBuffer(array, length);
 	}
 
 	@Override
-	public void setTextures(ArrayList<Double> array, int length) {
+	public void setTextures(ReusableFloatArray array, int length) {
 		geometrySet.getBufferManager().setTextureBuffer(array);
 	}
 
@@ -70,7 +68,7 @@ public void setTexturesEmpty() {
 	}
 
 	@Override
-	public void setColors(ArrayList<Double> array, int length) {
+	public void setColors(ReusableFloatArray array, int length) {
 		// not implemented yet
 	}
 
@@ -0,0 +1,143 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Growable float array that can be reused: values are stored unboxed and the
+ * backing array is kept when the length is reset.
+ */
+public class ReusableFloatArray {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private float[] values;
+	private int length;
+
+	/**
+	 * constructor
+	 */
+	public ReusableFloatArray() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param capacity
+	 *            initial capacity
+	 */
+	public ReusableFloatArray(int capacity) {
+		values = new float[Math.max(capacity, 1)];
+		length = 0;
+	}
+
+	/**
+	 * set length
+	 *
+	 * @param length
+	 *            length
+	 */
+	public void setLength(int length) {
+		ensureCapacity(length);
+		this.length = length;
+	}
+
+	/**
+	 *
+	 * @return current length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @param index
+	 *            index
+	 * @return value at index
+	 */
+	public float get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * add a value to the current position
+	 *
+	 * @param value
+	 *            value
+	 */
+	public void addValue(double value) {
+		ensureCapacity(length + 1);
+		values[length++] = (float) value;
+	}
+
+	/**
+	 * add values to the current position
+	 *
+	 * @param x
+	 *            first value
+	 * @param y
+	 *            second value
+	 */
+	public void addValues(double x, double y) {
+		ensureCapacity(length + 2);
+		values[length++] = (float) x;
+		values[length++] = (float) y;
+	}
+
+	/**
+	 * add values to the current position
+	 *
+	 * @param x
+	 *            first value
+	 * @param y
+	 *            second value
+	 * @param z
+	 *            third value
+	 */
+	public void addValues(double x, double y, double z) {
+		ensureCapacity(length + 3);
+		values[length++] = (float) x;
+		values[length++] = (float) y;
+		values[length++] = (float) z;
+	}
+
+	/**
+	 * add values to the current position
+	 *
+	 * @param x
+	 *            first value
+	 * @param y
+	 *            second value
+	 * @param z
+	 *            third value
+	 * @param w
+	 *            fourth value
+	 */
+	public void addValues(double x, double y, double z, double w) {
+		ensureCapacity(length + 4);
+		values[length++] = (float) x;
+		values[length++] = (float) y;
+		values[length++] = (float) z;
+		values[length++] = (float) w;
+	}
+
+	/**
+	 * @param length
+	 *            number of values to copy
+	 * @return new array containing the first values of this one
+	 */
+	public ReusableFloatArray copy(int length) {
+		ReusableFloatArray ret = new ReusableFloatArray(length);
+		System.arraycopy(values, 0, ret.values, 0, length);
+		ret.length = length;
+		return ret;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			float[] newValues = new float[Math.max(capacity,
+					values.length * 2)];
+			System.arraycopy(values, 0, newValues, 0, length);
+			values = newValues;
+		}
+	}
+
+}
@@ -6,6 +6,7 @@
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBufferIndices;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GeometriesSet;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Geometry;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.ManagerShaders;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.ExportToPrinter3D.GeometryForExport;
 import org.geogebra.common.kernel.geos.GeoElement;
@@ -22,6 +23,8 @@ public class Geometry3DGetterManager {
 	private ManagerShaders geometriesManager;
 	private double xInvScale;
 	private int elementsOffset;
+	private boolean countOnly;
+	private long triangleCount;
 
 	/**
 	 * constructor
@@ -57,6 +60,10 @@ public void export(GeoElement geo, int geometryIndex, GColor color,
 			double alpha, GeometryType type) {
 		if (getter.handles(geo, type)) {
 			GeometriesSet currentGeometriesSet = geometriesManager.getGeometrySet(geometryIndex);
+			if (countOnly) {
+				countTriangles(currentGeometriesSet);
+				return;
+			}
 			double red = color.getRed() / 255.0;
 			double green = color.getGreen() / 255.0;
 			double blue = color.getBlue() / 255.0;
@@ -129,6 +136,59 @@ public void export(GeoElement geo, int geometryIndex, GColor color,
 		}
 	}
 
+	private void countTriangles(GeometriesSet currentGeometriesSet) {
+		if (currentGeometriesSet == null) {
+			return;
+		}
+		for (Geometry g : currentGeometriesSet) {
+			GeometryForExport geometry = (GeometryForExport) g;
+			geometry.initForExport();
+			triangleCount += getTriangleCount(geometry.getType(),
+					geometry.getIndicesLength());
+		}
+	}
+
+	/**
+	 * @param type
+	 *            geometry type
+	 * @param indicesLength
+	 *            number of indices
+	 * @return number of triangles passed to the getter for this geometry
+	 */
+	static int getTriangleCount(Manager.Type type, int indicesLength) {
+		switch (type) {
+		case TRIANGLE_FAN:
+			return Math.max(indicesLength / 2 - 1, 0);
+		case TRIANGLE_STRIP:
+			return Math.max(2 * (indicesLength / 2 - 1), 0);
+		case TRIANGLES:
+		default:
+			return indicesLength / 3;
+		}
+	}
+
+	/**
+	 * When set, {@link #export} only counts triangles and doesn't call the
+	 * getter (except for {@link Geometry3DGetter#handles}). Setting it resets
+	 * the count.
+	 * 
+	 * @param countOnly
+	 *            whether to count triangles only
+	 */
+	public void setCountOnly(boolean countOnly) {
+		this.countOnly = countOnly;
+		if (countOnly) {
+			triangleCount = 0;
+		}
+	}
+
+	/**
+	 * @return number of triangles counted in count-only mode
+	 */
+	public long getTriangleCount() {
+		return triangleCount;
+	}
+
 	private void addTriangle(int v1, int v2, int v3) {
 		getter.addTriangle(v1 - elementsOffset, v2 - elementsOffset,
 				v3 - elementsOffset);
@@ -232,6 +232,16 @@ protected void setQCopyCache(MyPoint3D copy, GeoPointND point) {
 		copy.setLocation(coords.getX(), coords.getY(), coords.getZ());
 	}
 
+	@Override
+	protected void setCoordsFromCache(GeoPointND point, MyPoint3D cached) {
+		point.setCoords(cached.getX(), cached.getY(), cached.getZ(), 1.0);
+	}
+
+	@Override
+	protected double getMaxStepDistance(int i) {
+		return Math.min(super.getMaxStepDistance(i), maxZdist[i]);
+	}
+
 	@Override
 	protected MyPoint3D newCache() {
 		return new MyPoint3D();
@@ -4,6 +4,7 @@
 
 import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.SpreadsheetCellIndex;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoElementSpreadsheet;
@@ -238,7 +239,7 @@ public boolean isPartialColumn() {
 
 	/** @return true if this cell range contains no geos */
 	public boolean isEmpty() {
-		return toGeoList().size() == 0;
+		return cells().getBounds(minColumn, minRow, maxColumn, maxRow) == null;
 	}
 
 	/** @return true if this range contains no cells */
@@ -251,13 +252,9 @@ public boolean isEmptyRange() {
 	 * @return true if all non-empty cells in the given range are GeoPoint
 	 */
 	public boolean isPointList() {
-		for (int col = minColumn; col <= maxColumn; ++col) {
-			for (int row = minRow; row <= maxRow; ++row) {
-				GeoElement geo = RelativeCopy.getValue(app, col, row);
-
-				if (geo != null && !geo.isGeoPoint()) {
-					return false;
-				}
+		for (GeoElement geo : toGeoList()) {
+			if (!geo.isGeoPoint()) {
+				return false;
 			}
 		}
 		return true;
@@ -320,18 +317,11 @@ public int getHeight() {
 	 * @return list of elements
 	 */
 	public ArrayList<GeoElement> toGeoList() {
+		return cells().getCellsInRange(minColumn, minRow, maxColumn, maxRow);
+	}
 
-		ArrayList<GeoElement> list = new ArrayList<>();
-
-		for (int col = minColumn; col <= maxColumn; ++col) {
-			for (int row = minRow; row <= maxRow; ++row) {
-				GeoElement geo = RelativeCopy.getValue(app, col, row);
-				if (geo != null) {
-					list.add(geo);
-				}
-			}
-		}
-		return list;
+	private SpreadsheetCellIndex cells() {
+		return app.getKernel().getConstruction().getSpreadsheetCellIndex();
 	}
 
 	/**
@@ -347,37 +337,14 @@ public ArrayList<String> toGeoLabelList(boolean scanByColumn,
 			boolean copyByValue) {
 
 		ArrayList<String> list = new ArrayList<>();
-
-		if (scanByColumn) {
-			for (int col = minColumn; col <= maxColumn; ++col) {
-				for (int row = minRow; row <= maxRow; ++row) {
-					GeoElement geo = RelativeCopy.getValue(app, col, row);
-					if (geo != null) {
-						if (copyByValue) {
-							list.add(geo.getValueForInputBar());
-						} else {
-							list.add(geo
-									.getLabel(StringTemplate.defaultTemplate));
-						}
-					}
-				}
-			}
-		} else {
-			for (int row = minRow; row <= maxRow; ++row) {
-				for (int col = minColumn; col <= maxColumn; ++col) {
-					GeoElement geo = RelativeCopy.getValue(app, col, row);
-					if (geo != null) {
-						if (copyByValue) {
-							list.add(geo.getValueForInputBar());
-						} else {
-							list.add(geo
-									.getLabel(StringTemplate.defaultTemplate));
-						}
+		cells().forEachInRange(minColumn, minRow, maxColumn, maxRow,
+				scanByColumn, (col, row, geo) -> {
+					if (copyByValue) {
+						list.add(geo.getValueForInputBar());
+					} else {
+						list.add(geo.getLabel(StringTemplate.defaultTemplate));
 					}
-				}
-			}
-		}
-
+				});
 		return list;
 	}
 
@@ -401,29 +368,9 @@ public ArrayList<String> toGeoValueList(boolean scanByColumn) {
 
 		ArrayList<String> list = new ArrayList<>();
 		CellRange cr = getActualRange();
-
-		if (scanByColumn) {
-			for (int col = cr.minColumn; col <= cr.maxColumn; ++col) {
-				for (int row = cr.minRow; row <= cr.maxRow; ++row) {
-					GeoElement geo = RelativeCopy.getValue(app, col, row);
-					if (geo != null) {
-						list.add(geo
-								.toValueString(StringTemplate.defaultTemplate));
-					}
-				}
-			}
-		} else {
-			for (int row = cr.minRow; row <= cr.maxRow; ++row) {
-				for (int col = cr.minColumn; col <= cr.maxColumn; ++col) {
-					GeoElement geo = RelativeCopy.getValue(app, col, row);
-					if (geo != null) {
-						list.add(geo
-								.toValueString(StringTemplate.defaultTemplate));
-					}
-				}
-			}
-		}
-
+		cells().forEachInRange(cr.minColumn, cr.minRow, cr.maxColumn,
+				cr.maxRow, scanByColumn, (col, row, geo) -> list
+						.add(geo.toValueString(StringTemplate.defaultTemplate)));
 		return list;
 	}
 
@@ -504,17 +451,7 @@ public boolean hasSameAnchor(CellRange cr) {
 
 	/** @return true if at least one cell is empty (has no geo) */
 	public boolean hasEmptyCells() {
-		boolean hasEmptyCells = false;
-		for (int col = minColumn; col <= maxColumn; ++col) {
-			for (int row = minRow; row <= maxRow; ++row) {
-				GeoElement geo = RelativeCopy.getValue(app, col, row);
-				if (geo == null) {
-					return true;
-				}
-			}
-		}
-
-		return hasEmptyCells;
+		return getGeoCount(null) < (long) getWidth() * getHeight();
 	}
 
 	/**
@@ -527,25 +464,15 @@ public boolean hasEmptyCells() {
 	 * @return count of geos of given type in the range
 	 */
 	public int getGeoCount(GeoClass geoClass) {
+		ArrayList<GeoElement> list = toGeoList();
+		if (geoClass == null) {
+			return list.size();
+		}
 		int count = 0;
-		if (geoClass != null) {
-			for (int col = getMinColumn(); col <= getMaxColumn(); ++col) {
-				for (int row = getMinRow(); row <= getMaxRow(); ++row) {
-					GeoElement geo = RelativeCopy.getValue(app, col, row);
-					if (geo != null && geo.getGeoClassType() == geoClass) {
-						++count;
-					}
-				}
+		for (GeoElement geo : list) {
+			if (geo.getGeoClassType() == geoClass) {
+				++count;
 			}
-		} else {
-			for (int col = getMinColumn(); col <= getMaxColumn(); ++col) {
-				for (int row = getMinRow(); row <= getMaxRow(); ++row) {
-					if (RelativeCopy.getValue(app, col, row) != null) {
-						++count;
-					}
-				}
-			}
-
 		}
 		return count;
 	}
@@ -557,12 +484,9 @@ public int getGeoCount(GeoClass geoClass) {
 	 *         GeoClass type
 	 */
 	public boolean containsGeoClass(GeoClass geoClass) {
-		for (int col = getMinColumn(); col <= getMaxColumn(); ++col) {
-			for (int row = getMinRow(); row <= getMaxRow(); ++row) {
-				GeoElement geo = RelativeCopy.getValue(app, col, row);
-				if (geo != null && geo.getGeoClassType() == geoClass) {
-					return true;
-				}
+		for (GeoElement geo : toGeoList()) {
+			if (geo.getGeoClassType() == geoClass) {
+				return true;
 			}
 		}
 		return false;
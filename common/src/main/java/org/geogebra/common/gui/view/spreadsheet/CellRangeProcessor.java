@@ -3,9 +3,9 @@
 import java.util.ArrayList;
 import java.util.HashSet;
 
-import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.SpreadsheetCellIndex;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoDependentList;
 import org.geogebra.common.kernel.algos.AlgoDependentPoint;
@@ -831,34 +831,34 @@ public GeoList createList(ArrayList<CellRange> rangeList,
 			list = new ArrayList<>();
 		}
 
-		ArrayList<GPoint> cellList = new ArrayList<>();
-
 		// temporary fix for catching duplicate cells caused by ctrl-seelct
 		// will not be needed when sorting of cells by row/column is done
-		HashSet<GPoint> usedCells = new HashSet<>();
+		HashSet<GeoElement> usedCells = new HashSet<>();
+		ArrayList<GeoElement> cells = new ArrayList<>();
 
 		try {
 
-			// create cellList: this holds a list of cell index pairs for the
-			// entire range
+			// collect existing cells of all ranges, empty cells are skipped
+			// by the index
+			SpreadsheetCellIndex cellIndex = cons.getSpreadsheetCellIndex();
 			for (CellRange cr : rangeList) {
-				cellList.addAll(cr.toCellList(scanByColumn));
+				cellIndex.forEachInRange(cr.getMinColumn(), cr.getMinRow(),
+						cr.getMaxColumn(), cr.getMaxRow(), scanByColumn,
+						(col, row, geo) -> {
+							if (usedCells.add(geo)) {
+								cells.add(geo);
+							}
+						});
 			}
 
-			// iterate through the cells and add their contents to the
-			// expression string
-			for (GPoint cell : cellList) {
-				if (!usedCells.contains(cell)) {
-					GeoElement geo = RelativeCopy.getValue(app, cell.x, cell.y);
-					if (geo != null && (geoTypeFilter == null
-							|| geo.getGeoClassType() == geoTypeFilter)) {
-						if (copyByValue) {
-							geoList.add(geo.copy());
-						} else {
-							list.add(geo);
-						}
+			for (GeoElement geo : cells) {
+				if (geoTypeFilter == null
+						|| geo.getGeoClassType() == geoTypeFilter) {
+					if (copyByValue) {
+						geoList.add(geo.copy());
+					} else {
+						list.add(geo);
 					}
-					usedCells.add(cell);
 				}
 			}
 
@@ -29,7 +29,9 @@
 import org.geogebra.common.kernel.geos.GeoPolygon;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.AppConfig;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -402,12 +404,16 @@ final protected void doParseXML(XMLStream stream, boolean clearConstruction,
 			kernel.setNotifyViewsActive(false);
 		}
 
+		long start = System.nanoTime();
 		if (clearConstruction) {
 			// clear construction
 			kernel.clearConstruction(false);
+			GeoGebraProfiler.record(Metric.XML_LOAD, "clear", start);
 		}
 		try {
+			start = System.nanoTime();
 			parseXmlUnsafe(stream, settingsBatch, isGGTOrDefaults);
+			GeoGebraProfiler.record(Metric.XML_LOAD, "parse", start);
 		} catch (CommandNotLoadedError e) {
 			throw e;
 		} catch (Error | XMLParseException | IOException | RuntimeException e) {
@@ -419,8 +425,10 @@ final protected void doParseXML(XMLStream stream, boolean clearConstruction,
 			kernel.setLoadingMode(false);
 			kernel.setCommandLookupStrategy(oldVal2);
 			if (!isGGTOrDefaults && mayZoom) {
+				start = System.nanoTime();
 				kernel.updateConstruction(randomize, 1);
 				cons.updateCasCellTwinVisibility();
+				GeoGebraProfiler.record(Metric.XML_LOAD, "update", start);
 				kernel.setNotifyViewsActive(oldVal);
 			}
 
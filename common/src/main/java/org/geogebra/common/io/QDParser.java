@@ -22,13 +22,15 @@
 import java.io.IOException;
 import java.io.Reader;
 import java.util.LinkedHashMap;
-import java.util.Stack;
 
 import org.geogebra.common.util.StringUtil;
 
 /**
  * Quick and Dirty xml parser. This parser is, like the SAX parser, an event
  * based parser, but with much less functionality.
+ * <p>
+ * The input is read in blocks into a reused buffer; tag and attribute names
+ * are shared between tags to keep the number of allocations low.
  */
 public class QDParser {
 	private final static int TEXT = 1;
@@ -47,18 +49,24 @@ public class QDParser {
 	private final static int DOCTYPE = 14;
 	private final static int PRE = 15;
 	private final static int CDATA = 16;
+	private final static int BUFFER_SIZE = 8192;
+	/** number of cached tag and attribute names, power of 2 */
+	private final static int NAME_CACHE_SIZE = 512;
 
 	private LinkedHashMap<String, String> attrs;
-	private Stack<Integer> stack;
+	private int[] stack;
+	private int stackSize;
 	private StringBuilder sb;
 	private StringBuilder etag;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final String[] names = new String[NAME_CACHE_SIZE];
 
 	/**
 	 * Creates new parser
 	 */
 	public QDParser() {
 		attrs = new LinkedHashMap<>();
-		stack = new Stack<>();
+		stack = new int[16];
 		sb = new StringBuilder();
 		etag = new StringBuilder();
 	}
@@ -68,18 +76,70 @@ public QDParser() {
 	 */
 	public void reset() {
 		attrs.clear();
-		stack.clear();
+		stackSize = 0;
 		sb = new StringBuilder();
 		etag = new StringBuilder();
 	}
 
-	private static int popMode(Stack<Integer> st) {
-		if (!st.empty()) {
-			return st.pop().intValue();
+	private int popMode() {
+		if (stackSize > 0) {
+			return stack[--stackSize];
 		}
 		return PRE;
 	}
 
+	private void pushMode(int mode) {
+		if (stackSize == stack.length) {
+			int[] copy = new int[2 * stackSize];
+			System.arraycopy(stack, 0, copy, 0, stackSize);
+			stack = copy;
+		}
+		stack[stackSize++] = mode;
+	}
+
+	/**
+	 * @return content of sb as string, shared with previous tags if possible
+	 */
+	private String name() {
+		int hash = 0;
+		int length = sb.length();
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + sb.charAt(i);
+		}
+		int slot = hash & (NAME_CACHE_SIZE - 1);
+		String cached = names[slot];
+		if (cached != null && cached.length() == length) {
+			int i = 0;
+			while (i < length && cached.charAt(i) == sb.charAt(i)) {
+				i++;
+			}
+			if (i == length) {
+				return cached;
+			}
+		}
+		String name = sb.toString();
+		names[slot] = name;
+		return name;
+	}
+
+	private boolean sbEndsWith(char c) {
+		int length = sb.length();
+		return length > 1 && sb.charAt(length - 1) == c
+				&& sb.charAt(length - 2) == c;
+	}
+
+	private boolean sbEquals(String str) {
+		if (sb.length() != str.length()) {
+			return false;
+		}
+		for (int i = 0; i < str.length(); i++) {
+			if (sb.charAt(i) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * @param doc
 	 *            handler that receives document events
@@ -90,8 +150,7 @@ private static int popMode(Stack<Integer> st) {
 	 * @throws IOException if accessing data from reader fails
 	 */
 	final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseException {
-		// Stack stack = new Stack();
-		stack.clear();
+		stackSize = 0;
 
 		int depth = 0;
 		int mode = PRE;
@@ -112,7 +171,17 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 		doc.startDocument();
 		int line = 1, col = 0;
 		boolean eol = false;
-		while ((c = r.read()) != -1) {
+		int pos = 0;
+		int end = 0;
+		while (true) {
+			if (pos == end) {
+				end = r.read(buffer, 0, BUFFER_SIZE);
+				pos = 0;
+				if (end <= 0) {
+					break;
+				}
+			}
+			c = buffer[pos++];
 
 			// We need to map \r, \r\n, and \n to \n
 			// See XML spec section 2.11
@@ -142,7 +211,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			case TEXT:
 				switch (c) {
 				case '<':
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = START_TAG;
 					if (sb.length() > 0) {
 						doc.text(sb.toString());
@@ -150,7 +219,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 					}
 					break;
 				case '&':
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = ENTITY;
 					etag.setLength(0);
 					break;
@@ -163,8 +232,8 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			case CLOSE_TAG:
 				switch (c) {
 				case '>':
-					mode = popMode(stack);
-					tagName = sb.toString();
+					mode = popMode();
+					tagName = name();
 					sb.setLength(0);
 					depth--;
 					if (depth == 0) {
@@ -179,11 +248,11 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 
 			// we are processing CDATA
 			case CDATA:
-				if (c == '>' && sb.toString().endsWith("]]")) {
+				if (c == '>' && sbEndsWith(']')) {
 					sb.setLength(sb.length() - 2);
 					doc.text(sb.toString());
 					sb.setLength(0);
-					mode = popMode(stack);
+					mode = popMode();
 				} else {
 					sb.append((char) c);
 				}
@@ -192,9 +261,9 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			// we are processing a comment. We are inside
 			// the <!-- .... --> looking for the -->.
 			case COMMENT:
-				if (c == '>' && sb.toString().endsWith("--")) {
+				if (c == '>' && sbEndsWith('-')) {
 					sb.setLength(0);
-					mode = popMode(stack);
+					mode = popMode();
 				} else {
 					sb.append((char) c);
 				}
@@ -204,7 +273,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			case PRE:
 				if (c == '<') {
 					mode = TEXT;
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = START_TAG;
 				}
 				break;
@@ -213,7 +282,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			// or one of these <!DOCTYPE ... >
 			case DOCTYPE:
 				if (c == '>') {
-					mode = popMode(stack);
+					mode = popMode();
 					if (mode == TEXT) {
 						mode = PRE;
 					}
@@ -224,17 +293,17 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			// are wondering what we are looking at
 			// <foo>, </foo>, <!-- ... --->, etc.
 			case START_TAG:
-				mode = popMode(stack);
+				mode = popMode();
 				switch (c) {
 				case '/':
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = CLOSE_TAG;
 					break;
 				case '?':
 					mode = DOCTYPE;
 					break;
 				default:
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = OPEN_TAG;
 					tagName = null;
 					// attrs = new LinkedHashMap();
@@ -245,7 +314,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			// we are processing an entity, e.g. &lt;, &#187;, etc.
 			case ENTITY:
 				if (c == ';') {
-					mode = popMode(stack);
+					mode = popMode();
 					String cent = etag.toString();
 					etag.setLength(0);
 					if ("lt".equals(cent)) {
@@ -278,7 +347,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 			// and are looking for the final >.
 			case SINGLE_TAG:
 				if (tagName == null) {
-					tagName = sb.toString();
+					tagName = name();
 				}
 				if (c != '>') {
 					exc("Expected > for tag: <" + tagName + "/>", line, col);
@@ -293,7 +362,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 				// attrs = new LinkedHashMap();
 				attrs.clear();
 				tagName = null;
-				mode = popMode(stack);
+				mode = popMode();
 				break;
 
 			// we are processing something
@@ -303,7 +372,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 				switch (c) {
 				case '>':
 					if (tagName == null) {
-						tagName = sb.toString();
+						tagName = name();
 					}
 					sb.setLength(0);
 					depth++;
@@ -311,7 +380,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 					tagName = null;
 					// attrs = new LinkedHashMap();
 					attrs.clear();
-					mode = popMode(stack);
+					mode = popMode();
 					break;
 
 				case '/':
@@ -319,7 +388,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 					break;
 
 				case '-':
-					if (sb.toString().equals("!-")) {
+					if (sbEquals("!-")) {
 						mode = COMMENT;
 					} else {
 						sb.append((char) c);
@@ -327,14 +396,14 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 					break;
 
 				case '[':
-					if (sb.toString().equals("![CDATA")) {
+					if (sbEquals("![CDATA")) {
 						mode = CDATA;
 						sb.setLength(0);
 					}
 					break;
 
 				case 'E':
-					if (sb.toString().equals("!DOCTYP")) {
+					if (sbEquals("!DOCTYP")) {
 						sb.setLength(0);
 						mode = DOCTYPE;
 					}
@@ -342,7 +411,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 
 				default:
 					if (StringUtil.isWhitespace((char) c)) {
-						tagName = sb.toString();
+						tagName = name();
 						sb.setLength(0);
 						mode = IN_TAG;
 					} else {
@@ -372,7 +441,7 @@ final public void parse(DocHandler doc, Reader r) throws IOException, XMLParseEx
 				// Markus Hohenwarter, end
 
 				else if (c == '&') {
-					stack.push(Integer.valueOf(mode));
+					pushMode(mode);
 					mode = ENTITY;
 					etag.setLength(0);
 				} else {
@@ -391,11 +460,11 @@ else if (c == '&') {
 
 			case ATTRIBUTE_LVALUE:
 				if (StringUtil.isWhitespace((char) c)) {
-					lvalue = sb.toString();
+					lvalue = name();
 					sb.setLength(0);
 					mode = ATTRIBUTE_EQUAL;
 				} else if (c == '=') {
-					lvalue = sb.toString();
+					lvalue = name();
 					sb.setLength(0);
 					mode = ATTRIBUTE_RVALUE;
 				} else {
@@ -414,7 +483,7 @@ else if (c == '&') {
 			case IN_TAG:
 				switch (c) {
 				case '>':
-					mode = popMode(stack);
+					mode = popMode();
 					doc.startElement(tagName, attrs);
 					depth++;
 					tagName = null;
@@ -26,6 +26,7 @@
 import org.geogebra.common.kernel.algos.AlgoJoinPointsSegment;
 import org.geogebra.common.kernel.algos.AlgorithmSet;
 import org.geogebra.common.kernel.algos.ConstructionElement;
+import org.geogebra.common.kernel.algos.LevelScheduledUpdate;
 import org.geogebra.common.kernel.arithmetic.ArbitraryConstantRegistry;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
@@ -131,6 +132,7 @@ public class Construction {
 
 	/** Table for (label, GeoElement) pairs, contains global variables */
 	protected HashMap<String, GeoElement> geoTable;
+	private final SpreadsheetCellIndex cellIndex = new SpreadsheetCellIndex();
 
 	// list of algorithms that need to be updated when EuclidianView changes
 	private ArrayList<EuclidianViewCE> euclidianViewCE;
@@ -190,6 +192,8 @@ public class Construction {
 	private GeoElement outputGeo;
 
 	private ArrayList<String> registeredFV = new ArrayList<>();
+	/** changes whenever a label is added or removed */
+	private int labelVersion;
 
 	private boolean fileLoading;
 	private boolean casCellUpdate = false;
@@ -382,6 +386,7 @@ final public Constants isConstantElement(GeoElement geo) {
 	final public void updateLocalAxesNames() {
 		geoTable.remove(xAxisLocalName);
 		geoTable.remove(yAxisLocalName);
+		labelVersion++;
 
 		Localization app = kernel.getLocalization();
 		xAxisLocalName = app.getMenu("xAxis");
@@ -664,6 +669,7 @@ final public void addLocalVariable(String varname, GeoElement geo) {
 			localVariableTable = new HashMap<>();
 		}
 		localVariableTable.put(varname, geo);
+		labelVersion++;
 		geo.setLocalVariableLabel(varname);
 	}
 
@@ -675,6 +681,7 @@ final public void addLocalVariable(String varname, GeoElement geo) {
 	final public void removeLocalVariable(String varname) {
 		if (localVariableTable != null) {
 			GeoElement geo = localVariableTable.remove(varname);
+			labelVersion++;
 			if (geo != null) {
 				geo.undoLocalVariableLabel();
 			}
@@ -1858,7 +1865,9 @@ public void putLabel(GeoElement geo) {
 		}
 
 		geoTable.put(geo.getLabelSimple(), geo);
+		labelVersion++;
 		addToGeoSets(geo);
+		cellIndex.put(geo.getLabelSimple(), geo);
 	}
 
 	/**
@@ -1869,7 +1878,9 @@ public void putLabel(GeoElement geo) {
 	 */
 	public void removeLabel(GeoElement geo) {
 		geoTable.remove(geo.getLabelSimple());
+		labelVersion++;
 		removeFromGeoSets(geo);
+		cellIndex.remove(geo.getLabelSimple(), geo);
 	}
 
 	private void addToGeoSets(GeoElement geo) {
@@ -1960,6 +1971,7 @@ public void putCasCellLabel(GeoCasCell geoCasCell, String label) {
 			geoCasCellTable = new HashMap<>();
 		}
 		geoCasCellTable.put(label, geoCasCell);
+		labelVersion++;
 	}
 
 	/**
@@ -1972,6 +1984,7 @@ public void putCasCellLabel(GeoCasCell geoCasCell, String label) {
 	public void removeCasCellLabel(String variable) {
 		if (geoCasCellTable != null) {
 			geoCasCellTable.remove(variable);
+			labelVersion++;
 		}
 	}
 
@@ -2634,6 +2647,8 @@ private GeoNumberValue distance(String string, String string2) {
 	 */
 	final private void initGeoTables() {
 		geoTable.clear();
+		cellIndex.clear();
+		labelVersion++;
 		geoCasCellTable = null;
 		localVariableTable = null;
 		constsM.clear();
@@ -2969,6 +2984,15 @@ public boolean hasRegisteredFunctionVariable() {
 		return !registeredFV.isEmpty();
 	}
 
+	/**
+	 * @return number that changes whenever a label (including CAS cell and
+	 *         local variable labels) is added or removed, so that results
+	 *         depending on label lookup can be cached
+	 */
+	public int getLabelVersion() {
+		return labelVersion;
+	}
+
 	/**
 	 * @param s variable name
 	 * @return whether s is among registered function variables
@@ -3071,7 +3095,8 @@ public TreeSet<String> getCASdummies() {
 	 */
 	public void updateAllAlgosInSet(@Nonnull AlgorithmSet algoSet) {
 		this.algoSetCurrentlyUpdated = algoSet;
-		algoSet.updateAll();
+		LevelScheduledUpdate.updateAll(algoSet, algoSet.getSize(),
+				kernel.getParallelUpdateExecutor());
 		this.algoSetCurrentlyUpdated = null;
 	}
 
@@ -3290,6 +3315,13 @@ public HashMap<String, GeoElement> getGeoTable() {
 		return geoTable;
 	}
 
+	/**
+	 * @return spreadsheet cells by column and row
+	 */
+	public SpreadsheetCellIndex getSpreadsheetCellIndex() {
+		return cellIndex;
+	}
+
 	/**
 	 * @return whether this is a 3D instance
 	 */
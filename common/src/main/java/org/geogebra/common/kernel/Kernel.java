@@ -6,6 +6,7 @@
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
 
 import org.geogebra.common.GeoGebraConstants;
@@ -31,6 +32,7 @@
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DependentAlgo;
+import org.geogebra.common.kernel.algos.ParallelUpdateExecutor;
 import org.geogebra.common.kernel.arithmetic.ArbitraryConstantRegistry;
 import org.geogebra.common.kernel.arithmetic.ArithmeticFactory;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
@@ -391,6 +393,10 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private boolean notifyRepaint = true;
 	private EuclidianView lastAttachedEV = null;
 	private boolean notifyViewsActive = true;
+	/** number of element changes, see {@link #getChangeCount()} */
+	private int changeCount;
+	private ParallelUpdateExecutor parallelUpdateExecutor;
+	private Set<String> labelLookups;
 
 	// MOB-1304 cache axes numbers
 	private final HashMap<StringTemplate, LRUMap<Double, String>> formatterMaps = new HashMap<>();
@@ -3259,6 +3265,9 @@ final public GeoElement lookupLabel(String label) {
 	 * @return may return null
 	 */
 	final public GeoCasCell lookupCasCellLabel(String label) {
+		if (labelLookups != null) {
+			labelLookups.add(label);
+		}
 		return cons.lookupCasCellLabel(label);
 	}
 
@@ -3291,6 +3300,9 @@ final public GeoCasCell lookupCasRowReference(String label)
 	 */
 	final public GeoElement lookupLabel(String label, boolean autoCreate,
 			SymbolicMode resMode) {
+		if (labelLookups != null) {
+			labelLookups.add(label);
+		}
 		GeoElement geo = cons.lookupLabel(label, autoCreate);
 
 		if ((geo == null) && resMode == SymbolicMode.SYMBOLIC) {
@@ -3772,6 +3784,7 @@ final public void notifyAddAll(View view, int consStep) {
 	 *            added geo
 	 */
 	public final void notifyAdd(GeoElement geo) {
+		changeCount++;
 		if (notifyViewsActive) {
 			if (batchAddStarted && geo.isLabelSet() && firstGeoInBatch == null) {
 				firstGeoInBatch = geo;
@@ -3831,6 +3844,7 @@ public final void notifyRemoveGroup() {
 	 *            removed element
 	 */
 	public final void notifyRemove(GeoElement geo) {
+		changeCount++;
 		if (notifyViewsActive) {
 			if (geo.isLabelSet()) {
 				this.deleteList.add(geo);
@@ -3895,6 +3909,7 @@ public final void movedGeoSet(ArrayList<GeoElement> elmSet) {
 	 *            element
 	 */
 	public final void notifyUpdate(GeoElement geo) {
+		changeCount++;
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
 			for (View view : views) {
@@ -3910,6 +3925,7 @@ public final void notifyUpdate(GeoElement geo) {
 	 *            element
 	 */
 	public final void notifyUpdateLocation(GeoElement geo) {
+		changeCount++;
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
 			for (View view : views) {
@@ -3932,6 +3948,7 @@ public final void notifyUpdateLocation(GeoElement geo) {
 	 *            property
 	 */
 	public final void notifyUpdateVisualStyle(GeoElement geo, GProperty prop) {
+		changeCount++;
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.updateVisualStyle(geo, prop);
@@ -3960,6 +3977,7 @@ public final void notifyUpdateHightlight(GeoElement geo) {
 	 *            changed geo
 	 */
 	public final void notifyUpdateAuxiliaryObject(GeoElement geo) {
+		changeCount++;
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.updateAuxiliaryObject(geo);
@@ -3974,6 +3992,7 @@ public final void notifyUpdateAuxiliaryObject(GeoElement geo) {
 	 *            renamed geo
 	 */
 	public final void notifyRename(GeoElement geo) {
+		changeCount++;
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.rename(geo);
@@ -3990,6 +4009,7 @@ public final void notifyRename(GeoElement geo) {
 	 *            new geo after type change
 	 */
 	public final void notifyTypeChanged(GeoElement geo) {
+		changeCount++;
 		if (notifyViewsActive) {
 			for (View view : views) {
 				if (view.getViewID() == App.VIEW_ALGEBRA) {
@@ -4029,10 +4049,52 @@ public void notifyPasteComplete(ArrayList<GeoElement> pastedGeos) {
 		}
 	}
 
+	/**
+	 * @return counter of notifications about added, removed, renamed or
+	 *         changed elements; also counts while views are not notified
+	 */
+	public int getChangeCount() {
+		return changeCount;
+	}
+
 	public boolean isNotifyViewsActive() {
 		return notifyViewsActive && !viewReiniting;
 	}
 
+	/**
+	 * Makes {@link #lookupLabel(String, boolean, SymbolicMode)} and
+	 * {@link #lookupCasCellLabel(String)} collect the labels they are asked
+	 * for, e.g. to find out which labels a parse result depends on.
+	 *
+	 * @param lookups
+	 *            set receiving looked up labels, null to stop collecting
+	 * @return previous set
+	 */
+	public Set<String> setLabelLookupRecorder(Set<String> lookups) {
+		Set<String> previous = labelLookups;
+		labelLookups = lookups;
+		return previous;
+	}
+
+	/**
+	 * @return executor for level scheduled update cascades, null if algos
+	 *         are updated one by one
+	 */
+	public ParallelUpdateExecutor getParallelUpdateExecutor() {
+		return parallelUpdateExecutor;
+	}
+
+	/**
+	 * Enables level scheduled update of large update cascades, see
+	 * {@link org.geogebra.common.kernel.algos.LevelScheduledUpdate}.
+	 * 
+	 * @param executor
+	 *            executor for parallel compute, null to disable
+	 */
+	public void setParallelUpdateExecutor(ParallelUpdateExecutor executor) {
+		this.parallelUpdateExecutor = executor;
+	}
+
 	public boolean isViewReiniting() {
 		return viewReiniting;
 	}
@@ -4444,6 +4506,7 @@ public void addMacro(Macro macro) {
 			macroManager = new MacroManager();
 		}
 		macroManager.addMacro(macro);
+		clearParsedExpressionCache();
 
 		app.dispatchEvent(
 				new Event(EventType.ADD_MACRO, null, macro.getCommandName()));
@@ -4460,11 +4523,18 @@ public void removeMacro(Macro macro) {
 		if (macroManager != null) {
 			macroManager.removeMacro(macro);
 		}
+		clearParsedExpressionCache();
 
 		app.dispatchEvent(new Event(EventType.REMOVE_MACRO, null,
 				macro.getCommandName()));
 	}
 
+	private void clearParsedExpressionCache() {
+		if (algProcessor != null) {
+			algProcessor.getParsedExpressionCache().clear();
+		}
+	}
+
 	public void removeMacro(String macroName) {
 		removeMacro(getMacro(macroName));
 	}
@@ -4477,6 +4547,7 @@ public void removeAllMacros() {
 			getApplication().removeMacroCommands();
 			macroManager.removeAllMacros();
 		}
+		clearParsedExpressionCache();
 
 		app.dispatchEvent(new Event(EventType.REMOVE_MACRO, null, null));
 	}
@@ -4694,6 +4765,7 @@ public MacroKernel newMacroKernel() {
 	 *            new layer
 	 */
 	public void notifyChangeLayer(GeoElement geo, int layer, int layer2) {
+		changeCount++;
 		app.updateMaxLayerUsed(layer2);
 		if (notifyViewsActive) {
 			for (View view : views) {
@@ -0,0 +1,334 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoElementSpreadsheet;
+import org.geogebra.common.util.StringUtil;
+
+/**
+ * Spreadsheet cells of a construction by column and row. The index is kept in
+ * sync with the label table of the construction, so cells in a range can be
+ * found without building and looking up a label for every cell of the range.
+ *
+ * Cells are stored column by column and only for existing elements, so the
+ * cost of a range query depends on the number of cells in the range rather
+ * than on its area.
+ */
+public class SpreadsheetCellIndex {
+
+	private final TreeMap<Integer, Column> columns = new TreeMap<>();
+	private int size;
+
+	/**
+	 * Receives added and removed cells of a column.
+	 */
+	public interface ColumnListener {
+		/**
+		 * Called after a cell was added to or removed from the index.
+		 *
+		 * @param column
+		 *            column of the cell
+		 * @param row
+		 *            row of the cell
+		 * @param geo
+		 *            cell
+		 * @param removed
+		 *            true if the cell was removed, false if it was added
+		 */
+		void cellChanged(int column, int row, GeoElement geo, boolean removed);
+	}
+
+	/**
+	 * Receives cells of a range, must not modify the index.
+	 */
+	public interface CellVisitor {
+		/**
+		 * @param column
+		 *            column of the cell
+		 * @param row
+		 *            row of the cell
+		 * @param geo
+		 *            cell
+		 */
+		void visit(int column, int row, GeoElement geo);
+	}
+
+	private static final class Column {
+		final TreeMap<Integer, GeoElement> rows = new TreeMap<>();
+		ArrayList<ColumnListener> listeners;
+
+		boolean isUnused() {
+			return rows.isEmpty() && (listeners == null || listeners.isEmpty());
+		}
+
+		void notifyListeners(int column, int row, GeoElement geo,
+				boolean removed) {
+			if (listeners == null || listeners.isEmpty()) {
+				return;
+			}
+			// listeners may unregister while being notified
+			for (ColumnListener listener : listeners
+					.toArray(new ColumnListener[0])) {
+				listener.cellChanged(column, row, geo, removed);
+			}
+		}
+	}
+
+	/**
+	 * Adds element to the index if its label is a cell name.
+	 *
+	 * @param label
+	 *            label of the element in the label table
+	 * @param geo
+	 *            element
+	 */
+	void put(String label, GeoElement geo) {
+		GPoint cell = getCell(label);
+		if (cell == null) {
+			return;
+		}
+		Column column = columns.get(cell.x);
+		if (column == null) {
+			column = new Column();
+			columns.put(cell.x, column);
+		}
+		GeoElement old = column.rows.put(cell.y, geo);
+		if (old == geo) {
+			return;
+		}
+		if (old == null) {
+			size++;
+		} else {
+			column.notifyListeners(cell.x, cell.y, old, true);
+		}
+		column.notifyListeners(cell.x, cell.y, geo, false);
+	}
+
+	/**
+	 * Removes element from the index if it's stored under given label.
+	 *
+	 * @param label
+	 *            label of the element in the label table
+	 * @param geo
+	 *            element
+	 */
+	void remove(String label, GeoElement geo) {
+		GPoint cell = getCell(label);
+		if (cell == null) {
+			return;
+		}
+		Column column = columns.get(cell.x);
+		if (column == null || column.rows.get(cell.y) != geo) {
+			return;
+		}
+		column.rows.remove(cell.y);
+		size--;
+		column.notifyListeners(cell.x, cell.y, geo, true);
+		if (column.isUnused()) {
+			columns.remove(cell.x);
+		}
+	}
+
+	/**
+	 * Removes all cells and listeners, listeners are not notified.
+	 */
+	void clear() {
+		columns.clear();
+		size = 0;
+	}
+
+	private static GPoint getCell(String label) {
+		// cell names start with a letter and end with a digit
+		if (label == null || label.length() < 2
+				|| label.charAt(0) < 'A' || label.charAt(0) > 'Z'
+				|| !StringUtil.isDigit(label.charAt(label.length() - 1))) {
+			return null;
+		}
+		return GeoElementSpreadsheet.getSpreadsheetCoordsForLabel(label);
+	}
+
+	/**
+	 * @param column
+	 *            column
+	 * @param row
+	 *            row
+	 * @return cell, null if empty
+	 */
+	public GeoElement get(int column, int row) {
+		Column col = columns.get(column);
+		return col == null ? null : col.rows.get(row);
+	}
+
+	/**
+	 * @return number of cells
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Visits all cells in a range, either column by column or row by row.
+	 *
+	 * @param minColumn
+	 *            first column
+	 * @param minRow
+	 *            first row
+	 * @param maxColumn
+	 *            last column (inclusive)
+	 * @param maxRow
+	 *            last row (inclusive)
+	 * @param byColumn
+	 *            whether to visit all cells of a column before the next column
+	 * @param visitor
+	 *            receives the cells
+	 */
+	public void forEachInRange(int minColumn, int minRow, int maxColumn,
+			int maxRow, boolean byColumn, CellVisitor visitor) {
+		if (minColumn > maxColumn || minRow > maxRow) {
+			return;
+		}
+		if (byColumn) {
+			for (Map.Entry<Integer, Column> col : columns
+					.subMap(minColumn, true, maxColumn, true).entrySet()) {
+				for (Map.Entry<Integer, GeoElement> cell : col.getValue().rows
+						.subMap(minRow, true, maxRow, true).entrySet()) {
+					visitor.visit(col.getKey(), cell.getKey(), cell.getValue());
+				}
+			}
+			return;
+		}
+		// merge the columns by row
+		ArrayList<Integer> cols = new ArrayList<>();
+		ArrayList<Iterator<Map.Entry<Integer, GeoElement>>> its =
+				new ArrayList<>();
+		for (Map.Entry<Integer, Column> col : columns
+				.subMap(minColumn, true, maxColumn, true).entrySet()) {
+			Iterator<Map.Entry<Integer, GeoElement>> it = col.getValue().rows
+					.subMap(minRow, true, maxRow, true).entrySet().iterator();
+			if (it.hasNext()) {
+				cols.add(col.getKey());
+				its.add(it);
+			}
+		}
+		ArrayList<Map.Entry<Integer, GeoElement>> heads = new ArrayList<>();
+		for (Iterator<Map.Entry<Integer, GeoElement>> it : its) {
+			heads.add(it.next());
+		}
+		while (!heads.isEmpty()) {
+			int next = 0;
+			for (int i = 1; i < heads.size(); i++) {
+				if (heads.get(i).getKey() < heads.get(next).getKey()) {
+					next = i;
+				}
+			}
+			Map.Entry<Integer, GeoElement> cell = heads.get(next);
+			visitor.visit(cols.get(next), cell.getKey(), cell.getValue());
+			if (its.get(next).hasNext()) {
+				heads.set(next, its.get(next).next());
+			} else {
+				heads.remove(next);
+				its.remove(next);
+				cols.remove(next);
+			}
+		}
+	}
+
+	/**
+	 * @param minColumn
+	 *            first column
+	 * @param minRow
+	 *            first row
+	 * @param maxColumn
+	 *            last column (inclusive)
+	 * @param maxRow
+	 *            last row (inclusive)
+	 * @return cells in the range, column by column
+	 */
+	public ArrayList<GeoElement> getCellsInRange(int minColumn, int minRow,
+			int maxColumn, int maxRow) {
+		ArrayList<GeoElement> cells = new ArrayList<>();
+		forEachInRange(minColumn, minRow, maxColumn, maxRow, true,
+				(column, row, geo) -> cells.add(geo));
+		return cells;
+	}
+
+	/**
+	 * @param minColumn
+	 *            first column
+	 * @param minRow
+	 *            first row
+	 * @param maxColumn
+	 *            last column (inclusive)
+	 * @param maxRow
+	 *            last row (inclusive)
+	 * @return {upper left, lower right} corner of the smallest range containing
+	 *         all cells of the given range; null if there are no cells
+	 */
+	public GPoint[] getBounds(int minColumn, int minRow, int maxColumn,
+			int maxRow) {
+		if (minColumn > maxColumn || minRow > maxRow) {
+			return null;
+		}
+		GPoint[] bounds = null;
+		for (Map.Entry<Integer, Column> col : columns
+				.subMap(minColumn, true, maxColumn, true).entrySet()) {
+			TreeMap<Integer, GeoElement> rows = col.getValue().rows;
+			Integer first = rows.ceilingKey(minRow);
+			if (first == null || first > maxRow) {
+				continue;
+			}
+			int last = rows.floorKey(maxRow);
+			int x = col.getKey();
+			if (bounds == null) {
+				bounds = new GPoint[] { new GPoint(x, first),
+						new GPoint(x, last) };
+			} else {
+				bounds[0].y = Math.min(bounds[0].y, first);
+				bounds[1].x = x;
+				bounds[1].y = Math.max(bounds[1].y, last);
+			}
+		}
+		return bounds;
+	}
+
+	/**
+	 * @param column
+	 *            column
+	 * @param listener
+	 *            listener for added and removed cells of the column
+	 */
+	public void addColumnListener(int column, ColumnListener listener) {
+		Column col = columns.get(column);
+		if (col == null) {
+			col = new Column();
+			columns.put(column, col);
+		}
+		if (col.listeners == null) {
+			col.listeners = new ArrayList<>();
+		}
+		if (!col.listeners.contains(listener)) {
+			col.listeners.add(listener);
+		}
+	}
+
+	/**
+	 * @param column
+	 *            column
+	 * @param listener
+	 *            listener to remove
+	 */
+	public void removeColumnListener(int column, ColumnListener listener) {
+		Column col = columns.get(column);
+		if (col != null && col.listeners != null) {
+			col.listeners.remove(listener);
+			if (col.isUnused()) {
+				columns.remove(column);
+			}
+		}
+	}
+}
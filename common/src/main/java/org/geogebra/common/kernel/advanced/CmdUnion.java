@@ -10,6 +10,7 @@
 import org.geogebra.common.kernel.geos.GeoPolygon;
 import org.geogebra.common.kernel.kernelND.GeoPolygon3DInterface;
 import org.geogebra.common.main.MyError;
+import org.geogebra.common.plugin.GeoClass;
 
 /**
  * Union
@@ -33,6 +34,14 @@ public GeoElement[] process(Command c, EvalInfo info) throws MyError {
 		arg = resArgs(c);
 
 		switch (n) {
+		case 1:
+			if (arg[0].isGeoList() && ((GeoList) arg[0])
+					.getElementType() == GeoClass.POLYGON) {
+				return getAlgoDispatcher().union(c.getLabels(),
+						(GeoList) arg[0]);
+			}
+			throw argErr(c, arg[0]);
+
 		case 2:
 
 			if (arg[0].isGeoList() && arg[1].isGeoList()) {
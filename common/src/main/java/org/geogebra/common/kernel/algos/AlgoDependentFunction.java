@@ -55,6 +55,8 @@ public class AlgoDependentFunction extends AlgoElement
 	protected GeoFunction f;
 
 	private Function expandedFun;
+	private FunctionExpansion expansion;
+	private ExpressionValue lastExpanded;
 	private ExpressionNode expression;
 	private boolean expContainsFunctions; // expression contains functions
 	private Set<GeoElement> unconditionalInput;
@@ -104,6 +106,8 @@ public AlgoDependentFunction(Construction cons, Function fun,
 		expContainsFunctions = containsFunctions(expression);
 		if (expContainsFunctions) {
 			expandedFun = new Function(fun, kernel);
+			expansion = new FunctionExpansion(expression, this.fast,
+					f.getFunctionVariables());
 		}
 
 		setInputOutput(); // for AlgoElement
@@ -161,8 +165,13 @@ public final void compute() {
 				// Kernel.internationalizeDigits = false;
 				// TODO: seems that we never read internationalize digits flag
 				// here ...
-				ev = expandFunctionDerivativeNodes(expression.deepCopy(kernel),
-						this.fast, f.getFunctionVariables());
+				// boolean functions may change their expression when
+				// inequalities are updated, don't share subtrees
+				ev = f.isBooleanFunction()
+						? expandFunctionDerivativeNodes(
+								expression.deepCopy(kernel), this.fast,
+								f.getFunctionVariables())
+						: expansion.expand();
 				// Kernel.internationalizeDigits = internationalizeDigits;
 
 			} catch (Exception e) {
@@ -170,19 +179,24 @@ public final void compute() {
 				Log.debug("derivative failed");
 			}
 			if (ev == null) {
+				lastExpanded = null;
 				f.setUndefined();
 				return;
 			}
 
-			ExpressionNode node;
-			if (ev.isExpressionNode()) {
-				node = (ExpressionNode) ev;
-			} else {
-				node = new ExpressionNode(kernel, ev);
+			// keep the expression if nothing changed, so that functions
+			// depending on this one can keep their expansion too
+			if (ev != lastExpanded) {
+				ExpressionNode node;
+				if (ev.isExpressionNode()) {
+					node = (ExpressionNode) ev;
+				} else {
+					node = new ExpressionNode(kernel, ev);
+				}
+				expandedFun.setExpression(node);
+				lastExpanded = ev;
 			}
 
-			expandedFun.setExpression(node);
-
 			f.setFunction(expandedFun);
 			// If the label is not set (first run of compute)
 			// isFillable will take care of updating ineqs
@@ -564,6 +578,14 @@ public ExpressionNode getExpression() {
 		return expression;
 	}
 
+	/**
+	 * @return incremental expansion, null if the expression contains no
+	 *         functions
+	 */
+	FunctionExpansion getExpansion() {
+		return expansion;
+	}
+
 	@Override
 	public boolean mayShowDescriptionInsteadOfDefinition() {
 		return false;
@@ -1574,6 +1574,20 @@ final public GeoElement[] union(String[] labels, GeoPolygon poly0,
 		return polygon;
 	}
 
+	/**
+	 * Union[list of polygons]
+	 * 
+	 * @param labels
+	 *            labels
+	 * @param polygons
+	 *            list of polygons
+	 * @return union of all polygons in the list
+	 */
+	final public GeoElement[] union(String[] labels, GeoList polygons) {
+		AlgoPolygonUnion algo = new AlgoPolygonUnion(cons, labels, polygons);
+		return algo.getOutput();
+	}
+
 	/**
 	 * Union[polygon, polygon] as region. This is used when loading saved files
 	 * 
@@ -52,7 +52,9 @@
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 import com.google.j2objc.annotations.AutoreleasePool;
 
@@ -640,7 +642,14 @@ public void update() {
 
 		updateUnlabeledRandomGeos();
 
-		compute();
+		if (GeoGebraProfiler.isEnabled()) {
+			long start = System.nanoTime();
+			compute();
+			GeoGebraProfiler.record(Metric.ALGO_COMPUTE,
+					getClassName().getCommand(), start);
+		} else {
+			compute();
+		}
 
 		if (!updatedDependentGeos) {
 			updatedDependentGeos = true;
@@ -650,6 +659,50 @@ public void update() {
 		updatedDependentGeos = false;
 	}
 
+	/**
+	 * Whether compute() only reads the input and writes the output of this
+	 * algorithm, so that it may run concurrently with other algorithms of the
+	 * same level in {@link LevelScheduledUpdate}. An algorithm may opt in if
+	 * its compute()
+	 * <ul>
+	 * <li>reads nothing but its input geos and writes nothing but its own
+	 * output geos and fields,</li>
+	 * <li>does not use the CAS, macros, scripts, random numbers or the
+	 * construction (e.g. lookup or creating geos),</li>
+	 * <li>does not evaluate functions, which writes their variables,</li>
+	 * <li>does not use static or kernel-wide temporary objects, and</li>
+	 * <li>does not notify views or the selection.</li>
+	 * </ul>
+	 * Algorithms whose output count changes in compute() (output handlers) do
+	 * not qualify either.
+	 * 
+	 * @return whether compute() may run on a worker thread
+	 */
+	public boolean isComputeThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * @return whether compute() of this algorithm may run on a worker thread
+	 *         in the current state
+	 */
+	public final boolean canComputeInParallel() {
+		return isComputeThreadSafe() && !stopUpdateCascade
+				&& !mayHaveRandomAncestors;
+	}
+
+	/**
+	 * Second part of {@link #update()} for algorithms whose compute() was
+	 * already run by {@link LevelScheduledUpdate}.
+	 */
+	public final void updateDependentGeosAfterCompute() {
+		if (!updatedDependentGeos) {
+			updatedDependentGeos = true;
+			updateDependentGeos();
+		}
+		updatedDependentGeos = false;
+	}
+
 	/**
 	 * update input random numbers without label
 	 * 
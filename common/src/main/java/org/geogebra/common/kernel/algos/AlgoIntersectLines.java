@@ -84,6 +84,11 @@ public Commands getClassName() {
 		return Commands.Intersect;
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public int getRelatedModeID() {
 		return EuclidianConstants.MODE_INTERSECT;
@@ -12,6 +12,7 @@
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -20,6 +21,7 @@
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.geogebra3D.kernel3D.algos.AlgoPoint3DInRegion;
 import org.geogebra.common.geogebra3D.kernel3D.algos.AlgoPoint3DOnPath;
+import org.geogebra.common.io.XMLParseException;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Macro;
 import org.geogebra.common.kernel.MacroKernel;
@@ -29,8 +31,11 @@
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoConic;
+import org.geogebra.common.kernel.geos.GeoConicPart;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoLocusND;
+import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.implicit.GeoImplicit;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.util.debug.Log;
@@ -48,6 +53,8 @@
 
 	/** maximum time for the computation of one locus point in millis **/
 	public static final int MAX_TIME_FOR_ONE_STEP = 500;
+	/** number of parameter intervals traced concurrently */
+	public static final int PARALLEL_CHUNKS = 8;
 
 	private int minStepsInstance = PathMover.MIN_STEPS;
 
@@ -105,6 +112,8 @@
 	private double[] paramCache = new double[3];
 	private T[] qcopyCache = createQCopyCache(3);
 	private int cacheIndex = 0;
+	// tracers with their own macro construction for parallel tracing
+	private ArrayList<LocusChunk> chunks;
 
 	// private Updater updater;
 
@@ -348,28 +357,8 @@ public GeoLocusND<T> getLocus() {
 
 	private void buildLocusMacroConstruction(
 			TreeSet<ConstructionElement> locusConsElements) {
-		// build macro construction
-		macroKernel = kernel.newMacroKernel();
-		macroKernel.setGlobalVariableLookup(true);
-
-		// tell the macro construction about reserved names:
-		// these names will not be looked up in the parent
-		// construction
-		Iterator<ConstructionElement> it = locusConsElements.iterator();
-		while (it.hasNext()) {
-			ConstructionElement ce = it.next();
-			if (ce.isGeoElement()) {
-				GeoElement geo = (GeoElement) ce;
-				macroKernel.addReservedLabel(
-						geo.getLabel(StringTemplate.defaultTemplate));
-			}
-		}
-
 		try {
-			// get XML for macro construction of P -> Q
-			String locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
-					.toString();
-			macroKernel.loadXML(locusConsXML);
+			macroKernel = newLocusMacroKernel(locusConsElements);
 
 			// get the copies of P and Q from the macro kernel
 			copyP = (GeoPointND) macroKernel
@@ -401,11 +390,42 @@ private void buildLocusMacroConstruction(
 		}
 	}
 
+	private MacroKernel newLocusMacroKernel(
+			TreeSet<ConstructionElement> locusConsElements)
+			throws XMLParseException {
+		// build macro construction
+		MacroKernel newKernel = kernel.newMacroKernel();
+		newKernel.setGlobalVariableLookup(true);
+
+		// tell the macro construction about reserved names:
+		// these names will not be looked up in the parent
+		// construction
+		Iterator<ConstructionElement> it = locusConsElements.iterator();
+		while (it.hasNext()) {
+			ConstructionElement ce = it.next();
+			if (ce.isGeoElement()) {
+				GeoElement geo = (GeoElement) ce;
+				newKernel.addReservedLabel(
+						geo.getLabel(StringTemplate.defaultTemplate));
+			}
+		}
+
+		// get XML for macro construction of P -> Q
+		String locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
+				.toString();
+		newKernel.loadXML(locusConsXML);
+		return newKernel;
+	}
+
 	/**
 	 * Set all elements in locusConsElements to the current values of the main
 	 * construction
 	 */
 	private void resetMacroConstruction() {
+		resetMacroConstruction(macroCons);
+	}
+
+	private void resetMacroConstruction(Construction copyCons) {
 		Iterator<ConstructionElement> it = locusConsOrigElements.iterator();
 		while (it.hasNext()) {
 			ConstructionElement ce = it.next();
@@ -414,7 +434,7 @@ private void resetMacroConstruction() {
 				// do not copy functions, their expressions already
 				// include references to the correct other geos
 				if (!geoOrig.isGeoFunction()) {
-					GeoElement geoCopy = macroCons
+					GeoElement geoCopy = copyCons
 							.lookupLabel(geoOrig.getLabelSimple());
 					if (geoCopy != null) {
 						try {
@@ -461,6 +481,11 @@ public final void compute() {
 		resetMacroConstruction();
 		macroCons.updateConstruction(false);
 
+		if (canTraceInParallel()) {
+			traceInParallel();
+			return;
+		}
+
 		// lines: start from startpoint to avoid inf. problems.
 		// Otherwise go from endpoint to endpoint
 		if (!Double.isFinite(path.getMinParameter())
@@ -728,6 +753,278 @@ private void putCachedPoint(double param, GeoPointND Qcopy0) {
 		setQCopyCache(qcopyCache[cacheIndex], Qcopy0);
 	}
 
+	/**
+	 * Tracing may run concurrently if the construction is not continuous, the
+	 * path has a finite parameter range, moving along the path does not touch
+	 * shared state and all algorithms between P and Q are thread safe.
+	 */
+	private boolean canTraceInParallel() {
+		if (continuous || kernel.getParallelUpdateExecutor() == null
+				|| minStepsInstance < PARALLEL_CHUNKS
+				|| !Double.isFinite(path.getMinParameter())
+				|| !Double.isFinite(path.getMaxParameter())
+				|| path.getMaxParameter() <= path.getMinParameter()
+				|| !hasThreadSafePathChanged(path)) {
+			return false;
+		}
+		for (AlgoElement algo : ((GeoElement) copyP).getAlgoUpdateSet()) {
+			if (!algo.canComputeInParallel()) {
+				return false;
+			}
+		}
+		if (chunks == null) {
+			chunks = createChunks();
+		}
+		return !chunks.isEmpty();
+	}
+
+	private static boolean hasThreadSafePathChanged(Path path) {
+		// copies of these move the point exactly like the original and only
+		// write to the point, its path parameter and the copy itself
+		return path instanceof GeoSegment || (path instanceof GeoConic
+				&& !(path instanceof GeoConicPart));
+	}
+
+	private ArrayList<LocusChunk> createChunks() {
+		ArrayList<LocusChunk> list = new ArrayList<>();
+		try {
+			for (int i = 0; i < PARALLEL_CHUNKS; i++) {
+				LocusChunk chunk = new LocusChunk(
+						newLocusMacroKernel(locusConsOrigElements));
+				if (chunk.copyP == null || chunk.copyQ == null) {
+					list.clear();
+					break;
+				}
+				list.add(chunk);
+			}
+		} catch (Exception e) {
+			Log.debug(e);
+			list.clear();
+		}
+		return list;
+	}
+
+	/**
+	 * Splits the parameter range into chunks, traces them concurrently and
+	 * inserts the points into the locus in parameter order. Whether
+	 * consecutive points are connected is decided like in the sequential
+	 * case, so the result does not depend on timing.
+	 */
+	private void traceInParallel() {
+		double min = path.getMinParameter();
+		double max = path.getMaxParameter();
+		double maxDist = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < visibleEV.length; i++) {
+			if (visibleEV[i]) {
+				maxDist = Math.min(maxDist, getMaxStepDistance(i));
+			}
+		}
+		if (Double.isInfinite(maxDist)) {
+			maxDist = getMaxStepDistance(0);
+		}
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		int maxPoints = PathMover.MAX_POINTS * views / chunks.size();
+		for (int i = 0; i < chunks.size(); i++) {
+			LocusChunk chunk = chunks.get(i);
+			resetMacroConstruction(chunk.cons);
+			chunk.cons.updateConstruction(false);
+			chunk.pathCopy.set(path.toGeoElement());
+			double from = min + (max - min) * i / chunks.size();
+			double to = i == chunks.size() - 1 ? max
+					: min + (max - min) * (i + 1) / chunks.size();
+			double maxDist0 = maxDist;
+			tasks.add(() -> chunk.trace(from, to, maxDist0, maxPoints));
+		}
+		kernel.getParallelUpdateExecutor().runEach(tasks);
+
+		for (LocusChunk chunk : chunks) {
+			if (chunk.maxTimeExceeded) {
+				Log.error("AlgoLocus: max time exceeded");
+				return;
+			}
+		}
+		ExpressionNode qDef = copyQ.getDefinition();
+		for (int i = 0; i < chunks.size(); i++) {
+			ArrayList<T> points = chunks.get(i).points;
+			// first point of a chunk is the last one of the previous chunk
+			for (int j = i == 0 ? 0 : 1; j < points.size()
+					&& pointCount <= PathMover.MAX_POINTS * views; j++) {
+				T point = points.get(j);
+				if (point == null) {
+					continue;
+				}
+				setCoordsFromCache(copyQ, point);
+				if (foundDefined) {
+					insertPoint(copyQ, distanceSmall(copyQ, true));
+				} else {
+					((GeoElement) startQPos).set(copyQ);
+					foundDefined = true;
+					insertPoint(copyQ, false);
+				}
+			}
+		}
+		copyQ.setDefinition(qDef);
+		if (foundDefined && path.isClosedPath()
+				&& distanceSmall(startQPos, true)) {
+			insertPoint(startQPos, true);
+		}
+		locus.setDefined(foundDefined);
+	}
+
+	/**
+	 * Traces a part of the path on its own copy of the construction and of
+	 * the path. Only compute() of the (thread safe) algorithms is called,
+	 * outputs are not updated.
+	 */
+	private class LocusChunk {
+		final Construction cons;
+		final GeoPointND copyP;
+		final GeoPointND copyQ;
+		/** copy of the path, P is only moved along this one */
+		final GeoElement pathCopy;
+		final PathMover chunkMover;
+		/** points in parameter order, null for undefined positions */
+		final ArrayList<T> points = new ArrayList<>();
+		private final boolean[] farAway = new boolean[3];
+		private T last;
+		boolean maxTimeExceeded;
+
+		LocusChunk(MacroKernel chunkKernel) {
+			chunkKernel.setContinuous(false);
+			cons = chunkKernel.getConstruction();
+			copyP = (GeoPointND) chunkKernel
+					.lookupLabel(((GeoElement) movingPoint).getLabelSimple());
+			copyQ = (GeoPointND) chunkKernel
+					.lookupLabel(((GeoElement) locusPoint).getLabelSimple());
+			pathCopy = path.toGeoElement().copyInternal(cons);
+			chunkMover = ((Path) pathCopy).createPathMover();
+			if (copyP != null) {
+				((GeoElement) copyP).setFixed(false);
+				copyP.setPath((Path) pathCopy);
+			}
+		}
+
+		/**
+		 * Moves P from one parameter to the other like the sequential trace
+		 * does: the step of the path mover is made smaller while consecutive
+		 * positions of Q are too far apart and bigger otherwise.
+		 */
+		void trace(double from, double to, double maxDist, int maxPoints) {
+			points.clear();
+			last = null;
+			maxTimeExceeded = false;
+			copyP.getPathParameter().t = from;
+			chunkMover.init(copyP, minStepsInstance);
+			chunkMover.getCurrentPosition(copyP);
+			boolean lastDefined = update();
+			addPoint(lastDefined);
+			while (chunkMover.getCurrentParameter() < to && !maxTimeExceeded
+					&& points.size() <= maxPoints) {
+				// the last step of an inner chunk ends exactly at its border,
+				// the path mover slows down at the end of the path itself
+				double remaining = to - chunkMover.getCurrentParameter();
+				if (to < path.getMaxParameter()
+						&& chunkMover.getStep() > remaining) {
+					chunkMover.setStep(remaining);
+				}
+				chunkMover.getNext(copyP);
+				boolean defined = update();
+				boolean stepChanged = false;
+				if (defined && lastDefined) {
+					while (defined && !isClose(maxDist) && !maxTimeExceeded
+							&& chunkMover.smallerStep()) {
+						stepChanged = true;
+						chunkMover.stepBack();
+						chunkMover.getNext(copyP);
+						defined = update();
+					}
+				} else if (lastDefined) {
+					// moved from defined to undefined: try a smaller step
+					chunkMover.stepBack();
+					if (chunkMover.smallerStep()) {
+						continue;
+					}
+					// no smaller step: skip the undefined part
+					chunkMover.getNext(copyP);
+				}
+				addPoint(defined);
+				lastDefined = defined;
+				if (!stepChanged) {
+					chunkMover.biggerStep();
+				}
+			}
+		}
+
+		private boolean update() {
+			long startTime = System.currentTimeMillis();
+			copyP.updateCoords();
+			((GeoElement) copyP).incrementUpdateCount();
+			for (AlgoElement algo : ((GeoElement) copyP).getAlgoUpdateSet()) {
+				algo.compute();
+				// caches keyed by update count (e.g. derivatives) must see
+				// the change
+				for (int i = 0; i < algo.getOutputLength(); i++) {
+					algo.getOutput(i).incrementUpdateCount();
+				}
+			}
+			if (System.currentTimeMillis() - startTime > MAX_TIME_FOR_ONE_STEP) {
+				maxTimeExceeded = true;
+			}
+			return copyQ.isDefined() && !copyQ.isInfinite();
+		}
+
+		private boolean isClose(double maxDist) {
+			// like distanceOK: far away from all visible views is fine
+			boolean allFarAway = false;
+			for (int i = 0; i < farAway.length; i++) {
+				if (visibleEV[i]) {
+					allFarAway = farAway[i] && isFarAway(copyQ, i);
+					if (!allFarAway) {
+						break;
+					}
+				}
+			}
+			if (allFarAway) {
+				return true;
+			}
+			T current = newCache();
+			setQCopyCache(current, copyQ);
+			return current.distance(last) < maxDist;
+		}
+
+		private void addPoint(boolean defined) {
+			if (!defined) {
+				points.add(null);
+				return;
+			}
+			last = newCache();
+			setQCopyCache(last, copyQ);
+			points.add(last);
+			for (int i = 0; i < farAway.length; i++) {
+				farAway[i] = isFarAway(copyQ, i);
+			}
+		}
+	}
+
+	/**
+	 * @param point
+	 *            point
+	 * @param cached
+	 *            cached coordinates
+	 */
+	protected void setCoordsFromCache(GeoPointND point, T cached) {
+		point.setCoords(cached.getX(), cached.getY(), 1.0);
+	}
+
+	/**
+	 * @param i
+	 *            view index
+	 * @return maximal distance of consecutive points for parallel tracing
+	 */
+	protected double getMaxStepDistance(int i) {
+		return Math.min(maxXdist[i], maxYdist[i]);
+	}
+
 	/**
 	 * 
 	 * @param length
@@ -104,17 +104,11 @@ public final void compute() {
 		// CASE 1: raw data
 		// ========================================
 		if (freqList == null) {
-			double[] sortList = new double[size];
-
 			// copy inputList into an array
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo instanceof NumberValue) {
-					sortList[i] = geo.evaluateDouble();
-				} else {
-					median.setUndefined();
-					return;
-				}
+			double[] sortList = inputList.toNumberArray();
+			if (sortList == null) {
+				median.setUndefined();
+				return;
 			}
 
 			// do the sorting
@@ -92,6 +92,11 @@ protected void computeMidCoords() {
 				(P.inhomY + Q.inhomY) / 2.0d, 1.0);
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public SymbolicParameters getSymbolicParameters() {
 		return new SymbolicParameters(this);
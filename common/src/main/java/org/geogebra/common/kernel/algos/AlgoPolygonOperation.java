@@ -17,6 +17,7 @@
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.geos.GeoPolygon;
 import org.geogebra.common.kernel.geos.GeoSegment;
@@ -27,11 +28,12 @@
 import org.geogebra.common.util.clipper.DefaultClipper;
 import org.geogebra.common.util.clipper.Path;
 import org.geogebra.common.util.clipper.Paths;
+import org.geogebra.common.util.clipper.PolygonListOperation;
 import org.geogebra.common.util.clipper.Point.DoublePoint;
 
 /**
  * 
- * Input: Two polygons
+ * Input: Two polygons or a list of polygons
  * 
  * Output: Polygon that is the result of an intersection, union or difference
  * operation on the input polygons.
@@ -46,6 +48,8 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 	protected GeoPolygon inPoly0;
 	/** second input polygon */
 	protected GeoPolygon inPoly1;
+	/** input list of polygons, null for two polygons */
+	protected GeoList inputList;
 
 	/** output polygons */
 	protected OutputHandler<GeoPolygon> outputPolygons;
@@ -57,6 +61,7 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 	private Path subject;
 	private Path clip;
 	private Paths solution;
+	private PolygonListOperation listOperation;
 	/**
 	 * whether labels were suppressed during constructor; in such case never
 	 * label outputs.
@@ -113,6 +118,36 @@ public AlgoPolygonOperation(Construction cons, String[] labels,
 
 	}
 
+	/**
+	 * constructor for a list of polygons
+	 * 
+	 * @param cons
+	 *            construction
+	 * @param labels
+	 *            labels
+	 * @param inputList
+	 *            list of polygons
+	 * @param operationType
+	 *            INTERSECTION, UNION or XOR
+	 */
+	public AlgoPolygonOperation(Construction cons, String[] labels,
+			GeoList inputList, PolyOperation operationType) {
+
+		super(cons);
+
+		this.operationType = operationType;
+		this.inputList = inputList;
+
+		this.labels = labels;
+
+		listOperation = new PolygonListOperation(getClipType(operationType));
+		solution = new Paths();
+		silent = cons.isSuppressLabelsActive();
+
+		createOutput();
+
+	}
+
 	/**
 	 * @param outputSizes
 	 *            output sizes from XML
@@ -213,7 +248,7 @@ public GeoPolygon newElement() {
 							p.setAllVisualProperties(
 									outputPolygons.getElement(0), false);
 						}
-						p.setViewFlags(inPoly0.getViewSet());
+						p.setViewFlags(getFirstInput().getViewSet());
 						p.setNotFixedPointsLength(true);
 						return p;
 					}
@@ -229,7 +264,7 @@ public GeoPoint newElement() {
 						newPoint.setCoords(0, 0, 1);
 						newPoint.setParentAlgorithm(AlgoPolygonOperation.this);
 						newPoint.setAuxiliaryObject(true);
-						newPoint.setViewFlags(inPoly0.getViewSet());
+						newPoint.setViewFlags(getFirstInput().getViewSet());
 
 						return newPoint;
 					}
@@ -246,7 +281,7 @@ public GeoSegment newElement() {
 								.createSegment(cons, outputPoints.getElement(0),
 										outputPoints.getElement(0), true);
 						segment.setAuxiliaryObject(true);
-						segment.setViewFlags(inPoly0.getViewSet());
+						segment.setViewFlags(getFirstInput().getViewSet());
 						return segment;
 					}
 				});
@@ -256,9 +291,14 @@ public GeoSegment newElement() {
 	@Override
 	protected void setInputOutput() {
 
-		input = new GeoElement[2];
-		input[0] = inPoly0;
-		input[1] = inPoly1;
+		if (inputList != null) {
+			input = new GeoElement[1];
+			input[0] = inputList;
+		} else {
+			input = new GeoElement[2];
+			input[0] = inPoly0;
+			input[1] = inPoly1;
+		}
 
 		// set dependencies
 		for (int i = 0; i < input.length; i++) {
@@ -276,49 +316,8 @@ public void compute() {
 
 	private void compute(boolean updateLabels) {
 
-		// add subject polygon
-		subject.clear();
-		for (int i = 0; i < inPoly0.getPointsLength(); i++) {
-			DoublePoint point = convert(inPoly0.getPoint(i));
-			subject.add(point);
-		}
-
-		// add clip polygon
-		clip.clear();
-		for (int i = 0; i < inPoly1.getPointsLength(); i++) {
-			DoublePoint point = convert(inPoly1.getPoint(i));
-			clip.add(point);
-		}
-
-		// initializing clipper
-		DefaultClipper clipper = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
-		clipper.addPath(clip, PolyType.CLIP, true);
-		clipper.addPath(subject, PolyType.SUBJECT, true);
-
-		boolean solutionValid = false;
-		solution.clear();
-
-		// calculating output polygons
-		switch (operationType) {
-		default:
-		case INTERSECTION:
-			solutionValid = clipper.execute(ClipType.INTERSECTION, solution,
-					PolyFillType.EVEN_ODD, PolyFillType.EVEN_ODD);
-			break;
-		case UNION:
-			solutionValid = clipper.execute(ClipType.UNION, solution,
-					PolyFillType.EVEN_ODD, PolyFillType.EVEN_ODD);
-			break;
-		case DIFFERENCE:
-			solutionValid = clipper.execute(ClipType.DIFFERENCE, solution,
-					PolyFillType.EVEN_ODD, PolyFillType.EVEN_ODD);
-			break;
-		case XOR:
-			solutionValid = clipper.execute(ClipType.XOR, solution,
-					PolyFillType.EVEN_ODD, PolyFillType.EVEN_ODD);
-			break;
-
-		}
+		boolean solutionValid = inputList == null ? computePolygons()
+				: computeList();
 
 		// assign output calculated using clipper library to appropriately
 
@@ -402,6 +401,75 @@ private void compute(boolean updateLabels) {
 
 	}
 
+	private boolean computePolygons() {
+
+		// add subject polygon
+		subject.clear();
+		for (int i = 0; i < inPoly0.getPointsLength(); i++) {
+			DoublePoint point = convert(inPoly0.getPoint(i));
+			subject.add(point);
+		}
+
+		// add clip polygon
+		clip.clear();
+		for (int i = 0; i < inPoly1.getPointsLength(); i++) {
+			DoublePoint point = convert(inPoly1.getPoint(i));
+			clip.add(point);
+		}
+
+		// initializing clipper
+		DefaultClipper clipper = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
+		clipper.addPath(clip, PolyType.CLIP, true);
+		clipper.addPath(subject, PolyType.SUBJECT, true);
+
+		solution.clear();
+
+		// calculating output polygons
+		return clipper.execute(getClipType(operationType), solution,
+				PolyFillType.EVEN_ODD, PolyFillType.EVEN_ODD);
+	}
+
+	private boolean computeList() {
+		int size = inputList.size();
+		listOperation.setSize(size);
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = inputList.get(i);
+			GeoPolygon poly = geo instanceof GeoPolygon && geo.isDefined()
+					? (GeoPolygon) geo : null;
+			// elements of lists computed by commands may be changed without
+			// update
+			long version = poly == null ? -1
+					: poly.isLabelSet() ? poly.getUpdateCount()
+							: PolygonListOperation.UNKNOWN_VERSION;
+			Path path = listOperation.updatePolygon(i, poly, version);
+			if (path != null && poly != null) {
+				for (int j = 0; j < poly.getPointsLength(); j++) {
+					path.add(convert(poly.getPoint(j)));
+				}
+			}
+		}
+		boolean valid = listOperation.execute();
+		solution = listOperation.getSolution();
+		return valid;
+	}
+
+	private GeoElement getFirstInput() {
+		return inputList == null ? inPoly0 : inputList;
+	}
+
+	private static ClipType getClipType(PolyOperation operation) {
+		switch (operation) {
+		case UNION:
+			return ClipType.UNION;
+		case DIFFERENCE:
+			return ClipType.DIFFERENCE;
+		case XOR:
+			return ClipType.XOR;
+		default:
+			return ClipType.INTERSECTION;
+		}
+	}
+
 	private static DoublePoint convert(GeoPoint point) {
 		return new DoublePoint(point.getX() / point.getZ(),
 				point.getY() / point.getZ());
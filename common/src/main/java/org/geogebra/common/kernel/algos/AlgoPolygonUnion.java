@@ -16,10 +16,11 @@
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPolygon;
 
 /**
- * Computes union of two polygons
+ * Computes union of two polygons or of a list of polygons
  * 
  * @author George Sturr
  */
@@ -62,6 +63,21 @@ public AlgoPolygonUnion(Construction cons, String[] labels,
 		initialize(outputSizes);
 	}
 
+	/**
+	 * @param cons
+	 *            construction
+	 * @param labels
+	 *            labels for output
+	 * @param polygons
+	 *            list of polygons
+	 */
+	public AlgoPolygonUnion(Construction cons, String[] labels,
+			GeoList polygons) {
+
+		super(cons, labels, polygons, PolyOperation.UNION);
+		initialize(null);
+	}
+
 	@Override
 	public Commands getClassName() {
 		return Commands.Union;
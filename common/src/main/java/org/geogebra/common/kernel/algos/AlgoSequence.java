@@ -21,6 +21,7 @@
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.SetRandomValue;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ReplaceChildrenByValues;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
@@ -28,6 +29,7 @@
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -227,7 +229,9 @@ public final void compute() {
 		cons.setSuppressLabelCreation(true);
 
 		// update list
-		if (setValuesOnly) {
+		if (canUsePackedNumbers()) {
+			computePackedNumbers(from, to, step);
+		} else if (setValuesOnly) {
 			updateListItems(from, to, step);
 		} else {
 			createNewList(from, to, step);
@@ -279,20 +283,88 @@ private void createNewList(double from, double to, double step) {
 			}
 		}
 
-		// if the old list was longer than the new one
-		// we need to set some cached elements to undefined
-		for (int k = oldListSize - 1; k >= i; k--) {
+		setCachedElementsUndefined(oldListSize, i);
+
+		// remember current values
+		last_from = from;
+		last_to = to;
+		last_step = step;
+	}
+
+	/**
+	 * If the old list was longer than the new one we need to set some cached
+	 * elements to undefined
+	 */
+	private void setCachedElementsUndefined(int oldListSize, int newListSize) {
+		int cached = Math.min(oldListSize, list.getCacheSize());
+		for (int k = cached - 1; k >= newListSize; k--) {
 			GeoElement oldElement = list.getCached(k);
 			oldElement.setUndefined();
 			oldElement.update();
 		}
+	}
+
+	/**
+	 * Plain numbers without extra information that list elements would need to
+	 * copy (drawing algo, constant definition) can be stored as doubles.
+	 */
+	private boolean canUsePackedNumbers() {
+		if (expression.getGeoClassType() != GeoClass.NUMERIC
+				|| expression.getDrawAlgorithm() instanceof DrawInformationAlgo) {
+			return false;
+		}
+		ExpressionNode definition = expression.getDefinition();
+		return definition == null
+				|| (!expression.isIndependent() && !definition.isConstant());
+	}
+
+	private void computePackedNumbers(double from, double to, double step) {
+		int oldListSize = list.size();
+		if (!isEmpty && Double.isInfinite((to - from) / step)) {
+			list.setUndefined();
+			return;
+		}
+		int n = isEmpty ? 0 : countValues(from, to, step);
+		if (n > 0 && kernel.getApplication().freeMemoryIsCritical()) {
+			long mem = kernel.getApplication().freeMemory();
+			list.clearCache();
+			kernel.initUndoInfo(); // clear all undo info
+			Log.debug("AlgoSequence aborted: free memory reached " + mem);
+			return;
+		}
+		double[] values = list.startPackedNumbers(n);
+		double currentVal = from;
+		for (int i = 0; i < n; i++) {
+			updateLocalVar(currentVal);
+			values[i] = expression.evaluateDouble();
+			currentVal = nextValue(currentVal, step);
+		}
+		setCachedElementsUndefined(oldListSize, n);
 
-		// remember current values
 		last_from = from;
 		last_to = to;
 		last_step = step;
 	}
 
+	private static int countValues(double from, double to, double step) {
+		int n = 0;
+		double currentVal = from;
+		while ((step > 0 && currentVal <= to + Kernel.MIN_PRECISION)
+				|| (step < 0 && currentVal >= to - Kernel.MIN_PRECISION)) {
+			currentVal = nextValue(currentVal, step);
+			n++;
+		}
+		return n;
+	}
+
+	private static double nextValue(double currentVal, double step) {
+		double next = currentVal + step;
+		if (DoubleUtil.isInteger(next)) {
+			return Math.round(next);
+		}
+		return next;
+	}
+
 	private void addElement(int i) {
 		// only add new objects
 		GeoElement listElement = null;
@@ -192,17 +192,21 @@ public final void compute() {
 		// list of numbers only, no frequencies
 		if (geoList2 == null) {
 			double val;
+			boolean packed = geoList.hasPackedNumbers();
 			for (int i = 0; i < size; i++) {
-				geo = geoList.get(i);
-				if (geo instanceof NumberValue) {
-					val = geo.evaluateDouble();
-					sumVal += val;
-					sumSquares += val * val;
-					product *= val;
+				if (packed) {
+					val = geoList.getNumberAt(i);
 				} else {
-					result.setUndefined();
-					return;
+					geo = geoList.get(i);
+					if (!(geo instanceof NumberValue)) {
+						result.setUndefined();
+						return;
+					}
+					val = geo.evaluateDouble();
 				}
+				sumVal += val;
+				sumSquares += val * val;
+				product *= val;
 			}
 
 			n = size;
@@ -0,0 +1,253 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+import org.geogebra.common.kernel.arithmetic.MyList;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.plugin.Operation;
+
+/**
+ * Expansion of FUNCTION and DERIVATIVE nodes for
+ * {@link AlgoDependentFunction} that keeps expanded subtrees between updates.
+ *
+ * The expression is split into parts: nodes with ordinary operations are
+ * rebuilt from their children, all other subtrees are expanded by
+ * {@link AlgoDependentFunction#expandFunctionDerivativeNodes}. A part is
+ * expanded again only if a function it references changed. Values of numbers
+ * don't matter: expanded trees reference them, so moving a slider in
+ * g(x)=f(x-a) reuses the whole tree. Parents of unchanged parts are reused
+ * too, so the result keeps its identity and functions depending on g don't
+ * need to expand again either.
+ *
+ * Derivatives may contain current values of parameters, so parts with
+ * DERIVATIVE are expanded whenever the function is updated. Parts whose
+ * expansion depends on values in other ways (list elements, points as
+ * arguments) are expanded every time.
+ */
+final class FunctionExpansion {
+
+	private final Kernel kernel;
+	private final boolean fast;
+	private final FunctionVariable[] vars;
+	private final Part root;
+	private int expandedParts;
+
+	/**
+	 * @param expression
+	 *            expression to expand, not modified
+	 * @param fast
+	 *            use fast derivatives
+	 * @param vars
+	 *            function variables
+	 */
+	FunctionExpansion(ExpressionNode expression, boolean fast,
+			FunctionVariable[] vars) {
+		this.kernel = expression.getKernel();
+		this.fast = fast;
+		this.vars = vars;
+		this.root = createPart(expression);
+	}
+
+	/**
+	 * @return expanded expression, same object as last time if nothing
+	 *         changed; null if expansion failed
+	 */
+	ExpressionValue expand() {
+		return root.expand();
+	}
+
+	/**
+	 * @return number of parts that were expanded from scratch so far
+	 */
+	int getExpandedParts() {
+		return expandedParts;
+	}
+
+	private Part createPart(ExpressionValue ev) {
+		if (ev instanceof ExpressionNode && isComposite((ExpressionNode) ev)) {
+			ExpressionNode node = (ExpressionNode) ev;
+			return new CompositePart(node, createPart(node.getLeft().unwrap()),
+					node.getRight() == null ? null
+							: createPart(node.getRight()));
+		}
+		return new LeafPart(ev);
+	}
+
+	private static boolean isComposite(ExpressionNode node) {
+		switch (node.getOperation()) {
+		case FUNCTION:
+		case FUNCTION_NVAR:
+		case DERIVATIVE:
+		case ELEMENT_OF:
+		case DOLLAR_VAR_ROW:
+		case DOLLAR_VAR_COL:
+		case DOLLAR_VAR_ROW_COL:
+			return false;
+		default:
+			return AlgoDependentFunction.containsFunctions(node);
+		}
+	}
+
+	private abstract static class Part {
+		/** last expansion */
+		ExpressionValue expanded;
+
+		abstract ExpressionValue expand();
+	}
+
+	/**
+	 * Node with ordinary operation, rebuilt when a child changed
+	 */
+	private static final class CompositePart extends Part {
+		private final ExpressionNode source;
+		private final Part left;
+		private final Part right;
+		private ExpressionValue lastLeft;
+		private ExpressionValue lastRight;
+
+		CompositePart(ExpressionNode source, Part left, Part right) {
+			this.source = source;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		ExpressionValue expand() {
+			ExpressionValue lt = left.expand();
+			ExpressionValue rt = right == null ? null : right.expand();
+			if (lt == null || (right != null && rt == null)) {
+				expanded = null;
+				return null;
+			}
+			if (expanded == null || lt != lastLeft || rt != lastRight) {
+				ExpressionNode node = source.shallowCopy();
+				node.setLeft(lt);
+				node.setRight(rt);
+				expanded = node;
+				lastLeft = lt;
+				lastRight = rt;
+			}
+			return expanded;
+		}
+	}
+
+	/**
+	 * Subtree expanded as a whole
+	 */
+	private final class LeafPart extends Part {
+		private final ExpressionValue source;
+		private final boolean alwaysExpand;
+		private final boolean hasDerivative;
+		private final GeoElement[] functions;
+		private final Object[] states;
+
+		LeafPart(ExpressionValue source) {
+			this.source = source;
+			ArrayList<GeoElement> found = new ArrayList<>();
+			boolean[] flags = new boolean[2];
+			source.inspect(v -> {
+				if (v instanceof GeoElement) {
+					if (v instanceof FunctionalNVar
+							|| !((GeoElement) v).isNumberValue()) {
+						if (!found.contains(v)) {
+							found.add((GeoElement) v);
+						}
+					}
+				} else if (v.isOperation(Operation.ELEMENT_OF)
+						|| (v.isOperation(Operation.FUNCTION_NVAR)
+								&& hasPointArgument((ExpressionNode) v))) {
+					flags[0] = true;
+				} else if (v.isOperation(Operation.DERIVATIVE)) {
+					flags[1] = true;
+					// order given by an element, e.g. a slider
+					flags[0] |= !(((ExpressionNode) v).getRight()
+							.unwrap() instanceof MyDouble);
+				}
+				return false;
+			});
+			alwaysExpand = flags[0];
+			hasDerivative = flags[1];
+			functions = found.toArray(new GeoElement[0]);
+			states = new Object[3 * functions.length];
+		}
+
+		@Override
+		ExpressionValue expand() {
+			if (expanded != null && !alwaysExpand && !changed()) {
+				return expanded;
+			}
+			expandedParts++;
+			expanded = null;
+			ExpressionValue ev = AlgoDependentFunction
+					.expandFunctionDerivativeNodes(source.deepCopy(kernel), fast,
+							vars);
+			storeStates();
+			expanded = ev;
+			return ev;
+		}
+
+		private boolean changed() {
+			for (int i = 0; i < functions.length; i++) {
+				if (states[3 * i] != getFunction(functions[i])
+						|| states[3 * i + 1] != getExpression(functions[i])
+						|| !states[3 * i + 2].equals(getVersion(functions[i]))) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void storeStates() {
+			for (int i = 0; i < functions.length; i++) {
+				states[3 * i] = getFunction(functions[i]);
+				states[3 * i + 1] = getExpression(functions[i]);
+				states[3 * i + 2] = getVersion(functions[i]);
+			}
+		}
+
+		/**
+		 * Expanded trees of functions defined by AlgoDependentFunction only
+		 * change with their identity, for others (free functions, commands)
+		 * any update may change the tree in place.
+		 */
+		private Integer getVersion(GeoElement geo) {
+			if (!hasDerivative && geo instanceof FunctionalNVar
+					&& geo.getParentAlgorithm() instanceof AlgoDependentFunction) {
+				return 0;
+			}
+			return geo.getUpdateCount();
+		}
+	}
+
+	private static FunctionNVar getFunction(GeoElement geo) {
+		return geo instanceof FunctionalNVar
+				? ((FunctionalNVar) geo).getFunction() : null;
+	}
+
+	private static ExpressionNode getExpression(GeoElement geo) {
+		FunctionNVar fun = getFunction(geo);
+		return fun == null ? null : fun.getExpression();
+	}
+
+	private static boolean hasPointArgument(ExpressionNode node) {
+		ExpressionValue args = node.getRight().unwrap();
+		if (!(args instanceof MyList)) {
+			return true;
+		}
+		MyList list = (MyList) args;
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i).unwrap() instanceof GeoPointND) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
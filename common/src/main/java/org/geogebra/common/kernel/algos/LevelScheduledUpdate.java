@@ -0,0 +1,150 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.metrics.Metric;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+
+/**
+ * Updates a topologically sorted set of algorithms level by level: the
+ * algorithms of one level do not depend on each other, so their compute()
+ * can run concurrently. Output geos are updated on the calling thread in
+ * construction order so that views are never notified from worker threads.
+ * <p>
+ * Algorithms that are not marked as thread safe (see
+ * {@link AlgoElement#isComputeThreadSafe()}) are updated serially and
+ * additionally act as a barrier: they run after everything that precedes them
+ * in construction order, since they may read more than their input.
+ */
+public class LevelScheduledUpdate {
+
+	/**
+	 * Smaller update sets are not worth scheduling.
+	 */
+	public static final int MIN_PARALLEL_SIZE = 64;
+
+	private final ParallelUpdateExecutor executor;
+	private final ArrayList<ArrayList<AlgoElement>> levels = new ArrayList<>();
+	private final HashMap<AlgoElement, Integer> levelOf = new HashMap<>();
+
+	/**
+	 * @param executor
+	 *            executor for computations
+	 */
+	public LevelScheduledUpdate(ParallelUpdateExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Updates algorithms one by one, or level by level if parallel updates
+	 * are enabled and the set is big enough.
+	 * 
+	 * @param algos
+	 *            algorithms in construction order
+	 * @param size
+	 *            number of algorithms
+	 * @param executor
+	 *            executor for parallel update, may be null
+	 */
+	public static void updateAll(Iterable<AlgoElement> algos, int size,
+			ParallelUpdateExecutor executor) {
+		if (executor == null || size < MIN_PARALLEL_SIZE) {
+			for (AlgoElement algo : algos) {
+				algo.update();
+			}
+			return;
+		}
+		new LevelScheduledUpdate(executor).update(algos);
+	}
+
+	/**
+	 * @param algos
+	 *            algorithms in construction order
+	 */
+	public void update(Iterable<AlgoElement> algos) {
+		buildLevels(algos);
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		MetricsRegistry metrics = GeoGebraProfiler.getRegistry();
+		for (ArrayList<AlgoElement> level : levels) {
+			tasks.clear();
+			// workers only measure, the registry is updated on this thread
+			long[] nanos = metrics == null ? null : new long[level.size()];
+			for (int i = 0; i < level.size(); i++) {
+				AlgoElement algo = level.get(i);
+				if (algo.canComputeInParallel()) {
+					tasks.add(nanos == null ? algo::compute
+							: timedCompute(algo, nanos, i));
+				}
+			}
+			if (tasks.size() > 1) {
+				executor.runAll(tasks);
+			} else if (tasks.size() == 1) {
+				tasks.get(0).run();
+			}
+			for (int i = 0; i < level.size(); i++) {
+				AlgoElement algo = level.get(i);
+				if (algo.canComputeInParallel()) {
+					if (nanos != null) {
+						metrics.record(Metric.ALGO_COMPUTE,
+								algo.getClassName().getCommand(),
+								nanos[i] / 1E6);
+					}
+					algo.updateDependentGeosAfterCompute();
+				} else {
+					algo.update();
+				}
+			}
+		}
+		levels.clear();
+		levelOf.clear();
+	}
+
+	private static Runnable timedCompute(AlgoElement algo, long[] nanos,
+			int index) {
+		return () -> {
+			long start = System.nanoTime();
+			algo.compute();
+			nanos[index] = System.nanoTime() - start;
+		};
+	}
+
+	/**
+	 * @return number of levels of the last scheduled update
+	 */
+	public int getLevelCount() {
+		return levels.size();
+	}
+
+	/**
+	 * Splits the algorithms into levels.
+	 * 
+	 * @param algos
+	 *            algorithms in construction order
+	 */
+	protected void buildLevels(Iterable<AlgoElement> algos) {
+		levels.clear();
+		levelOf.clear();
+		for (AlgoElement algo : algos) {
+			int level;
+			if (algo.canComputeInParallel()) {
+				level = 0;
+				for (int i = 0; i < algo.getInputLength(); i++) {
+					Integer parentLevel = levelOf
+							.get(algo.getInput(i).getParentAlgorithm());
+					if (parentLevel != null) {
+						level = Math.max(level, parentLevel + 1);
+					}
+				}
+			} else {
+				level = levels.size();
+			}
+			levelOf.put(algo, level);
+			while (levels.size() <= level) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(algo);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.List;
+
+/**
+ * Runs independent algorithm computations concurrently, see
+ * {@link LevelScheduledUpdate}. Only available on platforms with threads.
+ */
+public interface ParallelUpdateExecutor {
+
+	/**
+	 * Runs all tasks and returns when all of them finished.
+	 * 
+	 * @param tasks
+	 *            tasks that do not depend on each other
+	 */
+	void runAll(List<Runnable> tasks);
+
+	/**
+	 * Runs all tasks and returns when all of them finished. Unlike
+	 * {@link #runAll(List)} this is meant for a few long running tasks, so
+	 * implementations should not batch them.
+	 * 
+	 * @param tasks
+	 *            tasks that do not depend on each other
+	 */
+	default void runEach(List<Runnable> tasks) {
+		runAll(tasks);
+	}
+}
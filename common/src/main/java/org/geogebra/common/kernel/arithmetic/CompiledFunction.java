@@ -0,0 +1,299 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+
+/**
+ * Function expression lowered into a flat stack program of double operations.
+ * <p>
+ * Only the subset of operations that {@link ExpressionNode#evaluateDouble()}
+ * handles without falling back to {@link ExpressionNodeEvaluator} is supported,
+ * so that results are bit-identical to the tree walker. For any other
+ * expression {@link #compile(ExpressionNode, FunctionVariable[])} returns null
+ * and the caller should evaluate the tree.
+ * <p>
+ * The program is immutable and does not write to the function variables, so
+ * one instance may be evaluated from several threads at once as long as each
+ * thread uses its own stack (see {@link #createStack()}).
+ */
+public final class CompiledFunction {
+
+	private static final int VAR = 0;
+	private static final int LOAD = 1;
+	private static final int ADD = 2;
+	private static final int SUB = 3;
+	private static final int MUL = 4;
+	private static final int DIV = 5;
+	private static final int POW = 6;
+	private static final int SIN = 7;
+	private static final int COS = 8;
+	private static final int SQRT = 9;
+	private static final int EXP = 10;
+	private static final int LOG = 11;
+	private static final int ABS = 12;
+
+	private final int[] code;
+	private final int[] operands;
+	private final NumberValue[] leaves;
+	private final int maxDepth;
+	private final int varCount;
+
+	private CompiledFunction(Builder builder) {
+		int length = builder.code.size();
+		this.code = new int[length];
+		this.operands = new int[length];
+		for (int i = 0; i < length; i++) {
+			code[i] = builder.code.get(i);
+			operands[i] = builder.operands.get(i);
+		}
+		this.leaves = builder.leaves.toArray(new NumberValue[0]);
+		this.maxDepth = Math.max(1, builder.maxDepth);
+		this.varCount = builder.vars.length;
+	}
+
+	/**
+	 * @param expression
+	 *            function expression
+	 * @param vars
+	 *            function variables
+	 * @return compiled program or null if the expression contains operations
+	 *         that cannot be evaluated without the tree walker
+	 */
+	public static CompiledFunction compile(ExpressionNode expression,
+			FunctionVariable[] vars) {
+		if (expression == null || vars == null) {
+			return null;
+		}
+		Builder builder = new Builder(vars);
+		if (!builder.emit(expression)) {
+			return null;
+		}
+		return new CompiledFunction(builder);
+	}
+
+	/**
+	 * @return new stack big enough for {@link #evaluate(double[], double[])}
+	 */
+	public double[] createStack() {
+		return new double[maxDepth];
+	}
+
+	/**
+	 * @param x
+	 *            value of the only variable
+	 * @param stack
+	 *            per-thread working stack, see {@link #createStack()}
+	 * @return f(x)
+	 * @throws IllegalStateException
+	 *             if the function has more than one variable
+	 */
+	public double value(double x, double[] stack) {
+		if (varCount > 1) {
+			throw new IllegalStateException(
+					"Function of " + varCount + " variables needs all values");
+		}
+		return run(x, null, stack);
+	}
+
+	/**
+	 * @param vals
+	 *            values of all variables
+	 * @param stack
+	 *            per-thread working stack, see {@link #createStack()}
+	 * @return f(vals)
+	 */
+	public double evaluate(double[] vals, double[] stack) {
+		return run(0, vals, stack);
+	}
+
+	private double run(double x, double[] vals, double[] stack) {
+		int sp = -1;
+		for (int pc = 0; pc < code.length; pc++) {
+			switch (code[pc]) {
+			case VAR:
+				stack[++sp] = vals == null ? x : vals[operands[pc]];
+				break;
+			case LOAD:
+				stack[++sp] = leaves[operands[pc]].evaluateDouble();
+				break;
+			case ADD:
+				sp--;
+				stack[sp] = stack[sp] + stack[sp + 1];
+				break;
+			case SUB:
+				sp--;
+				stack[sp] = stack[sp] - stack[sp + 1];
+				break;
+			case MUL:
+				sp--;
+				stack[sp] = multiply(stack[sp], stack[sp + 1]);
+				break;
+			case DIV:
+				sp--;
+				stack[sp] = stack[sp] / stack[sp + 1];
+				break;
+			case POW:
+				sp--;
+				stack[sp] = Math.pow(stack[sp], stack[sp + 1]);
+				break;
+			case SIN:
+				stack[sp] = Math.sin(stack[sp]);
+				break;
+			case COS:
+				stack[sp] = Math.cos(stack[sp]);
+				break;
+			case SQRT:
+				stack[sp] = Math.sqrt(stack[sp]);
+				break;
+			case EXP:
+				stack[sp] = Math.exp(stack[sp]);
+				break;
+			case LOG:
+				stack[sp] = Math.log(stack[sp]);
+				break;
+			case ABS:
+				stack[sp] = Math.abs(stack[sp]);
+				break;
+			default:
+				return Double.NaN;
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Same as ExpressionNode.evaluateMultiplyDouble for two numbers: the
+	 * fallback to MyDouble.mult yields canonical NaN for undefined factors.
+	 */
+	private static double multiply(double a, double b) {
+		if (Double.isNaN(a) || Double.isNaN(b)) {
+			return Double.NaN;
+		}
+		return a * b;
+	}
+
+	private static class Builder {
+		private final FunctionVariable[] vars;
+		private final ArrayList<Integer> code = new ArrayList<>();
+		private final ArrayList<Integer> operands = new ArrayList<>();
+		private final ArrayList<NumberValue> leaves = new ArrayList<>();
+		private int depth = 0;
+		private int maxDepth = 0;
+
+		Builder(FunctionVariable[] vars) {
+			this.vars = vars;
+		}
+
+		private boolean emit(ExpressionValue ev) {
+			if (ev instanceof ExpressionNode) {
+				ExpressionNode node = (ExpressionNode) ev;
+				if (node.isLeaf()) {
+					return emit(node.getLeft());
+				}
+				return emitOperation(node);
+			}
+			if (ev instanceof FunctionVariable) {
+				for (int i = 0; i < vars.length; i++) {
+					if (vars[i] == ev) {
+						push(VAR, i);
+						return true;
+					}
+				}
+				return false;
+			}
+			if (ev instanceof MyDouble || ev instanceof GeoNumeric) {
+				leaves.add((NumberValue) ev);
+				push(LOAD, leaves.size() - 1);
+				return true;
+			}
+			return false;
+		}
+
+		private boolean emitOperation(ExpressionNode node) {
+			Operation op = node.getOperation();
+			switch (op) {
+			case PLUS:
+				return emitBinary(node, ADD);
+			case MINUS:
+				return emitBinary(node, SUB);
+			case MULTIPLY:
+				return emitBinary(node, MUL);
+			case DIVIDE:
+				return emitBinary(node, DIV);
+			case POWER:
+				// negative base with fractional exponent is handled by
+				// ExpressionNode.calculateNegPower, leave it to the tree
+				if (isNegPowerExponent(node.getRight())) {
+					return false;
+				}
+				return emitBinary(node, POW);
+			case SIN:
+				return emitUnary(node.getLeft(), SIN);
+			case COS:
+				return emitUnary(node.getLeft(), COS);
+			case SQRT:
+				return emitUnary(node.getLeft(), SQRT);
+			case EXP:
+				return isSimpleLeaf(node.getLeft())
+						&& emitUnary(node.getLeft(), EXP);
+			case LOG:
+				return isSimpleLeaf(node.getLeft())
+						&& emitUnary(node.getLeft(), LOG);
+			case ABS:
+				return isSimpleLeaf(node.getLeft())
+						&& emitUnary(node.getLeft(), ABS);
+			default:
+				return false;
+			}
+		}
+
+		private static boolean isNegPowerExponent(ExpressionValue exponent) {
+			if (!(exponent instanceof ExpressionNode)) {
+				return false;
+			}
+			ExpressionNode node = (ExpressionNode) exponent;
+			return node.isOperation(Operation.DIVIDE)
+					|| (node.isOperation(Operation.MULTIPLY)
+					&& node.getLeft() instanceof MinusOne
+					&& node.getRight().isOperation(Operation.DIVIDE));
+		}
+
+		/**
+		 * Operations not handled in ExpressionNode.evaluateDouble evaluate
+		 * their argument via ExpressionNodeEvaluator (with decimal arithmetic),
+		 * so we only compile them for plain numbers and variables.
+		 */
+		private static boolean isSimpleLeaf(ExpressionValue arg) {
+			ExpressionValue unwrapped = arg.unwrap();
+			return unwrapped instanceof MyDouble
+					|| unwrapped instanceof GeoNumeric;
+		}
+
+		private boolean emitBinary(ExpressionNode node, int opcode) {
+			if (!emit(node.getLeft()) || !emit(node.getRight())) {
+				return false;
+			}
+			push(opcode, 0);
+			depth -= 2;
+			return true;
+		}
+
+		private boolean emitUnary(ExpressionValue arg, int opcode) {
+			if (!emit(arg)) {
+				return false;
+			}
+			push(opcode, 0);
+			depth--;
+			return true;
+		}
+
+		private void push(int opcode, int operand) {
+			code.add(opcode);
+			operands.add(operand);
+			depth++;
+			maxDepth = Math.max(maxDepth, depth);
+		}
+	}
+}
@@ -214,6 +214,10 @@ public double value(double x) {
 			return evaluateBoolean(x) ? 1 : 0;
 		}
 		// NumberValue
+		CompiledFunction program = getCompiledFunction();
+		if (program != null) {
+			return program.value(x, program.createStack());
+		}
 		fVars[0].set(x);
 		return expression.evaluateDouble();
 
@@ -270,6 +274,7 @@ final public void translate(double vx, double vy) {
 		} else {
 			expression = new ExpressionNode(expression);
 		}
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -280,7 +285,7 @@ final public void translate(double vx, double vy) {
 	 */
 	final public void translateY(double vy) {
 		expression = translateY(expression, fVars, vy);
-
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -1179,6 +1184,7 @@ public void updateCASEvalMap(TreeMap<String, String> map) {
 	 */
 	public void dilateX(double scale) {
 		dilateX(expression, scale, 0);
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -76,6 +76,11 @@ public class FunctionNVar extends ValidExpression
 	private String casEvalStringSymbolic;
 
 	private boolean forceInequality;
+	/**
+	 * compiled form of the expression; replaced as a whole so that other
+	 * threads never see a program that belongs to another expression
+	 */
+	private volatile CompiledForm compiled;
 
 	private final static class RandomCheck implements Inspecting {
 
@@ -216,6 +221,7 @@ public void replaceChildrenByValues(GeoElement geo) {
 			expression.replaceChildrenByValues(geo);
 		}
 		invalidateIneqs();
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -226,6 +232,7 @@ public void replaceChildrenByValues(GeoElement geo) {
 	 */
 	public void setExpression(ExpressionNode exp) {
 		expression = exp;
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -239,6 +246,7 @@ public void setExpression(ExpressionNode exp) {
 	public void setExpression(ExpressionNode exp, FunctionVariable[] vars) {
 		expression = exp;
 		fVars = vars;
+		invalidateCompiledFunction();
 	}
 
 	@Override
@@ -354,6 +362,7 @@ public boolean initFunction(EvalInfo info) {
 			// x, y got polynomials while parsing
 			VariablePolyReplacer s = VariablePolyReplacer.getReplacer(fVar);
 			expression.traverse(s);
+			invalidateCompiledFunction();
 			int replacements = s.getReplacements();
 			isConstantFunction = isConstantFunction && replacements == 0;
 		}
@@ -402,6 +411,7 @@ private void fixStructure() {
 
 		// try to replace x(x+1) by x*(x+1)
 		expression.replaceXYZnodes(xyzVars[0], xyzVars[1], xyzVars[2]);
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -504,6 +514,12 @@ final public double evaluate(double[] vals) {
 			return evaluateBoolean(vals) ? 1 : 0;
 		}
 		// NumberValue
+		CompiledFunction program = getCompiledFunction();
+		if (program != null) {
+			// stack per call: the same function may be evaluated by
+			// several threads
+			return program.evaluate(vals, program.createStack());
+		}
 		if (fVars != null) {
 			for (int i = 0; i < fVars.length; i++) {
 				fVars[i].set(vals[i]);
@@ -928,12 +944,64 @@ public void translate(double vx, double vy) {
 			expression = new ExpressionNode(expression);
 		}
 		invalidateIneqs();
+		invalidateCompiledFunction();
 	}
 
 	private void invalidateIneqs() {
 		this.ineqs = null;
 	}
 
+	/**
+	 * Drops the compiled form of this function; needed after the expression
+	 * tree was modified in place (replacing the root is detected
+	 * automatically).
+	 */
+	public void invalidateCompiledFunction() {
+		compiled = null;
+	}
+
+	/**
+	 * Returns the expression lowered into a flat program of double
+	 * operations, see {@link CompiledFunction}. The program is compiled on
+	 * first use and recompiled when the expression or variables change.
+	 * Callers evaluating it in a loop should reuse one stack per thread, see
+	 * {@link CompiledFunction#createStack()}.
+	 * 
+	 * @return compiled function or null if this function cannot be compiled
+	 *         (boolean function or unsupported operations)
+	 */
+	public CompiledFunction getCompiledFunction() {
+		if (isBooleanFunction || expression == null) {
+			return null;
+		}
+		CompiledForm form = compiled;
+		if (form == null || form.expression != expression
+				|| form.vars != fVars) {
+			form = new CompiledForm(
+					CompiledFunction.compile(expression, fVars), expression,
+					fVars);
+			compiled = form;
+		}
+		return form.program;
+	}
+
+	/**
+	 * Compiled program together with the expression and variables it was
+	 * compiled from.
+	 */
+	private static final class CompiledForm {
+		final CompiledFunction program;
+		final ExpressionNode expression;
+		final FunctionVariable[] vars;
+
+		CompiledForm(CompiledFunction program, ExpressionNode expression,
+				FunctionVariable[] vars) {
+			this.program = program;
+			this.expression = expression;
+			this.vars = vars;
+		}
+	}
+
 	/**
 	 * translate the expression
 	 * 
@@ -1210,6 +1278,7 @@ public void dilate3D(NumberValue d, Coords s) {
 			double dv = d.getDouble();
 			expression = expression.multiply(dv).plus(s.getZ() * (1 - dv));
 		}
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -1244,6 +1313,7 @@ public void matrixTransform(double a00, double a01, double a10,
 		expression = expression
 				.traverse(CopyReplacer.getReplacer(dummy, newX, kernel)).wrap();
 		invalidateIneqs();
+		invalidateCompiledFunction();
 	}
 
 	/**
@@ -1301,6 +1371,7 @@ public void matrixTransform(double a00, double a01, double a02, double a10,
 				CopyReplacer.getReplacer(dummy, newX.divide(newZ), kernel))
 				.wrap();
 		this.initIneqs(expression);
+		invalidateCompiledFunction();
 	}
 
 	@Override
@@ -1310,6 +1381,7 @@ public ExpressionValue traverse(Traversing t) {
 			return ev;
 		}
 		expression = expression.traverse(t).wrap();
+		invalidateCompiledFunction();
 		return this;
 	}
 
@@ -25,6 +25,10 @@ public class AlgoKimberling extends AlgoElement {
 	private GeoPointND A, B, C; // input
 	private GeoPointND M; // output
 	private GeoNumberValue n;
+	/** one per rotation of the sides, so each keeps its triangle cached */
+	private final AlgoKimberlingWeights weightsA = new AlgoKimberlingWeights();
+	private final AlgoKimberlingWeights weightsB = new AlgoKimberlingWeights();
+	private final AlgoKimberlingWeights weightsC = new AlgoKimberlingWeights();
 
 	/**
 	 * Creates new algo for triangle center
@@ -94,11 +98,9 @@ public final void compute() {
 		c = c / m;
 		int k = (int) n.getDouble();
 
-		AlgoKimberlingWeights weights = new AlgoKimberlingWeights();
-
-		double wA = weights.weight(k, a, b, c);
-		double wB = weights.weight(k, b, c, a);
-		double wC = weights.weight(k, c, a, b);
+		double wA = weightsA.weight(k, a, b, c);
+		double wB = weightsB.weight(k, b, c, a);
+		double wC = weightsC.weight(k, c, a, b);
 		double w = wA + wB + wC;
 		if (Double.isNaN(w) || DoubleUtil.isZero(w)) {
 			M.setUndefined();
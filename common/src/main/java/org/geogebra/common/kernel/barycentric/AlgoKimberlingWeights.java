@@ -1,20 +1,41 @@
 package org.geogebra.common.kernel.barycentric;
 
+import java.util.Arrays;
+
 /**
  * Most of the content of this class is moved here from AlgoKimberling, to
  * facilitate asyncronous running... comment from AlgoKimberling:
  *
  * credit goes to Jason Cantarella of the Univerity of Georgia for creating a
  * perl script which was used to create this class.
+ *
+ * Powers, angles and area of the triangle are computed once per side lengths
+ * (a, b, c); weights of the last triangle are cached, so several centers of
+ * the same triangle only cost the evaluation of their own formulas, and
+ * centers defined by other centers reuse their weights.
  */
 
 public class AlgoKimberlingWeights {
 
+	/** highest index of a supported center */
+	public static final int MAX_INDEX = 3053;
+
 	private double a2, a3, a4, a5, a6, a7, a8, a9, a10;
 	private double b2, b3, b4, b5, b6, b7, b8, b9, b10;
 	private double c2, c3, c4, c5, c6, c7, c8, c9, c10;
 	private double Q, R, S, T, U, V, angleA, angleB, angleC;
 
+	private double lastA = Double.NaN;
+	private double lastB = Double.NaN;
+	private double lastC = Double.NaN;
+	/** cached weights of the last triangle, grown on demand */
+	private double[] cachedWeights = new double[0];
+	/** weight k is cached iff cacheStamp[k] == stamp */
+	private int[] cacheStamp = new int[0];
+	private int stamp = 1;
+	/** for centers defined by other centers of the rotated triangles */
+	private AlgoKimberlingWeights[] rotated;
+
 	private static double p(double a, double b) {
 		return Math.pow(a, b);
 	}
@@ -23,7 +44,35 @@ private static double u(double a) {
 		return Math.sqrt(a);
 	}
 
+	/**
+	 * @param k
+	 *            index of the center
+	 * @param a
+	 *            first side
+	 * @param b
+	 *            second side
+	 * @param c
+	 *            third side
+	 * @return first barycentric coordinate of the center, NaN if the center
+	 *         is not supported
+	 */
 	public double weight(int k, double a, double b, double c) {
+		setTriangle(a, b, c);
+		return cachedWeight(k, a, b, c);
+	}
+
+	private void setTriangle(double a, double b, double c) {
+		if (a == lastA && b == lastB && c == lastC) {
+			return;
+		}
+		lastA = a;
+		lastB = b;
+		lastC = c;
+		if (++stamp == 0) {
+			Arrays.fill(cacheStamp, 0);
+			stamp = 1;
+		}
+
 		a2 = a * a;
 		a3 = a * a2;
 		a4 = a * a3;
@@ -65,107 +114,114 @@ public double weight(int k, double a, double b, double c) {
 
 		// four times the area of the triangle using Heron's formula
 		S = u((a + b + c) * (-a + b + c) * (a - b + c) * (a + b - c));
+	}
 
-		if (k < 100) {
-			return weight0to99(k, a, b, c);
+	private double cachedWeight(int k, double a, double b, double c) {
+		if (k < 0 || k > MAX_INDEX) {
+			return Double.NaN;
 		}
-		if (k < 200) {
-			return weight100to199(k, a, b, c);
+		if (k >= cacheStamp.length) {
+			int size = Math.min(Math.max(k + 1, 2 * cacheStamp.length),
+					MAX_INDEX + 1);
+			cachedWeights = Arrays.copyOf(cachedWeights, size);
+			cacheStamp = Arrays.copyOf(cacheStamp, size);
 		}
-		if (k < 300) {
-			return weight200to299(k, a, b, c);
+		if (cacheStamp[k] != stamp) {
+			cachedWeights[k] = evaluate(k, a, b, c);
+			cacheStamp[k] = stamp;
 		}
-		if (k < 400) {
-			return weight300to399(k, a, b, c);
+		return cachedWeights[k];
+	}
+
+	/**
+	 * Centers depending on other centers must not overwrite invariants of
+	 * this triangle, so they are computed by separate instances.
+	 */
+	private AlgoKimberlingWeights rotated(int rotation) {
+		if (rotated == null) {
+			rotated = new AlgoKimberlingWeights[3];
 		}
-		if (k < 500) {
-			return weight400to499(k, a, b, c);
+		if (rotated[rotation] == null) {
+			rotated[rotation] = new AlgoKimberlingWeights();
 		}
-		if (k < 600) {
+		return rotated[rotation];
+	}
+
+	/**
+	 * Jumps to the method for k's block: blocks have 100 centers below 2700
+	 * and 50 centers above.
+	 */
+	private double evaluate(int k, double a, double b, double c) {
+		switch (k < 2700 ? k / 100 : 27 + (k - 2700) / 50) {
+		case 0:
+			return weight0to99(k, a, b, c);
+		case 1:
+			return weight100to199(k, a, b, c);
+		case 2:
+			return weight200to299(k, a, b, c);
+		case 3:
+			return weight300to399(k, a, b, c);
+		case 4:
+			return weight400to499(k, a, b, c);
+		case 5:
 			return weight500to599(k, a, b, c);
-		}
-		if (k < 700) {
+		case 6:
 			return weight600to699(k, a, b, c);
-		}
-		if (k < 800) {
+		case 7:
 			return weight700to799(k, a, b, c);
-		}
-		if (k < 900) {
+		case 8:
 			return weight800to899(k, a, b, c);
-		}
-		if (k < 1000) {
+		case 9:
 			return weight900to999(k, a, b, c);
-		}
-		if (k < 1100) {
+		case 10:
 			return weight1000to1099(k, a, b, c);
-		}
-		if (k < 1200) {
+		case 11:
 			return weight1100to1199(k, a, b, c);
-		}
-		if (k < 1300) {
+		case 12:
 			return weight1200to1299(k, a, b, c);
-		}
-		if (k < 1400) {
+		case 13:
 			return weight1300to1399(k, a, b, c);
-		}
-		if (k < 1500) {
+		case 14:
 			return weight1400to1499(k, a, b, c);
-		}
-		if (k < 1600) {
+		case 15:
 			return weight1500to1599(k, a, b, c);
-		}
-		if (k < 1700) {
+		case 16:
 			return weight1600to1699(k, a, b, c);
-		}
-		if (k < 1800) {
+		case 17:
 			return weight1700to1799(k, a, b, c);
-		}
-		if (k < 1900) {
+		case 18:
 			return weight1800to1899(k, a, b, c);
-		}
-		if (k < 2000) {
+		case 19:
 			return weight1900to1999(k, a, b, c);
-		}
-		if (k < 2100) {
+		case 20:
 			return weight2000to2099(k, a, b, c);
-		}
-		if (k < 2200) {
+		case 21:
 			return weight2100to2199(k, a, b, c);
-		}
-		if (k < 2300) {
+		case 22:
 			return weight2200to2299(k, a, b, c);
-		}
-		if (k < 2400) {
+		case 23:
 			return weight2300to2399(k, a, b, c);
-		}
-		if (k < 2500) {
+		case 24:
 			return weight2400to2499(k, a, b, c);
-		}
-		if (k < 2600) {
+		case 25:
 			return weight2500to2599(k, a, b, c);
-		}
-		if (k < 2700) {
+		case 26:
 			return weight2600to2699(k, a, b, c);
-		}
-		if (k < 2750) {
+		case 27:
 			return weight2700to2749(k, a, b, c);
-		}
-		if (k < 2800) {
+		case 28:
 			return weight2750to2799(k, a, b, c);
-		}
-		if (k < 2850) {
+		case 29:
 			return weight2800to2849(k, a, b, c);
-		}
-		if (k < 2900) {
+		case 30:
 			return weight2850to2899(k, a, b, c);
-		}
-		if (k < 2950) {
+		case 31:
 			return weight2900to2949(k, a, b, c);
-		}
-		if (k < 3000) {
+		case 32:
 			return weight2950to2999(k, a, b, c);
+		default:
+			return weight3000plus(k, a, b, c);
 		}
-		return weight3000plus(k, a, b, c);
 	}
 
 	private double weight0to99(int k, double a, double b, double c) {
@@ -12062,9 +12118,9 @@ private double weight2900to2949(int k, double a, double b, double c) {
 
 		case 2928:
 
-			double x = weight(k - 2910, a, b, c);
-			double y = weight(k - 2910, b, c, a);
-			double z = weight(k - 2910, c, a, b);
+			double x = rotated(0).weight(k - 2910, a, b, c);
+			double y = rotated(1).weight(k - 2910, b, c, a);
+			double z = rotated(2).weight(k - 2910, c, a, b);
 
 			return a2 * (-a3 / (c * y + b * z) + b3 / (a * z + c * x)
 					+ c3 / (b * x + a * y));
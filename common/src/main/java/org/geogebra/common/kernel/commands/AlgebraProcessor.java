@@ -168,6 +168,7 @@ public class AlgebraProcessor {
 	protected final App app;
 	private final Localization loc;
 	private final ParserInterface parser;
+	private final ParsedExpressionCache parsedExpressionCache;
 	/** command dispatcher */
 	protected final CommandDispatcher cmdDispatcher;
 
@@ -215,6 +216,7 @@ public AlgebraProcessor(Kernel kernel, CommandDispatcher commandDispatcher) {
 		app.onCommandDispatcherSet(cmdDispatcher);
 		loc = app.getLocalization();
 		parser = kernel.getParser();
+		parsedExpressionCache = new ParsedExpressionCache(kernel);
 		setEnableStructures(app.getConfig().isEnableStructures());
 		sqrtMinusOneReplacer = new SqrtMinusOneReplacer(kernel);
 	}
@@ -233,6 +235,13 @@ public CommandDispatcher getCmdDispatcher() {
 		return cmdDispatcher;
 	}
 
+	/**
+	 * @return cache of parsed algebra input
+	 */
+	public ParsedExpressionCache getParsedExpressionCache() {
+		return parsedExpressionCache;
+	}
+
 	/**
 	 * Returns the localized name of a command subset. Indices are defined in
 	 * CommandDispatcher.
@@ -914,7 +923,7 @@ public GeoElementND[] processAlgebraCommandNoExceptionHandling(
 				}
 				return new GeoElement[0];
 			}
-			ValidExpression ve = parser.parseGeoGebraExpression(cmd);
+			ValidExpression ve = parsedExpressionCache.parse(cmd, parser);
 			return processAlgebraCommandNoExceptionHandling(ve, storeUndo,
 					handler, callback0, info);
 
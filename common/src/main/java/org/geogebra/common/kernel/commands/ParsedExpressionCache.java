@@ -0,0 +1,212 @@
+package org.geogebra.common.kernel.commands;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.kernel.geos.GeoCasCell;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.parser.ParseException;
+import org.geogebra.common.kernel.parser.ParserInterface;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Counter;
+
+/**
+ * Cache of parsed input, keyed by the input and the settings that influence
+ * parsing. Cached expressions are templates: they are never resolved or
+ * labeled, callers get deep copies.
+ *
+ * Parsing looks up labels (to tell functions from products, e.g. f(x) and
+ * a(x)), so every entry remembers the labels looked up while parsing it and
+ * the objects they resolved to. An entry is only used while these labels
+ * still resolve to the same objects; labels of unrelated objects don't matter.
+ * Input that changes the construction while parsing (random numbers, function
+ * variables) is not cached.
+ */
+public final class ParsedExpressionCache {
+
+	/** maximal number of cached expressions */
+	public static final int MAX_SIZE = 512;
+
+	private final Kernel kernel;
+	private final LinkedHashMap<String, Entry> templates =
+			new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<String, Entry> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 */
+	ParsedExpressionCache(Kernel kernel) {
+		this.kernel = kernel;
+	}
+
+	/**
+	 * @param input
+	 *            input
+	 * @param parser
+	 *            parser for cache misses
+	 * @return parsed input, not shared with the cache
+	 * @throws ParseException
+	 *             if input can't be parsed
+	 */
+	ValidExpression parse(String input, ParserInterface parser)
+			throws ParseException {
+		Construction cons = kernel.getConstruction();
+		String key = cons.hasRegisteredFunctionVariable() ? null : key(input);
+		Entry entry = key == null ? null : templates.get(key);
+		if (entry != null && !isValid(entry, cons)) {
+			templates.remove(key);
+			entry = null;
+		}
+		if (entry != null) {
+			hits++;
+			GeoGebraProfiler.count(Counter.PARSE_CACHE, "hit");
+			return copy(entry.template);
+		}
+		misses++;
+		GeoGebraProfiler.count(Counter.PARSE_CACHE, "miss");
+		int labelVersion = cons.getLabelVersion();
+		HashSet<String> lookups = new HashSet<>();
+		Set<String> outerLookups = kernel.setLabelLookupRecorder(lookups);
+		ValidExpression parsed;
+		try {
+			parsed = parser.parseGeoGebraExpression(input);
+		} finally {
+			kernel.setLabelLookupRecorder(outerLookups);
+			if (outerLookups != null) {
+				outerLookups.addAll(lookups);
+			}
+		}
+		if (key != null && parser.isLastParseReusable()
+				&& !cons.hasRegisteredFunctionVariable()
+				&& labelVersion == cons.getLabelVersion()) {
+			ValidExpression copy = copy(parsed);
+			if (isEquivalent(parsed, copy)) {
+				templates.put(key, new Entry(copy, lookups, labelVersion));
+			}
+		}
+		return parsed;
+	}
+
+	/**
+	 * Labels only change objects together with the label version, so the
+	 * lookups are only repeated after some label changed.
+	 */
+	private boolean isValid(Entry entry, Construction cons) {
+		if (entry.labelVersion == cons.getLabelVersion()) {
+			return true;
+		}
+		for (int i = 0; i < entry.labels.length; i++) {
+			if (kernel.lookupLabel(entry.labels[i]) != entry.geos[i]
+					|| kernel.lookupCasCellLabel(
+							entry.labels[i]) != entry.cells[i]) {
+				return false;
+			}
+		}
+		entry.labelVersion = cons.getLabelVersion();
+		return true;
+	}
+
+	private String key(String input) {
+		StringBuilder sb = new StringBuilder(input.length() + 32);
+		sb.append(kernel.getLocalization().getLanguage());
+		sb.append(',');
+		sb.append(kernel.getSymbolicMode());
+		sb.append(',');
+		sb.append(kernel.getLoadingMode() ? 'l' : '-');
+		sb.append(kernel.getConstruction().isFileLoading() ? 'f' : '-');
+		sb.append(kernel.getAlgebraProcessor().enableStructures() ? 's' : '-');
+		sb.append(':');
+		sb.append(input);
+		return sb.toString();
+	}
+
+	private ValidExpression copy(ValidExpression ve) {
+		ValidExpression ret = ve.deepCopy(kernel);
+		if (ve.labelCount() > 0) {
+			ret.setLabels(ve.getLabels());
+		}
+		ret.setLocalVariables(new ArrayList<>(ve.getLocalVariables()));
+		return ret;
+	}
+
+	/**
+	 * Deep copies don't keep every flag the parser may set, only cache
+	 * expressions whose copy is indistinguishable.
+	 */
+	private static boolean isEquivalent(ValidExpression parsed,
+			ValidExpression copy) {
+		try {
+			return parsed.getClass() == copy.getClass()
+					&& parsed.toString(StringTemplate.xmlTemplate)
+							.equals(copy.toString(StringTemplate.xmlTemplate));
+		} catch (RuntimeException e) {
+			Log.debug(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Removes all cached expressions, statistics are kept.
+	 */
+	public void clear() {
+		templates.clear();
+	}
+
+	/**
+	 * @return number of cached expressions
+	 */
+	public int size() {
+		return templates.size();
+	}
+
+	/**
+	 * @return number of inputs that were found in the cache
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of inputs that had to be parsed
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	private final class Entry {
+		final ValidExpression template;
+		final String[] labels;
+		final GeoElement[] geos;
+		final GeoCasCell[] cells;
+		int labelVersion;
+
+		Entry(ValidExpression template, Set<String> lookups,
+				int labelVersion) {
+			this.template = template;
+			this.labels = lookups.toArray(new String[0]);
+			this.geos = new GeoElement[labels.length];
+			this.cells = new GeoCasCell[labels.length];
+			for (int i = 0; i < labels.length; i++) {
+				geos[i] = kernel.lookupLabel(labels[i]);
+				cells[i] = kernel.lookupCasCellLabel(labels[i]);
+			}
+			this.labelVersion = labelVersion;
+		}
+	}
+}
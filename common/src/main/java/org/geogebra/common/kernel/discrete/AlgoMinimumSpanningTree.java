@@ -1,35 +1,26 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.function.Function;
+import java.util.Arrays;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.matrix.Coords;
 
-import edu.uci.ics.jung.algorithms.shortestpath.MinimumSpanningForest2;
-import edu.uci.ics.jung.graph.DelegateForest;
-import edu.uci.ics.jung.graph.DelegateTree;
-import edu.uci.ics.jung.graph.Forest;
-import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
-import edu.uci.ics.jung.graph.util.EdgeType;
-
 /**
- * Minimum spanning tree algo
+ * Minimum spanning tree algo, the tree is taken from the edges of the Delaunay
+ * triangulation (see {@link EuclideanMinimumSpanningTree}).
  */
 public class AlgoMinimumSpanningTree extends AlgoDiscrete {
 
 	/** number of edges */
 	protected int edgeCount;
 
-	private static Function<TreeLink, Double> wtTransformer = link -> link.weight;
-
 	/**
 	 * @param cons
 	 *            construction
@@ -57,99 +48,37 @@ public final void compute() {
 			return;
 		}
 
-		edgeCount = 0;
-
-		HashMap<GeoPointND, TreeNode> nodes = new HashMap<>();
-		TreeNode node1, node2;
-		UndirectedSparseMultigraph<TreeNode, TreeLink> g = new UndirectedSparseMultigraph<>();
-
-		for (int i = 0; i < size - 1; i++) {
-			GeoPointND p1 = (GeoPointND) inputList.get(i);
-			for (int j = i + 1; j < size; j++) {
-				GeoPointND p2 = (GeoPointND) inputList.get(j);
-
-				node1 = nodes.get(p1);
-				node2 = nodes.get(p2);
-				if (node1 == null) {
-					node1 = new TreeNode(p1);
-					nodes.put(p1, node1);
-				}
-				if (node2 == null) {
-					node2 = new TreeNode(p2);
-					nodes.put(p2, node2);
-				}
-
-				g.addEdge(
-						new TreeLink(p1.distance(p2), node1, node2, edgeCount++),
-						node1,
-						node2, EdgeType.UNDIRECTED);
-
+		double[] x = new double[size];
+		double[] y = new double[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = inputList.get(i);
+			if (geo.isDefined() && geo.isGeoPoint()) {
+				Coords coords = ((GeoPointND) geo).getInhomCoordsInD2();
+				x[count] = coords.get(1);
+				y[count] = coords.get(2);
+				count++;
 			}
-
-			MinimumSpanningForest2<TreeNode, TreeLink> prim = new MinimumSpanningForest2<>(
-					g, new DelegateForest<TreeNode, TreeLink>(),
-					DelegateTree.<TreeNode, TreeLink> getFactory(), wtTransformer);
-
-			Forest<TreeNode, TreeLink> tree = prim.getForest();
-
-			Iterator<TreeLink> it = tree.getEdges().iterator();
-
-			if (al == null) {
-				al = new ArrayList<>();
-			} else {
-				al.clear();
-			}
-
-			while (it.hasNext()) {
-				TreeLink edge = it.next();
-
-				Coords coords = edge.n1.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.MOVE_TO));
-				coords = edge.n2.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.LINE_TO));
-
-			}
-
-			locus.setPoints(al);
-			locus.setDefined(true);
-
 		}
+		x = Arrays.copyOf(x, count);
+		y = Arrays.copyOf(y, count);
 
-	}
+		int[] tree = EuclideanMinimumSpanningTree.compute(x, y);
+		edgeCount = tree.length / 2;
 
-	/** Graph edge */
-	static class TreeLink {
-		/** start point */
-		protected TreeNode n1;
-		/** end point */
-		protected TreeNode n2;
-		/** length */
-		double weight;
-		/** identifier */
-		int id;
-
-		/**
-		 * @param weight
-		 *            length
-		 * @param n1
-		 *            start point
-		 * @param n2
-		 *            end point
-		 * @param id
-		 *            identifier
-		 */
-		public TreeLink(double weight, TreeNode n1, TreeNode n2, int id) {
-			this.id = id; // This is defined in the outer class.
-			this.weight = weight;
-			this.n1 = n1;
-			this.n2 = n2;
+		if (al == null) {
+			al = new ArrayList<>();
+		} else {
+			al.clear();
 		}
 
-		@Override
-		public String toString() { // Always good for debugging
-			return "Edge" + id;
+		for (int k = 0; k < tree.length; k += 2) {
+			al.add(new MyPoint(x[tree[k]], y[tree[k]], SegmentType.MOVE_TO));
+			al.add(new MyPoint(x[tree[k + 1]], y[tree[k + 1]],
+					SegmentType.LINE_TO));
 		}
+
+		locus.setPoints(al);
+		locus.setDefined(true);
 	}
 }
@@ -1,15 +1,13 @@
 package org.geogebra.common.kernel.discrete;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
-import java.util.function.Function;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.GraphAlgo;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.commands.Commands;
-import org.geogebra.common.kernel.discrete.AlgoMinimumSpanningTree.TreeLink;
 import org.geogebra.common.kernel.geos.GeoBoolean;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -17,10 +15,6 @@
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoSegmentND;
 
-import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
-import edu.uci.ics.jung.graph.SparseMultigraph;
-import edu.uci.ics.jung.graph.util.EdgeType;
-
 /**
  * Shortest path in graph
  */
@@ -30,7 +24,6 @@ public class AlgoShortestDistance extends AlgoElement implements GraphAlgo {
 	private GeoList inputList;
 	private GeoLocusND<? extends MyPoint> locus;
 	private GeoBoolean weighted;
-	private int edgeCount = 0;
 
 	/**
 	 * @param cons
@@ -82,15 +75,6 @@ public Commands getClassName() {
 		return Commands.ShortestDistance;
 	}
 
-	// weighted Shortest Path
-	// use length of segments to weight
-	private Function<TreeLink, Double> wtTransformer = new Function<TreeLink, Double>() {
-		@Override
-		public Double apply(TreeLink link) {
-			return link.weight;
-		}
-	};
-
 	@Override
 	public final void compute() {
 
@@ -100,13 +84,12 @@ public final void compute() {
 			return;
 		}
 
-		edgeCount = 0;
-
-		HashMap<GeoPointND, TreeNode> nodes = new HashMap<>();
+		HashMap<GeoPointND, Integer> nodes = new HashMap<>();
+		ArrayList<GeoPointND> points = new ArrayList<>();
+		int[] edgeEnds = new int[2 * size];
+		double[] edgeWeights = new double[size];
+		int edgeCount = 0;
 
-		SparseMultigraph<TreeNode, TreeLink> g = new SparseMultigraph<>();
-
-		TreeNode node1, node2;
 		NodeMatcher startNode = new NodeMatcher(start);
 		NodeMatcher endNode = new NodeMatcher(end);
 
@@ -116,16 +99,8 @@ public final void compute() {
 				GeoSegmentND seg = (GeoSegmentND) geo;
 				GeoPointND p1 = seg.getStartPoint();
 				GeoPointND p2 = seg.getEndPoint();
-				node1 = nodes.get(p1);
-				node2 = nodes.get(p2);
-				if (node1 == null) {
-					node1 = new TreeNode(p1);
-					nodes.put(p1, node1);
-				}
-				if (node2 == null) {
-					node2 = new TreeNode(p2);
-					nodes.put(p2, node2);
-				}
+				int node1 = getNode(p1, nodes, points);
+				int node2 = getNode(p2, nodes, points);
 
 				// take note of start and end points
 				startNode.check(p1, node1);
@@ -133,82 +108,65 @@ public final void compute() {
 				endNode.check(p1, node1);
 				endNode.check(p2, node2);
 
-				// add edge to graph
-				g.addEdge(
-						new TreeLink(seg.getLength(), node1, node2, edgeCount++),
-						node1,
-						node2, EdgeType.UNDIRECTED);
-
+				edgeEnds[2 * edgeCount] = node1;
+				edgeEnds[2 * edgeCount + 1] = node2;
+				// unweighted: length of a path is the number of its edges
+				edgeWeights[edgeCount] = weighted.getBoolean() ? seg.getLength()
+						: 1;
+				edgeCount++;
 			}
 		}
 
 		locus.clearPoints();
-		if (startNode.node == null || endNode.node == null) {
+		if (startNode.node < 0 || endNode.node < 0) {
 			locus.setDefined(false);
 			return;
 		}
-		double[] inhomLast = new double[3];
+		double[] inhom = new double[3];
 		if (startNode.node == endNode.node) {
-			start.getInhomCoords(inhomLast);
-			locus.insertPoint(inhomLast[0], inhomLast[1], inhomLast[2], false);
+			start.getInhomCoords(inhom);
+			locus.insertPoint(inhom[0], inhom[1], inhom[2], false);
 			locus.setDefined(true);
 			return;
 		}
 
-		DijkstraShortestPath<TreeNode, TreeLink> alg;
-
-		if (weighted.getBoolean()) {
-			alg = new DijkstraShortestPath<>(g, wtTransformer);
-		} else {
-			// Unweighted Shortest Path
-			alg = new DijkstraShortestPath<>(g);
+		WeightedGraph graph = new WeightedGraph(points.size());
+		for (int i = 0; i < edgeCount; i++) {
+			graph.addEdge(edgeEnds[2 * i], edgeEnds[2 * i + 1], edgeWeights[i]);
 		}
+		int[] path = graph.shortestPath(startNode.node, endNode.node);
 
-		List<TreeLink> list = alg.getPath(startNode.node, endNode.node);
-
-		TreeNode n1, n2;
-		if (!list.isEmpty()) {
-			TreeLink link = list.get(0);
-			n1 = link.n1;
-			n2 = link.n2;
-
-			// nodes may not be in the right order, might need n1 or n2
-			if (n1 == startNode.node || n1 == endNode.node) {
-				n1.id.getInhomCoords(inhomLast);
-			} else if (n2 == startNode.node || n2 == endNode.node) {
-				n2.id.getInhomCoords(inhomLast);
-			}
-			locus.insertPoint(inhomLast[0], inhomLast[1], inhomLast[2],
-					false);
-		}
-		double[] inhom1 = new double[3];
-		double[] inhom2 = new double[3];
-		for (TreeLink link : list) {
-			link.n1.id.getInhomCoords(inhom1);
-			link.n2.id.getInhomCoords(inhom2);
-			// nodes may not be in the right order, might need n1 or n2
-			if (inhom1[1] == inhomLast[1] && inhom1[0] == inhomLast[0]) {
-				System.arraycopy(inhom2, 0, inhomLast, 0, 3);
-			} else {
-				System.arraycopy(inhom1, 0, inhomLast, 0, 3);
+		if (path != null) {
+			for (int i = 0; i < path.length; i++) {
+				points.get(path[i]).getInhomCoords(inhom);
+				locus.insertPoint(inhom[0], inhom[1], inhom[2], i > 0);
 			}
-
-			locus.insertPoint(inhomLast[0], inhomLast[1], inhomLast[2], true);
 		}
 
 		locus.setDefined(true);
 	}
 
+	private static int getNode(GeoPointND point,
+			HashMap<GeoPointND, Integer> nodes, ArrayList<GeoPointND> points) {
+		Integer node = nodes.get(point);
+		if (node == null) {
+			node = points.size();
+			nodes.put(point, node);
+			points.add(point);
+		}
+		return node;
+	}
+
 	private static class NodeMatcher {
 		private final GeoPointND target;
-		public TreeNode node;
+		public int node = -1;
 		private boolean exactMatch;
 
 		public NodeMatcher(GeoPointND target) {
 			this.target = target;
 		}
 
-		public void check(GeoPointND p1, TreeNode node2) {
+		public void check(GeoPointND p1, int node2) {
 			if (p1 == target) {
 				exactMatch = true;
 				node = node2;
@@ -2,6 +2,7 @@
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -52,8 +53,8 @@ public final void compute() {
 
 		double[] inhom = new double[2];
 
-		ArrayList<Double> xcoords = new ArrayList<>();
-		ArrayList<Double> ycoords = new ArrayList<>();
+		HashSet<Double> xcoords = new HashSet<>();
+		HashSet<Double> ycoords = new HashSet<>();
 
 		final double delta = 0.0000001;
 
@@ -117,20 +118,27 @@ public final void compute() {
 		TreeSet<MyLine> tree = new TreeSet<>(
 				AlgoDelauneyTriangulation.getComparator());
 
+		// the cell of a point doesn't depend on the triangle, compute it once
+		HashSet<PointDt> done = new HashSet<>();
 		while (it.hasNext()) {
 			TriangleDt triangle = it.next();
 
-			for (int index = 0; index < 3; index++) {
+			// a half plane gives the same ray for both of its corners
+			int corners = triangle.isHalfplane() ? 1 : 3;
+			for (int index = 0; index < corners; index++) {
 
 				PointDt corner = triangle.getCorner(index);
 
-				if (corner != null) {
+				if (corner != null
+						&& (triangle.isHalfplane() || done.add(corner))) {
 
 					PointDt[] voronoiCell = dt.calcVoronoiCell(triangle,
 							corner);
 
 					if (voronoiCell != null) {
-						for (int i = 0; i < voronoiCell.length - 1; i++) {
+						// closed polygon (for half planes the closing edge
+						// is a duplicate)
+						for (int i = 0; i < voronoiCell.length; i++) {
 							tree.add(new MyLine(
 									new GPoint2D(voronoiCell[i].x(),
 											voronoiCell[i].y()),
@@ -0,0 +1,89 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
+import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
+
+/**
+ * Minimum spanning tree of points in the plane. The tree is a subgraph of the
+ * Delaunay triangulation, so Prim's algorithm only needs to check O(n) edges
+ * instead of all pairs of points.
+ */
+final class EuclideanMinimumSpanningTree {
+
+	private EuclideanMinimumSpanningTree() {
+		// utility class
+	}
+
+	/**
+	 * Duplicate points (as defined by the triangulation) are not connected.
+	 *
+	 * @param x
+	 *            x-coordinates of the points
+	 * @param y
+	 *            y-coordinates of the points
+	 * @return edges of the tree: edge k connects the points with indices
+	 *         result[2k] and result[2k + 1]
+	 */
+	static int[] compute(double[] x, double[] y) {
+		int n = x.length;
+		PointDt[] points = new PointDt[n];
+		for (int i = 0; i < n; i++) {
+			// the z-coordinate is not used for triangulation, store index
+			points[i] = new PointDt(x[i], y[i], i);
+		}
+		DelaunayTriangulation dt = new DelaunayTriangulation(points);
+		if (dt.allCollinear) {
+			return chain(x, y);
+		}
+		// a triangulation has less than 3n edges
+		WeightedGraph graph = new WeightedGraph(n, 3 * n);
+		addDelaunayEdges(dt, graph, x, y);
+		return graph.minimumSpanningForest();
+	}
+
+	/**
+	 * Each edge is taken from the triangle where it's oriented from the lower
+	 * to the higher index, the opposite triangle (or half plane) has it the
+	 * other way round.
+	 */
+	private static void addDelaunayEdges(DelaunayTriangulation dt,
+			WeightedGraph graph, double[] x, double[] y) {
+		Iterator<TriangleDt> it = dt.trianglesIterator();
+		while (it.hasNext()) {
+			TriangleDt triangle = it.next();
+			// a half plane only has one edge
+			int sides = triangle.isHalfplane() ? 1 : 3;
+			for (int i = 0; i < sides; i++) {
+				int from = (int) triangle.getCorner(i).z();
+				int to = (int) triangle.getCorner((i + 1) % 3).z();
+				if (from < to) {
+					graph.addEdge(from, to,
+							Math.hypot(x[from] - x[to], y[from] - y[to]));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return path through collinear points in the order along their line
+	 */
+	private static int[] chain(double[] x, double[] y) {
+		int n = x.length;
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (i, j) -> x[i] != x[j] ? Double.compare(x[i], x[j])
+				: Double.compare(y[i], y[j]));
+		int[] tree = new int[2 * Math.max(n - 1, 0)];
+		for (int k = 0; k + 1 < n; k++) {
+			tree[2 * k] = order[k];
+			tree[2 * k + 1] = order[k + 1];
+		}
+		return tree;
+	}
+}
@@ -0,0 +1,108 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of the integers 0..capacity-1 with priorities. The position
+ * of each element is tracked, so priorities can be decreased in O(log n).
+ */
+final class IndexedMinHeap {
+
+	private final int[] heap;
+	/** position of each element in the heap, -1 if not contained */
+	private final int[] position;
+	private final double[] priority;
+	private int size;
+
+	/**
+	 * @param capacity
+	 *            number of possible elements
+	 */
+	IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		priority = new double[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * @return whether the heap is empty
+	 */
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Inserts the element, or lowers its priority if it's already contained
+	 * with a higher one.
+	 *
+	 * @param element
+	 *            element
+	 * @param value
+	 *            priority
+	 */
+	void insertOrDecrease(int element, double value) {
+		int index = position[element];
+		if (index < 0) {
+			index = size++;
+			heap[index] = element;
+			position[element] = index;
+		} else if (value >= priority[element]) {
+			return;
+		}
+		priority[element] = value;
+		siftUp(index);
+	}
+
+	/**
+	 * @return element with the lowest priority, removed from the heap
+	 */
+	int poll() {
+		int min = heap[0];
+		position[min] = -1;
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	private void siftUp(int start) {
+		int index = start;
+		int element = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (priority[heap[parent]] <= priority[element]) {
+				break;
+			}
+			move(heap[parent], index);
+			index = parent;
+		}
+		move(element, index);
+	}
+
+	private void siftDown(int start) {
+		int index = start;
+		int element = heap[index];
+		while (2 * index + 1 < size) {
+			int child = 2 * index + 1;
+			if (child + 1 < size
+					&& priority[heap[child + 1]] < priority[heap[child]]) {
+				child++;
+			}
+			if (priority[element] <= priority[heap[child]]) {
+				break;
+			}
+			move(heap[child], index);
+			index = child;
+		}
+		move(element, index);
+	}
+
+	private void move(int element, int index) {
+		heap[index] = element;
+		position[element] = index;
+	}
+}
@@ -0,0 +1,158 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.Arrays;
+
+/**
+ * Undirected graph on vertices 0..n-1 with non-negative edge weights, stored
+ * as adjacency lists in primitive arrays. Shortest paths and spanning trees
+ * are found by Dijkstra's and Prim's algorithm on an {@link IndexedMinHeap}.
+ */
+final class WeightedGraph {
+
+	private final int vertexCount;
+	/** first half-edge of each vertex, -1 if none */
+	private final int[] firstEdge;
+	private int[] edgeTarget;
+	private int[] nextEdge;
+	private double[] edgeWeight;
+	private int halfEdges;
+
+	/**
+	 * @param vertexCount
+	 *            number of vertices
+	 */
+	WeightedGraph(int vertexCount) {
+		this(vertexCount, 8);
+	}
+
+	/**
+	 * @param vertexCount
+	 *            number of vertices
+	 * @param edgeCapacity
+	 *            expected number of edges
+	 */
+	WeightedGraph(int vertexCount, int edgeCapacity) {
+		this.vertexCount = vertexCount;
+		int capacity = 2 * Math.max(edgeCapacity, 1);
+		edgeTarget = new int[capacity];
+		nextEdge = new int[capacity];
+		edgeWeight = new double[capacity];
+		firstEdge = new int[vertexCount];
+		Arrays.fill(firstEdge, -1);
+	}
+
+	/**
+	 * @param from
+	 *            first vertex
+	 * @param to
+	 *            second vertex
+	 * @param weight
+	 *            non-negative weight
+	 */
+	void addEdge(int from, int to, double weight) {
+		addHalfEdge(from, to, weight);
+		addHalfEdge(to, from, weight);
+	}
+
+	private void addHalfEdge(int from, int to, double weight) {
+		if (halfEdges == edgeTarget.length) {
+			edgeTarget = Arrays.copyOf(edgeTarget, 2 * halfEdges);
+			nextEdge = Arrays.copyOf(nextEdge, 2 * halfEdges);
+			edgeWeight = Arrays.copyOf(edgeWeight, 2 * halfEdges);
+		}
+		edgeTarget[halfEdges] = to;
+		edgeWeight[halfEdges] = weight;
+		nextEdge[halfEdges] = firstEdge[from];
+		firstEdge[from] = halfEdges;
+		halfEdges++;
+	}
+
+	/**
+	 * @param start
+	 *            start vertex
+	 * @param end
+	 *            end vertex
+	 * @return vertices of a shortest path from start to end (both included),
+	 *         null if end can't be reached
+	 */
+	int[] shortestPath(int start, int end) {
+		double[] distance = new double[vertexCount];
+		int[] previous = new int[vertexCount];
+		boolean[] done = new boolean[vertexCount];
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		distance[start] = 0;
+		previous[start] = -1;
+		IndexedMinHeap heap = new IndexedMinHeap(vertexCount);
+		heap.insertOrDecrease(start, 0);
+		while (!heap.isEmpty()) {
+			int vertex = heap.poll();
+			if (vertex == end) {
+				return path(previous, end);
+			}
+			done[vertex] = true;
+			for (int e = firstEdge[vertex]; e >= 0; e = nextEdge[e]) {
+				int target = edgeTarget[e];
+				double newDistance = distance[vertex] + edgeWeight[e];
+				if (!done[target] && newDistance < distance[target]) {
+					distance[target] = newDistance;
+					previous[target] = vertex;
+					heap.insertOrDecrease(target, newDistance);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Prim's algorithm, started from every vertex that is not reached from
+	 * previous ones.
+	 *
+	 * @return edges of a minimum spanning forest: edge k connects the
+	 *         vertices result[2k] and result[2k + 1]
+	 */
+	int[] minimumSpanningForest() {
+		double[] distance = new double[vertexCount];
+		int[] previous = new int[vertexCount];
+		boolean[] done = new boolean[vertexCount];
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		int[] forest = new int[2 * Math.max(vertexCount - 1, 0)];
+		int size = 0;
+		IndexedMinHeap heap = new IndexedMinHeap(vertexCount);
+		for (int root = 0; root < vertexCount; root++) {
+			if (done[root]) {
+				continue;
+			}
+			previous[root] = -1;
+			heap.insertOrDecrease(root, 0);
+			while (!heap.isEmpty()) {
+				int vertex = heap.poll();
+				done[vertex] = true;
+				if (previous[vertex] >= 0) {
+					forest[size++] = previous[vertex];
+					forest[size++] = vertex;
+				}
+				for (int e = firstEdge[vertex]; e >= 0; e = nextEdge[e]) {
+					int target = edgeTarget[e];
+					if (!done[target] && edgeWeight[e] < distance[target]) {
+						distance[target] = edgeWeight[e];
+						previous[target] = vertex;
+						heap.insertOrDecrease(target, edgeWeight[e]);
+					}
+				}
+			}
+		}
+		return Arrays.copyOf(forest, size);
+	}
+
+	private static int[] path(int[] previous, int end) {
+		int length = 0;
+		for (int vertex = end; vertex >= 0; vertex = previous[vertex]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int vertex = end; vertex >= 0; vertex = previous[vertex]) {
+			path[--length] = vertex;
+		}
+		return path;
+	}
+}
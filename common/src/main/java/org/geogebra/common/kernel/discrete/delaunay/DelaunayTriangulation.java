@@ -1,5 +1,7 @@
 package org.geogebra.common.kernel.discrete.delaunay;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -43,6 +45,9 @@
 
 public class DelaunayTriangulation {
 
+	/** points are sorted on a 2^HILBERT_ORDER x 2^HILBERT_ORDER grid */
+	private static final int HILBERT_ORDER = 15;
+
 	// the first and last points (used only for first step construction)
 	private PointDt firstP;
 	private PointDt lastP;
@@ -87,7 +92,9 @@ public DelaunayTriangulation() {
 
 	/**
 	 * creates a Delaunay Triangulation from all the points. Note: duplicated
-	 * points are ignored.
+	 * and null points are ignored. The points are inserted in the order of a
+	 * Hilbert curve, so that point location only needs a few steps from the
+	 * last inserted triangle.
 	 * 
 	 * @param ps
 	 *            input
@@ -102,9 +109,88 @@ public DelaunayTriangulation(PointDt[] ps) {
 		deletedTriangles = null;
 		addedTriangles = new Vector<>();
 		allCollinear = true;
-		for (int i = 0; ps != null && i < ps.length && ps[i] != null; i++) {
-			this.insertPoint(ps[i]);
+		if (ps != null) {
+			for (PointDt p : sortAlongHilbertCurve(ps)) {
+				this.insertPoint(p);
+			}
+		}
+	}
+
+	/**
+	 * @param ps
+	 *            points, may contain null
+	 * @return non-null points sorted by their index on a Hilbert curve through
+	 *         their bounding box
+	 */
+	static PointDt[] sortAlongHilbertCurve(PointDt[] ps) {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		int count = 0;
+		for (PointDt p : ps) {
+			if (p != null) {
+				minX = Math.min(minX, p.x);
+				minY = Math.min(minY, p.y);
+				maxX = Math.max(maxX, p.x);
+				maxY = Math.max(maxY, p.y);
+				count++;
+			}
+		}
+		int cells = 1 << HILBERT_ORDER;
+		double scale = (cells - 1) / Math.max(maxX - minX, maxY - minY);
+		if (Double.isInfinite(scale) || Double.isNaN(scale)) {
+			scale = 0;
+		}
+		// hilbert index in the high bits, position in the array in the low
+		// bits: sorting primitives keeps points with the same index in order
+		long[] keys = new long[count];
+		count = 0;
+		for (int i = 0; i < ps.length; i++) {
+			if (ps[i] != null) {
+				long index = hilbertIndex(cells,
+						(int) ((ps[i].x - minX) * scale),
+						(int) ((ps[i].y - minY) * scale));
+				keys[count++] = (index << 32) | i;
+			}
+		}
+		Arrays.sort(keys);
+		PointDt[] sorted = new PointDt[count];
+		for (int i = 0; i < count; i++) {
+			sorted[i] = ps[(int) keys[i]];
+		}
+		return sorted;
+	}
+
+	/**
+	 * @param cells
+	 *            grid size (power of two)
+	 * @param gridX
+	 *            column
+	 * @param gridY
+	 *            row
+	 * @return index of the cell on the Hilbert curve through the grid
+	 */
+	private static long hilbertIndex(int cells, int gridX, int gridY) {
+		int x = gridX;
+		int y = gridY;
+		long index = 0;
+		for (int s = cells / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+			// rotate the quadrant
+			if (ry == 0) {
+				if (rx == 1) {
+					x = cells - 1 - x;
+					y = cells - 1 - y;
+				}
+				int swap = x;
+				x = y;
+				y = swap;
+			}
 		}
+		return index;
 	}
 
 	/**
@@ -1491,11 +1577,12 @@ private void initTriangles() {
 		}
 		if (this.size() > 2) {
 			_modCount2 = _modCount;
-			Vector<TriangleDt> front = new Vector<>();
+			ArrayList<TriangleDt> front = new ArrayList<>();
 			_triangles = new Vector<>();
 			front.add(this.startTriangle);
-			while (front.size() > 0) {
-				TriangleDt t = front.remove(0);
+			// breadth first search, front is consumed from the head
+			for (int head = 0; head < front.size(); head++) {
+				TriangleDt t = front.get(head);
 				if (!t._mark) {
 					t._mark = true;
 					_triangles.add(t);
@@ -64,6 +64,7 @@
 import org.geogebra.common.kernel.algos.Algos;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DrawInformationAlgo;
+import org.geogebra.common.kernel.algos.LevelScheduledUpdate;
 import org.geogebra.common.kernel.algos.StyleSensitiveAlgo;
 import org.geogebra.common.kernel.algos.TableAlgo;
 import org.geogebra.common.kernel.arithmetic.Equation;
@@ -157,6 +158,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	private boolean labelSet = false;
 
 	private boolean localVarLabelSet = false;
+	/** incremented on every update, see getUpdateCount() */
+	private int updateCount = 0;
 	private boolean euclidianVisible = true;
 	private boolean forceEuclidianVisible = false;
 	private boolean algebraVisible = true;
@@ -3057,6 +3060,7 @@ public boolean removeFromUpdateSets(final AlgoElement algorithm) {
 	 *            whether this was triggered by drag
 	 */
 	public void update(boolean dragging) {
+		updateCount++;
 		updateGeo(!cons.isUpdateConstructionRunning(), dragging);
 		maybeUpdateSpecialPoints();
 
@@ -3074,6 +3078,22 @@ public final void update() {
 		update(false);
 	}
 
+	/**
+	 * @return number of updates so far; when it didn't change, the value of
+	 *         this element didn't change either
+	 */
+	public int getUpdateCount() {
+		return updateCount;
+	}
+
+	/**
+	 * Records a change of value for elements that are recomputed without
+	 * {@link #update()}, e.g. in helper constructions.
+	 */
+	public void incrementUpdateCount() {
+		updateCount++;
+	}
+
 	/**
 	 * Same as update(), but do not notify kernel
 	 * 
@@ -3241,9 +3261,8 @@ static public synchronized void updateCascade(
 
 		// now we have one nice algorithm set that we can update
 		if (tempSet1.size() > 0) {
-			for (AlgoElement algo : tempSet1) {
-				algo.update();
-			}
+			LevelScheduledUpdate.updateAll(tempSet1, tempSet1.size(),
+					geos.get(0).getKernel().getParallelUpdateExecutor());
 		}
 
 	}
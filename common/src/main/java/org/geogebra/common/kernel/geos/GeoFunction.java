@@ -119,6 +119,8 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 	/** substitute functions for composite function */
 	GeoFunction[] substituteFunctions;
 	private GeoFunction derivGeoFun;
+	/** derivatives of small orders, reused while this is not updated */
+	private CachedDerivative[] cachedDerivatives;
 	private HashSet<SurfaceEvaluable> surfaceEvaluables;
 	private Function includesFreehandOrDataFun = null;
 	private Function includesNonContinuousIntegralFun = null;
@@ -628,22 +630,81 @@ final public boolean evaluateBoolean(double x) {
 		return fun.evaluateBoolean(x);
 	}
 
+	/**
+	 * Derivatives of order 1 to {@link CachedDerivative#MAX_ORDER} are
+	 * memoised per update of this function, so that several dependent
+	 * functions using f' share one (possibly CAS) computation.
+	 */
 	@Override
 	public GeoFunction getGeoDerivative(int order, boolean fast) {
-		if (derivGeoFun == null) {
-			derivGeoFun = new GeoFunction(cons);
+		if (order < 1 || order > CachedDerivative.MAX_ORDER) {
+			if (derivGeoFun == null) {
+				derivGeoFun = new GeoFunction(cons);
+			}
+			return computeDerivative(derivGeoFun, order, fast);
+		}
+		if (cachedDerivatives == null) {
+			cachedDerivatives = new CachedDerivative[CachedDerivative.MAX_ORDER];
+		}
+		CachedDerivative cached = cachedDerivatives[order - 1];
+		if (cached == null) {
+			cached = new CachedDerivative(new GeoFunction(cons));
+			cachedDerivatives[order - 1] = cached;
+		} else if (cached.isValid(this, fast)) {
+			return cached.derivative;
 		}
+		computeDerivative(cached.derivative, order, fast);
+		cached.store(this, fast);
+		return cached.derivative;
+	}
 
+	private GeoFunction computeDerivative(GeoFunction deriv, int order,
+			boolean fast) {
 		// if (getParentAlgorithm() instanceof AlgoFunctionFreehand)
 		// derivGeoFun.setUndefined();
 		// else
-		derivGeoFun.setDerivative(this, order, fast);
+		deriv.setDerivative(this, order, fast);
 		if (!kernel.getApplication().getSettings().getCasSettings()
 				.isEnabled()) {
-			derivGeoFun.setSecret(
+			deriv.setSecret(
 					new AlgoDerivative(cons, this, true, new EvalInfo(false)));
 		}
-		return derivGeoFun;
+		return deriv;
+	}
+
+	/**
+	 * Derivative together with the state of the function it was computed
+	 * from. Derivatives may contain current values of parameters (numeric
+	 * polynomials), so the update count is part of the state.
+	 */
+	private static final class CachedDerivative {
+		static final int MAX_ORDER = 3;
+
+		final GeoFunction derivative;
+		private int updateCount = -1;
+		private Function source;
+		private ExpressionNode sourceExpression;
+		private boolean sourceDefined;
+		private boolean fast;
+
+		CachedDerivative(GeoFunction derivative) {
+			this.derivative = derivative;
+		}
+
+		boolean isValid(GeoFunction f, boolean fast1) {
+			return updateCount == f.getUpdateCount() && source == f.fun
+					&& source != null
+					&& sourceExpression == source.getExpression()
+					&& sourceDefined == f.isDefined && fast == fast1;
+		}
+
+		void store(GeoFunction f, boolean fast1) {
+			updateCount = f.getUpdateCount();
+			source = f.fun;
+			sourceExpression = f.fun == null ? null : f.fun.getExpression();
+			sourceDefined = f.isDefined;
+			fast = fast1;
+		}
 	}
 
 	/**
@@ -50,6 +50,7 @@
 import org.geogebra.common.kernel.matrix.CoordsDouble3;
 import org.geogebra.common.main.MyError;
 import org.geogebra.common.plugin.GeoClass;
+import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.ExtendedBoolean;
 import org.geogebra.common.util.StringUtil;
@@ -1367,6 +1368,67 @@ private double evaluateNormal(int index, double u, double v) {
 		return fun1[index].evaluate(u, v);
 	}
 
+	@Override
+	public SurfaceEvaluable copyForParallelEvaluation() {
+		if (fun == null || fun1 == null || getVarNumber() != 2
+				|| isBooleanFunction()) {
+			return null;
+		}
+		FunctionVariable[] vars = fun.getFunctionVariables();
+		if (!isThreadSafe(fun, vars)) {
+			return null;
+		}
+		for (FunctionNVar derivative : fun1) {
+			if (!isThreadSafe(derivative, vars)) {
+				return null;
+			}
+		}
+		FunctionVariable[] copyVars = new FunctionVariable[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			copyVars[i] = vars[i].deepCopy(kernel);
+		}
+		GeoFunctionNVar copy = new GeoFunctionNVar(cons, false);
+		copy.fun = copyFunction(fun, vars, copyVars);
+		copy.fun1 = new FunctionNVar[fun1.length];
+		for (int i = 0; i < fun1.length; i++) {
+			copy.fun1[i] = copyFunction(fun1[i], vars, copyVars);
+		}
+		copy.from = from;
+		copy.to = to;
+		copy.shortLHS = shortLHS;
+		return copy;
+	}
+
+	private FunctionNVar copyFunction(FunctionNVar function,
+			FunctionVariable[] vars, FunctionVariable[] copyVars) {
+		ExpressionValue exp = function.getExpression().getCopy(kernel);
+		for (int i = 0; i < vars.length; i++) {
+			exp = exp.wrap().replace(vars[i], copyVars[i]);
+		}
+		return new FunctionNVar(exp.wrap(), copyVars);
+	}
+
+	/**
+	 * Evaluation only sets the function variables, everything else in the
+	 * expression must be read-only: numbers, numeric geos and real functions.
+	 */
+	private static boolean isThreadSafe(FunctionNVar function,
+			FunctionVariable[] vars) {
+		return !function.getExpression().inspect(ev -> {
+			if (ev instanceof ExpressionNode) {
+				Operation op = ((ExpressionNode) ev).getOperation();
+				return !(Operation.isSimpleFunction(op) || op == Operation.PLUS
+						|| op == Operation.MINUS || op == Operation.MULTIPLY
+						|| op == Operation.DIVIDE || op == Operation.POWER
+						|| op == Operation.NO_OPERATION);
+			}
+			if (ev instanceof FunctionVariable) {
+				return !(ev == vars[0] || ev == vars[1]);
+			}
+			return !(ev instanceof MyDouble || ev instanceof GeoNumeric);
+		});
+	}
+
 	@Override
 	public void setAllVisualPropertiesExceptEuclidianVisible(GeoElement geo,
 			boolean keepAdvanced, boolean setAuxiliaryProperty) {
@@ -13,7 +13,11 @@
 package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.CheckForNull;
@@ -48,6 +52,7 @@
 import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
 import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.ListValue;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.arithmetic.MyList;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.arithmetic.ValidExpression;
@@ -64,6 +69,7 @@
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.plugin.GeoClass;
+import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.ExtendedBoolean;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
@@ -87,6 +93,14 @@ public class GeoList extends GeoElement
 	// so we keep a cacheList of all old list elements
 	private final ArrayList<GeoElementND> cacheList;
 
+	// values of a numeric list filled by an algo via startPackedNumbers();
+	// the GeoNumeric elements are only created once somebody asks for them
+	private double[] packedNumbers;
+	private int packedSize = -1;
+	private GeoNumeric packedElement;
+	// elements of a packed list that were requested via get(int), by index
+	private final HashMap<Integer, GeoNumeric> packedViews = new HashMap<>();
+
 	private boolean isDefined = true;
 	private boolean isDrawable = true;
 	private boolean drawAsComboBox = false;
@@ -218,8 +232,8 @@ public GeoList copy() {
 	public GeoList deepCopyGeo() {
 		GeoList ret = new GeoList(cons);
 
-		for (int i = 0; i < elements.size(); i++) {
-			ret.add(elements.get(i).deepCopyGeo());
+		for (int i = 0; i < elementList().size(); i++) {
+			ret.add(elementList().get(i).deepCopyGeo());
 		}
 
 		return ret;
@@ -288,9 +302,15 @@ public void setShowAllProperties(final boolean showAllProperties) {
 	}
 
 	private void copyListElements(final GeoList otherList, boolean internalCopy) {
+		if (otherList.hasPackedNumbers()) {
+			System.arraycopy(otherList.packedNumbers, 0,
+					startPackedNumbers(otherList.packedSize), 0,
+					otherList.packedSize);
+			return;
+		}
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		elements.clear();
+		elementList().clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -405,9 +425,7 @@ public final void removeColorFunction() {
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.removeColorFunction();
 			}
@@ -422,9 +440,7 @@ public final void setColorFunction(final GeoList col) {
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setColorFunction(col);
 			}
@@ -440,9 +456,7 @@ public final void setColorSpace(final int colorSpace) {
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setColorSpace(colorSpace);
 			}
@@ -464,9 +478,7 @@ public final void setShowObjectCondition(final GeoBoolean bool)
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setShowObjectCondition(bool);
 			}
@@ -488,9 +500,7 @@ public void setBasicVisualStyle(final GeoElement style) {
 		if (isEmptyList()) {
 			return;
 		}
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setBasicVisualStyle(style);
 			}
@@ -504,9 +514,7 @@ public void setObjColor(final GColor color) {
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setObjColor(color);
 			}
@@ -521,9 +529,7 @@ public void setBackgroundColor(final GColor color) {
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setBackgroundColor(color);
 			}
@@ -542,9 +548,7 @@ public void setEuclidianVisible(final boolean visible) {
 				&& labelOffsetY == 0) {
 			initScreenLocation();
 		}
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : styleTargets()) {
 			setElementEuclidianVisible(geo, visible);
 		}
 	}
@@ -596,9 +600,7 @@ public void setVisibility(int viewId, boolean setVisible) {
 			return;
 		}
 
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setVisibility(viewId, setVisible);
 			}
@@ -610,14 +612,21 @@ public void setVisibility(int viewId, boolean setVisible) {
 	 */
 	@Override
 	public MyList getMyList() {
-		final int size = elements.size();
+		final int size = size();
 		final MyList myList = new MyList(kernel, size);
 		copyListElements(myList);
 		return myList;
 	}
 
 	private void copyListElements(MyList myList) {
-		for (GeoElement element : elements) {
+		if (hasPackedNumbers()) {
+			for (int i = 0; i < packedSize; i++) {
+				myList.addListElement(new ExpressionNode(kernel,
+						new MyDouble(kernel, packedNumbers[i])));
+			}
+			return;
+		}
+		for (GeoElement element : elementList()) {
 			myList.addListElement(element.isGeoList()
 					? ((GeoList) element).getMyList()
 					: new ExpressionNode(kernel, element));
@@ -628,7 +637,7 @@ private void copyListElements(MyList myList) {
 	 * @param myList list to copy into
 	 */
 	public void deepCopyListElements(MyList myList) {
-		for (GeoElement element : elements) {
+		for (GeoElement element : elementList()) {
 			myList.addListElement(new ExpressionNode(kernel, element.copy()));
 		}
 	}
@@ -646,10 +655,14 @@ public void setDefined(final boolean flag) {
 		isDefined = flag;
 
 		if (!isDefined) {
+			if (hasPackedNumbers()) {
+				Arrays.fill(packedNumbers, 0, packedSize, Double.NaN);
+				return;
+			}
 
-			final int size = elements.size();
+			final int size = elementList().size();
 			for (int i = 0; i < size; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = elementList().get(i);
 				if (!geo.isLabelSet()) {
 					geo.setUndefined();
 				}
@@ -685,6 +698,7 @@ public boolean isDrawable() {
 	 * Clear the list
 	 */
 	public final void clear() {
+		packedSize = -1;
 		for (GeoElement el : elements) {
 			el.removeZoomerAnimationListenerIfNeeded();
 		}
@@ -704,6 +718,7 @@ public final void clearCache() {
 			}
 		}
 		cacheList.clear();
+		packedViews.clear();
 		clear();
 		setUndefined();
 	}
@@ -716,9 +731,9 @@ public final void clearCache() {
 	 */
 	public final void add(final GeoElementND geo) {
 		// add geo to end of list
-		elements.add(geo.toGeoElement());
+		elementList().add(geo.toGeoElement());
 
-		if (elements.size() == 1) {
+		if (elementList().size() == 1) {
 			setTypeStringForXML(geo.getXMLtypeString());
 		}
 
@@ -732,7 +747,7 @@ public final void add(final GeoElementND geo) {
 		 */
 
 		// add to cache
-		final int pos = elements.size() - 1;
+		final int pos = elementList().size() - 1;
 		if (pos < cacheList.size()) {
 			cacheList.set(pos, geo);
 		} else {
@@ -778,7 +793,7 @@ private void updateDrawableFlag(GeoElementND geo) {
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
-		elements.remove(geo);
+		elementList().remove(geo);
 
 	}
 
@@ -804,7 +819,7 @@ public final void addQueue(final GeoElement geo) {
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
-		elements.remove(index);
+		elementList().remove(index);
 
 	}
 
@@ -817,6 +832,9 @@ public final void remove(final int index) {
 	 */
 	@Override
 	final public GeoElement get(final int index) {
+		if (hasPackedNumbers()) {
+			return packedElementAt(index);
+		}
 		return elements.get(index);
 	}
 
@@ -830,7 +848,7 @@ final public GeoElement get(final int index) {
 	 * @return the element at the specified position in this (2D) list.
 	 */
 	final public GeoElement get(final int index, final int index2) {
-		return ((GeoList) elements.get(index)).get(index2);
+		return ((GeoList) get(index)).get(index2);
 	}
 
 	/**
@@ -840,11 +858,14 @@ final public GeoElement get(final int index, final int index2) {
 	 */
 	@Override
 	public double[] toDouble(int offset) {
-		int length = elements.size();
+		int length = size();
 		try {
+			if (hasPackedNumbers()) {
+				return Arrays.copyOfRange(packedNumbers, offset, length);
+			}
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
-				valueArray[i - offset] = elements.get(i).evaluateDouble();
+				valueArray[i - offset] = elementList().get(i).evaluateDouble();
 			}
 			return valueArray;
 		} catch (final Exception e) {
@@ -865,7 +886,184 @@ final public void ensureCapacity(final int size) {
 
 	@Override
 	final public int size() {
-		return elements.size();
+		return hasPackedNumbers() ? packedSize : elements.size();
+	}
+
+	/**
+	 * @return whether the values of this list are stored as plain numbers and
+	 *         the elements have not been created yet
+	 */
+	public boolean hasPackedNumbers() {
+		// packedNumbers is null while the super constructor calls setters
+		return packedNumbers != null && packedSize >= 0;
+	}
+
+	/**
+	 * Replaces the content of this list by a list of numbers. The caller fills
+	 * the returned array; element GeoNumerics are only created when they are
+	 * accessed (e.g. via {@link #get(int)}), reusing cached elements.
+	 *
+	 * @param size
+	 *            number of elements
+	 * @return array of at least given length to be filled with the values
+	 */
+	public double[] startPackedNumbers(int size) {
+		clear();
+		if (packedNumbers == null || packedNumbers.length < size) {
+			packedNumbers = new double[size];
+		}
+		packedSize = size;
+		isDefined = true;
+		if (size > 0) {
+			GeoNumeric template = getPackedElement();
+			setTypeStringForXML(template.getXMLtypeString());
+			elementType = GeoClass.NUMERIC;
+			isDrawable = true;
+			updateDrawableFlag(template);
+		}
+		return packedNumbers;
+	}
+
+	/**
+	 * @param index
+	 *            element position
+	 * @return numeric value of the element at given position (NaN for
+	 *         non-numeric elements)
+	 */
+	public double getNumberAt(int index) {
+		if (hasPackedNumbers()) {
+			return packedNumbers[index];
+		}
+		GeoElement geo = elements.get(index);
+		return geo instanceof NumberValue ? geo.evaluateDouble() : Double.NaN;
+	}
+
+	/**
+	 * @return copy of the values of this list, null if some elements are not
+	 *         numbers
+	 */
+	public double[] toNumberArray() {
+		if (hasPackedNumbers()) {
+			return Arrays.copyOf(packedNumbers, packedSize);
+		}
+		double[] values = new double[elements.size()];
+		for (int i = 0; i < values.length; i++) {
+			GeoElement geo = elements.get(i);
+			if (!(geo instanceof NumberValue)) {
+				return null;
+			}
+			values[i] = geo.evaluateDouble();
+		}
+		return values;
+	}
+
+	private ArrayList<GeoElement> elementList() {
+		if (hasPackedNumbers()) {
+			createPackedElements();
+		}
+		return elements;
+	}
+
+	private void createPackedElements() {
+		int size = packedSize;
+		packedSize = -1;
+		elements.ensureCapacity(size);
+		for (int i = 0; i < size; i++) {
+			GeoNumeric listElement = packedViews.get(i);
+			if (listElement == null) {
+				listElement = getCachedNumber(i);
+			}
+			add(listElement);
+			listElement.setValue(packedNumbers[i]);
+		}
+		packedViews.clear();
+	}
+
+	/**
+	 * Read access to a packed list: returns the element for given position
+	 * without leaving the packed state; only this element is created. The
+	 * same element is used if the list needs real elements later.
+	 */
+	private GeoNumeric packedElementAt(int index) {
+		if (index < 0 || index >= packedSize) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + packedSize);
+		}
+		GeoNumeric listElement = packedViews.get(index);
+		if (listElement == null) {
+			listElement = getCachedNumber(index);
+			applyVisualStyle(listElement);
+			listElement.setViewFlags(getViewSet());
+			listElement.setVisibleInView3D(this);
+			listElement.setVisibleInViewForPlane(this);
+			packedViews.put(index, listElement);
+		}
+		listElement.setValue(packedNumbers[index]);
+		return listElement;
+	}
+
+	/**
+	 * Changes the value of a numeric element; for packed lists the packed
+	 * value is changed.
+	 *
+	 * @param index
+	 *            element position
+	 * @param value
+	 *            new value
+	 */
+	public void setNumberAt(int index, double value) {
+		if (hasPackedNumbers()) {
+			if (index < 0 || index >= packedSize) {
+				throw new IndexOutOfBoundsException(
+						"Index: " + index + ", Size: " + packedSize);
+			}
+			packedNumbers[index] = value;
+			GeoNumeric listElement = packedViews.get(index);
+			if (listElement != null) {
+				listElement.setValue(value);
+			}
+		} else if (elements.get(index) instanceof GeoNumeric) {
+			((GeoNumeric) elements.get(index)).setValue(value);
+		}
+	}
+
+	/**
+	 * Elements that need to follow style changes of this list: all elements,
+	 * for packed lists only those created so far (others get the style of
+	 * the list when they are created).
+	 */
+	private List<? extends GeoElement> styleTargets() {
+		if (!hasPackedNumbers()) {
+			return elements;
+		}
+		ArrayList<GeoElement> targets = new ArrayList<>(packedViews.values());
+		targets.add(getPackedElement());
+		return targets;
+	}
+
+	private GeoNumeric getCachedNumber(int index) {
+		if (index < cacheList.size()) {
+			GeoElementND cached = cacheList.get(index);
+			if (cached instanceof GeoNumeric && !cached.isLabelSet()) {
+				return (GeoNumeric) cached;
+			}
+		}
+		return createNumberElement();
+	}
+
+	private GeoNumeric createNumberElement() {
+		GeoNumeric listElement = new GeoNumeric(cons);
+		listElement.setParentAlgorithm(getParentAlgorithm());
+		listElement.setConstructionDefaults();
+		listElement.setUseVisualDefaults(false);
+		return listElement;
+	}
+
+	private GeoNumeric getPackedElement() {
+		if (packedElement == null) {
+			packedElement = createNumberElement();
+		}
+		return packedElement;
 	}
 
 	/**
@@ -917,8 +1115,20 @@ private StringBuilder buildValueString(StringTemplate tpl) {
 	 * @return sb
 	 */
 	public StringBuilder appendElements(StringBuilder sb, StringTemplate tpl) {
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		if (hasPackedNumbers()) {
+			GeoNumeric geo = getPackedElement();
+			applyVisualStyle(geo);
+			for (int i = 0; i < packedSize; i++) {
+				if (i != 0) {
+					tpl.getCommaOptionalSpace(sb, getLoc());
+				}
+				geo.setValue(packedNumbers[i]);
+				sb.append(geo.toOutputValueString(tpl));
+			}
+			return sb;
+		}
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			if (i != 0) {
 				tpl.getCommaOptionalSpace(sb, getLoc());
 			}
@@ -928,8 +1138,8 @@ public StringBuilder appendElements(StringBuilder sb, StringTemplate tpl) {
 	}
 
 	private void appendElementsForXml(StringBuilder sb) {
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			if (i != 0) {
 				sb.append(',');
 			}
@@ -961,7 +1171,7 @@ public final void getExpressionXML(final StringBuilder sb) {
 			sb.append("\" exp=\"");
 			if (isUndefinedMatrix()) {
 				sb.append('{');
-				for (GeoElement geo: elements) {
+				for (GeoElement geo: elementList()) {
 					sb.append(((GeoList) geo).buildValueString(StringTemplate.xmlTemplate));
 					sb.append(',');
 				}
@@ -1103,13 +1313,23 @@ final public ExtendedBoolean isEqualExtended(final GeoElementND geo) {
 		final GeoList list = (GeoList) geo;
 
 		// check sizes
-		if (elements.size() != list.size()) {
+		if (size() != list.size()) {
 			return ExtendedBoolean.FALSE;
 		}
 
+		if (hasPackedNumbers() && list.hasPackedNumbers()) {
+			for (int i = 0; i < packedSize; i++) {
+				if (!DoubleUtil.isEqual(packedNumbers[i],
+						list.packedNumbers[i])) {
+					return ExtendedBoolean.FALSE;
+				}
+			}
+			return ExtendedBoolean.TRUE;
+		}
+
 		// check each element
-		for (int i = 0; i < list.elements.size(); i++) {
-			final GeoElement geoA = elements.get(i);
+		for (int i = 0; i < list.size(); i++) {
+			final GeoElement geoA = get(i);
 			final GeoElement geoB = list.get(i);
 
 			ExtendedBoolean equal = geoA.isEqualExtended(geoB);
@@ -1130,8 +1350,7 @@ public void setLineThickness(final int thickness) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineThickness(thickness);
 			}
@@ -1148,8 +1367,7 @@ public int getMinimumLineThickness() {
 			return 1;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				if (geo.getMinimumLineThickness() == 1) {
 					return 1;
@@ -1168,8 +1386,7 @@ public void setLineType(final int type) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineType(type);
 			}
@@ -1185,8 +1402,7 @@ public void setLineTypeHidden(final int type) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineTypeHidden(type);
 			}
@@ -1201,8 +1417,7 @@ public void setPointSize(final int size) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet() && (geo instanceof PointProperties)) {
 				((PointProperties) geo).setPointSize(size);
 			}
@@ -1222,8 +1437,7 @@ public void setPointStyle(final int style) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet() && (geo instanceof PointProperties)) {
 				((PointProperties) geo).setPointStyle(style);
 			}
@@ -1239,20 +1453,16 @@ public double getAlphaValue() {
 			if (!isEmptyList()) {
 
 				// get alpha value of first element
-				final double alpha = elements.get(0).getAlphaValue();
+				final double alpha = get(0).getAlphaValue();
 
 				super.setAlphaValue(alpha);
 
 				// set all the other elements in the list
 				// if appropriate
-				if (elements.size() > 1) {
-					for (int i = 1; i < elements.size(); i++) {
-						final GeoElement geo = elements.get(i);
-						if (!geo.isLabelSet()) {
-							geo.setAlphaValue(alpha);
-						}
+				for (GeoElement geo : styleTargets()) {
+					if (!geo.isLabelSet()) {
+						geo.setAlphaValue(alpha);
 					}
-
 				}
 			} else {
 				return -1.0f;
@@ -1277,8 +1487,7 @@ public void setAlphaValue(final double alpha) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setAlphaValue(alpha);
 			}
@@ -1300,8 +1509,7 @@ public boolean isFillable() {
 		boolean someFillable = false;
 		boolean allLabelsSet = true;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (geo.isFillable()) {
 				someFillable = true;
 			}
@@ -1315,7 +1523,7 @@ public boolean isFillable() {
 
 	@Override
 	public GeoElement getGeoElementForPropertiesDialog() {
-		if ((elements.size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
+		if ((elementList().size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
 			return get(0).getGeoElementForPropertiesDialog(); // getGeoElementForPropertiesDialog()
 			// to cope with
 			// lists of
@@ -1338,11 +1546,11 @@ public boolean isMatrix() {
 		if (length == 0) {
 			return false;
 		}
-		for (GeoElement row: elements) {
+		for (GeoElement row: elementList()) {
 			if (!row.isGeoList() || ((GeoList) row).size() != length) {
 				return false;
 			}
-			for (GeoElement geoij: ((GeoList) row).elements) {
+			for (GeoElement geoij: ((GeoList) row).elementList()) {
 				if (geoij.getGeoClassType().equals(GeoClass.LIST)) {
 					return false;
 				}
@@ -1365,8 +1573,7 @@ public void setFontSizeMultiplier(final double size) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setFontSizeMultiplier(size);
 			}
@@ -1386,8 +1593,7 @@ public void setFontStyle(final int fontStyle) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setFontStyle(fontStyle);
 			}
@@ -1408,8 +1614,7 @@ final public int getPrintFigures() {
 	public void setPrintDecimals(final int printDecimals,
 			final boolean update) {
 		this.printDecimals = printDecimals;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setPrintDecimals(printDecimals, update);
 			}
@@ -1419,8 +1624,7 @@ public void setPrintDecimals(final int printDecimals,
 	@Override
 	public void setPrintFigures(final int printFigures, final boolean update) {
 		this.printFigures = printFigures;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setPrintFigures(printFigures, update);
 			}
@@ -1441,8 +1645,7 @@ public boolean isSerifFont() {
 	@Override
 	public void setSerifFont(final boolean serifFont) {
 		this.serifFont = serifFont;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setSerifFont(serifFont);
 			}
@@ -1452,8 +1655,7 @@ public void setSerifFont(final boolean serifFont) {
 	@Override
 	public void setHatchingAngle(final int angle) {
 		super.setHatchingAngle(angle);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setHatchingAngle(angle);
 			}
@@ -1463,8 +1665,7 @@ public void setHatchingAngle(final int angle) {
 	@Override
 	public void setHatchingDistance(final int distance) {
 		super.setHatchingDistance(distance);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setHatchingDistance(distance);
 			}
@@ -1474,8 +1675,7 @@ public void setHatchingDistance(final int distance) {
 	@Override
 	public void setFillType(final FillType type) {
 		super.setFillType(type);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setFillType(type);
 			}
@@ -1485,8 +1685,7 @@ public void setFillType(final FillType type) {
 	@Override
 	public void setFillImage(final String filename) {
 		super.setFillImage(filename);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setFillImage(filename);
 			}
@@ -1496,8 +1695,7 @@ public void setFillImage(final String filename) {
 	@Override
 	public void setImageFileName(final String filename) {
 		super.setImageFileName(filename);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setImageFileName(filename);
 			}
@@ -1516,8 +1714,7 @@ public boolean showLineProperties() {
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if (geo.showLineProperties() && !geo.isLabelSet()) {
 				return true;
 			}
@@ -1538,8 +1735,7 @@ public boolean showPointProperties() {
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : styleTargets()) {
 			if ((geo instanceof PointProperties)
 					&& ((PointProperties) geo).showPointProperties() && !geo.isLabelSet()) {
 				return true;
@@ -1733,7 +1929,7 @@ public void pointChanged(final GeoPointND P) {
 
 		// update closestPointIndex
 		getNearestPoint(P);
-		if (elements.size() == 0) {
+		if (elementList().size() == 0) {
 			if (P.isDefined()) {
 				P.setUndefined();
 			}
@@ -1794,8 +1990,8 @@ public void getNearestPoint(final GeoPointND p) {
 		closestPointIndex = 0; // default - first object
 
 		// double closestIndex = -1;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			if (geo instanceof PathOrPoint) {
 				final double d = p.distanceToPath((PathOrPoint) geo);
 
@@ -1811,8 +2007,8 @@ public void getNearestPoint(final GeoPointND p) {
 	@Override
 	public double distance(final GeoPoint p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1825,8 +2021,8 @@ public double distance(final GeoPoint p) {
 	@Override
 	public double distance(final GeoPointND p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1915,8 +2111,8 @@ private int getIndexFromParameter(double t) {
 
 	@Override
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			if (((PathOrPoint) geo).isOnPath(PI, eps)) {
 				return true;
 			}
@@ -1931,7 +2127,7 @@ public double getMinParameter() {
 
 	@Override
 	public double getMaxParameter() {
-		return elements.size();
+		return elementList().size();
 	}
 
 	@Override
@@ -1952,8 +2148,8 @@ public boolean hasMoveableInputPoints(
 				|| (getParentAlgorithm() instanceof AlgoDependentList))) {
 			return false;
 		}
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 
 			if (geo.isGeoPoint()) {
 				if (!geo.isMoveable()) {
@@ -1979,8 +2175,8 @@ public ArrayList<GeoElementND> getFreeInputPoints(
 			final EuclidianViewInterfaceSlim view) {
 		final ArrayList<GeoElementND> al = new ArrayList<>();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 
 			if (geo.isGeoPoint()) {
 				final GeoPoint p = (GeoPoint) geo;
@@ -2071,7 +2267,7 @@ public boolean listContains(final GeoElement geo) {
 		if (elements == null) {
 			return true;
 		}
-		return elements.contains(geo);
+		return elementList().contains(geo);
 	}
 
 	@Override
@@ -2094,8 +2290,8 @@ public boolean isLaTeXDrawableGeo() {
 			return false;
 		}
 		boolean ret = true;
-		for (int i = 0; i < elements.size(); i++) {
-			GeoElement geo1 = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			GeoElement geo1 = elementList().get(i);
 			if (!geo1.isLaTeXDrawableGeo()) {
 				return false;
 			}
@@ -2107,8 +2303,8 @@ public boolean isLaTeXDrawableGeo() {
 	public void updateColumnHeadingsForTraceValues() {
 		resetSpreadsheetColumnHeadings();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				final ArrayList<GeoText> geoHead = geo.getColumnHeadings();
 				for (int j = 0; j < geoHead.size(); j++) {
@@ -2194,7 +2390,7 @@ public TraceModesEnum getTraceModes() {
 		if (getParentAlgorithm() != null
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : traceModes is computed from A, B
-			traceModes = getTraceModes(elements);
+			traceModes = getTraceModes(elementList());
 		} else {
 			// e.g. Sequence[...] is only copied
 			traceModes = TraceModesEnum.ONLY_COPY;
@@ -2216,7 +2412,7 @@ public String getTraceDialogAsValues() {
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : names for A, B
 			boolean notFirst = false;
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : elementList()) {
 				if (notFirst) {
 					sb.append(", ");
 				}
@@ -2239,8 +2435,8 @@ public String getTraceDialogAsValues() {
 	public void addToSpreadsheetTraceList(
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elementList().size(); i++) {
+			final GeoElement geo = elementList().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				((SpreadsheetTraceable) geo)
 						.addToSpreadsheetTraceList(spreadsheetTraceList);
@@ -2280,7 +2476,7 @@ public int performScriptActions(EvalInfo info) {
 	 * @return position of needle in this list or -1 when not found
 	 */
 	public int find(GeoElement needle) {
-		return elements.indexOf(needle);
+		return elementList().indexOf(needle);
 	}
 
 	/**
@@ -2583,7 +2779,7 @@ public boolean showOnAxis() {
 	public void setShowOnAxis(boolean showOnAxis) {
 		this.showOnAxis = showOnAxis;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet() && (geo instanceof InequalityProperties)) {
 				((InequalityProperties) geo).setShowOnAxis(showOnAxis);
 			}
@@ -2594,7 +2790,7 @@ public void setShowOnAxis(boolean showOnAxis) {
 	 * @return true if this list contains a 3D geo
 	 */
 	public boolean containsGeoElement3D() {
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : styleTargets()) {
 			boolean contains;
 			if (geo.isGeoList()) {
 				contains = ((GeoList) geo).containsGeoElement3D();
@@ -2611,10 +2807,10 @@ public boolean containsGeoElement3D() {
 
 	@Override
 	final public Coords getMainDirection() {
-		if (elements.size() <= closestPointIndex) {
+		if (elementList().size() <= closestPointIndex) {
 			return Coords.VX;
 		}
-		return elements.get(closestPointIndex).getMainDirection();
+		return elementList().get(closestPointIndex).getMainDirection();
 	}
 
 	@Override
@@ -2659,7 +2855,7 @@ public void setAngleStyle(AngleStyle angleStyle) {
 			newAngleStyle = AngleStyle.ANTICLOCKWISE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elementList()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setAngleStyle(angleStyle);
 			}
@@ -2708,7 +2904,7 @@ final public void setAllowReflexAngle(boolean allowReflexAngle) {
 			setAngleStyle(AngleStyle.NOTREFLEX);
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elementList()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setAllowReflexAngle(allowReflexAngle);
 			}
@@ -2726,7 +2922,7 @@ final public void setAllowReflexAngle(boolean allowReflexAngle) {
 	public void setEmphasizeRightAngle(boolean emphasizeRightAngle) {
 		this.emphasizeRightAngle = emphasizeRightAngle;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo)
 						.setEmphasizeRightAngle(emphasizeRightAngle);
@@ -2749,7 +2945,7 @@ final public void setForceReflexAngle(boolean forceReflexAngle) {
 			setAngleStyle(AngleStyle.ANTICLOCKWISE);
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setForceReflexAngle(forceReflexAngle);
 			}
@@ -2761,7 +2957,7 @@ public void setDecorationType(int type) {
 		setDecorationType(type, GeoAngle.getDecoTypes().length);
 
 		if (elements != null) {
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : styleTargets()) {
 				if (!geo.isLabelSet()) {
 					if (geo instanceof AngleProperties) {
 						((AngleProperties) geo).setDecorationType(type);
@@ -2784,7 +2980,7 @@ public void setDecorationType(int type) {
 	public void setArcSize(int i) {
 		arcSize = i;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setArcSize(i);
 			}
@@ -2826,7 +3022,7 @@ public void replaceChildrenByValues(GeoElement vars) {
 				&& this.elementType != ELEMENT_TYPE_MIXED) {
 			return;
 		}
-		for (GeoElement listElement : this.elements) {
+		for (GeoElement listElement : elementList()) {
 			if (listElement instanceof CasEvaluableFunction) {
 				CasEvaluableFunction f = (CasEvaluableFunction) listElement;
 				f.replaceChildrenByValues(vars);
@@ -2929,7 +3125,7 @@ public GeoElement createTemplateElement() {
 			return new GeoNumeric(cons);
 		}
 		// list not zero length
-		return getGenericElement(elements).copyInternal(cons);
+		return getGenericElement(elementList()).copyInternal(cons);
 	}
 
 	@Override
@@ -2950,7 +3146,7 @@ public void setLineOpacity(int lineOpacity) {
 			return;
 		}
 
-		for (final GeoElement geo : elements) {
+		for (final GeoElement geo : styleTargets()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineOpacity(lineOpacity);
 			}
@@ -3021,7 +3217,7 @@ public DescriptionMode getDescriptionMode() {
 			return DescriptionMode.DEFINITION_VALUE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elementList()) {
 			if (geo.getDescriptionMode() == DescriptionMode.DEFINITION_VALUE
 					&& !Equation.isAlgebraEquation(geo)) {
 				return DescriptionMode.DEFINITION_VALUE;
@@ -3079,10 +3275,10 @@ public String getLaTeXAlgebraDescriptionWithFallback(
 	public void resetDefinition() {
 		super.resetDefinition();
 		for (int i = 0; i < size(); i++) {
-			if (elements.get(i).isLabelSet()) {
-				elements.set(i, elements.get(i).copyInternal(cons));
+			if (elementList().get(i).isLabelSet()) {
+				elementList().set(i, elementList().get(i).copyInternal(cons));
 			} else {
-				this.elements.get(i).resetDefinition();
+				elementList().get(i).resetDefinition();
 			}
 		}
 	}
@@ -3093,7 +3289,7 @@ public void resetDefinition() {
 	public void resetDefinitionDependentList() {
 		super.resetDefinition();
 		for (int i = 0; i < size(); i++) {
-			this.elements.get(i).resetDefinition();
+			elementList().get(i).resetDefinition();
 		}
 	}
 
@@ -3137,7 +3333,7 @@ public void selectNext() {
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
-		this.elements.set(i, element);
+		elementList().set(i, element);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
@@ -3378,6 +3574,9 @@ public boolean wasDefinedWithCurlyBrackets() {
 	 * @return new array with elements
 	 */
 	public Stream<GeoElement> elements() {
+		if (hasPackedNumbers()) {
+			return IntStream.range(0, packedSize).mapToObj(this::get);
+		}
 		return elements.stream();
 	}
 
@@ -3424,19 +3623,19 @@ public boolean hasTableOfValues() {
 	}
 
 	public boolean isEmptyList() {
-		return elements == null || elements.isEmpty();
+		return elements == null || size() == 0;
 	}
 
 	/**
 	 * @return whether this is a list of lists of undefined elements
 	 */
 	public boolean isUndefinedMatrix() {
-		return !elements.isEmpty() && elements().allMatch(row
+		return !elementList().isEmpty() && elements().allMatch(row
 				-> row.isGeoList() && ((GeoList) row).isUndefinedList());
 	}
 
 	private boolean isUndefinedList() {
-		return !elements.isEmpty() && elements().noneMatch(GeoElement::isDefined);
+		return !elementList().isEmpty() && elements().noneMatch(GeoElement::isDefined);
 	}
 
 	@Override
@@ -92,6 +92,11 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	 * Underlying drawing algorithm
 	 */
 	protected final QuadTree quadTree = new WebExperimentalQuadTree();
+	/**
+	 * Drawing algorithm for polynomials
+	 */
+	private final QuadTree intervalQuadTree = new IntervalQuadTree(this,
+			quadTree);
 
 	private final double[] evalArray = new double[2];
 	private final double[] derEvalArray = new double[2];
@@ -812,6 +817,14 @@ private synchronized void doUpdatePath() {
 		}
 	}
 
+	/**
+	 * @return coefficients of the squarefree factors, null if this is not a
+	 *         polynomial
+	 */
+	double[][][] getCoeffSquarefree() {
+		return coeffSquarefree;
+	}
+
 	private static double get(double[] ds, int i) {
 		return ds.length > i ? ds[i] : 0;
 	}
@@ -819,7 +832,8 @@ private static double get(double[] ds, int i) {
 	private void updatePathQuadTree(double x, double y, double w, double h,
 			double scaleX, double scaleY) {
 		locus.getPoints().clear();
-		quadTree.updatePath(x, y - h, w, h, scaleX, scaleY, locus);
+		QuadTree tree = coeffSquarefree != null ? intervalQuadTree : quadTree;
+		tree.updatePath(x, y - h, w, h, scaleX, scaleY, locus);
 	}
 
 	/**
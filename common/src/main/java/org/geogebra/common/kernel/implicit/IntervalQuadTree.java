@@ -0,0 +1,455 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.common.kernel.algos.ParallelUpdateExecutor;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.interval.Interval;
+import org.geogebra.common.kernel.interval.operators.IntervalNodeEvaluator;
+
+/**
+ * Quadtree for polynomial curves. The plane is covered by a fixed grid of
+ * tiles; cells of a tile are discarded as soon as interval arithmetic shows
+ * that the polynomial has no zero in them, the remaining cells are refined
+ * down to leaves of a few pixels. Tiles are traced on the kernel's parallel
+ * executor (if there is one) and their segments are cached, so after panning
+ * only the tiles that became visible need to be traced.
+ *
+ * Leaves are on a global grid with power of two cell size, so neighbouring
+ * leaves (also in different tiles) compute the same points on shared edges.
+ *
+ * Missing tiles are refined level by level, all tiles of a level at once.
+ * If the view is too far from the origin for the tile grid or the work for
+ * the missing tiles exceeds {@link #TRACE_BUDGET} (high degree curves), the
+ * fallback tree draws the curve instead; tiles that were finished stay
+ * cached. The budget counts evaluated polynomial terms and is only checked
+ * between levels, so whether it is exceeded does not depend on timing or on
+ * the number of threads.
+ */
+class IntervalQuadTree extends QuadTree {
+	/** leaves are at most this many pixels wide */
+	private static final double LEAF_PIXELS = 3;
+	/** a tile has TILE_LEAVES x TILE_LEAVES leaves */
+	private static final int TILE_LEAVES = 32;
+	/** when more tiles are cached, invisible ones are removed */
+	private static final int MAX_CACHED_TILES = 1024;
+	/** tile indices need to fit into an int */
+	private static final double MAX_TILE_INDEX = 1 << 30;
+	/**
+	 * number of polynomial terms that may be evaluated for missing tiles in
+	 * one update (roughly 100ms)
+	 */
+	private static final long TRACE_BUDGET = 1 << 20;
+
+	private final GeoImplicitCurve curve;
+	private final QuadTree fallback;
+	private boolean complete;
+	/** traced segments (x1, y1, x2, y2) per factor and tile */
+	private final ArrayList<HashMap<Long, double[]>> cache = new ArrayList<>();
+	private double[][][] cachedCoeff;
+	private double cachedCellWidth;
+	private double cachedCellHeight;
+
+	/**
+	 * @param curve
+	 *            polynomial curve
+	 * @param fallback
+	 *            tree used when the curve cannot be traced with tiles
+	 */
+	IntervalQuadTree(GeoImplicitCurve curve, QuadTree fallback) {
+		super(curve);
+		this.curve = curve;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public void updatePath(double startX, double startY, double width,
+			double height, double slX, double slY, GeoLocus locus) {
+		complete = false;
+		super.updatePath(startX, startY, width, height, slX, slY, locus);
+		if (!complete) {
+			locus.getPoints().clear();
+			fallback.updatePath(startX, startY, width, height, slX, slY,
+					locus);
+		}
+	}
+
+	@Override
+	public void updatePath() {
+		double[][][] coeff = curve.getCoeffSquarefree();
+		double cellWidth = leafSize(scaleX);
+		double cellHeight = leafSize(scaleY);
+		double tileWidth = cellWidth * TILE_LEAVES;
+		double tileHeight = cellHeight * TILE_LEAVES;
+		if (coeff == null || Double.isInfinite(tileWidth)
+				|| Double.isInfinite(tileHeight)
+				|| !isTileIndex((Math.abs(x) + w) / tileWidth)
+				|| !isTileIndex((Math.abs(y) + h) / tileHeight)) {
+			return;
+		}
+		validateCache(coeff, cellWidth, cellHeight);
+		int minX = (int) Math.floor(x / tileWidth);
+		int maxX = (int) Math.floor((x + w) / tileWidth);
+		int minY = (int) Math.floor(y / tileHeight);
+		int maxY = (int) Math.floor((y + h) / tileHeight);
+
+		ArrayList<TileTracer> missing = new ArrayList<>();
+		for (int factor = 0; factor < coeff.length; factor++) {
+			HashMap<Long, double[]> tiles = cache.get(factor);
+			for (int ty = minY; ty <= maxY; ty++) {
+				for (int tx = minX; tx <= maxX; tx++) {
+					if (!tiles.containsKey(key(tx, ty))) {
+						missing.add(new TileTracer(coeff[factor], factor, tx, ty,
+								cellWidth, cellHeight));
+					}
+				}
+			}
+		}
+		if (!trace(missing)) {
+			return;
+		}
+		complete = true;
+
+		for (int factor = 0; factor < coeff.length; factor++) {
+			HashMap<Long, double[]> tiles = cache.get(factor);
+			for (int ty = minY; ty <= maxY; ty++) {
+				for (int tx = minX; tx <= maxX; tx++) {
+					double[] segments = tiles.get(key(tx, ty));
+					for (int i = 0; i < segments.length; i += 4) {
+						addSegment(
+								new MyPoint(segments[i], segments[i + 1],
+										SegmentType.MOVE_TO),
+								new MyPoint(segments[i + 2], segments[i + 3],
+										SegmentType.LINE_TO));
+					}
+				}
+			}
+			if (tiles.size() > MAX_CACHED_TILES) {
+				removeInvisibleTiles(tiles, minX, maxX, minY, maxY);
+			}
+		}
+	}
+
+	/**
+	 * Traces the tiles and caches the ones that finished within the budget.
+	 *
+	 * @return whether all tiles finished
+	 */
+	private boolean trace(ArrayList<TileTracer> tracers) {
+		ParallelUpdateExecutor executor = curve.getKernel()
+				.getParallelUpdateExecutor();
+		ArrayList<TileTracer> active = new ArrayList<>(tracers);
+		long work = 0;
+		while (!active.isEmpty() && work <= TRACE_BUDGET) {
+			if (executor != null && active.size() > 1) {
+				executor.runEach(new ArrayList<Runnable>(active));
+			} else {
+				for (TileTracer tracer : active) {
+					tracer.run();
+				}
+			}
+			work = 0;
+			Iterator<TileTracer> it = active.iterator();
+			while (it.hasNext()) {
+				TileTracer tracer = it.next();
+				if (tracer.isFinished()) {
+					cache.get(tracer.factor).put(
+							key(tracer.tileX, tracer.tileY),
+							tracer.getSegments());
+					it.remove();
+				}
+			}
+			for (TileTracer tracer : tracers) {
+				work += tracer.work;
+			}
+		}
+		return active.isEmpty();
+	}
+
+	private void validateCache(double[][][] coeff, double cellWidth,
+			double cellHeight) {
+		if (cellWidth == cachedCellWidth && cellHeight == cachedCellHeight
+				&& Arrays.deepEquals(coeff, cachedCoeff)) {
+			return;
+		}
+		cachedCellWidth = cellWidth;
+		cachedCellHeight = cellHeight;
+		cachedCoeff = new double[coeff.length][][];
+		cache.clear();
+		for (int factor = 0; factor < coeff.length; factor++) {
+			cachedCoeff[factor] = copy(coeff[factor]);
+			cache.add(new HashMap<>());
+		}
+	}
+
+	private static double[][] copy(double[][] coeff) {
+		if (coeff == null) {
+			return null;
+		}
+		double[][] ret = new double[coeff.length][];
+		for (int i = 0; i < coeff.length; i++) {
+			ret[i] = coeff[i] == null ? null
+					: Arrays.copyOf(coeff[i], coeff[i].length);
+		}
+		return ret;
+	}
+
+	private static void removeInvisibleTiles(HashMap<Long, double[]> tiles,
+			int minX, int maxX, int minY, int maxY) {
+		Iterator<Long> keys = tiles.keySet().iterator();
+		while (keys.hasNext()) {
+			long key = keys.next();
+			int tx = (int) (key >> 32);
+			int ty = (int) key;
+			if (tx < minX || tx > maxX || ty < minY || ty > maxY) {
+				keys.remove();
+			}
+		}
+	}
+
+	/**
+	 * @param scale
+	 *            pixels per unit
+	 * @return power of two leaf size (in world coordinates)
+	 */
+	private static double leafSize(double scale) {
+		return Math.pow(2,
+				Math.floor(Math.log(LEAF_PIXELS / scale) / Math.log(2)));
+	}
+
+	private static boolean isTileIndex(double index) {
+		return index < MAX_TILE_INDEX;
+	}
+
+	private static long key(int tx, int ty) {
+		return ((long) tx << 32) | (ty & 0xffffffffL);
+	}
+
+	/**
+	 * Traces one factor of the curve in one tile, only reads the coefficients
+	 * so several tracers can run concurrently. Each run refines the cells of
+	 * one level; children are queued in the same order as a depth-first
+	 * traversal would visit them, so the segments are in the same order.
+	 */
+	private static class TileTracer implements Runnable {
+		private static final int CORNERS = TILE_LEAVES + 1;
+
+		private final double[][] coeff;
+		private final int factor;
+		private final int tileX;
+		private final int tileY;
+		private final double cellWidth;
+		private final double cellHeight;
+		private final double[] values = new double[CORNERS * CORNERS];
+		private final boolean[] evaluated = new boolean[CORNERS * CORNERS];
+		private final IntervalNodeEvaluator evaluator = new IntervalNodeEvaluator();
+		private Interval[] xPowers;
+		private Interval[] yPowers;
+		private double[] segments = new double[64];
+		private int size;
+		/** corners (j * CORNERS + i) of the cells to refine in the next run */
+		private int[] pending = new int[16];
+		private int pendingCount;
+		private int[] next = new int[16];
+		private int nextCount;
+		/** size of the pending cells */
+		private int cells = TILE_LEAVES;
+		/** terms evaluated for one cell or corner */
+		private int terms;
+		/** terms evaluated so far */
+		private long work;
+
+		TileTracer(double[][] coeff, int factor, int tileX, int tileY,
+				double cellWidth, double cellHeight) {
+			this.coeff = coeff;
+			this.factor = factor;
+			this.tileX = tileX;
+			this.tileY = tileY;
+			this.cellWidth = cellWidth;
+			this.cellHeight = cellHeight;
+			if (coeff == null || coeff.length == 0) {
+				return;
+			}
+			int degY = 0;
+			for (double[] row : coeff) {
+				if (row == null) {
+					return;
+				}
+				degY = Math.max(degY, row.length - 1);
+				for (double c : row) {
+					if (c != 0) {
+						terms++;
+					}
+				}
+			}
+			terms += coeff.length + degY;
+			xPowers = new Interval[coeff.length];
+			yPowers = new Interval[degY + 1];
+			pending[pendingCount++] = 0;
+		}
+
+		@Override
+		public void run() {
+			nextCount = 0;
+			int half = cells / 2;
+			for (int k = 0; k < pendingCount; k++) {
+				int i = pending[k] % CORNERS;
+				int j = pending[k] / CORNERS;
+				if (!mayContainZero(i, j, cells)) {
+					continue;
+				}
+				if (cells == 1) {
+					traceLeaf(i, j);
+				} else {
+					queue(i, j);
+					queue(i + half, j);
+					queue(i, j + half);
+					queue(i + half, j + half);
+				}
+			}
+			int[] swap = pending;
+			pending = next;
+			next = swap;
+			pendingCount = nextCount;
+			cells = half;
+		}
+
+		private void queue(int i, int j) {
+			if (nextCount == next.length) {
+				next = Arrays.copyOf(next, 2 * next.length);
+			}
+			next[nextCount++] = j * CORNERS + i;
+		}
+
+		boolean isFinished() {
+			return pendingCount == 0;
+		}
+
+		double[] getSegments() {
+			return Arrays.copyOf(segments, size);
+		}
+
+		/**
+		 * @return false if the polynomial has no zero in the given cells
+		 */
+		private boolean mayContainZero(int i, int j, int cells) {
+			work += terms;
+			powers(xPowers, new Interval(xAt(i), xAt(i + cells)));
+			powers(yPowers, new Interval(yAt(j), yAt(j + cells)));
+			Interval sum = new Interval(0);
+			for (int k = 0; k < coeff.length; k++) {
+				for (int l = 0; l < coeff[k].length; l++) {
+					if (coeff[k][l] != 0) {
+						sum.add(evaluator.multiply(new Interval(coeff[k][l]),
+								evaluator.multiply(xPowers[k], yPowers[l])));
+					}
+				}
+			}
+			return sum.isUndefined() || sum.hasZero();
+		}
+
+		private void powers(Interval[] powers, Interval range) {
+			powers[0] = new Interval(1);
+			for (int k = 1; k < powers.length; k++) {
+				powers[k] = evaluator.pow(range, k);
+			}
+		}
+
+		private void traceLeaf(int i, int j) {
+			double bl = valueAt(i, j);
+			double br = valueAt(i + 1, j);
+			double tl = valueAt(i, j + 1);
+			double tr = valueAt(i + 1, j + 1);
+			if (!isFinite(bl) || !isFinite(br) || !isFinite(tl)
+					|| !isFinite(tr)) {
+				return;
+			}
+			boolean sbl = bl > 0;
+			boolean sbr = br > 0;
+			boolean stl = tl > 0;
+			boolean str = tr > 0;
+			// edge points are always interpolated from the corner with lower
+			// index, so that neighbouring leaves share them exactly
+			double x1 = xAt(i);
+			double x2 = xAt(i + 1);
+			double y1 = yAt(j);
+			double y2 = yAt(j + 1);
+			double bottom = GeoImplicitCurve.interpolate(bl, br, x1, x2);
+			double top = GeoImplicitCurve.interpolate(tl, tr, x1, x2);
+			double left = GeoImplicitCurve.interpolate(bl, tl, y1, y2);
+			double right = GeoImplicitCurve.interpolate(br, tr, y1, y2);
+			if (sbl == str && sbr == stl && sbl != sbr) {
+				// saddle: decide by the value in the center
+				double center = GeoImplicitCurve.evalPolyCoeffAt(
+						(x1 + x2) / 2, (y1 + y2) / 2, coeff);
+				if ((center > 0) == sbl) {
+					add(bottom, y1, x2, right);
+					add(x1, left, top, y2);
+				} else {
+					add(bottom, y1, x1, left);
+					add(top, y2, x2, right);
+				}
+				return;
+			}
+			double[] points = new double[4];
+			int count = 0;
+			if (sbl != sbr) {
+				points[count++] = bottom;
+				points[count++] = y1;
+			}
+			if (stl != str) {
+				points[count++] = top;
+				points[count++] = y2;
+			}
+			if (sbl != stl) {
+				points[count++] = x1;
+				points[count++] = left;
+			}
+			if (sbr != str) {
+				points[count++] = x2;
+				points[count++] = right;
+			}
+			if (count == 4) {
+				add(points[0], points[1], points[2], points[3]);
+			}
+		}
+
+		private void add(double x1, double y1, double x2, double y2) {
+			if (size + 4 > segments.length) {
+				segments = Arrays.copyOf(segments, 2 * segments.length);
+			}
+			segments[size++] = x1;
+			segments[size++] = y1;
+			segments[size++] = x2;
+			segments[size++] = y2;
+		}
+
+		private double valueAt(int i, int j) {
+			int index = j * CORNERS + i;
+			if (!evaluated[index]) {
+				work += terms;
+				values[index] = GeoImplicitCurve.evalPolyCoeffAt(xAt(i), yAt(j),
+						coeff);
+				evaluated[index] = true;
+			}
+			return values[index];
+		}
+
+		private double xAt(int i) {
+			return ((long) tileX * TILE_LEAVES + i) * cellWidth;
+		}
+
+		private double yAt(int j) {
+			return ((long) tileY * TILE_LEAVES + j) * cellHeight;
+		}
+
+		private static boolean isFinite(double value) {
+			return !Double.isNaN(value) && !Double.isInfinite(value);
+		}
+	}
+}
@@ -106,4 +106,11 @@ public String toString() {
 	public int piece() {
 		return piece;
 	}
+
+	/**
+	 * @param piece where the tuple belongs (for different If() command parts)
+	 */
+	public void setPiece(int piece) {
+		this.piece = piece;
+	}
 }
@@ -1,8 +1,8 @@
 package org.geogebra.common.kernel.interval.function;
 
-import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -10,18 +10,44 @@
 import org.geogebra.common.kernel.interval.Interval;
 
 /**
- * List to hold IntervalTuples
+ * List to hold IntervalTuples.
+ *
+ * Bounds and flags are packed into primitive arrays used as a ring buffer,
+ * so tuples can be added or removed at both ends in constant time without
+ * allocating: panning the view only shifts the window.
+ * Tuples returned by {@link #get(int)} are copies of the stored values.
  *
  * @author laszlo
  */
 public class IntervalTupleList implements Iterable<IntervalTuple> {
-	private final List<IntervalTuple> list;
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final byte X_INVERTED = 1;
+	private static final byte Y_INVERTED = 2;
+
+	private double[] xLow;
+	private double[] xHigh;
+	private double[] yLow;
+	private double[] yHigh;
+	private byte[] flags;
+	private int[] pieces;
+	/** physical index of the first tuple */
+	private int head;
+	private int size;
 
 	/**
 	 * Constructor.
 	 */
 	public IntervalTupleList() {
-		this.list = new ArrayList<>();
+		allocate(DEFAULT_CAPACITY);
+	}
+
+	private void allocate(int capacity) {
+		xLow = new double[capacity];
+		xHigh = new double[capacity];
+		yLow = new double[capacity];
+		yHigh = new double[capacity];
+		flags = new byte[capacity];
+		pieces = new int[capacity];
 	}
 
 	/**
@@ -29,22 +55,143 @@ public IntervalTupleList() {
 	 * @param tuple to add
 	 */
 	public void add(IntervalTuple tuple) {
-		list.add(tuple);
+		add(tuple.x(), tuple.y(), tuple.piece());
+	}
+
+	/**
+	 * Adds (x, y) pair to the end of the list, without keeping references to
+	 * the intervals.
+	 *
+	 * @param x interval of x coordinates.
+	 * @param y interval of y coordinates.
+	 * @param piece where the tuple belongs (for different If() command parts)
+	 */
+	public void add(Interval x, Interval y, int piece) {
+		ensureCapacity(size + 1);
+		store(physicalIndex(size), x, y, piece);
+		size++;
 	}
 
 	/**
 	 *
 	 * @param index of tuple to get.
-	 * @return the tuple on the given index.
+	 * @return copy of the tuple on the given index, null if index is out of range.
 	 */
 	public IntervalTuple get(int index) {
-		return index > -1 && index < list.size() ? list.get(index) : null;
+		return isValidIndex(index) ? get(index, new IntervalTuple()) : null;
+	}
+
+	/**
+	 * Copies the values of a tuple to an existing one.
+	 *
+	 * @param index of tuple to get.
+	 * @param tuple to copy the values to.
+	 * @return the tuple parameter, or null if index is out of range.
+	 */
+	public IntervalTuple get(int index, IntervalTuple tuple) {
+		if (!isValidIndex(index)) {
+			return null;
+		}
+		int i = physicalIndex(index);
+		tuple.x().set(xLow[i], xHigh[i]);
+		tuple.x().setInverted((flags[i] & X_INVERTED) != 0);
+		tuple.y().set(yLow[i], yHigh[i]);
+		tuple.y().setInverted((flags[i] & Y_INVERTED) != 0);
+		tuple.setPiece(pieces[i]);
+		return tuple;
+	}
+
+	/**
+	 * Replaces the y value of a tuple. Tuples with different indices may be
+	 * updated from different threads.
+	 *
+	 * @param index of the tuple.
+	 * @param y the new value.
+	 */
+	public void setValueAt(int index, Interval y) {
+		int i = physicalIndex(index);
+		yLow[i] = y.getLow();
+		yHigh[i] = y.getHigh();
+		flags[i] = (byte) ((flags[i] & X_INVERTED) | (y.isInverted() ? Y_INVERTED : 0));
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return low bound of the x interval.
+	 */
+	public double xLowAt(int index) {
+		return xLow[physicalIndex(index)];
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return high bound of the x interval.
+	 */
+	public double xHighAt(int index) {
+		return xHigh[physicalIndex(index)];
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return low bound of the y interval.
+	 */
+	public double yLowAt(int index) {
+		return yLow[physicalIndex(index)];
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return high bound of the y interval.
+	 */
+	public double yHighAt(int index) {
+		return yHigh[physicalIndex(index)];
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return if y value of the tuple is inverted.
+	 */
+	public boolean isInvertedAt(int index) {
+		return (flags[physicalIndex(index)] & Y_INVERTED) != 0;
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return if y value of the tuple is undefined.
+	 */
+	public boolean isUndefinedAt(int index) {
+		int i = physicalIndex(index);
+		return yLow[i] > yHigh[i];
+	}
+
+	/**
+	 * @param index of the tuple.
+	 * @return if y value of the tuple is the whole interval.
+	 */
+	public boolean isWholeAt(int index) {
+		int i = physicalIndex(index);
+		return yLow[i] == Double.NEGATIVE_INFINITY && yHigh[i] == Double.POSITIVE_INFINITY;
 	}
 
 	@Nonnull
 	@Override
 	public Iterator<IntervalTuple> iterator() {
-		return list.iterator();
+		return new Iterator<IntervalTuple>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public IntervalTuple next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(index++);
+			}
+		};
 	}
 
 	/**
@@ -52,7 +199,7 @@ public Iterator<IntervalTuple> iterator() {
 	 * @return the size of the list
 	 */
 	public int count() {
-		return list.size();
+		return size;
 	}
 
 	/**
@@ -60,22 +207,36 @@ public int count() {
 	 * @return true if the list has no tuples.
 	 */
 	public boolean isEmpty() {
-		return list.isEmpty();
+		return size == 0;
 	}
 
+	/**
+	 *
+	 * @return if there are at least two defined tuples.
+	 */
 	public boolean isValid() {
-		return countDefined() > 1;
-	}
-
-	private long countDefined() {
-		return stream().filter(t -> !t.y().isUndefined()).count();
+		int defined = 0;
+		for (int index = 0; index < size && defined < 2; index++) {
+			if (!isUndefinedAt(index)) {
+				defined++;
+			}
+		}
+		return defined > 1;
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof IntervalTupleList) {
 			IntervalTupleList other = (IntervalTupleList) obj;
-			return list.equals(other.list);
+			if (size != other.size) {
+				return false;
+			}
+			for (int index = 0; index < size; index++) {
+				if (!get(index).equals(other.get(index))) {
+					return false;
+				}
+			}
+			return true;
 		}
 		return super.equals(obj);
 	}
@@ -83,7 +244,7 @@ public boolean equals(Object obj) {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		for (IntervalTuple point: list) {
+		for (IntervalTuple point: this) {
 			sb.append(point.toString());
 		}
 		return sb.toString();
@@ -92,14 +253,18 @@ public String toString() {
 	@Override
 	public int hashCode() {
 		int hashCode = 7;
-		for (IntervalTuple point: list) {
+		for (IntervalTuple point: this) {
 			hashCode += point.hashCode();
 		}
 		return hashCode;
 	}
 
+	/**
+	 * Removes all tuples, keeps the allocated storage.
+	 */
 	public void clear() {
-		list.clear();
+		head = 0;
+		size = 0;
 	}
 
 	public Interval valueAt(int index) {
@@ -111,7 +276,7 @@ public Interval valueAt(int index) {
 	 * @return as a stream of {@link IntervalTuple}
 	 */
 	public Stream<IntervalTuple> stream() {
-		return list.stream();
+		return IntStream.range(0, size).mapToObj(this::get);
 	}
 
 	/**
@@ -119,7 +284,7 @@ public Stream<IntervalTuple> stream() {
 	 * @return the first tuple in the list.
 	 */
 	public IntervalTuple first() {
-		return list.get(0);
+		return get(0);
 	}
 
 	/**
@@ -127,7 +292,7 @@ public IntervalTuple first() {
 	 * @return the last tuple in the list.
 	 */
 	public IntervalTuple last() {
-		return list.get(count() - 1);
+		return get(size - 1);
 	}
 
 	/**
@@ -135,20 +300,105 @@ public IntervalTuple last() {
 	 * @param tuple to prepend.
 	 */
 	public void prepend(IntervalTuple tuple) {
-		list.add(0, tuple);
+		prepend(tuple.x(), tuple.y(), tuple.piece());
+	}
+
+	/**
+	 * Adds (x, y) pair to the beginning of the list, without keeping
+	 * references to the intervals.
+	 *
+	 * @param x interval of x coordinates.
+	 * @param y interval of y coordinates.
+	 * @param piece where the tuple belongs (for different If() command parts)
+	 */
+	public void prepend(Interval x, Interval y, int piece) {
+		ensureCapacity(size + 1);
+		head = physicalIndex(-1);
+		store(head, x, y, piece);
+		size++;
 	}
 
 	/**
 	 * Removes the last item.
 	 */
 	public void removeLast() {
-		list.remove(list.size() - 1);
+		checkNotEmpty();
+		size--;
 	}
 
 	/**
 	 * Removes the first item.
 	 */
 	public void removeFirst() {
-		list.remove(0);
+		checkNotEmpty();
+		head = physicalIndex(1);
+		size--;
+	}
+
+	private void checkNotEmpty() {
+		if (size == 0) {
+			throw new IndexOutOfBoundsException("List is empty");
+		}
+	}
+
+	private boolean isValidIndex(int index) {
+		return index > -1 && index < size;
+	}
+
+	private int physicalIndex(int index) {
+		return (head + index) & (flags.length - 1);
+	}
+
+	private void store(int i, Interval x, Interval y, int piece) {
+		xLow[i] = x.getLow();
+		xHigh[i] = x.getHigh();
+		yLow[i] = y.getLow();
+		yHigh[i] = y.getHigh();
+		flags[i] = (byte) ((x.isInverted() ? X_INVERTED : 0)
+				| (y.isInverted() ? Y_INVERTED : 0));
+		pieces[i] = piece;
+	}
+
+	/**
+	 * Makes sure that the given number of tuples fit without growing the
+	 * storage again.
+	 *
+	 * @param capacity number of tuples.
+	 */
+	public void ensureCapacity(int capacity) {
+		int length = flags.length;
+		if (capacity <= length) {
+			return;
+		}
+		int newLength = length;
+		while (newLength < capacity) {
+			newLength *= 2;
+		}
+		double[] oldXLow = xLow;
+		double[] oldXHigh = xHigh;
+		double[] oldYLow = yLow;
+		double[] oldYHigh = yHigh;
+		byte[] oldFlags = flags;
+		int[] oldPieces = pieces;
+		allocate(newLength);
+		// unwrap the ring: copy [head, length) and then [0, head)
+		int firstPart = Math.min(size, length - head);
+		int secondPart = size - firstPart;
+		copyRange(oldXLow, oldXHigh, oldYLow, oldYHigh, oldFlags, oldPieces,
+				head, 0, firstPart);
+		copyRange(oldXLow, oldXHigh, oldYLow, oldYHigh, oldFlags, oldPieces,
+				0, firstPart, secondPart);
+		head = 0;
+	}
+
+	private void copyRange(double[] oldXLow, double[] oldXHigh, double[] oldYLow,
+			double[] oldYHigh, byte[] oldFlags, int[] oldPieces, int from, int to,
+			int length) {
+		System.arraycopy(oldXLow, from, xLow, to, length);
+		System.arraycopy(oldXHigh, from, xHigh, to, length);
+		System.arraycopy(oldYLow, from, yLow, to, length);
+		System.arraycopy(oldYHigh, from, yHigh, to, length);
+		System.arraycopy(oldFlags, from, flags, to, length);
+		System.arraycopy(oldPieces, from, pieces, to, length);
 	}
-}
\ No newline at end of file
+}
@@ -1,9 +1,14 @@
 package org.geogebra.common.kernel.interval.samplers;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.interval.EuclidianViewBounds;
 import org.geogebra.common.euclidian.plot.interval.IntervalFunctionData;
+import org.geogebra.common.kernel.algos.ParallelUpdateExecutor;
+import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.interval.Interval;
+import org.geogebra.common.kernel.interval.IntervalConstants;
 import org.geogebra.common.kernel.interval.evaluators.DiscreteSpace;
 import org.geogebra.common.kernel.interval.evaluators.DiscreteSpaceCentered;
 import org.geogebra.common.kernel.interval.function.IntervalNodeFunction;
@@ -16,6 +21,9 @@
  * @author Laszlo
  */
 public class FunctionSampler implements IntervalFunctionSampler {
+	/** resamples with at least this many samples are split between threads */
+	static final int PARALLEL_MIN_SAMPLES = 512;
+	private static final int PARALLEL_CHUNKS = 8;
 	private final EuclidianViewBounds bounds;
 	private final IntervalFunctionDomainInfo domainInfo = new IntervalFunctionDomainInfo();
 	private IntervalNodeFunction function;
@@ -92,7 +100,49 @@ public void resample(Interval domain) {
 
 	private void evaluateAll() {
 		data.clear();
-		space.forEach(x -> data.append(x, function.value(x)));
+		Interval undefined = IntervalConstants.undefined();
+		space.forEach(x -> data.append(x, undefined));
+		IntervalTupleList tuples = data.tuples();
+		ParallelUpdateExecutor executor = getParallelExecutor(tuples.count());
+		if (executor == null) {
+			evaluate(function, tuples, 0, tuples.count());
+		} else {
+			evaluateInParallel(executor, tuples);
+		}
+	}
+
+	private ParallelUpdateExecutor getParallelExecutor(int count) {
+		GeoFunction geoFunction = data.getGeoFunction();
+		return geoFunction == null || count < PARALLEL_MIN_SAMPLES ? null
+				: geoFunction.getKernel().getParallelUpdateExecutor();
+	}
+
+	/**
+	 * Each chunk evaluates its own range of the samples with its own copy of
+	 * the function tree and its own operators, as evaluation stores the
+	 * variable in the tree and some operators (e.g. sin, cos) keep scratch
+	 * intervals.
+	 */
+	private void evaluateInParallel(ParallelUpdateExecutor executor,
+			IntervalTupleList tuples) {
+		int count = tuples.count();
+		ArrayList<Runnable> tasks = new ArrayList<>(PARALLEL_CHUNKS);
+		for (int i = 0; i < PARALLEL_CHUNKS; i++) {
+			IntervalNodeFunction copy = data.getIndependentFunction();
+			int from = count * i / PARALLEL_CHUNKS;
+			int to = count * (i + 1) / PARALLEL_CHUNKS;
+			tasks.add(() -> evaluate(copy, tuples, from, to));
+		}
+		executor.runEach(tasks);
+	}
+
+	private static void evaluate(IntervalNodeFunction function,
+			IntervalTupleList tuples, int from, int to) {
+		Interval x = new Interval();
+		for (int index = from; index < to; index++) {
+			x.set(tuples.xLowAt(index), tuples.xHighAt(index));
+			tuples.setValueAt(index, function.value(x));
+		}
 	}
 
 	private void extendDataToLeft(Interval domain) {
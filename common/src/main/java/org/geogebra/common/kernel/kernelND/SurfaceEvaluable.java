@@ -92,4 +92,15 @@ public boolean evaluateNormal(Coords3 p, double u, double v,
 	 * @return whether this is defined
 	 */
 	public boolean isDefined();
+
+	/**
+	 * Derivatives must be set before calling this.
+	 * 
+	 * @return copy with its own function variables that evaluates points and
+	 *         normals like this surface and may be used on another thread;
+	 *         null if evaluation can't be separated
+	 */
+	default SurfaceEvaluable copyForParallelEvaluation() {
+		return null;
+	}
 }
@@ -63,4 +63,10 @@ public interface ParserInterface {
 	String parseLabel(String label) throws ParseException;
 
 	ValidExpression parseGeoGebraExpressionLowPrecision(String str) throws ParseException;
+
+	/**
+	 * @return false if the last parsing changed the construction (e.g. created
+	 *         a random number), so its result must not be reused
+	 */
+	boolean isLastParseReusable();
 }
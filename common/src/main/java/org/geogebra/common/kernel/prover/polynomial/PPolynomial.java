@@ -7,7 +7,6 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
@@ -24,13 +23,15 @@
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
+	private final PackedPolynomial packed;
+	/** terms as a map, created on demand */
 	private TreeMap<PTerm, BigInteger> terms;
 
 	/**
 	 * Creates the 0 polynomial
 	 */
 	public PPolynomial() {
-		terms = new TreeMap<>();
+		packed = PackedPolynomial.ZERO;
 	}
 
 	/**
@@ -40,20 +41,24 @@ public PPolynomial() {
 	 *            the polynomial to copy
 	 */
 	public PPolynomial(final PPolynomial poly) {
-		terms = new TreeMap<>(poly.getTerms());
+		packed = poly.packed;
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
-		this.terms = terms;
+	private PPolynomial(final PackedPolynomial packed) {
+		this.packed = packed;
 	}
 
 	/**
 	 * Getter for the map which contains the terms and the according
-	 * coefficients.
+	 * coefficients. The map is created on first call and must not be
+	 * modified.
 	 * 
 	 * @return the map
 	 */
 	public TreeMap<PTerm, BigInteger> getTerms() {
+		if (terms == null) {
+			terms = packed.toTerms();
+		}
 		return terms;
 	}
 
@@ -74,7 +79,7 @@ public PPolynomial(final BigInteger coeff) {
 	 *            the constant
 	 */
 	public PPolynomial(final long coeff) {
-		this(new BigInteger(Long.toString(coeff)), new PTerm());
+		this(BigInteger.valueOf(coeff), new PTerm());
 	}
 	
 	/**
@@ -84,8 +89,7 @@ public PPolynomial(final long coeff) {
 	 *            the variable
 	 */
 	public PPolynomial(final PVariable fv) {
-		this();
-		terms.put(new PTerm(fv), BigInteger.ONE);
+		this(BigInteger.ONE, new PTerm(fv));
 	}
 
 	/**
@@ -97,9 +101,7 @@ public PPolynomial(final PVariable fv) {
 	 *            the variable
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable), coeff);
+		this(coeff, new PTerm(variable));
 	}
 
 	/**
@@ -114,9 +116,7 @@ public PPolynomial(final BigInteger coeff, final PVariable variable) {
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable,
 			final int power) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable, power), coeff);
+		this(coeff, new PTerm(variable, power));
 	}
 
 	/**
@@ -126,8 +126,7 @@ public PPolynomial(final BigInteger coeff, final PVariable variable,
 	 *            the term
 	 */
 	public PPolynomial(final PTerm t) {
-		this();
-		terms.put(t, BigInteger.ONE);
+		this(BigInteger.ONE, t);
 	}
 
 	/**
@@ -139,9 +138,7 @@ public PPolynomial(final PTerm t) {
 	 *            the term
 	 */
 	public PPolynomial(final BigInteger coeff, final PTerm t) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(t, coeff);
+		packed = PackedPolynomial.monomial(coeff, t);
 	}
 
 	/**
@@ -152,24 +149,7 @@ public PPolynomial(final BigInteger coeff, final PTerm t) {
 	 * @return the sum
 	 */
 	public PPolynomial add(final PPolynomial poly) {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>(terms);
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it = terms2.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			if (terms.containsKey(t)) {
-				BigInteger coefficient = terms.get(t).add(terms2.get(t));
-				if (coefficient == BigInteger.ZERO) {
-					result.remove(t);
-				} else {
-					result.put(t, terms.get(t).add(entry.getValue()));
-				}
-			} else {
-				result.put(t, entry.getValue());
-			}
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(packed.add(poly.packed));
 	}
 
 	/**
@@ -178,14 +158,7 @@ public PPolynomial add(final PPolynomial poly) {
 	 * @return the negation of the polynomial
 	 */
 	public PPolynomial negate() {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			result.put(t, BigInteger.ZERO.subtract(entry.getValue()));
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(packed.negate());
 	}
 
 	/**
@@ -207,94 +180,19 @@ public PPolynomial subtract(final PPolynomial poly) {
 	 * @return the product
 	 */
 	public PPolynomial multiply(final PPolynomial poly) {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
-		while (it1.hasNext()) {
-			Entry<PTerm, BigInteger> entry1 = it1.next();
-			PTerm t1 = entry1.getKey();
-			Iterator<Entry<PTerm, BigInteger>> it2 = terms2.entrySet()
-					.iterator();
-			while (it2.hasNext()) {
-				Entry<PTerm, BigInteger> entry2 = it2.next();
-				PTerm t2 = entry2.getKey();
-				PTerm product = t1.times(t2);
-				BigInteger productCoefficient = entry1.getValue()
-						.multiply(entry2.getValue());
-				if (result.containsKey(product)) {
-					BigInteger sum = result.get(product).add(productCoefficient);
-					if (sum == BigInteger.ZERO) {
-						result.remove(product);
-					} else {
-						result.put(product, result.get(product).add(productCoefficient));
-					}
-				} else {
-					result.put(product, productCoefficient);
-				}
-			}
-
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(packed.multiply(poly.packed));
 	}
 
 	@Override
 	public int compareTo(PPolynomial poly) {
-		if (this==poly){
-			return 0;
-		}
-
-		TreeMap<PTerm, BigInteger> polyVars = poly.getTerms();
-		if (polyVars.isEmpty()) {
-			if (terms.isEmpty()) {
-				return 0;
-			}
-			return 1;
-		}
-		if (terms.isEmpty()) {
-			return -1;
-		}
-		
-		PTerm termsLastKey=terms.lastKey(),
-				polyVarsLastKey=polyVars.lastKey();
-
-		int compare = termsLastKey.compareTo(polyVarsLastKey);
-
-		if (compare == 0) {
-			compare = terms.get(termsLastKey).compareTo(polyVars.get(polyVarsLastKey));
-		}
-
-		if (compare != 0) {
-			return compare;
-		}
-		
-		do {
-			SortedMap<PTerm, BigInteger> termsSub = terms.headMap(termsLastKey);
-			SortedMap<PTerm, BigInteger> oSub = polyVars.headMap(polyVarsLastKey);
-			if (termsSub.isEmpty()) {
-				if (oSub.isEmpty()) {
-					return 0;
-				}
-				return -1;
-			}
-			if (oSub.isEmpty()) {
-				return 1;
-			}
-			termsLastKey=termsSub.lastKey();
-			polyVarsLastKey=oSub.lastKey();
-			compare = termsLastKey.compareTo(polyVarsLastKey);
-			if (compare == 0) {
-				compare = termsSub.get(termsLastKey).compareTo(
-						oSub.get(polyVarsLastKey));
-			}
-		} while (compare == 0);
-
-		return compare;
+		return packed.compareTo(poly.packed);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
+		Iterator<Entry<PTerm, BigInteger>> it = getTerms().entrySet()
+				.iterator();
 		if (!it.hasNext()) {
 			return "0";
 		}
@@ -323,7 +221,8 @@ public String toString() {
 	 */
 	public String toTeX() {
 		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
+		Iterator<Entry<PTerm, BigInteger>> it = getTerms().entrySet()
+				.iterator();
 		if (!it.hasNext()) {
 			return "0";
 		}
@@ -365,13 +264,7 @@ public String toTeX() {
 	 * @return the set of variables
 	 */
 	public HashSet<PVariable> getVars() {
-		HashSet<PVariable> v = new HashSet<>();
-		Iterator<PTerm> it = terms.keySet().iterator();
-		while (it.hasNext()) {
-			PTerm t = it.next();
-			v.addAll(t.getVars());
-		}
-		return v;
+		return packed.getVars();
 	}
 
 	/**
@@ -679,46 +572,12 @@ public static PPolynomial[] crossProduct(PPolynomial[] a,
 	 * @return a new polynomial with the variables substituted.
 	 */
 	public PPolynomial substitute(Map<PVariable, BigInteger> substitutions) {
-		
-		if (substitutions == null)
+		if (substitutions == null) {
 			return this;
-			
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(t1.getTerm());
-			BigInteger product = BigInteger.ONE;
-			Iterator<Entry<PVariable, BigInteger>> itSubst = substitutions
-					.entrySet()
-					.iterator();
-			while (itSubst.hasNext()) {
-				Entry<PVariable, BigInteger> entrySubst = itSubst.next();
-				PVariable variable = entrySubst.getKey();
-				Integer exponent = term.get(variable);
-				if (exponent != null) {
-					product = product
-							.multiply(entrySubst.getValue().pow(exponent));
-					term.remove(variable);
-				}
-			}
-			product = product.multiply(entry.getValue());
-			PTerm t = new PTerm(term);
-			if (result.containsKey(t)) {
-				BigInteger sum = result.get(t).add(product);
-				if (sum.longValue() == 0) {
-					result.remove(t);
-				} else {
-					result.put(t, sum);
-				}
-			} else if (product.intValue() != 0){
-				result.put(t, product);
-			}
 		}
-		return new PPolynomial(result);
+		return new PPolynomial(packed.substitute(substitutions));
 	}
+
 	/**
 	 * Substitutes a variable in the polynomial by another variable.
 	 * 
@@ -730,44 +589,21 @@ public PPolynomial substitute(Map<PVariable, BigInteger> substitutions) {
 	 * @return a new polynomial with the variable substituted.
 	 */
 	public PPolynomial substitute(PVariable oldVar, PVariable newVar) {
-
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(
-					t1.getTerm());
-			Integer oldExponent = term.get(oldVar);
-			if (oldExponent != null) {
-				Integer newExponent = term.get(newVar);
-				if (newExponent == null) {
-					newExponent = 0;
-				} else {
-					term.remove(newVar);
-				}
-				term.remove(oldVar);
-				term.put(newVar, oldExponent + newExponent);
-			}
-			BigInteger coeff = entry.getValue();
-			PTerm t = new PTerm(term);
-			result.put(t, coeff);
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(packed.substitute(oldVar, newVar));
 	}
 	
 	
 	@Override
 	public boolean equals(Object o) {
 		if (o instanceof PPolynomial) {
-			return this.compareTo((PPolynomial) o) == 0;
+			return packed.equals(((PPolynomial) o).packed);
 		}
 		return super.equals(o);
 	}
 
 	@Override
 	public int hashCode() {
-		return terms.hashCode();
+		return packed.hashCode();
 	}
 
 	/**
@@ -775,7 +611,7 @@ public int hashCode() {
 	 * @return true if the polynomial is zero false otherwise
 	 */
 	public boolean isZero() {
-		return terms.isEmpty();
+		return packed.size() == 0;
 	}
 	
 	/**
@@ -783,23 +619,19 @@ public boolean isZero() {
 	 * @return if input is a constant
 	 */
 	public boolean isConstant() {
-		if (terms.size() > 1) {
-			return false;
-		}
-		if (terms.firstKey().equals(new PTerm())) {
-			return true;
-		}
-		return false;
-		}
+		return packed.size() == 0
+				|| (packed.size() == 1 && packed.isConstantTerm(0));
+	}
 	
 	/**
 	 * @return Integer value of Polynomial if it is constant
 	 */
 	public BigInteger getConstant() {
-		if (terms.size() > 1) {
+		if (packed.size() > 1) {
 			return null;
 		}
-		return terms.firstEntry().getValue();
+		return packed.size() == 0 ? BigInteger.ZERO
+				: packed.getCoefficient(0);
 	}
 
 	/**
@@ -0,0 +1,714 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Immutable sparse polynomial used by {@link PPolynomial}.
+ *
+ * Variables of the polynomial are indexed by ascending id, which is the
+ * descending order of {@link PVariable}, so the first variable is the highest
+ * one. A monomial is the vector of its exponents, packed into longs with 16
+ * bits per variable: the first variable takes the top bits of the first word.
+ * The top bit of every field is kept clear, so monomials are multiplied by
+ * adding their words and compared like numbers, which gives the same order as
+ * {@link PTerm#compareTo(PTerm)}.
+ *
+ * Terms are stored in ascending order in primitive arrays. Coefficients are
+ * longs; a coefficient that doesn't fit into a long is kept as BigInteger.
+ * Zero coefficients and variables with exponent 0 in all terms are never
+ * stored, so equal polynomials have equal arrays.
+ */
+final class PackedPolynomial {
+
+	/** largest exponent of a variable */
+	static final int MAX_EXPONENT = 0x7FFF;
+
+	private static final int FIELD_BITS = 16;
+	private static final int FIELDS_PER_WORD = 4;
+	private static final long FIELD_MASK = 0xFFFFL;
+	/** top bits of the fields, set after adding iff an exponent overflows */
+	private static final long GUARD_BITS = 0x8000800080008000L;
+	private static final BigInteger MIN_LONG = BigInteger
+			.valueOf(Long.MIN_VALUE);
+	private static final BigInteger MAX_LONG = BigInteger
+			.valueOf(Long.MAX_VALUE);
+	private static final PVariable[] NO_VARS = new PVariable[0];
+	private static final Comparator<PVariable> BY_ID = Comparator
+			.comparingInt(PVariable::getId);
+
+	/** the zero polynomial */
+	static final PackedPolynomial ZERO = new PackedPolynomial(NO_VARS,
+			new long[0], new long[0], null, 0);
+
+	private final PVariable[] vars;
+	private final int words;
+	private final long[] exps;
+	private final long[] coeffs;
+	/** null if all coefficients are longs */
+	private final BigInteger[] bigCoeffs;
+	private final int size;
+	private int hash;
+
+	private PackedPolynomial(PVariable[] vars, long[] exps, long[] coeffs,
+			BigInteger[] bigCoeffs, int size) {
+		this.vars = vars;
+		this.words = wordsFor(vars.length);
+		this.exps = exps;
+		this.coeffs = coeffs;
+		this.bigCoeffs = bigCoeffs;
+		this.size = size;
+	}
+
+	private static int wordsFor(int varCount) {
+		return (varCount + FIELDS_PER_WORD - 1) / FIELDS_PER_WORD;
+	}
+
+	private static int shift(int slot) {
+		return (FIELDS_PER_WORD - 1 - slot % FIELDS_PER_WORD) * FIELD_BITS;
+	}
+
+	private static int getExponent(long[] exps, int words, int term,
+			int slot) {
+		return (int) ((exps[term * words + slot / FIELDS_PER_WORD] >>> shift(
+				slot)) & FIELD_MASK);
+	}
+
+	/**
+	 * @param coeff
+	 *            coefficient
+	 * @param t
+	 *            term
+	 * @return coeff*t
+	 */
+	static PackedPolynomial monomial(BigInteger coeff, PTerm t) {
+		TreeMap<PTerm, BigInteger> terms = new TreeMap<>();
+		terms.put(t, coeff);
+		return fromTerms(terms);
+	}
+
+	/**
+	 * @param terms
+	 *            terms and their coefficients
+	 * @return polynomial
+	 */
+	static PackedPolynomial fromTerms(Map<PTerm, BigInteger> terms) {
+		HashSet<PVariable> varSet = new HashSet<>();
+		for (PTerm t : terms.keySet()) {
+			varSet.addAll(t.getTerm().keySet());
+		}
+		PVariable[] vars = varSet.toArray(new PVariable[0]);
+		Arrays.sort(vars, BY_ID);
+		Builder b = new Builder(vars, terms.size());
+		for (Entry<PTerm, BigInteger> entry : terms.entrySet()) {
+			if (entry.getValue().signum() == 0) {
+				continue;
+			}
+			int term = b.addTerm(entry.getValue());
+			for (Entry<PVariable, Integer> ve : entry.getKey().getTerm()
+					.entrySet()) {
+				int exponent = ve.getValue();
+				if (exponent < 0 || exponent > MAX_EXPONENT) {
+					throw new ArithmeticException(
+							"Exponent out of range: " + exponent);
+				}
+				int slot = Arrays.binarySearch(vars, ve.getKey(), BY_ID);
+				b.exps[term * b.words + slot / FIELDS_PER_WORD] += ((long) exponent) << shift(
+						slot);
+			}
+		}
+		return b.collect();
+	}
+
+	/**
+	 * @return terms and their coefficients
+	 */
+	TreeMap<PTerm, BigInteger> toTerms() {
+		TreeMap<PTerm, BigInteger> terms = new TreeMap<>();
+		for (int i = 0; i < size; i++) {
+			TreeMap<PVariable, Integer> term = new TreeMap<>();
+			for (int slot = 0; slot < vars.length; slot++) {
+				int exponent = getExponent(exps, words, i, slot);
+				if (exponent != 0) {
+					term.put(vars[slot], exponent);
+				}
+			}
+			terms.put(new PTerm(term), getCoefficient(i));
+		}
+		return terms;
+	}
+
+	/**
+	 * @return number of terms
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return variables with nonzero exponent in some term
+	 */
+	HashSet<PVariable> getVars() {
+		HashSet<PVariable> ret = new HashSet<>();
+		for (PVariable v : vars) {
+			ret.add(v);
+		}
+		return ret;
+	}
+
+	/**
+	 * @param i
+	 *            index of term, terms are in ascending order
+	 * @return coefficient of the term
+	 */
+	BigInteger getCoefficient(int i) {
+		if (bigCoeffs != null && bigCoeffs[i] != null) {
+			return bigCoeffs[i];
+		}
+		return BigInteger.valueOf(coeffs[i]);
+	}
+
+	private boolean isBig(int i) {
+		return bigCoeffs != null && bigCoeffs[i] != null;
+	}
+
+	/**
+	 * @param i
+	 *            index of term
+	 * @return whether the term is 1
+	 */
+	boolean isConstantTerm(int i) {
+		for (int w = 0; w < words; w++) {
+			if (exps[i * words + w] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return additive inverse
+	 */
+	PackedPolynomial negate() {
+		Builder b = new Builder(vars, size);
+		for (int i = 0; i < size; i++) {
+			int term;
+			if (isBig(i) || coeffs[i] == Long.MIN_VALUE) {
+				term = b.addTerm(getCoefficient(i).negate());
+			} else {
+				term = b.addTerm(-coeffs[i]);
+			}
+			System.arraycopy(exps, i * words, b.exps, term * words, words);
+		}
+		return b.build();
+	}
+
+	/**
+	 * @param other
+	 *            summand
+	 * @return sum
+	 */
+	PackedPolynomial add(PackedPolynomial other) {
+		if (other.size == 0) {
+			return this;
+		}
+		if (size == 0) {
+			return other;
+		}
+		PVariable[] union = union(vars, other.vars);
+		long[] e1 = expsFor(union);
+		long[] e2 = other.expsFor(union);
+		Builder b = new Builder(union, size + other.size);
+		int w = b.words;
+		int i = 0;
+		int j = 0;
+		while (i < size || j < other.size) {
+			int cmp = i == size ? 1
+					: j == other.size ? -1 : compare(e1, i, e2, j, w);
+			if (cmp < 0) {
+				b.copyTerm(this, e1, i++);
+			} else if (cmp > 0) {
+				b.copyTerm(other, e2, j++);
+			} else {
+				int term = b.copyTerm(this, e1, i++);
+				b.addToCoefficient(term, other, j++);
+				if (b.isZero(term)) {
+					b.size--;
+				}
+			}
+		}
+		// cancelled terms may leave variables unused
+		return b.build().compact();
+	}
+
+	/**
+	 * @param other
+	 *            factor
+	 * @return product
+	 */
+	PackedPolynomial multiply(PackedPolynomial other) {
+		if (size == 0 || other.size == 0) {
+			return ZERO;
+		}
+		PVariable[] union = union(vars, other.vars);
+		long[] e1 = expsFor(union);
+		long[] e2 = other.expsFor(union);
+		Builder b = new Builder(union, size * other.size);
+		int w = b.words;
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < other.size; j++) {
+				int term = b.addProduct(this, i, other, j);
+				for (int k = 0; k < w; k++) {
+					long sum = e1[i * w + k] + e2[j * w + k];
+					if ((sum & GUARD_BITS) != 0) {
+						throw new ArithmeticException(
+								"Exponent larger than " + MAX_EXPONENT);
+					}
+					b.exps[term * w + k] = sum;
+				}
+			}
+		}
+		return b.collect();
+	}
+
+	/**
+	 * @param substitutions
+	 *            values of variables
+	 * @return polynomial with the variables replaced by the values
+	 */
+	PackedPolynomial substitute(Map<PVariable, BigInteger> substitutions) {
+		BigInteger[] values = new BigInteger[vars.length];
+		boolean found = false;
+		for (int slot = 0; slot < vars.length; slot++) {
+			values[slot] = substitutions.get(vars[slot]);
+			found |= values[slot] != null;
+		}
+		if (!found) {
+			return this;
+		}
+		Builder b = new Builder(vars, size);
+		for (int i = 0; i < size; i++) {
+			BigInteger coeff = getCoefficient(i);
+			long[] exp = Arrays.copyOfRange(exps, i * words,
+					(i + 1) * words);
+			for (int slot = 0; slot < vars.length; slot++) {
+				int exponent = getExponent(exps, words, i, slot);
+				if (values[slot] != null && exponent != 0) {
+					coeff = coeff.multiply(values[slot].pow(exponent));
+					exp[slot / FIELDS_PER_WORD] &= ~(FIELD_MASK << shift(slot));
+				}
+			}
+			if (coeff.signum() != 0) {
+				int term = b.addTerm(coeff);
+				System.arraycopy(exp, 0, b.exps, term * words, words);
+			}
+		}
+		return b.collect();
+	}
+
+	/**
+	 * @param oldVar
+	 *            variable to replace
+	 * @param newVar
+	 *            replacement
+	 * @return polynomial with oldVar replaced by newVar
+	 */
+	PackedPolynomial substitute(PVariable oldVar, PVariable newVar) {
+		int oldSlot = Arrays.binarySearch(vars, oldVar, BY_ID);
+		if (oldSlot < 0 || oldVar.getId() == newVar.getId()) {
+			return this;
+		}
+		PVariable[] union = union(vars, new PVariable[] { newVar });
+		long[] e = expsFor(union);
+		oldSlot = Arrays.binarySearch(union, oldVar, BY_ID);
+		int newSlot = Arrays.binarySearch(union, newVar, BY_ID);
+		Builder b = new Builder(union, size);
+		int w = b.words;
+		for (int i = 0; i < size; i++) {
+			int term = b.copyTerm(this, e, i);
+			int exponent = getExponent(e, w, i, oldSlot)
+					+ getExponent(e, w, i, newSlot);
+			if (exponent > MAX_EXPONENT) {
+				throw new ArithmeticException(
+						"Exponent larger than " + MAX_EXPONENT);
+			}
+			b.exps[term * w + oldSlot / FIELDS_PER_WORD] &= ~(FIELD_MASK << shift(
+					oldSlot));
+			b.exps[term * w + newSlot / FIELDS_PER_WORD] &= ~(FIELD_MASK << shift(
+					newSlot));
+			b.exps[term * w + newSlot / FIELDS_PER_WORD] |= ((long) exponent) << shift(
+					newSlot);
+		}
+		return b.collect();
+	}
+
+	/**
+	 * Compares the highest terms first, then their coefficients, then the
+	 * next terms.
+	 *
+	 * @param other
+	 *            other polynomial
+	 * @return comparison result in the order of {@link PPolynomial}
+	 */
+	int compareTo(PackedPolynomial other) {
+		if (this == other) {
+			return 0;
+		}
+		PVariable[] union = union(vars, other.vars);
+		long[] e1 = expsFor(union);
+		long[] e2 = other.expsFor(union);
+		int w = wordsFor(union.length);
+		int i = size - 1;
+		int j = other.size - 1;
+		while (i >= 0 && j >= 0) {
+			int cmp = compare(e1, i, e2, j, w);
+			if (cmp == 0) {
+				cmp = compareCoefficients(other, i, j);
+			}
+			if (cmp != 0) {
+				return cmp;
+			}
+			i--;
+			j--;
+		}
+		return i >= 0 ? 1 : j >= 0 ? -1 : 0;
+	}
+
+	private int compareCoefficients(PackedPolynomial other, int i, int j) {
+		if (!isBig(i) && !other.isBig(j)) {
+			return Long.compare(coeffs[i], other.coeffs[j]);
+		}
+		return getCoefficient(i).compareTo(other.getCoefficient(j));
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof PackedPolynomial)) {
+			return false;
+		}
+		PackedPolynomial other = (PackedPolynomial) o;
+		if (size != other.size || !Arrays.equals(vars, other.vars)) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (compareCoefficients(other, i, i) != 0) {
+				return false;
+			}
+		}
+		for (int k = 0; k < size * words; k++) {
+			if (exps[k] != other.exps[k]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		if (hash == 0) {
+			int h = size;
+			for (PVariable v : vars) {
+				h = 31 * h + v.getId();
+			}
+			for (int k = 0; k < size * words; k++) {
+				h = 31 * h + (int) (exps[k] ^ (exps[k] >>> 32));
+			}
+			for (int i = 0; i < size; i++) {
+				h = 31 * h + (isBig(i) ? bigCoeffs[i].hashCode()
+						: (int) (coeffs[i] ^ (coeffs[i] >>> 32)));
+			}
+			hash = h;
+		}
+		return hash;
+	}
+
+	/**
+	 * @return polynomial without variables that don't occur in any term
+	 */
+	private PackedPolynomial compact() {
+		long[] used = new long[words];
+		for (int k = 0; k < size * words; k++) {
+			used[k % words] |= exps[k];
+		}
+		int count = 0;
+		for (int slot = 0; slot < vars.length; slot++) {
+			if (getExponent(used, words, 0, slot) != 0) {
+				count++;
+			}
+		}
+		if (count == vars.length) {
+			return this;
+		}
+		PVariable[] usedVars = new PVariable[count];
+		count = 0;
+		for (int slot = 0; slot < vars.length; slot++) {
+			if (getExponent(used, words, 0, slot) != 0) {
+				usedVars[count++] = vars[slot];
+			}
+		}
+		return new PackedPolynomial(usedVars, expsFor(usedVars), coeffs,
+				bigCoeffs, size);
+	}
+
+	/**
+	 * @param target
+	 *            variables, must contain all variables of this polynomial
+	 *            that occur in some term
+	 * @return exponents of all terms packed for the given variables
+	 */
+	private long[] expsFor(PVariable[] target) {
+		if (target == vars) {
+			return exps;
+		}
+		int targetWords = wordsFor(target.length);
+		long[] ret = new long[size * targetWords];
+		int targetSlot = 0;
+		for (int slot = 0; slot < vars.length; slot++) {
+			while (targetSlot < target.length
+					&& target[targetSlot].getId() < vars[slot].getId()) {
+				targetSlot++;
+			}
+			if (targetSlot == target.length
+					|| target[targetSlot].getId() != vars[slot].getId()) {
+				// unused variable
+				continue;
+			}
+			for (int i = 0; i < size; i++) {
+				ret[i * targetWords + targetSlot / FIELDS_PER_WORD] |= ((long) getExponent(
+						exps, words, i, slot)) << shift(targetSlot);
+			}
+		}
+		return ret;
+	}
+
+	private static PVariable[] union(PVariable[] v1, PVariable[] v2) {
+		if (v1 == v2 || v2.length == 0) {
+			return v1;
+		}
+		if (v1.length == 0) {
+			return v2;
+		}
+		PVariable[] ret = new PVariable[v1.length + v2.length];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < v1.length || j < v2.length) {
+			int cmp = i == v1.length ? 1
+					: j == v2.length ? -1
+							: Integer.compare(v1[i].getId(), v2[j].getId());
+			if (cmp < 0) {
+				ret[k++] = v1[i++];
+			} else if (cmp > 0) {
+				ret[k++] = v2[j++];
+			} else {
+				ret[k++] = v1[i++];
+				j++;
+			}
+		}
+		if (k == v1.length) {
+			return v1;
+		}
+		if (k == v2.length) {
+			return v2;
+		}
+		return Arrays.copyOf(ret, k);
+	}
+
+	private static int compare(long[] e1, int i, long[] e2, int j, int w) {
+		for (int k = 0; k < w; k++) {
+			int cmp = Long.compare(e1[i * w + k], e2[j * w + k]);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Growable arrays of terms over fixed variables.
+	 */
+	private static final class Builder {
+		final PVariable[] vars;
+		final int words;
+		long[] exps;
+		long[] coeffs;
+		BigInteger[] bigCoeffs;
+		int size;
+
+		Builder(PVariable[] vars, int capacity) {
+			this.vars = vars;
+			this.words = wordsFor(vars.length);
+			int cap = Math.max(capacity, 1);
+			exps = new long[cap * words];
+			coeffs = new long[cap];
+		}
+
+		private int newTerm() {
+			if (size == coeffs.length) {
+				int cap = 2 * size;
+				exps = Arrays.copyOf(exps, cap * words);
+				coeffs = Arrays.copyOf(coeffs, cap);
+				if (bigCoeffs != null) {
+					bigCoeffs = Arrays.copyOf(bigCoeffs, cap);
+				}
+			}
+			Arrays.fill(exps, size * words, (size + 1) * words, 0L);
+			coeffs[size] = 0;
+			if (bigCoeffs != null) {
+				bigCoeffs[size] = null;
+			}
+			return size++;
+		}
+
+		int addTerm(long coeff) {
+			int term = newTerm();
+			coeffs[term] = coeff;
+			return term;
+		}
+
+		int addTerm(BigInteger coeff) {
+			int term = newTerm();
+			setCoefficient(term, coeff);
+			return term;
+		}
+
+		int copyTerm(PackedPolynomial p, long[] pExps, int i) {
+			int term = p.isBig(i) ? addTerm(p.bigCoeffs[i])
+					: addTerm(p.coeffs[i]);
+			System.arraycopy(pExps, i * words, exps, term * words, words);
+			return term;
+		}
+
+		int addProduct(PackedPolynomial p, int i, PackedPolynomial q, int j) {
+			if (!p.isBig(i) && !q.isBig(j)) {
+				try {
+					return addTerm(Math.multiplyExact(p.coeffs[i], q.coeffs[j]));
+				} catch (ArithmeticException e) {
+					// overflow, use BigInteger
+				}
+			}
+			return addTerm(p.getCoefficient(i).multiply(q.getCoefficient(j)));
+		}
+
+		void addToCoefficient(int term, PackedPolynomial p, int i) {
+			if (!p.isBig(i)) {
+				addToCoefficient(term, p.coeffs[i], null);
+			} else {
+				addToCoefficient(term, 0, p.bigCoeffs[i]);
+			}
+		}
+
+		private void addToCoefficient(int term, long coeff, BigInteger big) {
+			if (big == null && !isBig(term)) {
+				try {
+					coeffs[term] = Math.addExact(coeffs[term], coeff);
+					return;
+				} catch (ArithmeticException e) {
+					// overflow, use BigInteger
+				}
+			}
+			setCoefficient(term, getCoefficient(term)
+					.add(big == null ? BigInteger.valueOf(coeff) : big));
+		}
+
+		private boolean isBig(int term) {
+			return bigCoeffs != null && bigCoeffs[term] != null;
+		}
+
+		private BigInteger getCoefficient(int term) {
+			return isBig(term) ? bigCoeffs[term]
+					: BigInteger.valueOf(coeffs[term]);
+		}
+
+		private void setCoefficient(int term, BigInteger coeff) {
+			if (coeff.compareTo(MIN_LONG) >= 0
+					&& coeff.compareTo(MAX_LONG) <= 0) {
+				coeffs[term] = coeff.longValue();
+				if (bigCoeffs != null) {
+					bigCoeffs[term] = null;
+				}
+				return;
+			}
+			if (bigCoeffs == null) {
+				bigCoeffs = new BigInteger[coeffs.length];
+			}
+			bigCoeffs[term] = coeff;
+		}
+
+		boolean isZero(int term) {
+			return !isBig(term) && coeffs[term] == 0;
+		}
+
+		/**
+		 * @return polynomial, terms must be sorted and nonzero
+		 */
+		PackedPolynomial build() {
+			if (size == 0) {
+				return ZERO;
+			}
+			return new PackedPolynomial(vars, exps, coeffs, bigCoeffs, size);
+		}
+
+		/**
+		 * @return polynomial with terms sorted, equal terms combined and
+		 *         unused variables removed
+		 */
+		PackedPolynomial collect() {
+			int[] order = new int[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			sort(order, new int[size], 0, size);
+			Builder b = new Builder(vars, size);
+			int last = -1;
+			for (int i = 0; i < size; i++) {
+				int src = order[i];
+				if (last >= 0 && compare(b.exps, last, exps, src, words) == 0) {
+					b.addToCoefficient(last, coeffs[src],
+							isBig(src) ? bigCoeffs[src] : null);
+					continue;
+				}
+				if (last >= 0 && b.isZero(last)) {
+					b.size--;
+				}
+				last = isBig(src) ? b.addTerm(bigCoeffs[src])
+						: b.addTerm(coeffs[src]);
+				System.arraycopy(exps, src * words, b.exps, last * words,
+						words);
+			}
+			if (last >= 0 && b.isZero(last)) {
+				b.size--;
+			}
+			return b.build().compact();
+		}
+
+		/** stable merge sort of term indices by monomial */
+		private void sort(int[] order, int[] tmp, int from, int to) {
+			if (to - from < 2) {
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			sort(order, tmp, from, mid);
+			sort(order, tmp, mid, to);
+			if (compare(exps, order[mid - 1], exps, order[mid], words) <= 0) {
+				return;
+			}
+			System.arraycopy(order, from, tmp, from, to - from);
+			int i = from;
+			int j = mid;
+			for (int k = from; k < to; k++) {
+				if (j == to || (i < mid
+						&& compare(exps, tmp[i], exps, tmp[j], words) <= 0)) {
+					order[k] = tmp[i++];
+				} else {
+					order[k] = tmp[j++];
+				}
+			}
+		}
+	}
+}
@@ -18,6 +18,7 @@
 import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.gui.view.spreadsheet.CellRange;
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.SpreadsheetCellIndex;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.Algos;
@@ -31,10 +32,14 @@
  * GeoGebra's spreadsheet. For example, CellRange[A1, B2] (or A1:B2) returns the
  * list {A1, B1, A2, B2}.
  * 
+ * The list is updated when cells in the range are added or removed, see
+ * {@link SpreadsheetCellIndex.ColumnListener}.
+ * 
  * @author Markus Hohenwarter
  * @since 29.06.2008
  */
-public class AlgoCellRange extends AlgoElement {
+public class AlgoCellRange extends AlgoElement
+		implements SpreadsheetCellIndex.ColumnListener {
 
 	private GeoListForCellRange geoList; // output list of range
 	private String startCell; // start cell name
@@ -99,6 +104,7 @@ public void remove() {
 
 		cons.getApplication().getSpreadsheetTableModel().getCellRangeManager()
 				.unregisterCellRangeListenerAlgo(this);
+		setColumnListeners(false);
 
 		clearGeoList();
 	}
@@ -107,6 +113,36 @@ private void clearGeoList() {
 		geoList.clear();
 	}
 
+	@Override
+	public void cellChanged(int column, int row, GeoElement geo,
+			boolean removed) {
+		GPoint location = new GPoint(column, row);
+		if (!cellRange.contains(location)) {
+			return;
+		}
+		if (removed) {
+			updateList(geo, true);
+		} else {
+			addToList(geo, location);
+		}
+	}
+
+	private void setColumnListeners(boolean add) {
+		if (startCoords == null || endCoords == null) {
+			return;
+		}
+		SpreadsheetCellIndex cells = cons.getSpreadsheetCellIndex();
+		int maxCol = Math.max(startCoords.x, endCoords.x);
+		for (int col = Math.min(startCoords.x, endCoords.x); col <= maxCol;
+				col++) {
+			if (add) {
+				cells.addColumnListener(col, this);
+			} else {
+				cells.removeColumnListener(col, this);
+			}
+		}
+	}
+
 	/**
 	 * update list (add/remove geo)
 	 * 
@@ -214,6 +250,7 @@ protected void setInputOutput() {
 		setOnlyOutput(geoList);
 
 		setDependenciesOutputOnly();
+		setColumnListeners(true);
 
 		// see this.getClassName() for better solution
 		// change input now for XML saving
@@ -251,32 +288,21 @@ private ArrayList<GeoElement> initCellRangeList(GPoint rangeStart,
 		maxExistingCol = minCol - 1;
 		maxExistingRow = minRow - 1;
 
-		// build the list
-		for (int colIndex = minCol; colIndex <= maxCol; colIndex++) {
-			for (int rowIndex = minRow; rowIndex <= maxRow; rowIndex++) {
-				// get cell object for col, row
-				String cellLabel = GeoElementSpreadsheet
-						.getSpreadsheetCellName(colIndex, rowIndex);
-				GeoElement geo = kernel.lookupLabel(cellLabel);
-
-				// create missing object in cell range
-				if (geo == null || geo.isEmptySpreadsheetCell()) {
-					// geo = cons
-					// .createSpreadsheetGeoElement(startCell, cellLabel);
-					continue;
-				}
-
-				// we got the cell object, add it to the list
-				listItems1.add(geo);
-				maxExistingCol = colIndex;
-				maxExistingRow = rowIndex; // we want max existing row in max
-											// col
-
-				// make sure that this cell object cannot be renamed by the user
-				// renaming would move the object outside of our range
-				// geo.addCellRangeUser();
-			}
-		}
+		int step = cons.getStep();
+		cons.getSpreadsheetCellIndex().forEachInRange(minCol, minRow, maxCol,
+				maxRow, true, (colIndex, rowIndex, geo) -> {
+					// skip cells that are empty or not constructed yet
+					if (geo.isEmptySpreadsheetCell()
+							|| !geo.isAvailableAtConstructionStep(step)) {
+						return;
+					}
+
+					// we got the cell object, add it to the list
+					listItems1.add(geo);
+					maxExistingCol = colIndex;
+					// we want max existing row in max col
+					maxExistingRow = rowIndex;
+				});
 
 		return listItems1;
 	}
@@ -16,7 +16,6 @@
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
-import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -82,17 +81,11 @@ public final void compute() {
 			return;
 		}
 
-		double[] sortList = new double[size];
-
 		// copy inputList into an array
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo instanceof NumberValue) {
-				sortList[i] = geo.evaluateDouble();
-			} else {
-				outputList.setUndefined();
-				return;
-			}
+		double[] sortList = inputList.toNumberArray();
+		if (sortList == null) {
+			outputList.setUndefined();
+			return;
 		}
 
 		// do the sorting
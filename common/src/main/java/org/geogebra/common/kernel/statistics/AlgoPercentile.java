@@ -15,7 +15,6 @@
 import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
-import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -102,17 +101,11 @@ public final void compute() {
 		// ==========================
 		// compute result
 
-		inputArray = new double[size];
-
 		// load input value array from geoList
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo instanceof NumberValue) {
-				inputArray[i] = geo.evaluateDouble();
-			} else {
-				result.setUndefined();
-				return;
-			}
+		inputArray = inputList.toNumberArray();
+		if (inputArray == null) {
+			result.setUndefined();
+			return;
 		}
 
 		if (percentile == null) {
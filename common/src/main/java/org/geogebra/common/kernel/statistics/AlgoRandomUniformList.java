@@ -9,7 +9,6 @@
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
-import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 
 /**
@@ -75,29 +74,6 @@ public GeoList getResult() {
 		return list;
 	}
 
-	/**
-	 * @param n - size of list
-	 */
-	public void ensureListSize(int n) {
-		// TODO: is suppress labels needed here?
-		boolean oldSuppressLabels = cons.isSuppressLabelsActive();
-		cons.setSuppressLabelCreation(true);
-
-		if (list.size() < n) {
-			for (int i = list.size(); i < n; i++) {
-				list.add(new GeoNumeric(cons));
-			}
-
-		} else if (list.size() > n) {
-			for (int i = n - 1; i < list.size(); i++) {
-				list.remove(i);
-			}
-		}
-
-		cons.setSuppressLabelCreation(oldSuppressLabels);
-
-	}
-
 	@Override
 	public void compute() {
 
@@ -110,11 +86,10 @@ public void compute() {
 			return;
 		}
 
-		ensureListSize((int) length.getDouble());
-
-		for (int i = 0; i < list.size(); i++) {
-			((GeoNumeric) list.get(i)).setValue(getRandomNumber(a.getDouble(),
-					b.getDouble()));
+		int n = (int) length.getDouble();
+		double[] values = list.startPackedNumbers(n);
+		for (int i = 0; i < n; i++) {
+			values[i] = getRandomNumber(a.getDouble(), b.getDouble());
 		}
 	}
 
@@ -133,7 +108,7 @@ public boolean setRandomValue(GeoElementND d) {
 			ListValue lv = (ListValue) d;
 			int size = Math.min(list.size(), lv.size());
 			for (int i = 0; i < size; i++) {
-				((GeoNumeric) list.get(i)).setValue(Math.max(a.getDouble(),
+				list.setNumberAt(i, Math.max(a.getDouble(),
 						Math.min(lv.get(i).evaluateDouble(), b.getDouble())));
 			}
 			return true;
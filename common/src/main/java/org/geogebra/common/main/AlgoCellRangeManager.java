@@ -2,15 +2,13 @@
 
 import java.util.HashMap;
 
-import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.kernel.Construction;
-import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.statistics.AlgoCellRange;
 
 /**
- * Maintains a list of all instances of AlgoCellRange in a construction and
- * handles updates to the AlgoCellRanges when a spreadsheet cell GeoElement is
- * changed.
+ * Maintains a list of all instances of AlgoCellRange in a construction, so
+ * that equal ranges share one algorithm. AlgoCellRanges track changes of their
+ * cells through the construction's SpreadsheetCellIndex.
  * 
  * @author G. Sturr
  * 
@@ -31,53 +29,6 @@ public void unregisterCellRangeListenerAlgo(AlgoCellRange algo) {
 
 	}
 
-	/**
-	 * Updates registered AlgoCellRanges with cell ranges that contain the
-	 * coordinates of the given GeoElement. This method should be called when
-	 * GeoElements have been added, removed or renamed.
-	 * 
-	 * @param geo
-	 *            GeoElement that has changed
-	 * @param location
-	 *            spreadsheet coordinate location (this may be the previous
-	 *            location if a cell has been renamed)
-	 * @param isRemoveAction
-	 *            true if the given GeoElement has been removed
-	 * 
-	 */
-	public void updateCellRangeAlgos(GeoElement geo, GPoint location,
-			boolean isRemoveAction) {
-		if (geo == null || algos == null) {
-			return;
-		}
-
-		for (AlgoCellRange algo : algos.values()) {
-			if (algo.getCellRange().contains(location)) {
-				algo.updateList(geo, isRemoveAction);
-			}
-		}
-	}
-
-	/**
-	 * add the geo at specified location to cell range algos
-	 * 
-	 * @param geo
-	 *            geo
-	 * @param location
-	 *            location on spreadsheet
-	 */
-	public void addToCellRangeAlgos(GeoElement geo, GPoint location) {
-		if (geo == null || algos == null) {
-			return;
-		}
-
-		for (AlgoCellRange algo : algos.values()) {
-			if (algo.getCellRange().contains(location)) {
-				algo.addToList(geo, location);
-			}
-		}
-	}
-
 	/**
 	 * CLear the algo list
 	 */
@@ -712,6 +712,9 @@ public void resetCommandDict() {
 		commandDict = null;
 		commandDictCAS = null;
 		getCommandDictionaryCAS();
+		if (kernel != null && kernel.hasAlgebraProcessor()) {
+			kernel.getAlgebraProcessor().getParsedExpressionCache().clear();
+		}
 	}
 
 	/**
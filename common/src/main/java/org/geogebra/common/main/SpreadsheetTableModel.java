@@ -32,8 +32,7 @@ public abstract class SpreadsheetTableModel implements UpdateLocationView {
 	protected boolean isIniting = true;
 
 	/**
-	 * maintains a list of all AlgoCellRanges in the construction and handles
-	 * updates to the cell range lists as cells are added or removed
+	 * maintains a list of all AlgoCellRanges in the construction
 	 */
 	private AlgoCellRangeManager cellRangeManager;
 	private CellFormatInterface formatHandler;
@@ -175,7 +174,7 @@ private void updateHighestUsedColAndRow(int col, int row) {
 	}
 
 	/**
-	 * @return cellRangeManager for handling AlgoCellRange updates
+	 * @return cellRangeManager for sharing AlgoCellRanges
 	 */
 	public AlgoCellRangeManager getCellRangeManager() {
 		return cellRangeManager;
@@ -188,12 +187,6 @@ public AlgoCellRangeManager getCellRangeManager() {
 	@Override
 	public void add(GeoElement geo) {
 		update(geo);
-		addToCellRangeAlgos(geo);
-	}
-
-	private void addWithoutTrace(GeoElement geo) {
-		updateWithoutTrace(geo);
-		addToCellRangeAlgos(geo);
 	}
 
 	@Override
@@ -201,7 +194,6 @@ public void remove(GeoElement geo) {
 		GPoint location = geo.getSpreadsheetCoords();
 		if (location != null) {
 			doRemove(location.y, location.x);
-			cellRangeManager.updateCellRangeAlgos(geo, location, true);
 		}
 	}
 
@@ -210,9 +202,8 @@ public void rename(GeoElement geo) {
 		GPoint location = geo.getOldSpreadsheetCoords();
 		if (location != null) {
 			doRemove(location.y, location.x);
-			cellRangeManager.updateCellRangeAlgos(geo, location, true);
 		}
-		addWithoutTrace(geo);
+		updateWithoutTrace(geo);
 	}
 
 	private void doRemove(int row, int col) {
@@ -234,14 +225,6 @@ public void update(GeoElement geo) {
 
 	}
 
-	private void addToCellRangeAlgos(GeoElement geo) {
-		GPoint location = geo.getSpreadsheetCoords();
-		if (location != null) {
-			cellRangeManager.addToCellRangeAlgos(geo, location);
-		}
-
-	}
-
 	private void updateWithoutTrace(GeoElement geo) {
 		GPoint location = geo.getSpreadsheetCoords();
 
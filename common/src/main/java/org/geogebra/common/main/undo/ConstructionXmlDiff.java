@@ -0,0 +1,217 @@
+package org.geogebra.common.main.undo;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Objects;
+
+/**
+ * Compares two undo XMLs on the level of construction items (elements,
+ * commands, expressions, ...) to find out whether one can be reached from the
+ * other by reloading a few independent elements only.
+ *
+ * Loading element XML into an existing element only changes properties that
+ * are in the XML, and many properties are only written if they differ from
+ * the default (e.g. an empty caption is not written at all). So a changed
+ * element is only accepted if both versions have the same type and the same
+ * tags with the same attributes, i.e. only attribute values differ.
+ */
+final class ConstructionXmlDiff {
+
+	private static final String CONSTRUCTION_START = "<construction";
+	private static final String CONSTRUCTION_END = "</construction>";
+
+	private ConstructionXmlDiff() {
+		// utility class
+	}
+
+	/**
+	 * @param current
+	 *            XML of the current construction
+	 * @param target
+	 *            XML of the construction to load
+	 * @return XML of the independent elements that differ (empty if XMLs are
+	 *         equal) or null if anything else differs, e.g. commands, settings
+	 *         or the set of objects
+	 */
+	static String getChangedIndependentElements(String current,
+			String target) {
+		int currentStart = contentStart(current);
+		int targetStart = contentStart(target);
+		int currentEnd = current.lastIndexOf(CONSTRUCTION_END);
+		int targetEnd = target.lastIndexOf(CONSTRUCTION_END);
+		if (currentStart < 0 || targetStart < 0 || currentEnd < currentStart
+				|| targetEnd < targetStart
+				|| !regionEquals(current, 0, currentStart, target, 0,
+						targetStart)
+				|| !regionEquals(current, currentEnd, current.length(),
+						target, targetEnd, target.length())) {
+			return null;
+		}
+		ArrayList<int[]> currentItems = new ArrayList<>();
+		ArrayList<int[]> targetItems = new ArrayList<>();
+		if (!split(current, currentStart, currentEnd, currentItems)
+				|| !split(target, targetStart, targetEnd, targetItems)
+				|| currentItems.size() != targetItems.size()) {
+			return null;
+		}
+		HashSet<String> dependent = new HashSet<>();
+		StringBuilder changed = new StringBuilder();
+		for (int i = 0; i < targetItems.size(); i++) {
+			int[] item = targetItems.get(i);
+			collectDependentLabels(target, item[0], item[1], dependent);
+			int[] other = currentItems.get(i);
+			if (regionEquals(current, other[0], other[1], target, item[0],
+					item[1])) {
+				continue;
+			}
+			String label = getElementLabel(target, item[0]);
+			if (label == null || dependent.contains(label)
+					|| !label.equals(getElementLabel(current, other[0]))
+					|| !Objects.equals(getAttribute(target, item[0], "type"),
+							getAttribute(current, other[0], "type"))
+					|| !sameStructure(current, other[0], other[1], target,
+							item[0], item[1])) {
+				return null;
+			}
+			changed.append(target, item[0], item[1]).append('\n');
+		}
+		return changed.toString();
+	}
+
+	private static int contentStart(String xml) {
+		int start = xml.indexOf(CONSTRUCTION_START);
+		return start < 0 ? -1 : xml.indexOf('>', start) + 1;
+	}
+
+	/**
+	 * Splits content of the construction tag into top level items.
+	 *
+	 * @return false if the XML has unexpected structure
+	 */
+	private static boolean split(String xml, int start, int end,
+			ArrayList<int[]> items) {
+		int pos = start;
+		while (true) {
+			while (pos < end && xml.charAt(pos) != '<') {
+				if (!Character.isWhitespace(xml.charAt(pos))) {
+					return false;
+				}
+				pos++;
+			}
+			if (pos >= end) {
+				return true;
+			}
+			int tagEnd = xml.indexOf('>', pos);
+			int nameEnd = pos + 1;
+			while (nameEnd < tagEnd
+					&& !Character.isWhitespace(xml.charAt(nameEnd))
+					&& xml.charAt(nameEnd) != '/') {
+				nameEnd++;
+			}
+			if (tagEnd < 0 || tagEnd >= end || nameEnd == pos + 1) {
+				return false;
+			}
+			int itemEnd;
+			if (xml.charAt(tagEnd - 1) == '/') {
+				itemEnd = tagEnd + 1;
+			} else {
+				String closing = "</" + xml.substring(pos + 1, nameEnd) + ">";
+				int closingStart = xml.indexOf(closing, tagEnd);
+				if (closingStart < 0 || closingStart >= end) {
+					return false;
+				}
+				itemEnd = closingStart + closing.length();
+			}
+			items.add(new int[] {pos, itemEnd});
+			pos = itemEnd;
+		}
+	}
+
+	/**
+	 * Adds output labels of a command or label of an expression.
+	 */
+	private static void collectDependentLabels(String xml, int start, int end,
+			HashSet<String> labels) {
+		if (xml.startsWith("<expression", start)) {
+			labels.add(getAttribute(xml, start, "label"));
+		} else if (xml.startsWith("<command", start)) {
+			int output = xml.indexOf("<output", start);
+			if (output < 0 || output > end) {
+				return;
+			}
+			int tagEnd = xml.indexOf('>', output);
+			int pos = xml.indexOf('"', output);
+			while (pos > 0 && pos < tagEnd) {
+				int valueEnd = xml.indexOf('"', pos + 1);
+				labels.add(xml.substring(pos + 1, valueEnd));
+				pos = xml.indexOf('"', valueEnd + 1);
+			}
+		}
+	}
+
+	/**
+	 * @return whether both regions contain the same sequence of tags with the
+	 *         same attribute names
+	 */
+	private static boolean sameStructure(String a, int aStart, int aEnd,
+			String b, int bStart, int bEnd) {
+		int aPos = aStart;
+		int bPos = bStart;
+		while (true) {
+			aPos = a.indexOf('<', aPos);
+			bPos = b.indexOf('<', bPos);
+			boolean aDone = aPos < 0 || aPos >= aEnd;
+			boolean bDone = bPos < 0 || bPos >= bEnd;
+			if (aDone || bDone) {
+				return aDone && bDone;
+			}
+			int aTagEnd = a.indexOf('>', aPos);
+			int bTagEnd = b.indexOf('>', bPos);
+			if (!tagSkeleton(a, aPos, aTagEnd)
+					.equals(tagSkeleton(b, bPos, bTagEnd))) {
+				return false;
+			}
+			aPos = aTagEnd;
+			bPos = bTagEnd;
+		}
+	}
+
+	/**
+	 * @return tag name followed by attribute names, without values
+	 */
+	private static String tagSkeleton(String xml, int start, int end) {
+		StringBuilder sb = new StringBuilder();
+		boolean inValue = false;
+		for (int i = start; i < end; i++) {
+			char c = xml.charAt(i);
+			if (c == '"') {
+				inValue = !inValue;
+			} else if (!inValue) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String getElementLabel(String xml, int start) {
+		return xml.startsWith("<element", start)
+				? getAttribute(xml, start, "label") : null;
+	}
+
+	private static String getAttribute(String xml, int start, String name) {
+		String attr = " " + name + "=\"";
+		int tagEnd = xml.indexOf('>', start);
+		int pos = xml.indexOf(attr, start);
+		if (pos < 0 || pos > tagEnd) {
+			return null;
+		}
+		int valueStart = pos + attr.length();
+		return xml.substring(valueStart, xml.indexOf('"', valueStart));
+	}
+
+	private static boolean regionEquals(String a, int aStart, int aEnd,
+			String b, int bStart, int bEnd) {
+		return aEnd - aStart == bEnd - bStart
+				&& a.regionMatches(aStart, b, bStart, aEnd - aStart);
+	}
+}
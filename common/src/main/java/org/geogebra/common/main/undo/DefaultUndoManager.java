@@ -1,9 +1,16 @@
 package org.geogebra.common.main.undo;
 
+import java.util.Objects;
+
+import org.geogebra.common.io.MyXMLio;
+import org.geogebra.common.io.XMLParseException;
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.plugin.ActionType;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 /**
  * String based undo manager
@@ -12,6 +19,13 @@
  */
 public class DefaultUndoManager extends UndoManager {
 
+	private DeltaAppState lastStoredState;
+	/** state of the construction after the last store or load, null if unknown */
+	private AppState currentState;
+	private String currentSlideID;
+	/** kernel change count when currentState was set */
+	private int currentChangeCount;
+
 	/**
 	 * @param cons
 	 *            construction
@@ -33,7 +47,13 @@ public void storeUndoInfo(StringBuilder currentUndoXML) {
      *            string builder with construction XML
      */
     private synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-        AppState appStateToAdd = new StringAppState(undoXML.toString());
+        long start = System.nanoTime();
+        DeltaAppState appStateToAdd = DeltaAppState.create(undoXML.toString(),
+                lastStoredState);
+        GeoGebraProfiler.record(Metric.UNDO_STORE,
+                appStateToAdd.isSnapshot() ? "snapshot" : "delta", start);
+        lastStoredState = appStateToAdd;
+        setCurrentState(appStateToAdd);
         UndoCommand command = createUndoCommand(appStateToAdd);
         maybeStoreUndoCommand(command);
         pruneStateList();
@@ -48,9 +68,103 @@ protected UndoCommand createUndoCommand(AppState appState) {
 	@Override
 	protected void loadUndoInfo(AppState state, String slideID) {
 		try {
-			construction.processXML(state.getXml(), false, null);
+			String xml = state.getXml();
+			if (!loadChangedElements(state, xml)) {
+				construction.processXML(xml, false, null);
+			}
+			setCurrentState(state);
 		} catch (Exception e) {
+			currentState = null;
 			Log.debug(e);
 		}
 	}
+
+	/**
+	 * If the given state differs from the state last stored or loaded only in
+	 * independent elements, reloads just those elements instead of the whole
+	 * construction. If the construction changed since that state was stored
+	 * or loaded (e.g. changes that were not stored), the XML of that state
+	 * does not describe the construction any more and the full reload is
+	 * needed; the same holds for reloading the current state.
+	 *
+	 * @param state
+	 *            state to load
+	 * @param xml
+	 *            undo XML of the state
+	 * @return whether the state was loaded
+	 * @throws XMLParseException
+	 *             if the XML of changed elements is not valid
+	 */
+	protected boolean loadChangedElements(AppState state, String xml)
+			throws XMLParseException {
+		if (currentState == null || currentState == state
+				|| currentChangeCount != app.getKernel().getChangeCount()
+				|| !Objects.equals(currentSlideID, app.getSlideID())) {
+			return false;
+		}
+		String changed = ConstructionXmlDiff
+				.getChangedIndependentElements(currentState.getXml(), xml);
+		if (changed == null) {
+			return false;
+		}
+		if (!changed.isEmpty()) {
+			processElementsXML(changed);
+			app.getKernel().updateConstruction(false);
+		}
+		return true;
+	}
+
+	/**
+	 * Loads elements into the construction without clearing it, with the same
+	 * flags as a full reload of undo XML.
+	 */
+	private void processElementsXML(String elementsXML)
+			throws XMLParseException {
+		StringBuilder sb = new StringBuilder(elementsXML.length() + 512);
+		MyXMLio.addXMLHeader(sb);
+		MyXMLio.addGeoGebraHeader(sb, false, null, app);
+		sb.append("<construction>\n").append(elementsXML)
+				.append("</construction>\n</geogebra>\n");
+		construction.setFileLoading(true);
+		construction.setCasCellUpdate(true);
+		try {
+			construction.getXMLio().processXMLString(sb.toString(), false,
+					false, true, false);
+		} finally {
+			construction.setFileLoading(false);
+			construction.setCasCellUpdate(false);
+		}
+	}
+
+	/**
+	 * Called after the construction was stored or loaded to the given state.
+	 *
+	 * @param state
+	 *            current state
+	 */
+	protected void setCurrentState(AppState state) {
+		currentState = state;
+		currentSlideID = app.getSlideID();
+		currentChangeCount = app.getKernel().getChangeCount();
+	}
+
+	@Override
+	public void executeAction(ActionType action, String... args) {
+		// actions change the construction without storing its XML
+		currentState = null;
+		super.executeAction(action, args);
+	}
+
+	@Override
+	protected void storeAndNotify(UndoCommand command) {
+		currentState = null;
+		super.storeAndNotify(command);
+	}
+
+	@Override
+	public synchronized void clearUndoInfo() {
+		super.clearUndoInfo();
+		lastStoredState = null;
+		currentState = null;
+	}
 }
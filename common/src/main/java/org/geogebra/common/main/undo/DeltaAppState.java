@@ -0,0 +1,242 @@
+package org.geogebra.common.main.undo;
+
+/**
+ * App state that stores only the lines that differ from a shared base
+ * snapshot. A new base snapshot is taken when too many states refer to the
+ * current one or when the difference gets too big.
+ */
+public final class DeltaAppState implements AppState {
+
+	/** maximal number of states sharing one base snapshot */
+	static final int MAX_DELTAS = 20;
+	/** take a new snapshot if the delta exceeds base length / this */
+	private static final int MAX_DELTA_RATIO = 4;
+
+	private Snapshot base;
+	private int depth;
+	/** first replaced base line of each hunk */
+	private int[] hunkStart;
+	/** first base line after each hunk */
+	private int[] hunkEnd;
+	private String[] hunkText;
+	private int length;
+
+	private static final class Snapshot {
+		final String xml;
+		/** offsets of line starts, last entry is the length of xml */
+		final int[] lines;
+
+		Snapshot(String xml) {
+			this.xml = xml;
+			this.lines = lineStarts(xml);
+		}
+	}
+
+	private DeltaAppState(Snapshot base, int depth) {
+		this.base = base;
+		this.depth = depth;
+		this.length = base.xml.length();
+	}
+
+	/**
+	 * @param xml
+	 *            construction XML
+	 * @param previous
+	 *            previously stored state (may be null)
+	 * @return state storing the XML as delta against the base of the previous
+	 *         state if possible, as a new base snapshot otherwise
+	 */
+	public static DeltaAppState create(String xml, DeltaAppState previous) {
+		if (previous == null || previous.base == null
+				|| previous.depth >= MAX_DELTAS) {
+			return new DeltaAppState(new Snapshot(xml), 0);
+		}
+		DeltaAppState state = new DeltaAppState(previous.base,
+				previous.depth + 1);
+		if (!state.encode(xml)) {
+			return new DeltaAppState(new Snapshot(xml), 0);
+		}
+		return state;
+	}
+
+	/**
+	 * Finds lines that differ from the base: common leading and trailing lines
+	 * are skipped; if the rest has the same number of lines in both, only the
+	 * differing runs of lines are stored, otherwise the whole rest.
+	 *
+	 * @return false if the delta would be too big
+	 */
+	private boolean encode(String xml) {
+		String old = base.xml;
+		int[] oldLines = base.lines;
+		int[] newLines = lineStarts(xml);
+		int oldCount = oldLines.length - 1;
+		int newCount = newLines.length - 1;
+		int prefix = 0;
+		int maxPrefix = Math.min(oldCount, newCount);
+		while (prefix < maxPrefix
+				&& lineEquals(old, oldLines, prefix, xml, newLines, prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < maxPrefix - prefix && lineEquals(old, oldLines,
+				oldCount - 1 - suffix, xml, newLines, newCount - 1 - suffix)) {
+			suffix++;
+		}
+		int oldEnd = oldCount - suffix;
+		int newEnd = newCount - suffix;
+		int hunks = 0;
+		int[] starts = new int[4];
+		int[] ends = new int[4];
+		String[] texts = new String[4];
+		int deltaLength = 0;
+		if (oldEnd - prefix == newEnd - prefix) {
+			int line = prefix;
+			while (line < oldEnd) {
+				if (lineEquals(old, oldLines, line, xml, newLines, line)) {
+					line++;
+					continue;
+				}
+				int runEnd = line + 1;
+				while (runEnd < oldEnd && !lineEquals(old, oldLines, runEnd,
+						xml, newLines, runEnd)) {
+					runEnd++;
+				}
+				if (hunks == starts.length) {
+					starts = grow(starts);
+					ends = grow(ends);
+					String[] copy = new String[2 * hunks];
+					System.arraycopy(texts, 0, copy, 0, hunks);
+					texts = copy;
+				}
+				starts[hunks] = line;
+				ends[hunks] = runEnd;
+				texts[hunks] = xml.substring(newLines[line], newLines[runEnd]);
+				deltaLength += texts[hunks].length();
+				hunks++;
+				line = runEnd;
+			}
+		} else {
+			starts[0] = prefix;
+			ends[0] = oldEnd;
+			texts[0] = xml.substring(newLines[prefix], newLines[newEnd]);
+			deltaLength = texts[0].length();
+			hunks = 1;
+		}
+		if (deltaLength > old.length() / MAX_DELTA_RATIO) {
+			return false;
+		}
+		hunkStart = new int[hunks];
+		hunkEnd = new int[hunks];
+		hunkText = new String[hunks];
+		System.arraycopy(starts, 0, hunkStart, 0, hunks);
+		System.arraycopy(ends, 0, hunkEnd, 0, hunks);
+		System.arraycopy(texts, 0, hunkText, 0, hunks);
+		length = xml.length();
+		return true;
+	}
+
+	private static int[] grow(int[] array) {
+		int[] copy = new int[2 * array.length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+
+	private static boolean lineEquals(String a, int[] aLines, int aLine,
+			String b, int[] bLines, int bLine) {
+		int start = aLines[aLine];
+		int len = aLines[aLine + 1] - start;
+		return len == bLines[bLine + 1] - bLines[bLine]
+				&& a.regionMatches(start, b, bLines[bLine], len);
+	}
+
+	private static int[] lineStarts(String xml) {
+		int count = 1;
+		for (int i = 0; i < xml.length(); i++) {
+			if (xml.charAt(i) == '\n') {
+				count++;
+			}
+		}
+		int[] lines = new int[count + 1];
+		int line = 1;
+		for (int i = 0; i < xml.length(); i++) {
+			if (xml.charAt(i) == '\n') {
+				lines[line++] = i + 1;
+			}
+		}
+		lines[count] = xml.length();
+		return lines;
+	}
+
+	@Override
+	public String getXml() {
+		if (base == null) {
+			return null;
+		}
+		if (hunkText == null) {
+			return base.xml;
+		}
+		StringBuilder sb = new StringBuilder(length);
+		int[] lines = base.lines;
+		int copied = 0;
+		for (int i = 0; i < hunkText.length; i++) {
+			sb.append(base.xml, lines[copied], lines[hunkStart[i]]);
+			sb.append(hunkText[i]);
+			copied = hunkEnd[i];
+		}
+		sb.append(base.xml, lines[copied], base.xml.length());
+		return sb.toString();
+	}
+
+	@Override
+	public void delete() {
+		base = null;
+		hunkStart = null;
+		hunkEnd = null;
+		hunkText = null;
+	}
+
+	@Override
+	public boolean equalsTo(AppState state) {
+		if (state == null || base == null) {
+			return false;
+		}
+		if (state instanceof DeltaAppState) {
+			DeltaAppState other = (DeltaAppState) state;
+			if (other.base == base && other.hunkText == null
+					&& hunkText == null) {
+				return true;
+			}
+			if (other.length != length) {
+				return false;
+			}
+		}
+		String xml = state.getXml();
+		return xml != null && xml.equals(getXml());
+	}
+
+	/**
+	 * @return true if this state stores a full snapshot
+	 */
+	public boolean isSnapshot() {
+		return base != null && hunkText == null;
+	}
+
+	/**
+	 * @return number of characters stored only for this state (whole XML for
+	 *         snapshots)
+	 */
+	public int getStoredLength() {
+		if (base == null) {
+			return 0;
+		}
+		if (hunkText == null) {
+			return base.xml.length();
+		}
+		int stored = 0;
+		for (String text : hunkText) {
+			stored += text.length();
+		}
+		return stored;
+	}
+}
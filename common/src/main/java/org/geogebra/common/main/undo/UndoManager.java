@@ -20,6 +20,8 @@
 import org.geogebra.common.plugin.ActionType;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -252,7 +254,10 @@ public boolean redoPossible() {
 	 * Stores undo info
 	 */
 	final public void storeUndoInfo() {
-		storeUndoInfo(construction.getCurrentUndoXML(true));
+		long start = System.nanoTime();
+		StringBuilder undoXML = construction.getCurrentUndoXML(true);
+		GeoGebraProfiler.record(Metric.UNDO_STORE, "xml", start);
+		storeUndoInfo(undoXML);
 		storeUndoInfoNeededForProperties = false;
 	}
 
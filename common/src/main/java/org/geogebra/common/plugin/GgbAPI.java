@@ -15,6 +15,7 @@
 import org.geogebra.common.euclidian3D.EuclidianView3DInterface;
 import org.geogebra.common.export.pstricks.ExportFrameMinimal;
 import org.geogebra.common.export.pstricks.GeoGebraExport;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.gui.dialog.handler.RenameInputHandler;
 import org.geogebra.common.gui.dialog.options.model.SelectionAllowedModel;
 import org.geogebra.common.gui.toolbar.ToolBar;
@@ -64,7 +65,9 @@
 import org.geogebra.common.ownership.GlobalScope;
 import org.geogebra.common.util.AsyncOperation;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
 
 import com.himamis.retex.editor.share.util.Unicode;
 import com.himamis.retex.renderer.share.TeXFormula;
@@ -1899,6 +1902,18 @@ public void enable3D(boolean enable) {
 		}
 	}
 
+	@Override
+	public void enablePerformanceMetrics(boolean enable) {
+		GeoGebraProfiler.setRegistry(enable
+				? UtilFactory.getPrototype().newMetricsRegistry() : null);
+	}
+
+	@Override
+	public String getPerformanceMetrics() {
+		MetricsRegistry registry = GeoGebraProfiler.getRegistry();
+		return registry == null ? "" : registry.toPrometheus();
+	}
+
 	/**
 	 * @param enable
 	 *            whether geogebra-web applet rightclick enabled or not
@@ -1005,6 +1005,21 @@ void registerObjectClickListener(String objName,
 
 	void enable3D(boolean enable);
 
+	/**
+	 * Starts or stops collecting timings of algorithms, drawing, CAS, file
+	 * loading and undo. Starting discards previously collected timings.
+	 * 
+	 * @param enable
+	 *            whether to collect timings
+	 */
+	void enablePerformanceMetrics(boolean enable);
+
+	/**
+	 * @return collected timings in Prometheus text format, empty if not
+	 *         collecting
+	 */
+	String getPerformanceMetrics();
+
 	/**
 	 * @param enable
 	 *            whether geogebra-web applet rightclick enabled or not
@@ -0,0 +1,18 @@
+package org.geogebra.common.plugin;
+
+/**
+ * Geometry getter that needs the number of triangles before the first
+ * geometry, e.g. to write a file header without keeping the whole export in
+ * memory.
+ */
+public interface StreamingGeometry3DGetter extends Geometry3DGetter {
+
+	/**
+	 * Called once before the first geometry.
+	 * 
+	 * @param triangleCount
+	 *            number of triangles that will be passed to
+	 *            {@link #addTriangle(int, int, int)}
+	 */
+	void startExport(long triangleCount);
+}
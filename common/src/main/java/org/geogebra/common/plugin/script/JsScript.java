@@ -6,7 +6,9 @@
 import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.ScriptError;
 import org.geogebra.common.plugin.ScriptType;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.Metric;
 
 /**
  * @author arno Class for JavaScript scripts
@@ -27,6 +29,8 @@ public JsScript(App app, String text) {
 	public boolean run(Event evt) throws ScriptError {
 		String label = evt.target.getLabel(StringTemplate.defaultTemplate);
 		boolean update = evt.type == EventType.UPDATE;
+		boolean profile = GeoGebraProfiler.isEnabled();
+		long start = profile ? System.nanoTime() : 0;
 		try {
 			if (app.isApplet() && app.useBrowserForJavaScript() && !update) {
 				app.callAppletJavaScript("ggb" + label, evt.argument);
@@ -45,6 +49,10 @@ public boolean run(Event evt) throws ScriptError {
 					+ app.getLocalization().getMenuDefault("ErrorInJavaScript",
 							"Error in JavaScript")
 					+ "\n" + e.getLocalizedMessage());
+		} finally {
+			if (profile) {
+				GeoGebraProfiler.record(Metric.SCRIPT_RUN, label, start);
+			}
 		}
 	}
 
@@ -0,0 +1,293 @@
+package org.geogebra.common.util.clipper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.geogebra.common.util.clipper.Clipper.ClipType;
+import org.geogebra.common.util.clipper.Clipper.PolyFillType;
+import org.geogebra.common.util.clipper.Clipper.PolyType;
+import org.geogebra.common.util.clipper.Point.DoublePoint;
+
+/**
+ * Union, intersection or xor of a list of polygons.
+ *
+ * Polygons are the leaves of a balanced binary tree; the tree is split at the
+ * median of bounding box centers, so nearby polygons are combined first and
+ * every clipper pass works on a small part of the result. Union and xor of
+ * subtrees with disjoint bounding boxes need no clipper pass at all,
+ * intersection of such subtrees is empty.
+ *
+ * Results of all subtrees are kept: when a polygon changes, only the nodes on
+ * its path to the root are computed again. Callers identify the state of each
+ * polygon by a version, e.g. its update count; polygons without reliable
+ * version are compared with their previous vertices.
+ */
+public class PolygonListOperation {
+
+	/** version of polygons that may change without a change of version */
+	public static final long UNKNOWN_VERSION = Long.MIN_VALUE;
+
+	private static final Comparator<Leaf> BY_X = Comparator
+			.comparingDouble(leaf -> leaf.centerX);
+	private static final Comparator<Leaf> BY_Y = Comparator
+			.comparingDouble(leaf -> leaf.centerY);
+
+	private final ClipType clipType;
+	private final DefaultClipper clipper = new DefaultClipper(
+			Clipper.STRICTLY_SIMPLE);
+	private final ArrayList<Leaf> leaves = new ArrayList<>();
+	private final Paths empty = new Paths();
+	private Node root;
+	private int changedSinceBuild;
+	private int clipperRuns;
+
+	private static class Node {
+		Node parent;
+		Node left;
+		Node right;
+		final Paths result = new Paths();
+		DoubleRect bounds = new DoubleRect();
+		boolean dirty = true;
+		boolean failed;
+
+		void markDirty() {
+			for (Node node = this; node != null && !node.dirty; node = node
+					.parent) {
+				node.dirty = true;
+			}
+		}
+	}
+
+	private static final class Leaf extends Node {
+		/** vertices of the polygon */
+		Path path = new Path();
+		/** buffer for new vertices */
+		Path next = new Path();
+		boolean pending;
+		Object source;
+		long version;
+		double centerX;
+		double centerY;
+	}
+
+	/**
+	 * @param clipType
+	 *            union, intersection or xor
+	 */
+	public PolygonListOperation(ClipType clipType) {
+		if (clipType == ClipType.DIFFERENCE) {
+			throw new IllegalArgumentException(
+					"Difference of a list is not supported");
+		}
+		this.clipType = clipType;
+	}
+
+	/**
+	 * @param size
+	 *            number of polygons
+	 */
+	public void setSize(int size) {
+		if (size == leaves.size()) {
+			return;
+		}
+		while (leaves.size() > size) {
+			leaves.remove(leaves.size() - 1);
+		}
+		while (leaves.size() < size) {
+			leaves.add(new Leaf());
+		}
+		root = null;
+	}
+
+	/**
+	 * @return number of polygons
+	 */
+	public int getSize() {
+		return leaves.size();
+	}
+
+	/**
+	 * Prepares a polygon for update. If the polygon is unchanged, null is
+	 * returned and the cached results are used; otherwise the caller has to
+	 * add the vertices of the polygon to the returned path.
+	 *
+	 * @param index
+	 *            index of the polygon
+	 * @param source
+	 *            object the polygon comes from, compared by identity
+	 * @param version
+	 *            version of the source or {@link #UNKNOWN_VERSION}
+	 * @return empty path to be filled with vertices, null if unchanged
+	 */
+	public Path updatePolygon(int index, Object source, long version) {
+		Leaf leaf = leaves.get(index);
+		if (leaf.source == source && leaf.version == version
+				&& version != UNKNOWN_VERSION && !leaf.dirty) {
+			return null;
+		}
+		leaf.source = source;
+		leaf.version = version;
+		leaf.pending = true;
+		leaf.next.clear();
+		return leaf.next;
+	}
+
+	/**
+	 * Computes the result for all changed polygons.
+	 *
+	 * @return false if the clipper failed on some part of the input
+	 */
+	public boolean execute() {
+		for (Leaf leaf : leaves) {
+			if (leaf.pending) {
+				leaf.pending = false;
+				if (leaf.dirty || !samePoints(leaf.path, leaf.next)) {
+					Path old = leaf.path;
+					leaf.path = leaf.next;
+					leaf.next = old;
+					leaf.markDirty();
+					changedSinceBuild++;
+				}
+			}
+			if (leaf.dirty) {
+				computeLeaf(leaf);
+			}
+		}
+		// rebuild when most polygons changed, their positions might have too
+		if (root == null || 2 * changedSinceBuild > leaves.size()) {
+			build();
+		}
+		changedSinceBuild = 0;
+		if (root == null) {
+			return true;
+		}
+		compute(root);
+		return !root.failed;
+	}
+
+	/**
+	 * @return result of the last execution, must not be modified
+	 */
+	public Paths getSolution() {
+		return root == null ? empty : root.result;
+	}
+
+	/**
+	 * @return number of clipper passes so far
+	 */
+	public int getClipperRuns() {
+		return clipperRuns;
+	}
+
+	private void build() {
+		Leaf[] order = leaves.toArray(new Leaf[0]);
+		root = order.length == 0 ? null : build(order, 0, order.length);
+		if (root != null) {
+			root.parent = null;
+		}
+	}
+
+	private Node build(Leaf[] order, int from, int to) {
+		if (to - from == 1) {
+			return order[from];
+		}
+		double minX = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = from; i < to; i++) {
+			minX = Math.min(minX, order[i].centerX);
+			maxX = Math.max(maxX, order[i].centerX);
+			minY = Math.min(minY, order[i].centerY);
+			maxY = Math.max(maxY, order[i].centerY);
+		}
+		Arrays.sort(order, from, to, maxX - minX >= maxY - minY ? BY_X : BY_Y);
+		int mid = (from + to) >>> 1;
+		Node node = new Node();
+		node.left = build(order, from, mid);
+		node.right = build(order, mid, to);
+		node.left.parent = node;
+		node.right.parent = node;
+		return node;
+	}
+
+	private void computeLeaf(Leaf leaf) {
+		// a single pass makes the polygon simple, so that results of disjoint
+		// subtrees can be joined
+		leaf.result.clear();
+		leaf.failed = false;
+		if (leaf.path.size() > 2) {
+			clipper.clear();
+			clipper.addPath(leaf.path, PolyType.SUBJECT, true);
+			clipperRuns++;
+			leaf.failed = !clipper.execute(ClipType.UNION, leaf.result,
+					PolyFillType.EVEN_ODD, PolyFillType.EVEN_ODD);
+		}
+		leaf.bounds = leaf.result.getBounds();
+		leaf.centerX = 0;
+		leaf.centerY = 0;
+		for (DoublePoint point : leaf.path) {
+			leaf.centerX += point.getX() / leaf.path.size();
+			leaf.centerY += point.getY() / leaf.path.size();
+		}
+		leaf.dirty = false;
+	}
+
+	private void compute(Node node) {
+		if (!node.dirty) {
+			return;
+		}
+		compute(node.left);
+		compute(node.right);
+		Node left = node.left;
+		Node right = node.right;
+		node.failed = left.failed || right.failed;
+		node.result.clear();
+		if (clipType == ClipType.INTERSECTION) {
+			if (!left.result.isEmpty() && !right.result.isEmpty()
+					&& overlap(left.bounds, right.bounds)) {
+				clip(node);
+			}
+		} else if (left.result.isEmpty() || right.result.isEmpty()
+				|| !overlap(left.bounds, right.bounds)) {
+			node.result.addAll(left.result);
+			node.result.addAll(right.result);
+		} else {
+			clip(node);
+		}
+		node.bounds = node.result.getBounds();
+		node.dirty = false;
+	}
+
+	private void clip(Node node) {
+		clipper.clear();
+		clipper.addPaths(node.left.result, PolyType.SUBJECT, true);
+		clipper.addPaths(node.right.result, PolyType.CLIP, true);
+		clipperRuns++;
+		if (!clipper.execute(clipType, node.result, PolyFillType.EVEN_ODD,
+				PolyFillType.EVEN_ODD)) {
+			node.result.clear();
+			node.failed = true;
+		}
+	}
+
+	private static boolean samePoints(Path path1, Path path2) {
+		if (path1.size() != path2.size()) {
+			return false;
+		}
+		for (int i = 0; i < path1.size(); i++) {
+			if (path1.get(i).getX() != path2.get(i).getX()
+					|| path1.get(i).getY() != path2.get(i).getY()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean overlap(DoubleRect a, DoubleRect b) {
+		// touching boxes overlap, shared edges have to be merged
+		return a.left <= b.right && b.left <= a.right && a.top <= b.bottom
+				&& b.top <= a.bottom;
+	}
+}
@@ -1,37 +1,95 @@
 package org.geogebra.common.util.debug;
 
+import org.geogebra.common.util.debug.metrics.Counter;
+import org.geogebra.common.util.debug.metrics.Histogram;
+import org.geogebra.common.util.debug.metrics.Metric;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+
 /**
- * Use GeoGebraProfiler's add methods to add the time it took to finish
- * an operation, such as a repaint or a cascade update.
- * The data can then be displayed using the print methods
+ * Use GeoGebraProfiler's add and record methods to add the time it took to
+ * finish an operation, such as a repaint or a cascade update. Timings are only
+ * collected while a {@link MetricsRegistry} is set. The data can then be
+ * exported from the registry or displayed using the print methods.
  */
 public class GeoGebraProfiler {
 
-	private static volatile int repaints;
-	private static volatile int repaintTime;
-	private static volatile int drags;
-	private static volatile int dragTime;
+	private static volatile MetricsRegistry registry;
 
-	private static volatile int algebra;
-	private static volatile int event;
-	private static volatile int cascades;
+	/**
+	 * @param metrics
+	 *            registry for timings, null to stop collecting
+	 */
+	public static void setRegistry(MetricsRegistry metrics) {
+		registry = metrics;
+	}
 
-	private static volatile long algebraTime;
-	private static volatile long eventTime;
-	private static volatile long cascadeTime;
+	/**
+	 * @return registry for timings, null if not collecting
+	 */
+	public static MetricsRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * @return whether timings are collected
+	 */
+	public static boolean isEnabled() {
+		return registry != null;
+	}
 
-	private static final Object lock = new Object();
+	/**
+	 * @param metric
+	 *            metric
+	 * @param label
+	 *            label, e.g. command name
+	 * @param startNanos
+	 *            start time from {@link System#nanoTime()}
+	 */
+	public static void record(Metric metric, String label, long startNanos) {
+		MetricsRegistry metrics = registry;
+		if (metrics != null) {
+			metrics.record(metric, label,
+					(System.nanoTime() - startNanos) / 1E6);
+		}
+	}
+
+	/**
+	 * @param counter
+	 *            counter
+	 * @param label
+	 *            label, e.g. hit or miss
+	 */
+	public static void count(Counter counter, String label) {
+		MetricsRegistry metrics = registry;
+		if (metrics != null) {
+			metrics.increment(counter, label);
+		}
+	}
+
+	private static void add(Metric metric, long time) {
+		MetricsRegistry metrics = registry;
+		if (metrics != null) {
+			metrics.record(metric, null, time);
+		}
+	}
 
 	/**
 	 * Display performance data about drags and repaints
 	 */
 	public static void printDragMeasurementData() {
-		if (drags > 0) {
-			Log.debug("Profile Dragging: \nNumber of handled drag events: " + drags + "\n"
+		Histogram drags = getTotal(Metric.DRAG);
+		if (drags != null) {
+			Histogram repaints = getTotal(Metric.REPAINT);
+			long repaintCount = repaints == null ? 0 : repaints.getCount();
+			Log.debug("Profile Dragging: \nNumber of handled drag events: "
+					+ drags.getCount() + "\n"
 					+ "Average duration of one drag event: "
-					+ ((float) dragTime / (float) drags) + " ms \n" + "Number of repaints: "
-					+ repaints + "\n" + "Average duration of one repaint: "
-					+ ((float) repaintTime / repaints) + " ms");
+					+ (drags.getSum() / drags.getCount()) + " ms \n"
+					+ "Number of repaints: " + repaintCount + "\n"
+					+ "Average duration of one repaint: "
+					+ (repaintCount == 0 ? 0
+							: repaints.getSum() / repaintCount)
+					+ " ms");
 		}
 	}
 
@@ -39,43 +97,51 @@ public static void printDragMeasurementData() {
 	 * Display performance data about algebra view updates
 	 */
 	public static void printAlgebraMeasurementData() {
-		if (algebra > 0) {
-			Log.debug("Profile Algebra: " + algebra + " x "
-					+ (algebraTime / algebra) + " = " + algebraTime);
-		}
+		print("Profile Algebra: ", Metric.ALGEBRA_UPDATE);
 	}
 
 	/**
 	 * Display performance data about event dispatches
 	 */
 	public static void printEventMeasurementData() {
-		if (event > 0) {
-			Log.debug("Profile EventDispatcher: " + event + " x "
-					+ (eventTime / event) + " = " + eventTime);
-		}
+		print("Profile EventDispatcher: ", Metric.EVENT_DISPATCH);
 	}
 
 	/**
 	 * Display performance data about cascade update
 	 */
 	public static void printCascadeMeasurementData() {
-		if (cascades > 0) {
-			Log.debug("Profile Cascades: " + cascades + " x "
-					+ (cascadeTime / cascades) + " = " + cascadeTime);
+		print("Profile Cascades: ", Metric.UPDATE_CASCADE);
+	}
+
+	private static void print(String title, Metric metric) {
+		Histogram histogram = getTotal(metric);
+		if (histogram != null) {
+			Log.debug(title + histogram.getCount() + " x "
+					+ (histogram.getSum() / histogram.getCount()) + " = "
+					+ histogram.getSum());
 		}
 	}
 
+	private static Histogram getTotal(Metric metric) {
+		MetricsRegistry metrics = registry;
+		if (metrics == null) {
+			return null;
+		}
+		// metrics without label have a single histogram
+		Histogram histogram = metrics.getHistograms(metric).get("");
+		return histogram == null || histogram.getCount() == 0 ? null
+				: histogram;
+	}
+
 	/**
 	 * Log a repaint
-	 * 
+	 *
 	 * @param time
 	 *            repaint duration
 	 */
 	public static void addRepaint(long time) {
-		synchronized (lock) {
-			repaints++;
-			repaintTime += time;
-		}
+		add(Metric.REPAINT, time);
 	}
 
 	/**
@@ -83,10 +149,7 @@ public static void addRepaint(long time) {
 	 *            cascade duration
 	 */
 	public static void addUpdateCascade(long time) {
-		synchronized (lock) {
-			cascades++;
-			cascadeTime += time;
-		}
+		add(Metric.UPDATE_CASCADE, time);
 	}
 
 	/**
@@ -94,10 +157,7 @@ public static void addUpdateCascade(long time) {
 	 *            algebra update duration
 	 */
 	public static void addAlgebra(long time) {
-		synchronized (lock) {
-			algebra++;
-			algebraTime += time;
-		}
+		add(Metric.ALGEBRA_UPDATE, time);
 	}
 
 	/**
@@ -105,10 +165,7 @@ public static void addAlgebra(long time) {
 	 *            event handling duration
 	 */
 	public static void addEvent(long time) {
-		synchronized (lock) {
-			event++;
-			eventTime += time;
-		}
+		add(Metric.EVENT_DISPATCH, time);
 	}
 
 	/**
@@ -116,9 +173,6 @@ public static void addEvent(long time) {
 	 *            drag duration
 	 */
 	public static void addDrag(long time) {
-		synchronized (lock) {
-			drags++;
-			dragTime += time;
-		}
+		add(Metric.DRAG, time);
 	}
 }
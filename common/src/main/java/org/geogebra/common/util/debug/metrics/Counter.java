@@ -0,0 +1,37 @@
+package org.geogebra.common.util.debug.metrics;
+
+/**
+ * Event counts collected by {@link MetricsRegistry}.
+ */
+public enum Counter {
+	/** lookups in the cache of parsed input, labeled hit or miss */
+	PARSE_CACHE("parse_cache_total", "result"),
+	/**
+	 * lookups in the cache of Giac results, labeled hit, store_hit (found in
+	 * the persistent store) or miss
+	 */
+	CAS_CACHE("cas_cache_total", "result");
+
+	private final String counterName;
+	private final String labelName;
+
+	Counter(String counterName, String labelName) {
+		this.counterName = counterName;
+		this.labelName = labelName;
+	}
+
+	/**
+	 * @return name used in exported metrics
+	 */
+	public String getCounterName() {
+		return counterName;
+	}
+
+	/**
+	 * @return name of the label distinguishing counts of this counter, null
+	 *         if there is only one count
+	 */
+	public String getLabelName() {
+		return labelName;
+	}
+}
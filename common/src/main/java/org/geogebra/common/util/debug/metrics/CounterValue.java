@@ -0,0 +1,17 @@
+package org.geogebra.common.util.debug.metrics;
+
+/**
+ * Monotonic count of events.
+ */
+public interface CounterValue {
+
+	/**
+	 * Counts one event.
+	 */
+	void increment();
+
+	/**
+	 * @return number of counted events
+	 */
+	long get();
+}
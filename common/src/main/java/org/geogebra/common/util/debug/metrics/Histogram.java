@@ -0,0 +1,32 @@
+package org.geogebra.common.util.debug.metrics;
+
+/**
+ * Distribution of timings over the buckets of
+ * {@link MetricsRegistry#BUCKETS}.
+ */
+public interface Histogram {
+
+	/**
+	 * @param millis
+	 *            measured time
+	 */
+	void record(double millis);
+
+	/**
+	 * @return number of recorded timings
+	 */
+	long getCount();
+
+	/**
+	 * @return sum of recorded timings in milliseconds
+	 */
+	double getSum();
+
+	/**
+	 * @param bucket
+	 *            bucket index, {@link MetricsRegistry#BUCKETS}.length for
+	 *            timings above the last bound
+	 * @return number of timings in the bucket (not cumulative)
+	 */
+	long getBucketCount(int bucket);
+}
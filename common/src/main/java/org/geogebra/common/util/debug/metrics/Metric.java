@@ -0,0 +1,52 @@
+package org.geogebra.common.util.debug.metrics;
+
+/**
+ * Timings collected by {@link MetricsRegistry}, all in milliseconds.
+ */
+public enum Metric {
+	/** compute() of one algorithm, labeled by command name */
+	ALGO_COMPUTE("algo_compute_ms", "command"),
+	/** drawing of one drawable, labeled by drawable class */
+	DRAW("draw_ms", "drawable"),
+	/** one CAS evaluation, labeled by top level command */
+	CAS_EVAL("cas_eval_ms", "command"),
+	/** phases of loading a construction from XML */
+	XML_LOAD("xml_load_ms", "phase"),
+	/** serializing and storing an undo point */
+	UNDO_STORE("undo_store_ms", "step"),
+	/** repaint of a view */
+	REPAINT("repaint_ms", null),
+	/** handling of a drag event */
+	DRAG("drag_ms", null),
+	/** update of the algebra view */
+	ALGEBRA_UPDATE("algebra_update_ms", null),
+	/** dispatch of an event to scripts and listeners */
+	EVENT_DISPATCH("event_dispatch_ms", null),
+	/** update cascade of a single element */
+	UPDATE_CASCADE("update_cascade_ms", null),
+	/** one run of a JavaScript click or update script, labeled by element */
+	SCRIPT_RUN("script_run_ms", "element");
+
+	private final String metricName;
+	private final String labelName;
+
+	Metric(String metricName, String labelName) {
+		this.metricName = metricName;
+		this.labelName = labelName;
+	}
+
+	/**
+	 * @return name used in exported metrics
+	 */
+	public String getMetricName() {
+		return metricName;
+	}
+
+	/**
+	 * @return name of the label distinguishing histograms of this metric, null
+	 *         if there is only one histogram
+	 */
+	public String getLabelName() {
+		return labelName;
+	}
+}
@@ -0,0 +1,265 @@
+package org.geogebra.common.util.debug.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects timing histograms per {@link Metric} and label (e.g. command name)
+ * and event counts per {@link Counter} and label, and exports them in
+ * Prometheus text format.
+ * <p>
+ * This implementation is meant for a single thread; platforms with threads
+ * should use a subclass with concurrent maps and counters.
+ */
+public class MetricsRegistry {
+
+	/** upper bounds of histogram buckets in milliseconds */
+	public static final double[] BUCKETS = { 0.01, 0.05, 0.1, 0.5, 1, 5, 10,
+			50, 100, 500, 1000, 5000 };
+	private static final String PREFIX = "ggb_";
+
+	private final ArrayList<Map<String, Histogram>> histograms = new ArrayList<>();
+	private final ArrayList<Map<String, CounterValue>> counters = new ArrayList<>();
+
+	/**
+	 * Creates empty registry.
+	 */
+	public MetricsRegistry() {
+		for (int i = 0; i < Metric.values().length; i++) {
+			histograms.add(newLabelMap());
+		}
+		for (int i = 0; i < Counter.values().length; i++) {
+			counters.add(newLabelMap());
+		}
+	}
+
+	/**
+	 * @param metric
+	 *            metric
+	 * @param label
+	 *            label value, ignored for metrics without label
+	 * @param millis
+	 *            measured time
+	 */
+	public void record(Metric metric, String label, double millis) {
+		getHistogram(metric, label).record(millis);
+	}
+
+	/**
+	 * @param metric
+	 *            metric
+	 * @param label
+	 *            label value, ignored for metrics without label
+	 * @return histogram, created if necessary
+	 */
+	public Histogram getHistogram(Metric metric, String label) {
+		String key = metric.getLabelName() == null || label == null ? ""
+				: label;
+		return histograms.get(metric.ordinal()).computeIfAbsent(key,
+				k -> newHistogram());
+	}
+
+	/**
+	 * @param metric
+	 *            metric
+	 * @return histograms of the metric sorted by label
+	 */
+	public TreeMap<String, Histogram> getHistograms(Metric metric) {
+		return new TreeMap<>(histograms.get(metric.ordinal()));
+	}
+
+	/**
+	 * @param counter
+	 *            counter
+	 * @param label
+	 *            label value, ignored for counters without label
+	 */
+	public void increment(Counter counter, String label) {
+		getCounter(counter, label).increment();
+	}
+
+	/**
+	 * @param counter
+	 *            counter
+	 * @param label
+	 *            label value, ignored for counters without label
+	 * @return count, created if necessary
+	 */
+	public CounterValue getCounter(Counter counter, String label) {
+		String key = counter.getLabelName() == null || label == null ? ""
+				: label;
+		return counters.get(counter.ordinal()).computeIfAbsent(key,
+				k -> newCounter());
+	}
+
+	/**
+	 * @param counter
+	 *            counter
+	 * @return counts of the counter sorted by label
+	 */
+	public TreeMap<String, CounterValue> getCounters(Counter counter) {
+		return new TreeMap<>(counters.get(counter.ordinal()));
+	}
+
+	/**
+	 * Removes all recorded data.
+	 */
+	public void reset() {
+		for (Map<String, Histogram> map : histograms) {
+			map.clear();
+		}
+		for (Map<String, CounterValue> map : counters) {
+			map.clear();
+		}
+	}
+
+	/**
+	 * @param <V>
+	 *            histogram or counter
+	 * @return map for histograms or counts of one metric
+	 */
+	protected <V> Map<String, V> newLabelMap() {
+		return new HashMap<>();
+	}
+
+	/**
+	 * @return zero count
+	 */
+	protected CounterValue newCounter() {
+		return new SimpleCounter();
+	}
+
+	/**
+	 * @return empty histogram
+	 */
+	protected Histogram newHistogram() {
+		return new SimpleHistogram();
+	}
+
+	/**
+	 * @param millis
+	 *            time
+	 * @return index of the first bucket containing the time
+	 */
+	public static int getBucket(double millis) {
+		int low = 0;
+		int high = BUCKETS.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (BUCKETS[mid] < millis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return all histograms and counters in Prometheus text exposition
+	 *         format
+	 */
+	public String toPrometheus() {
+		StringBuilder sb = new StringBuilder();
+		for (Metric metric : Metric.values()) {
+			TreeMap<String, Histogram> map = getHistograms(metric);
+			if (map.isEmpty()) {
+				continue;
+			}
+			String name = PREFIX + metric.getMetricName();
+			sb.append("# TYPE ").append(name).append(" histogram\n");
+			for (Map.Entry<String, Histogram> entry : map.entrySet()) {
+				String label = metric.getLabelName() == null ? ""
+						: metric.getLabelName() + "=\""
+								+ escape(entry.getKey()) + "\"";
+				appendHistogram(sb, name, label, entry.getValue());
+			}
+		}
+		for (Counter counter : Counter.values()) {
+			TreeMap<String, CounterValue> map = getCounters(counter);
+			if (map.isEmpty()) {
+				continue;
+			}
+			String name = PREFIX + counter.getCounterName();
+			sb.append("# TYPE ").append(name).append(" counter\n");
+			for (Map.Entry<String, CounterValue> entry : map.entrySet()) {
+				sb.append(name);
+				if (counter.getLabelName() != null) {
+					sb.append('{').append(counter.getLabelName())
+							.append("=\"").append(escape(entry.getKey()))
+							.append("\"}");
+				}
+				sb.append(' ').append(entry.getValue().get()).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	private static void appendHistogram(StringBuilder sb, String name,
+			String label, Histogram histogram) {
+		String separator = label.isEmpty() ? "" : ",";
+		long cumulative = 0;
+		for (int i = 0; i <= BUCKETS.length; i++) {
+			cumulative += histogram.getBucketCount(i);
+			sb.append(name).append("_bucket{").append(label).append(separator)
+					.append("le=\"")
+					.append(i < BUCKETS.length ? String.valueOf(BUCKETS[i])
+							: "+Inf")
+					.append("\"} ").append(cumulative).append('\n');
+		}
+		String labels = label.isEmpty() ? "" : "{" + label + "}";
+		sb.append(name).append("_sum").append(labels).append(' ')
+				.append(histogram.getSum()).append('\n');
+		sb.append(name).append("_count").append(labels).append(' ')
+				.append(histogram.getCount()).append('\n');
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"")
+				.replace("\n", "\\n");
+	}
+
+	private static class SimpleHistogram implements Histogram {
+		private final long[] buckets = new long[BUCKETS.length + 1];
+		private long count;
+		private double sum;
+
+		@Override
+		public void record(double millis) {
+			buckets[getBucket(millis)]++;
+			count++;
+			sum += millis;
+		}
+
+		@Override
+		public long getCount() {
+			return count;
+		}
+
+		@Override
+		public double getSum() {
+			return sum;
+		}
+
+		@Override
+		public long getBucketCount(int bucket) {
+			return buckets[bucket];
+		}
+	}
+
+	private static class SimpleCounter implements CounterValue {
+		private long count;
+
+		@Override
+		public void increment() {
+			count++;
+		}
+
+		@Override
+		public long get() {
+			return count;
+		}
+	}
+}
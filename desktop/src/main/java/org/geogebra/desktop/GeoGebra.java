@@ -14,16 +14,25 @@
 
 import java.awt.Frame;
 import java.awt.Toolkit;
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Paths;
 
+import org.geogebra.common.cas.giac.CasResultStore;
+import org.geogebra.common.jre.cas.giac.FileCasResultStore;
+import org.geogebra.common.jre.util.metrics.ConcurrentMetricsRegistry;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.gui.app.GeoGebraFrame;
+import org.geogebra.desktop.headless.MetricsDumper;
 import org.geogebra.desktop.main.AppD;
 import org.geogebra.desktop.main.GeoGebraServer;
 import org.geogebra.desktop.util.GuiResourcesD;
 
 public class GeoGebra {
 
+	private static final long DEFAULT_METRICS_INTERVAL = 60;
 	private static Frame splashFrame = null;
 
 	protected GeoGebra() {
@@ -33,6 +42,49 @@ public static void main(String[] cmdArgs) {
 		(new GeoGebra()).doMain(cmdArgs);
 	}
 
+	/**
+	 * @param args
+	 *            command line arguments
+	 * @return value of --metricsInterval in seconds, default if missing or
+	 *         invalid
+	 */
+	private static long getMetricsInterval(CommandLineArguments args) {
+		String interval = args.getStringValue("metricsInterval");
+		if (interval.isEmpty()) {
+			return DEFAULT_METRICS_INTERVAL;
+		}
+		long seconds;
+		try {
+			seconds = Long.parseLong(interval.trim());
+		} catch (NumberFormatException e) {
+			seconds = 0;
+		}
+		if (seconds <= 0) {
+			Log.warn("Invalid metricsInterval " + interval + ", using "
+					+ DEFAULT_METRICS_INTERVAL + "s");
+			return DEFAULT_METRICS_INTERVAL;
+		}
+		return seconds;
+	}
+
+	/**
+	 * @param args
+	 *            command line arguments
+	 * @return store opened from --casStore, null if missing or not readable
+	 */
+	private static CasResultStore openCasStore(CommandLineArguments args) {
+		if (!args.containsArg("casStore")) {
+			return null;
+		}
+		try {
+			return new FileCasResultStore(
+					new File(args.getStringValue("casStore")));
+		} catch (IOException e) {
+			Log.error("Cannot open CAS store: " + e.getMessage());
+			return null;
+		}
+	}
+
 	protected void doMain(String[] cmdArgs) {
 
 		CommandLineArguments args = new CommandLineArguments(cmdArgs);
@@ -43,7 +95,12 @@ protected void doMain(String[] cmdArgs) {
 		}
 		if (args.containsArg("startHttpServer")) {
 			Log.error("startHttpServer");
-			new GeoGebraServer().start();
+			if (args.containsArg("metricsFile")) {
+				GeoGebraProfiler.setRegistry(new ConcurrentMetricsRegistry());
+				new MetricsDumper(Paths.get(args.getStringValue("metricsFile")))
+						.start(getMetricsInterval(args));
+			}
+			new GeoGebraServer(openCasStore(args)).start();
 			return;
 		}
 		if (args.containsArg("help") || args.containsArg("proverhelp")
@@ -12,6 +12,7 @@
 import org.geogebra.common.awt.GFont;
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.euclidian.DrawEquation;
+import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
 import org.geogebra.desktop.awt.GColorD;
@@ -26,10 +27,12 @@
 import com.himamis.retex.renderer.desktop.graphics.ColorD;
 import com.himamis.retex.renderer.desktop.graphics.Graphics2DD;
 import com.himamis.retex.renderer.share.TeXConstants;
+import com.himamis.retex.renderer.share.TeXIcon;
 import com.himamis.retex.renderer.share.cache.JLaTeXMathCache;
 import com.himamis.retex.renderer.share.platform.FactoryProvider;
 import com.himamis.retex.renderer.share.platform.graphics.Graphics2DInterface;
 import com.himamis.retex.renderer.share.platform.graphics.Image;
+import com.himamis.retex.renderer.share.platform.graphics.Insets;
 
 public class DrawEquationD extends DrawEquation {
 
@@ -53,9 +56,6 @@ public void checkFirstCall() {
 			// initialise definitions
 			checkFirstCallStatic();
 
-			// make sure cache doesn't get too big
-			JLaTeXMathCache.setMaxCachedObjects(100);
-
 			// disable \magnification{factor} (makes Algebra View not work)
 			// now removed from JLaTeXMath
 			// TeXFont.enableMagnification(false);
@@ -154,9 +154,19 @@ public void drawLatexImageIcon(final AppD app, ScaledIcon latexIcon,
 	@Override
 	public GDimension measureEquation(App app, String text,
 			GFont font, boolean serif) {
-
-		return this.measureEquationJLaTeXMath(app, text, font,
-				serif, null, null);
+		checkFirstCall();
+		try {
+			// layout is shared with the images drawn by getCachedDimensions
+			TeXIcon icon = JLaTeXMathCache.getCachedTeXIcon(text,
+					TeXConstants.STYLE_DISPLAY, font.getLaTeXStyle(serif),
+					font.getSize() + 3);
+			icon.setInsets(new Insets(1, 1, 1, 1));
+			return AwtFactory.getPrototype().newDimension(icon.getIconWidth(),
+					icon.getIconHeight());
+		} catch (Exception e) {
+			return this.measureEquationJLaTeXMath(app, text, font,
+					serif, null, null);
+		}
 	}
 
 	@Override
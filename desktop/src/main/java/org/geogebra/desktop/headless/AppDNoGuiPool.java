@@ -0,0 +1,150 @@
+package org.geogebra.desktop.headless;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.CasResultCache;
+import org.geogebra.common.cas.giac.CasResultStore;
+import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.main.App;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.main.LocalizationD;
+
+/**
+ * Fixed set of headless apps that are created (and warmed up) in advance and
+ * handed out to one caller at a time. With a {@link CasResultStore}, all
+ * apps share one cache of Giac results backed by the store.
+ * <p>
+ * Apps get a fresh construction between callers, but static state shared by
+ * all app instances in the JVM is not isolated: e.g. the metrics registry,
+ * logging, the CAS version string and static caches of the kernel (such as
+ * the LaTeX and parser caches) are common to all pooled apps. Callers must not
+ * change such state per request.
+ */
+public class AppDNoGuiPool {
+
+	private static final int CREATE_ATTEMPTS = 3;
+
+	private final BlockingQueue<App> idleApps;
+	private final CasResultCache casCache;
+
+	/**
+	 * @param size
+	 *            number of apps
+	 */
+	public AppDNoGuiPool(int size) {
+		this(size, null);
+	}
+
+	/**
+	 * @param size
+	 *            number of apps
+	 * @param casStore
+	 *            persistent store for Giac results shared by all apps, null
+	 *            to give each app its own in-memory cache
+	 */
+	public AppDNoGuiPool(int size, CasResultStore casStore) {
+		if (casStore == null) {
+			casCache = null;
+		} else {
+			casCache = new CasResultCache(Kernel.GEOGEBRA_CAS_CACHE_SIZE,
+					CasResultCache.DEFAULT_MAX_WEIGHT);
+			casCache.setStore(casStore);
+		}
+		idleApps = new ArrayBlockingQueue<>(size);
+		for (int i = 0; i < size; i++) {
+			idleApps.add(createApp());
+		}
+	}
+
+	private App createApp() {
+		App app = new AppDNoGui(new LocalizationD(3), true);
+		if (casCache != null) {
+			CASGenericInterface cas = app.getKernel().getGeoGebraCAS()
+					.getCurrentCAS();
+			if (cas instanceof CASgiac) {
+				((CASgiac) cas).setResultCache(casCache);
+			}
+		}
+		// load command tables and CAS before the first request
+		app.getGgbApi().evalCommand("ggbPoolWarmup=Solve(x^2=1)");
+		app.fileNew();
+		return app;
+	}
+
+	/**
+	 * @param timeout
+	 *            maximal time to wait
+	 * @param unit
+	 *            unit of timeout
+	 * @return idle app or null if none got free in time
+	 * @throws InterruptedException
+	 *             when interrupted while waiting
+	 */
+	public App acquire(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return idleApps.poll(timeout, unit);
+	}
+
+	/**
+	 * Clears the construction of the app and returns it to the pool.
+	 *
+	 * @param app
+	 *            app obtained by {@link #acquire(long, TimeUnit)}
+	 */
+	public void release(App app) {
+		app.fileNew();
+		idleApps.add(app);
+	}
+
+	/**
+	 * Drops an app that may be in an inconsistent state (e.g. after an
+	 * aborted computation) and adds a new one to the pool instead. If no new
+	 * app can be created, the old one is cleared and kept so that the pool
+	 * does not shrink.
+	 *
+	 * @param app
+	 *            app obtained by {@link #acquire(long, TimeUnit)}
+	 */
+	public void discard(App app) {
+		App replacement = null;
+		for (int attempt = 0; attempt < CREATE_ATTEMPTS
+				&& replacement == null; attempt++) {
+			try {
+				replacement = createApp();
+			} catch (RuntimeException e) {
+				Log.error("Cannot replace pooled app: " + e.getMessage());
+			}
+		}
+		if (replacement == null) {
+			release(app);
+			return;
+		}
+		dispose(app);
+		idleApps.add(replacement);
+	}
+
+	/**
+	 * Frees what the app holds beyond its own lifetime: objects and scripts
+	 * of the construction and the CAS results cached by the kernel.
+	 */
+	private static void dispose(App app) {
+		try {
+			Kernel kernel = app.getKernel();
+			kernel.clearConstruction(true);
+			kernel.clearCasCache();
+		} catch (RuntimeException e) {
+			Log.debug("Problem disposing pooled app: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return number of apps waiting for a request
+	 */
+	public int getIdleCount() {
+		return idleApps.size();
+	}
+}
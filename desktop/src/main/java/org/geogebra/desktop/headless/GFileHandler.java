@@ -2,10 +2,13 @@
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipException;
 
 import org.geogebra.common.io.XMLParseException;
 import org.geogebra.common.jre.io.MyXMLioJre;
@@ -29,15 +32,7 @@ public class GFileHandler {
 	public static boolean loadXML(App app, InputStream is, boolean isMacroFile)
 			throws XMLParseException, IOException {
 		try {
-			if (!isMacroFile) {
-				app.setMoveMode();
-			}
-
-			// make sure objects are displayed in the correct View
-			app.setActiveView(App.VIEW_EUCLIDIAN);
-
-			// reset unique id (for old files, in case they don't have one)
-			app.resetUniqueId();
+			prepareLoading(app, isMacroFile);
 
 			BufferedInputStream bis = new BufferedInputStream(is);
 
@@ -76,19 +71,70 @@ public static boolean loadXML(App app, InputStream is, boolean isMacroFile)
 			is.close();
 			bis.close();
 
-			if (!isMacroFile) {
-				app.getKernel().initUndoInfo();
-				app.setSaved();
-				app.resetCurrentFile();
-			}
+			finishLoading(app, isMacroFile);
+			return true;
+		} catch (MyError err) {
+			app.resetCurrentFile();
+			app.showError(err);
+			return false;
+		}
+	}
 
-			// command list may have changed due to macros
-			app.updateCommandDictionary();
+	/**
+	 * Loads a .ggb or .ggt file without reading its XML into memory first;
+	 * falls back to {@link #loadXML(App, InputStream, boolean)} for files that
+	 * are not zip archives (e.g. base64 encoded).
+	 *
+	 * @param app
+	 *            app
+	 * @param file
+	 *            file
+	 * @param isMacroFile
+	 *            macro?
+	 * @return whether successfully loaded
+	 * @throws XMLParseException
+	 *             for invalid XML; MyErrors are ignored
+	 * @throws IOException
+	 *             if file cannot be read
+	 */
+	public static boolean loadXML(App app, File file, boolean isMacroFile)
+			throws XMLParseException, IOException {
+		try {
+			prepareLoading(app, isMacroFile);
+			((MyXMLioJre) app.getXMLio()).readZipFromFile(file, isMacroFile);
+			finishLoading(app, isMacroFile);
 			return true;
+		} catch (ZipException e) {
+			try (InputStream is = new FileInputStream(file)) {
+				return loadXML(app, is, isMacroFile);
+			}
 		} catch (MyError err) {
 			app.resetCurrentFile();
 			app.showError(err);
 			return false;
 		}
 	}
+
+	private static void prepareLoading(App app, boolean isMacroFile) {
+		if (!isMacroFile) {
+			app.setMoveMode();
+		}
+
+		// make sure objects are displayed in the correct View
+		app.setActiveView(App.VIEW_EUCLIDIAN);
+
+		// reset unique id (for old files, in case they don't have one)
+		app.resetUniqueId();
+	}
+
+	private static void finishLoading(App app, boolean isMacroFile) {
+		if (!isMacroFile) {
+			app.getKernel().initUndoInfo();
+			app.setSaved();
+			app.resetCurrentFile();
+		}
+
+		// command list may have changed due to macros
+		app.updateCommandDictionary();
+	}
 }
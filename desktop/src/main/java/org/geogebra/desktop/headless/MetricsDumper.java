@@ -0,0 +1,72 @@
+package org.geogebra.desktop.headless;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+
+/**
+ * Periodically writes the performance metrics of headless apps to a file in
+ * Prometheus text format, e.g. for the node exporter's textfile collector.
+ */
+public class MetricsDumper {
+
+	private final Path file;
+	private final ScheduledExecutorService executor;
+
+	/**
+	 * @param file
+	 *            output file, replaced on every dump
+	 */
+	public MetricsDumper(Path file) {
+		this.file = file;
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param intervalSeconds
+	 *            time between dumps in seconds
+	 */
+	public void start(long intervalSeconds) {
+		executor.scheduleAtFixedRate(this::dump, intervalSeconds,
+				intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stops dumping.
+	 */
+	public void stop() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Writes current metrics; readers never see a partially written file.
+	 */
+	public void dump() {
+		MetricsRegistry registry = GeoGebraProfiler.getRegistry();
+		if (registry == null) {
+			return;
+		}
+		try {
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			Files.write(tmp,
+					registry.toPrometheus().getBytes(StandardCharsets.UTF_8));
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			Log.debug(e);
+		}
+	}
+}
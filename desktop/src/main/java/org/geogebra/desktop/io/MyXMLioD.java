@@ -22,6 +22,7 @@
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -59,20 +60,15 @@ protected void loadSVG(String svg, String name) {
 	}
 
 	@Override
-	protected void loadBitmap(ZipInputStream zip, String name) {
-		// try to load image
-		try {
-			BufferedImage img = ImageIO.read(zip);
-			if ("".equals(name)) {
-				Log.warn("image in zip file with empty name");
-			} else {
-				((AppDI) app).addExternalImage(name, new MyImageD(img));
-			}
-		} catch (IOException e) {
-			Log.debug("readZipFromURL: image could not be loaded: "
-					+ name);
-			Log.debug(e);
-		}
+	protected MyImageJre readBitmap(InputStream in, String name)
+			throws IOException {
+		BufferedImage img = ImageIO.read(in);
+		return img == null ? null : new MyImageD(img);
+	}
+
+	@Override
+	protected void addExternalImage(String name, MyImageJre image) {
+		((AppDI) app).addExternalImage(name, image);
 	}
 
 	@Override
@@ -48,7 +48,6 @@
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -2930,20 +2929,17 @@ public boolean loadExistingFile(File file, boolean isMacroFile) {
 	 * @return true if successful
 	 */
 	final public boolean loadXML(File file, boolean isMacroFile) {
-		FileInputStream fis = null;
 		try {
-			fis = new FileInputStream(file);
-
 			boolean success;
 
 			// pretend we're initializing the application to prevent unnecessary
 			// update
 			if (!initing) {
 				initing = true;
-				success = doLoadXML(fis, isMacroFile);
+				success = doLoadXML(file, isMacroFile);
 				initing = false;
 			} else {
-				success = doLoadXML(fis, isMacroFile);
+				success = doLoadXML(file, isMacroFile);
 			}
 
 			if (success && !isMacroFile) {
@@ -2958,13 +2954,6 @@ final public boolean loadXML(File file, boolean isMacroFile) {
 			return false;
 		} finally {
 			initing = false;
-			if (fis != null) {
-				try {
-					fis.close();
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			}
 		}
 	}
 
@@ -3001,6 +2990,16 @@ final public boolean loadXML(URL url, boolean isMacroFile) {
 		}
 	}
 
+	private boolean doLoadXML(File file, boolean isMacroFile)
+			throws IOException, XMLParseException {
+		storeFrameCenter();
+		boolean ok = GFileHandler.loadXML(this, file, isMacroFile);
+		if (ok) {
+			hideDockBarPopup();
+		}
+		return ok;
+	}
+
 	private boolean doLoadXML(InputStream inputStream, boolean isMacroFile)
 			throws IOException, XMLParseException {
 		storeFrameCenter();
@@ -4,7 +4,16 @@
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.geogebra.common.cas.giac.CasResultStore;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
 import org.geogebra.common.main.App;
@@ -12,42 +21,228 @@
 import org.geogebra.common.move.ggtapi.models.json.JSONException;
 import org.geogebra.common.move.ggtapi.models.json.JSONObject;
 import org.geogebra.common.plugin.GgbAPI;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
-import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
+import org.geogebra.desktop.headless.AppDNoGuiPool;
 import org.geogebra.desktop.util.HttpRequestD;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
+/**
+ * HTTP server for headless evaluation. Requests are evaluated concurrently by
+ * a pool of apps; each request gets a fresh construction and is answered with
+ * an error if it takes longer than the timeout. CAS calls of a request are
+ * limited to the remaining time, and the evaluation stops at the next
+ * command after a timeout; the app is then replaced by a new one. Malformed
+ * requests are rejected before an app is acquired.
+ */
 public class GeoGebraServer {
 
-	App app;
+	/** default request timeout in milliseconds */
+	public static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+	private static final long DEFAULT_CAS_TIMEOUT_MILLIS = 5000;
 
+	private final AppDNoGuiPool pool;
+	private final ExecutorService evaluationExecutor;
+	private final long timeoutMillis;
+	private HttpServer server;
+
+	/**
+	 * Creates server with one app per available processor
+	 */
 	public GeoGebraServer() {
-		this.app = new AppDNoGui(new LocalizationD(3), false);
+		this(null);
+	}
+
+	/**
+	 * Creates server with one app per available processor
+	 *
+	 * @param casStore
+	 *            persistent store for Giac results, null to keep results only
+	 *            in memory of each app
+	 */
+	public GeoGebraServer(CasResultStore casStore) {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_TIMEOUT_MILLIS,
+				casStore);
+	}
+
+	/**
+	 * @param poolSize
+	 *            number of apps evaluating requests in parallel
+	 * @param timeoutMillis
+	 *            request timeout in milliseconds
+	 */
+	public GeoGebraServer(int poolSize, long timeoutMillis) {
+		this(poolSize, timeoutMillis, null);
+	}
+
+	/**
+	 * @param poolSize
+	 *            number of apps evaluating requests in parallel
+	 * @param timeoutMillis
+	 *            request timeout in milliseconds
+	 * @param casStore
+	 *            persistent store for Giac results, null to keep results only
+	 *            in memory of each app
+	 */
+	public GeoGebraServer(int poolSize, long timeoutMillis,
+			CasResultStore casStore) {
+		this.pool = new AppDNoGuiPool(poolSize, casStore);
+		this.evaluationExecutor = Executors.newFixedThreadPool(poolSize);
+		this.timeoutMillis = timeoutMillis;
 	}
 
 	/**
 	 * Starts the server on port 8000
 	 */
 	public void start() {
-		HttpServer server;
+		start(8000);
+	}
+
+	/**
+	 * @param port
+	 *            port
+	 */
+	public void start(int port) {
 		try {
-			server = HttpServer.create(new InetSocketAddress(8000), 0);
-			// server.createContext("/v0.1/json", new ApiHandlerJSON()); TODO decide if we want this
+			server = HttpServer.create(new InetSocketAddress(port), 0);
+			server.createContext("/v0.1/json", new ApiHandlerJSON());
+			server.createContext("/metrics", new MetricsHandler());
+			server.setExecutor(Executors.newCachedThreadPool());
 			server.start();
 		} catch (IOException e) {
 			Log.debug("Problem on server startup " + e);
 		}
 	}
 
+	/**
+	 * Stops the server and the evaluation threads.
+	 */
+	public void stop() {
+		if (server != null) {
+			server.stop(0);
+		}
+		evaluationExecutor.shutdownNow();
+	}
+
+	/**
+	 * Evaluates a batch of commands using one app from the pool.
+	 *
+	 * @param json
+	 *            JSON array of {cmd, args} objects
+	 * @return results of the commands that have one
+	 * @throws Exception
+	 *             on malformed input, timeout, interrupt or evaluation error
+	 */
+	public JSONArray evaluate(JSONArray json) throws Exception {
+		// reject malformed input before it can tie up an app
+		List<String[]> commands = parseCommands(json);
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		AtomicBoolean abandoned = new AtomicBoolean();
+		Future<JSONArray> result = evaluationExecutor.submit(() -> {
+			App app = pool.acquire(deadline - System.currentTimeMillis(),
+					TimeUnit.MILLISECONDS);
+			if (app == null) {
+				throw new TimeoutException("No free app");
+			}
+			boolean aborted = false;
+			try {
+				return evaluate(app, commands, deadline);
+			} catch (InterruptedException e) {
+				aborted = true;
+				throw e;
+			} finally {
+				// after a timeout the state of kernel and CAS is unknown,
+				// don't hand the app to the next request; other errors
+				// leave the app usable, the construction is cleared anyway
+				if (aborted || abandoned.get()) {
+					// the new app is warmed up on this thread, clear the
+					// interrupt of the cancelled request first
+					Thread.interrupted();
+					pool.discard(app);
+				} else {
+					pool.release(app);
+				}
+			}
+		});
+		try {
+			return result.get(deadline - System.currentTimeMillis(),
+					TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			abandoned.set(true);
+			result.cancel(true);
+			throw new TimeoutException("Timeout after " + timeoutMillis + "ms");
+		}
+	}
+
+	private static List<String[]> parseCommands(JSONArray json)
+			throws JSONException {
+		List<String[]> commands = new ArrayList<>(json.length());
+		for (int i = 0; i < json.length(); i++) {
+			Object testVal = json.opt(i);
+			if (!(testVal instanceof JSONObject)) {
+				Log.debug("Invalid JSON:" + testVal);
+				continue;
+			}
+			JSONObject test = (JSONObject) testVal;
+			commands.add(new String[] { test.get("cmd").toString(),
+					test.get("args").toString() });
+		}
+		return commands;
+	}
+
+	private static JSONArray evaluate(App app, List<String[]> commands,
+			long deadline) throws InterruptedException {
+		GgbAPI api = app.getGgbApi();
+		api.setRounding("10");
+		JSONArray results = new JSONArray();
+		for (String[] command : commands) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0 || Thread.interrupted()) {
+				throw new InterruptedException("Request aborted");
+			}
+			// a single CAS call must not outlive the request
+			app.getSettings().getCasSettings().setTimeoutMilliseconds(
+					Math.min(remaining, DEFAULT_CAS_TIMEOUT_MILLIS));
+			String cmd = command[0];
+			String args = command[1];
+
+			if ("evalCommand".equals(cmd)) {
+				api.evalCommand(args);
+			} else if ("evalLaTeX".equals(cmd)) {
+				api.evalLaTeX(args, 0);
+			} else if ("getValue".equals(cmd)) {
+				results.put(api.getValue(args));
+			} else if ("getValueString".equals(cmd)) {
+				results.put(api.getValueString(args, true));
+			} else if ("getLaTeXString".equals(cmd)) {
+				results.put(api.getLaTeXString(args));
+			} else if ("setRounding".equals(cmd)) {
+				api.setRounding(args);
+			} else if ("evalCommandCAS".equals(cmd)) {
+				results.put(api.evalCommandCAS(args, null));
+			} else if ("evalGeoGebraCAS".equals(cmd)) {
+				results.put(app.getKernel().evaluateGeoGebraCAS(args,
+						null, StringTemplate
+								.fullFigures(StringType.GEOGEBRA)));
+			} else if ("expressionEvaluatesToZero".equals(cmd)) {
+
+				String answer = app.getKernel().evaluateGeoGebraCAS(
+						"Simplify[" + args + "]", null,
+						StringTemplate.defaultTemplate);
+
+				results.put("0".equals(answer) ? "true" : "false");
+			}
+		}
+		return results;
+	}
+
 	class ApiHandlerJSON implements HttpHandler {
 		@Override
 		public void handle(HttpExchange t) throws IOException {
-			app.reset();
-			GgbAPI api = app.getGgbApi();
-			api.setRounding("10");
 			String inputJSON = null;
 			String result;
 			try {
@@ -58,70 +253,25 @@ public void handle(HttpExchange t) throws IOException {
 					inputJSON = t.getRequestURI().getQuery();
 				}
 
-				Log.error(inputJSON);
 				JSONObject topLevel = new JSONObject(inputJSON);
-
-				JSONArray json = topLevel.getJSONArray("commands");
-				int i = 0;
-				JSONArray results = new JSONArray();
-				while (i < json.length()) {
-					Object testVal = json.opt(i);
-					if (!(testVal instanceof JSONObject)) {
-						Log.debug("Invalid JSON:" + testVal);
-						i++;
-						continue;
-					}
-					JSONObject test = (JSONObject) testVal;
-					String cmd = test.get("cmd").toString();
-					String args = test.get("args").toString();
-					Log.debug("cmd = " + cmd);
-					Log.debug("args = " + args);
-
-					// Log.error(api.evalCommandCAS("Expand[(x+1)^2]"));
-
-					if ("evalCommand".equals(cmd)) {
-						api.evalCommand(args);
-					} else if ("evalLaTeX".equals(cmd)) {
-						api.evalLaTeX(args, 0);
-					} else if ("getValue".equals(cmd)) {
-						results.put(api.getValue(args));
-					} else if ("getValueString".equals(cmd)) {
-						results.put(api.getValueString(args, true));
-					} else if ("getLaTeXString".equals(cmd)) {
-						results.put(api.getLaTeXString(args));
-					} else if ("setRounding".equals(cmd)) {
-						api.setRounding(args);
-					} else if ("evalCommandCAS".equals(cmd)) {
-						results.put(api.evalCommandCAS(args, null));
-					} else if ("evalGeoGebraCAS".equals(cmd)) {
-						results.put(app.getKernel().evaluateGeoGebraCAS(args,
-								null, StringTemplate
-										.fullFigures(StringType.GEOGEBRA)));
-					} else if ("expressionEvaluatesToZero".equals(cmd)) {
-
-						String answer = app.getKernel().evaluateGeoGebraCAS(
-								"Simplify[" + args + "]", null,
-								StringTemplate.defaultTemplate);
-
-						results.put("0".equals(answer) ? "true" : "false");
-					}
-
-					i++;
-
-				}
-				result = results.toString();
+				result = evaluate(topLevel.getJSONArray("commands")).toString();
 			} catch (Throwable e) {
-
-				e.printStackTrace();
+				Log.debug(e);
 				Log.debug(inputJSON);
 				writeError(t, e.getMessage());
 				return;
 			}
 
-			// StringBuilder result = new StringBuilder("[");
-
 			writeOutput(t, result);
-			
+		}
+	}
+
+	static class MetricsHandler implements HttpHandler {
+		@Override
+		public void handle(HttpExchange t) {
+			MetricsRegistry registry = GeoGebraProfiler.getRegistry();
+			writeOutput(t, registry == null ? "" : registry.toPrometheus(),
+					"text/plain; version=0.0.4");
 		}
 	}
 
@@ -130,10 +280,15 @@ public void handle(HttpExchange t) throws IOException {
 	 * @param responseBody response body
 	 */
 	public static void writeOutput(HttpExchange httpExchange, String responseBody) {
+		writeOutput(httpExchange, responseBody, "application/json");
+	}
+
+	private static void writeOutput(HttpExchange httpExchange, String responseBody,
+			String contentType) {
 		String encoding = "UTF-8";
 		try {
 			httpExchange.getResponseHeaders().set("Content-type",
-						"application/json; charset=" + encoding);
+						contentType + "; charset=" + encoding);
 
 			// http://stackoverflow.com/questions/6828076/how-to-correctly-compute-the-length-of-a-string-in-java
 			httpExchange.sendResponseHeaders(200, responseBody.getBytes(encoding).length);
@@ -8,13 +8,18 @@
 import org.mozilla.javascript.Context.ClassShutterSetter;
 import org.mozilla.javascript.ContextFactory;
 import org.mozilla.javascript.NativeFunction;
+import org.mozilla.javascript.NativeObject;
 import org.mozilla.javascript.Scriptable;
 
 public class CallJavaScript {
 
 	/**
 	 * Evaluates the global script for the current construction and returns a
-	 * scope object for this script.
+	 * scope object for this script. The returned scope is an unsealed top-level
+	 * scope, so undeclared assignments (x = 5) in the global script and in
+	 * functions defined there create properties of this scope. Standard
+	 * objects are shared with other constructions only through the prototype
+	 * of the returned scope.
 	 * 
 	 * @param app application
 	 * @return global scope
@@ -24,30 +29,23 @@ public static Scriptable evalGlobalScript(App app) {
 			ContextFactory.initGlobal(SandboxContextFactory.getInstance());
 		}
 
-		// create new scope
-		Context cx = Context.enter();
-		cx.getWrapFactory().setJavaPrimitiveWrap(false);
-
-		Scriptable scope = cx.initStandardObjects();
-
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
-
-		// Initialize GgbApi functions, eg ggbApplet.evalCommand()
-		GeoGebraGlobal.initStandardObjects(app, scope, null, false);
-
-		// Evaluate the global string
+		Context cx = enterContext();
 		try {
-			cx.evaluateString(scope,
-					app.getKernel().getLibraryJavaScript(),
-					app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-		} catch (Throwable t) {
-			// ignore
+			CompiledScriptCache cache = getCache(app);
+			Scriptable scope = newTopLevelScope(cache.getSharedScope(cx));
+
+			// Evaluate the global string
+			try {
+				cache.getScript(cx, app.getKernel().getLibraryJavaScript(),
+						app.getLocalization().getMenu("ErrorAtLine"))
+						.exec(cx, scope);
+			} catch (Throwable t) {
+				// ignore
+			}
+			return scope;
+		} finally {
+			Context.exit();
 		}
-		Context.exit();
-		return scope;
 	}
 
 	/**
@@ -58,17 +56,15 @@ public static Scriptable evalGlobalScript(App app) {
 	 * @param script script content
 	 */
 	public static void evalScript(App app, String script) {
-		Context cx = Context.enter();
-		cx.getWrapFactory().setJavaPrimitiveWrap(false);
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-
-		// Evaluate the script.
-		cx.evaluateString(newScope, script,
-				app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-
-		Context.exit();
-
+		Context cx = enterContext();
+		try {
+			Scriptable newScope = getScope(app, cx);
+			getCache(app).getScript(cx, script,
+					app.getLocalization().getMenu("ErrorAtLine"))
+					.exec(cx, newScope);
+		} finally {
+			Context.exit();
+		}
 	}
 
 	private static final SandboxClassShutter sandboxClassShutter = new SandboxClassShutter();
@@ -79,27 +75,51 @@ public static void evalScript(App app, String script) {
 	 * @param app application
 	 */
 	public static void evalFunction(NativeFunction nativeRunnable, Object[] args, App app) {
+		Context cx = enterContext();
+		try {
+			Scriptable newScope = getScope(app, cx);
+			nativeRunnable.call(cx, newScope, nativeRunnable, args);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	private static Context enterContext() {
 		Context cx = Context.enter();
 		cx.getWrapFactory().setJavaPrimitiveWrap(false);
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-		// Evaluate the script.
-		nativeRunnable.call(cx, newScope, nativeRunnable, args);
+		ClassShutterSetter setter = cx.getClassShutterSetter();
+		if (setter != null) {
+			setter.setClassShutter(sandboxClassShutter);
+		}
+		return cx;
+	}
 
-		Context.exit();
+	private static CompiledScriptCache getCache(App app) {
+		return ((ScriptManagerD) app.getScriptManager()).getScriptCache();
 	}
 
 	private static Scriptable getScope(App app, Context cx) {
 		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
 				.getGlobalScopeMap().get(app.getKernel().getConstruction());
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
-
 		// Create a new scope that shares the global scope
-		Scriptable newScope = cx.newObject(globalScope);
-		newScope.setPrototype(globalScope);
+		return newChildScope(cx, globalScope);
+	}
+
+	/**
+	 * @param shared
+	 *            sealed scope with standard objects
+	 * @return new unsealed top-level scope that inherits from the shared one
+	 */
+	private static Scriptable newTopLevelScope(Scriptable shared) {
+		NativeObject scope = new NativeObject();
+		scope.setPrototype(shared);
+		scope.setParentScope(null);
+		return scope;
+	}
+
+	private static Scriptable newChildScope(Context cx, Scriptable parent) {
+		Scriptable newScope = cx.newObject(parent);
+		newScope.setPrototype(parent);
 		newScope.setParentScope(null);
 		return newScope;
 	}
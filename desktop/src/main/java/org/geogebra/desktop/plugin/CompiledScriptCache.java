@@ -0,0 +1,120 @@
+package org.geogebra.desktop.plugin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.geogebra.common.main.App;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Compiled scripts of one application keyed by source, so that click and
+ * update scripts are only compiled once, and the sealed scope with standard
+ * objects and GeoGebra functions shared by global scopes of all
+ * constructions.
+ */
+public class CompiledScriptCache {
+
+	/** maximal number of cached scripts */
+	public static final int MAX_SIZE = 256;
+
+	private final App app;
+	private final LinkedHashMap<String, CompiledScript> scripts =
+			new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<String, CompiledScript> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	private ScriptableObject sharedScope;
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param app
+	 *            application
+	 */
+	public CompiledScriptCache(App app) {
+		this.app = app;
+	}
+
+	/**
+	 * @param cx
+	 *            current context
+	 * @return sealed scope with standard objects, ggbApplet, alert() etc.;
+	 *         only to be used as prototype of per-construction scopes, never
+	 *         as a parent scope (undeclared assignments go to the top-level
+	 *         scope, which must not be sealed)
+	 */
+	synchronized ScriptableObject getSharedScope(Context cx) {
+		if (sharedScope == null) {
+			ScriptableObject scope = cx.initStandardObjects(null, true);
+			GeoGebraGlobal.initStandardObjects(app, scope, null, true);
+			scope.sealObject();
+			sharedScope = scope;
+		}
+		return sharedScope;
+	}
+
+	/**
+	 * @param cx
+	 *            current context
+	 * @param source
+	 *            script source
+	 * @param sourceName
+	 *            name used in error messages
+	 * @return compiled script
+	 */
+	synchronized Script getScript(Context cx, String source,
+			String sourceName) {
+		CompiledScript cached = scripts.get(source);
+		if (cached != null && cached.sourceName.equals(sourceName)) {
+			hits++;
+			return cached.script;
+		}
+		misses++;
+		Script script = cx.compileString(source, sourceName, 1, null);
+		scripts.put(source, new CompiledScript(script, sourceName));
+		return script;
+	}
+
+	/**
+	 * Removes all compiled scripts, statistics are kept.
+	 */
+	public synchronized void clear() {
+		scripts.clear();
+	}
+
+	/**
+	 * @return number of cached scripts
+	 */
+	public synchronized int size() {
+		return scripts.size();
+	}
+
+	/**
+	 * @return number of scripts that were found in the cache
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of scripts that had to be compiled
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	private static final class CompiledScript {
+		final Script script;
+		final String sourceName;
+
+		CompiledScript(Script script, String sourceName) {
+			this.script = script;
+			this.sourceName = sourceName;
+		}
+	}
+}
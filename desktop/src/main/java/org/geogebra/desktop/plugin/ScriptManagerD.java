@@ -13,6 +13,7 @@
 public class ScriptManagerD extends ScriptManagerJre {
 
 	protected HashMap<Construction, Scriptable> globalScopeMap;
+	private final CompiledScriptCache scriptCache;
 
 	/**
 	 * @param app application
@@ -20,12 +21,20 @@ public class ScriptManagerD extends ScriptManagerJre {
 	public ScriptManagerD(App app) {
 		super(app);
 		globalScopeMap = new HashMap<>();
+		scriptCache = new CompiledScriptCache(app);
 	}
 
 	public HashMap<Construction, Scriptable> getGlobalScopeMap() {
 		return globalScopeMap;
 	}
 
+	/**
+	 * @return compiled scripts and shared scope of this application
+	 */
+	public CompiledScriptCache getScriptCache() {
+		return scriptCache;
+	}
+
 	@Override
 	protected void evalJavaScript(String jsFunction) {
 		evalJavaScript(app, jsFunction, null);
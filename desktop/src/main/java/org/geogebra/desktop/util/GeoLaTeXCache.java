@@ -4,9 +4,13 @@
 
 import com.himamis.retex.renderer.share.TeXConstants;
 import com.himamis.retex.renderer.share.cache.JLaTeXMathCache;
-import com.himamis.retex.renderer.share.exception.ParseException;
 import com.himamis.retex.renderer.share.platform.graphics.Color;
 
+/**
+ * Keeps track of the cache key of a geo's LaTeX. Entries are not removed when
+ * the key changes: the same images are shared with other geos and the Algebra
+ * View, the cache evicts least recently used ones itself.
+ */
 public class GeoLaTeXCache implements LaTeXCache {
 	// used by Captions, GeoText and DrawParametricCurve to cache LaTeX formulae
 	public Object keyLaTeX = null;
@@ -14,49 +18,17 @@ public class GeoLaTeXCache implements LaTeXCache {
 	@Override
 	public Object getCachedLaTeXKey(String latex, int fontSize, int style,
 			Object fgColor) {
-		Object newKey;
-		try {
-
-			newKey = JLaTeXMathCache.getCachedTeXFormula(latex,
-					TeXConstants.STYLE_DISPLAY, style, fontSize,
-					1 /*
-						 * inset around the label
-						 */, (Color) fgColor);
-		} catch (ParseException e) {
-			if (keyLaTeX != null) {
-				// remove old key from cache
-				try {
-					JLaTeXMathCache.removeCachedTeXFormula(keyLaTeX);
-				} catch (Exception ee) {
-					ee.printStackTrace();
-				}
-			}
-			throw e;
-		}
-		if (keyLaTeX != null && !keyLaTeX.equals(newKey)) {
-			// key has changed, remove old key from cache
-			try {
-				JLaTeXMathCache.removeCachedTeXFormula(keyLaTeX);
-			} catch (Exception ee) {
-				ee.printStackTrace();
-			}
-		}
-
-		keyLaTeX = newKey;
+		keyLaTeX = JLaTeXMathCache.getCachedTeXFormula(latex,
+				TeXConstants.STYLE_DISPLAY, style, fontSize,
+				1 /*
+					 * inset around the label
+					 */, (Color) fgColor);
 		return keyLaTeX;
-
 	}
 
 	@Override
 	public void remove() {
-		if (keyLaTeX != null) {
-			try {
-				JLaTeXMathCache.removeCachedTeXFormula(keyLaTeX);
-			} catch (Exception ee) {
-				ee.printStackTrace();
-			}
-		}
-
+		keyLaTeX = null;
 	}
 
 }
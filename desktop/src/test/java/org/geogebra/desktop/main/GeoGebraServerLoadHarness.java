@@ -0,0 +1,101 @@
+package org.geogebra.desktop.main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for {@link GeoGebraServer}: starts the server locally, sends
+ * requests from several client threads and prints latency percentiles and
+ * throughput.
+ * <p>
+ * Usage: GeoGebraServerLoadHarness [poolSize] [clients] [requests]
+ */
+public class GeoGebraServerLoadHarness {
+
+	private static final int PORT = 8123;
+	private static final String REQUEST = "{\"commands\":["
+			+ "{\"cmd\":\"evalCommand\",\"args\":\"f(x)=x^3-2x\"},"
+			+ "{\"cmd\":\"evalCommand\",\"args\":\"A=Extremum(f,-3,3)\"},"
+			+ "{\"cmd\":\"getValue\",\"args\":\"Integral(f,0,2)\"},"
+			+ "{\"cmd\":\"evalCommandCAS\",\"args\":\"Factor(x^4-1)\"}]}";
+
+	/**
+	 * @param args
+	 *            pool size, number of client threads, number of requests
+	 * @throws Exception
+	 *             on failure
+	 */
+	public static void main(String[] args) throws Exception {
+		int poolSize = args.length > 0 ? Integer.parseInt(args[0])
+				: Runtime.getRuntime().availableProcessors();
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2 * poolSize;
+		int requests = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+		GeoGebraServer server = new GeoGebraServer(poolSize,
+				GeoGebraServer.DEFAULT_TIMEOUT_MILLIS);
+		server.start(PORT);
+		URL url = new URL("http://localhost:" + PORT + "/v0.1/json");
+		// warm up JIT and connections
+		for (int i = 0; i < 50; i++) {
+			post(url);
+		}
+
+		ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+		AtomicInteger errors = new AtomicInteger();
+		List<Future<Long>> latencies = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			latencies.add(clientThreads.submit(() -> {
+				long t0 = System.nanoTime();
+				if (post(url).contains("\"error\"")) {
+					errors.incrementAndGet();
+				}
+				return System.nanoTime() - t0;
+			}));
+		}
+		long[] sorted = new long[requests];
+		for (int i = 0; i < requests; i++) {
+			sorted[i] = latencies.get(i).get();
+		}
+		double seconds = (System.nanoTime() - start) / 1E9;
+		clientThreads.shutdown();
+		server.stop();
+
+		Arrays.sort(sorted);
+		System.out.printf("apps: %d, clients: %d, requests: %d, errors: %d%n",
+				poolSize, clients, requests, errors.get());
+		System.out.printf("p50: %.2f ms, p99: %.2f ms, max: %.2f ms%n",
+				percentile(sorted, 0.5), percentile(sorted, 0.99),
+				sorted[requests - 1] / 1E6);
+		System.out.printf("throughput: %.1f requests/s%n", requests / seconds);
+		System.exit(0);
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		int index = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1E6;
+	}
+
+	private static String post(URL url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(REQUEST.getBytes(StandardCharsets.UTF_8));
+		}
+		try (InputStream in = connection.getInputStream()) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -17,4 +17,43 @@ public void testAlert() {
 				"alert(1);alert(undefined,2);ggbApplet.evalCommand('a=42')");
 		assertThat(app.getKernel().lookupLabel("a").evaluateDouble(), equalTo(42.0));
 	}
+
+	@Test
+	public void repeatedScriptShouldBeCompiledOnce() {
+		AppDNoGui app = new AppDNoGui(new LocalizationCommonUTF(3), true);
+		ScriptManagerD scriptManager = (ScriptManagerD) app.getScriptManager();
+		CompiledScriptCache cache = scriptManager.getScriptCache();
+		scriptManager.evalJavaScript("ggbApplet.evalCommand('a=1')");
+		long misses = cache.getMisses();
+		for (int i = 0; i < 3; i++) {
+			scriptManager.evalJavaScript(
+					"ggbApplet.setValue('a', ggbApplet.getValue('a') + 1)");
+		}
+		assertThat(cache.getMisses(), equalTo(misses + 1));
+		assertThat(cache.getHits(), equalTo(2L));
+		assertThat(app.getKernel().lookupLabel("a").evaluateDouble(), equalTo(4.0));
+	}
+
+	@Test
+	public void globalScriptShouldBeVisibleInLocalScripts() {
+		AppDNoGui app = new AppDNoGui(new LocalizationCommonUTF(3), true);
+		app.getKernel().setLibraryJavaScript(
+				"var offset = 5; function shift(x) { return x + offset; }");
+		ScriptManagerD scriptManager = (ScriptManagerD) app.getScriptManager();
+		scriptManager.evalJavaScript("ggbApplet.evalCommand('b=' + shift(1))");
+		assertThat(app.getKernel().lookupLabel("b").evaluateDouble(), equalTo(6.0));
+	}
+
+	@Test
+	public void undeclaredGlobalsShouldBeAssignable() {
+		AppDNoGui app = new AppDNoGui(new LocalizationCommonUTF(3), true);
+		app.getKernel().setLibraryJavaScript(
+				"count = 1; function inc() { count = count + 1; }");
+		ScriptManagerD scriptManager = (ScriptManagerD) app.getScriptManager();
+		scriptManager.evalJavaScript(
+				"inc(); step = 10; ggbApplet.evalCommand('c=' + (count + step))");
+		assertThat(app.getKernel().lookupLabel("c").evaluateDouble(), equalTo(12.0));
+		scriptManager.evalJavaScript("inc(); ggbApplet.evalCommand('d=' + count)");
+		assertThat(app.getKernel().lookupLabel("d").evaluateDouble(), equalTo(3.0));
+	}
 }
@@ -122,6 +122,22 @@ protected TeXIcon(Box b, double size, boolean trueValues) {
 		}
 	}
 
+	private TeXIcon(TeXIcon icon) {
+		box = icon.box;
+		size = icon.size;
+		insets = new Insets(icon.insets.top, icon.insets.left,
+				icon.insets.bottom, icon.insets.right);
+		fg = icon.fg;
+		isColored = icon.isColored;
+	}
+
+	/**
+	 * @return icon painting the same box, with its own insets and foreground
+	 */
+	public TeXIcon copy() {
+		return new TeXIcon(this);
+	}
+
 	public void setForeground(Color fg) {
 		this.fg = fg;
 	}
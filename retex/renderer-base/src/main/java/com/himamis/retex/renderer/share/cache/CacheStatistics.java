@@ -0,0 +1,32 @@
+package com.himamis.retex.renderer.share.cache;
+
+/**
+ * Usage counters of a cache.
+ */
+public interface CacheStatistics {
+
+	/**
+	 * @return number of lookups that found an entry
+	 */
+	long getHits();
+
+	/**
+	 * @return number of lookups that didn't find an entry
+	 */
+	long getMisses();
+
+	/**
+	 * @return hits / lookups, 0 if there were no lookups
+	 */
+	double getHitRate();
+
+	/**
+	 * @return estimated size of all entries in bytes
+	 */
+	long getWeight();
+
+	/**
+	 * @return number of entries
+	 */
+	int size();
+}
@@ -45,13 +45,7 @@
 
 package com.himamis.retex.renderer.share.cache;
 
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
-import java.util.Iterator;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
+import com.himamis.retex.renderer.share.BoxPosition;
 import com.himamis.retex.renderer.share.TeXFormula;
 import com.himamis.retex.renderer.share.TeXIcon;
 import com.himamis.retex.renderer.share.exception.ParseException;
@@ -65,30 +59,69 @@
 /**
  * Class to cache generated image from formulas
  * 
+ * The cache has two tiers: laid out formulas (box trees) keyed by formula,
+ * style, type and size, and images keyed by the layout plus inset, color and
+ * pixel ratio. Both tiers evict least recently used entries when they exceed
+ * their size in bytes, so one formula in different colors or at different
+ * pixel ratios is only parsed and laid out once.
+ * 
  * @author Calixte DENIZET
  */
 public final class JLaTeXMathCache {
 
 	private static final Transform identity = new Graphics().createTransform();
-	private static ConcurrentMap<CachedTeXFormula, SoftReference<CachedImage>> cache = new ConcurrentHashMap<CachedTeXFormula, SoftReference<CachedImage>>(
-			128);
-	private static int max = Integer.MAX_VALUE;
-	private static final ReferenceQueue<CachedImage> queue = new ReferenceQueue<>();
+	/** default size of the layout tier in bytes */
+	private static final long LAYOUT_BYTES = 8 << 20;
+	/** default size of the image tier in bytes */
+	private static final long IMAGE_BYTES = 32 << 20;
+	/** rough size of one box in a layout */
+	private static final int BOX_BYTES = 96;
+	private static final WeightedLruCache<LayoutKey, TeXIcon> layouts = new WeightedLruCache<>(
+			LAYOUT_BYTES, Integer.MAX_VALUE);
+	private static final WeightedLruCache<ImageKey, CachedImage> cache = new WeightedLruCache<>(
+			IMAGE_BYTES, Integer.MAX_VALUE);
 	private static double pixelRatio = 1;
 
 	private JLaTeXMathCache() {
 	}
 
 	/**
-	 * Set max size. Take care the cache will be reinitialized
+	 * Set max number of cached images. Take care the cache will be
+	 * reinitialized
 	 * 
 	 * @param max
 	 *            the max size
 	 */
 	public static void setMaxCachedObjects(int max) {
-		JLaTeXMathCache.max = Math.max(max, 1);
-		cache.clear();
-		cache = new ConcurrentHashMap<>(JLaTeXMathCache.max);
+		cache.setLimits(IMAGE_BYTES, max);
+		clearCache();
+	}
+
+	/**
+	 * Set max size of both tiers in bytes.
+	 * 
+	 * @param layoutBytes
+	 *            max size of laid out formulas
+	 * @param imageBytes
+	 *            max size of images
+	 */
+	public static void setMaxCachedBytes(long layoutBytes, long imageBytes) {
+		layouts.setLimits(layoutBytes, Integer.MAX_VALUE);
+		cache.setLimits(imageBytes, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return counters of the layout tier
+	 */
+	public static CacheStatistics getLayoutStatistics() {
+		return layouts;
+	}
+
+	/**
+	 * @return counters of the image tier
+	 */
+	public static CacheStatistics getImageStatistics() {
+		return cache;
 	}
 
 	/**
@@ -124,13 +157,8 @@ public static int[] getCachedTeXFormulaDimensions(Object o)
 		if (o == null || !(o instanceof CachedTeXFormula)) {
 			return new int[] { 0, 0, 0 };
 		}
-		CachedTeXFormula cached = (CachedTeXFormula) o;
-		SoftReference<CachedImage> img = cache.get(cached);
-		if (img == null || img.get() == null) {
-			img = makeImage(cached);
-		}
-
-		return new int[] { cached.width, cached.height, cached.depth };
+		CachedImage img = getImage((CachedTeXFormula) o);
+		return new int[] { img.width, img.height, img.depth };
 	}
 
 	/**
@@ -150,11 +178,7 @@ public static Object getCachedTeXFormula(String f, int style, int type,
 			int size, int inset, Color fgcolor) throws ParseException {
 		CachedTeXFormula cached = new CachedTeXFormula(f, style, type, size,
 				inset, fgcolor);
-		SoftReference<CachedImage> img = cache.get(cached);
-		if (img == null || img.get() == null) {
-			img = makeImage(cached);
-		}
-
+		getImage(cached);
 		return cached;
 	}
 
@@ -163,10 +187,31 @@ public static Object getCachedTeXFormula(String f, int style, int size,
 		return getCachedTeXFormula(f, style, 0, size, inset, null);
 	}
 
+	/**
+	 * Get a laid out formula; the layout is shared with the cache, so the
+	 * icon should only be painted on the thread that renders the cached
+	 * images.
+	 * 
+	 * @param f
+	 *            a formula
+	 * @param style
+	 *            a style like TeXConstants.STYLE_DISPLAY
+	 * @param type
+	 *            font type like TeXFormula.SERIF
+	 * @param size
+	 *            the size of font
+	 * @return new icon for the cached layout, without insets
+	 */
+	public static TeXIcon getCachedTeXIcon(String f, int style, int type,
+			int size) throws ParseException {
+		return getLayout(new LayoutKey(f, style, type, size)).copy();
+	}
+
 	/**
 	 * Clear the cache
 	 */
 	public static void clearCache() {
+		layouts.clear();
 		cache.clear();
 	}
 
@@ -184,7 +229,7 @@ public static void clearCache() {
 	 */
 	public static void removeCachedTeXFormula(String f, int style, int type,
 			int size, int inset, Color fgcolor) throws ParseException {
-		cache.remove(
+		removeCachedTeXFormula(
 				new CachedTeXFormula(f, style, type, size, inset, fgcolor));
 	}
 
@@ -202,7 +247,7 @@ public static void removeCachedTeXFormula(String f, int style, int size,
 	 */
 	public static void removeCachedTeXFormula(Object o) throws ParseException {
 		if (o != null && o instanceof CachedTeXFormula) {
-			cache.remove(o);
+			cache.remove(new ImageKey((CachedTeXFormula) o, pixelRatio));
 		}
 	}
 
@@ -292,100 +337,123 @@ public static Image getCachedTeXFormulaImage(Object o)
 		if (o == null || !(o instanceof CachedTeXFormula)) {
 			return null;
 		}
-		CachedTeXFormula cached = (CachedTeXFormula) o;
-		SoftReference<CachedImage> img = cache.get(cached);
-		if (img == null || img.get() == null) {
-			img = makeImage(cached);
+		return getImage((CachedTeXFormula) o).image;
+	}
+
+	private static CachedImage getImage(CachedTeXFormula cached)
+			throws ParseException {
+		ImageKey key = new ImageKey(cached, pixelRatio);
+		CachedImage img = cache.get(key);
+		if (img == null) {
+			img = makeImage(cached, key.pixelRatio);
+			cache.put(key, img,
+					4L * img.image.getWidth() * img.image.getHeight());
 		}
+		return img;
+	}
 
-		return img.get().image;
+	private static TeXIcon getLayout(LayoutKey key) throws ParseException {
+		TeXIcon icon = layouts.get(key);
+		if (icon == null) {
+			icon = new TeXFormula(key.f).createTeXIcon(key.style, key.size,
+					key.type);
+			layouts.put(key, icon, layoutWeight(key.f, icon));
+		}
+		return icon;
 	}
 
-	private static SoftReference<CachedImage> makeImage(CachedTeXFormula cached)
-			throws ParseException {
-		TeXFormula formula = new TeXFormula(cached.f);
-		TeXIcon icon = formula.createTeXIcon(cached.style, cached.size,
-				cached.type, cached.fgcolor);
+	private static long layoutWeight(String f, TeXIcon icon) {
+		final long[] boxes = { 0 };
+		icon.getBox().inspect((box, position) -> boxes[0]++,
+				new BoxPosition(0, 0, 1, 0));
+		return 2L * f.length() + BOX_BYTES * boxes[0];
+	}
+
+	private static CachedImage makeImage(CachedTeXFormula cached,
+			double ratio) throws ParseException {
+		TeXIcon icon = getLayout(cached.layout).copy();
+		if (cached.fgcolor != null) {
+			icon.setForeground(cached.fgcolor);
+		}
 		icon.setInsets(new Insets(cached.inset, cached.inset, cached.inset,
 				cached.inset));
-		Image image = new Graphics().createImage((int) Math.round(icon.getIconWidth() * pixelRatio),
-				(int) Math.round(icon.getIconHeight() * pixelRatio), Image.TYPE_INT_ARGB);
+		Image image = new Graphics().createImage((int) Math.round(icon.getIconWidth() * ratio),
+				(int) Math.round(icon.getIconHeight() * ratio), Image.TYPE_INT_ARGB);
 		Graphics2DInterface g2 = image.createGraphics2D();
-		g2.scale(pixelRatio, pixelRatio);
+		g2.scale(ratio, ratio);
 		icon.paintIcon(null, g2, 0, 0);
 		g2.dispose();
-		cached.setDimensions(icon.getIconWidth(), icon.getIconHeight(),
-				icon.getIconDepth());
-		SoftReference<CachedImage> img = new SoftReference<>(
-				new CachedImage(image, cached), queue);
-
-		if (cache.size() >= max) {
-			Reference<? extends CachedImage> soft;
-			while ((soft = queue.poll()) != null) {
-				CachedImage ci = soft.get();
-				if (ci != null) {
-					cache.remove(ci.cachedTf);
-				}
-			}
-			Iterator<CachedTeXFormula> iter = cache.keySet().iterator();
-			if (iter.hasNext()) {
-				CachedTeXFormula c = iter.next();
-				SoftReference<CachedImage> cachedImage = cache.get(c);
-				if (cachedImage != null) {
-					cachedImage.clear();
-				}
-				cache.remove(c);
-			}
-		}
-		cache.put(cached, img);
-
-		return img;
+		return new CachedImage(image, icon.getIconWidth(),
+				icon.getIconHeight(), icon.getIconDepth());
 	}
 
+	/**
+	 * Images for all pixel ratios are cached, so changing the ratio doesn't
+	 * need to clear the cache.
+	 * 
+	 * @param pixelRatio
+	 *            pixel ratio of the created images
+	 */
 	public static void setPixelRatio(double pixelRatio) {
-		if (pixelRatio != JLaTeXMathCache.pixelRatio) {
-			cache.clear();
-		}
 		JLaTeXMathCache.pixelRatio = pixelRatio;
 	}
 
 	private static class CachedImage {
 
-		Image image;
-		CachedTeXFormula cachedTf;
+		final Image image;
+		final int width;
+		final int height;
+		final int depth;
 
-		CachedImage(Image image, CachedTeXFormula cachedTf) {
+		CachedImage(Image image, int width, int height, int depth) {
 			this.image = image;
-			this.cachedTf = cachedTf;
+			this.width = width;
+			this.height = height;
+			this.depth = depth;
 		}
 	}
 
-	private static class CachedTeXFormula {
+	private static final class LayoutKey {
 
-		String f;
-		int style;
-		int type;
-		int size;
-		int inset;
-		int width = -1;
-		int height;
-		int depth;
-		Color fgcolor;
+		final String f;
+		final int style;
+		final int type;
+		final int size;
 
-		CachedTeXFormula(String f, int style, int type, int size, int inset,
-				Color fgcolor) {
+		LayoutKey(String f, int style, int type, int size) {
 			this.f = f;
 			this.style = style;
 			this.type = type;
 			this.size = size;
-			this.inset = inset;
-			this.fgcolor = fgcolor;
 		}
 
-		void setDimensions(int width, int height, int depth) {
-			this.width = width;
-			this.height = height;
-			this.depth = depth;
+		@Override
+		public boolean equals(Object o) {
+			if (o instanceof LayoutKey) {
+				LayoutKey c = (LayoutKey) o;
+				return c.f.equals(f) && c.style == style && c.type == type
+						&& c.size == size;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((f.hashCode() * 31 + style) * 31 + type) * 31 + size;
+		}
+	}
+
+	private static class CachedTeXFormula {
+
+		final LayoutKey layout;
+		final int inset;
+		final Color fgcolor;
+
+		CachedTeXFormula(String f, int style, int type, int size, int inset,
+				Color fgcolor) {
+			this.layout = new LayoutKey(f, style, type, size);
+			this.inset = inset;
+			this.fgcolor = fgcolor;
 		}
 
 		/**
@@ -393,24 +461,11 @@ void setDimensions(int width, int height, int depth) {
 		 */
 		@Override
 		public boolean equals(Object o) {
-			if (o != null && o instanceof CachedTeXFormula) {
+			if (o instanceof CachedTeXFormula) {
 				CachedTeXFormula c = (CachedTeXFormula) o;
-				boolean b = (c.f.equals(f) && c.style == style && c.type == type
-						&& c.size == size && c.inset == inset
-						&& c.fgcolor.equals(fgcolor));
-				if (b) {
-					if (c.width == -1) {
-						c.width = width;
-						c.height = height;
-						c.depth = depth;
-					} else if (width == -1) {
-						width = c.width;
-						height = c.height;
-						depth = c.depth;
-					}
-				}
-
-				return b;
+				return c.layout.equals(layout) && c.inset == inset
+						&& (c.fgcolor == null ? fgcolor == null
+								: c.fgcolor.equals(fgcolor));
 			}
 
 			return false;
@@ -421,7 +476,32 @@ public boolean equals(Object o) {
 		 */
 		@Override
 		public int hashCode() {
-			return f.hashCode();
+			return layout.hashCode();
+		}
+	}
+
+	private static final class ImageKey {
+
+		final CachedTeXFormula formula;
+		final double pixelRatio;
+
+		ImageKey(CachedTeXFormula formula, double pixelRatio) {
+			this.formula = formula;
+			this.pixelRatio = pixelRatio;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o instanceof ImageKey) {
+				ImageKey c = (ImageKey) o;
+				return c.formula.equals(formula) && c.pixelRatio == pixelRatio;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return formula.hashCode() * 31 + Double.hashCode(pixelRatio);
 		}
 	}
 }
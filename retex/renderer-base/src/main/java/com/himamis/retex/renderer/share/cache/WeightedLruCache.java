@@ -0,0 +1,144 @@
+package com.himamis.retex.renderer.share.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Map that evicts least recently used entries when the total weight (estimated
+ * size in bytes) or the number of entries exceeds its limit. The most recently
+ * added entry is always kept, even if it's heavier than the limit.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+public final class WeightedLruCache<K, V> implements CacheStatistics {
+
+	/** iterates from least to most recently used */
+	private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16,
+			0.75f, true);
+	private long maxWeight;
+	private int maxEntries;
+	private long weight;
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param maxWeight
+	 *            maximal total weight in bytes
+	 * @param maxEntries
+	 *            maximal number of entries
+	 */
+	public WeightedLruCache(long maxWeight, int maxEntries) {
+		setLimits(maxWeight, maxEntries);
+	}
+
+	/**
+	 * @param maxWeight
+	 *            maximal total weight in bytes
+	 * @param maxEntries
+	 *            maximal number of entries
+	 */
+	public synchronized void setLimits(long maxWeight, int maxEntries) {
+		this.maxWeight = maxWeight;
+		this.maxEntries = Math.max(maxEntries, 1);
+		evict();
+	}
+
+	/**
+	 * @param key
+	 *            key
+	 * @return cached value, null if not found
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = map.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	/**
+	 * @param key
+	 *            key
+	 * @param value
+	 *            value
+	 * @param entryWeight
+	 *            estimated size of the value in bytes
+	 */
+	public synchronized void put(K key, V value, long entryWeight) {
+		Entry<V> old = map.put(key, new Entry<>(value, entryWeight));
+		if (old != null) {
+			weight -= old.weight;
+		}
+		weight += entryWeight;
+		evict();
+	}
+
+	/**
+	 * @param key
+	 *            key
+	 */
+	public synchronized void remove(K key) {
+		Entry<V> old = map.remove(key);
+		if (old != null) {
+			weight -= old.weight;
+		}
+	}
+
+	/**
+	 * Removes all entries, counters are kept.
+	 */
+	public synchronized void clear() {
+		map.clear();
+		weight = 0;
+	}
+
+	private void evict() {
+		Iterator<Entry<V>> it = map.values().iterator();
+		while ((weight > maxWeight || map.size() > maxEntries)
+				&& map.size() > 1) {
+			weight -= it.next().weight;
+			it.remove();
+		}
+	}
+
+	@Override
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	@Override
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : hits / (double) lookups;
+	}
+
+	@Override
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	@Override
+	public synchronized int size() {
+		return map.size();
+	}
+
+	private static final class Entry<V> {
+		final V value;
+		final long weight;
+
+		Entry(V value, long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.himamis.retex.renderer.desktop;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.himamis.retex.renderer.share.Colors;
+import com.himamis.retex.renderer.share.TeXConstants;
+import com.himamis.retex.renderer.share.cache.CacheStatistics;
+import com.himamis.retex.renderer.share.cache.JLaTeXMathCache;
+import com.himamis.retex.renderer.share.cache.WeightedLruCache;
+import com.himamis.retex.renderer.share.platform.FactoryProvider;
+import com.himamis.retex.renderer.share.platform.graphics.Image;
+
+public class CacheTest {
+
+	@BeforeClass
+	public static void setFactory() {
+		FactoryProvider.setInstance(new FactoryProviderDesktop());
+	}
+
+	@Before
+	public void clearCache() {
+		JLaTeXMathCache.clearCache();
+	}
+
+	@Test
+	public void lruShouldEvictLeastRecentlyUsed() {
+		WeightedLruCache<String, String> cache = new WeightedLruCache<>(30,
+				Integer.MAX_VALUE);
+		cache.put("a", "A", 10);
+		cache.put("b", "B", 10);
+		cache.put("c", "C", 10);
+		cache.get("a");
+		cache.put("d", "D", 10);
+		assertNull(cache.get("b"));
+		assertEquals("A", cache.get("a"));
+		assertEquals(30, cache.getWeight());
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void lruShouldEnforceEntryLimit() {
+		WeightedLruCache<Integer, Integer> cache = new WeightedLruCache<>(
+				Long.MAX_VALUE, 100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, i, 1);
+		}
+		assertEquals(100, cache.size());
+		assertEquals(Integer.valueOf(999), cache.get(999));
+	}
+
+	@Test
+	public void colorsShouldShareLayout() {
+		CacheStatistics layouts = JLaTeXMathCache.getLayoutStatistics();
+		long misses = layouts.getMisses();
+		Image black = JLaTeXMathCache.getCachedTeXFormulaImage("\\frac{1}{x}",
+				TeXConstants.STYLE_DISPLAY, 0, 16, 1, Colors.BLACK);
+		Image red = JLaTeXMathCache.getCachedTeXFormulaImage("\\frac{1}{x}",
+				TeXConstants.STYLE_DISPLAY, 0, 16, 1, Colors.RED);
+		assertEquals(misses + 1, layouts.getMisses());
+		assertEquals(black.getWidth(), red.getWidth());
+	}
+
+	@Test
+	public void sameFormulaShouldHitImageCache() {
+		Object key = JLaTeXMathCache.getCachedTeXFormula("x^2",
+				TeXConstants.STYLE_DISPLAY, 0, 16, 1, Colors.BLACK);
+		CacheStatistics images = JLaTeXMathCache.getImageStatistics();
+		long hits = images.getHits();
+		Image image = JLaTeXMathCache.getCachedTeXFormulaImage(key);
+		assertSame(image, JLaTeXMathCache.getCachedTeXFormulaImage("x^2",
+				TeXConstants.STYLE_DISPLAY, 0, 16, 1, Colors.BLACK));
+		assertEquals(hits + 2, images.getHits());
+		assertArrayEquals(JLaTeXMathCache.getCachedTeXFormulaDimensions(key),
+				JLaTeXMathCache.getCachedTeXFormulaDimensions("x^2",
+						TeXConstants.STYLE_DISPLAY, 0, 16, 1,
+						Colors.BLACK));
+	}
+}
@@ -7,6 +7,7 @@
 import org.geogebra.common.move.ggtapi.models.json.JSONException;
 import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.debug.metrics.MetricsRegistry;
 import org.geogebra.web.html5.euclidian.MouseTouchGestureControllerW;
 import org.geogebra.web.html5.euclidian.profiler.coords.Coordinate;
 import org.geogebra.web.html5.euclidian.profiler.coords.CoordinatesParser;
@@ -57,6 +58,9 @@ private FileLoader.Callback getFileLoaderCallback() {
 	}
 
 	private void drawWithFpsProfiling() {
+		if (!GeoGebraProfiler.isEnabled()) {
+			GeoGebraProfiler.setRegistry(new MetricsRegistry());
+		}
 		doDraw();
 		endDrawing();
 	}
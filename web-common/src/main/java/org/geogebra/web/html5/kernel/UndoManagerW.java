@@ -59,7 +59,10 @@ protected void loadUndoInfo(final AppState state, String slideID) {
 
 			// load undo info
 			app.getEventDispatcher().disableListeners();
-			construction.processXML(tempXML, false, null);
+			if (!loadChangedElements(state, tempXML)) {
+				construction.processXML(tempXML, false, null);
+			}
+			setCurrentState(state);
 			app.getEventDispatcher().enableListeners();
 
 			app.getActiveEuclidianView().invalidateDrawableList();
@@ -74,6 +77,7 @@ protected void loadUndoInfo(final AppState state, String slideID) {
 		} catch (Throwable t) {
 			Log.error("Undo error:" + t.getMessage());
 			Log.debug(t);
+			setCurrentState(null);
 			restoreCurrentUndoInfo();
 		}
 	}
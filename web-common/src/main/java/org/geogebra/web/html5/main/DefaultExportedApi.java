@@ -694,6 +694,14 @@ public void enableCAS(Object enable) {
 		getGgbAPI().enableCAS(Js.isTruthy(enable));
 	}
 
+	public void enablePerformanceMetrics(Object enable) {
+		getGgbAPI().enablePerformanceMetrics(Js.isTruthy(enable));
+	}
+
+	public String getPerformanceMetrics() {
+		return getGgbAPI().getPerformanceMetrics();
+	}
+
 	public void enable3D(Object enable) {
 		getGgbAPI().enable3D(Js.isTruthy(enable));
 	}